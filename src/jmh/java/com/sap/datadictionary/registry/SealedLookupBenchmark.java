@@ -0,0 +1,116 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.FieldDefinition;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.DataType;
+import com.sap.datadictionary.internal.Domain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures name lookups on a {@linkplain DataDictionary#seal() sealed}
+ * dictionary, which probes a minimal perfect hash, against the same
+ * lookups on the live dictionary, which go through the current snapshot
+ * and the partition maps. The dictionary holds {@link #TABLES} tables of
+ * twelve fields each; every invocation looks up {@link #PROBES} tables by
+ * random name, so the reported time is per lookup. Run with
+ * {@code -prof gc} to see the allocation per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SealedLookupBenchmark {
+
+    static final int TABLES = 200_000;
+    static final int PROBES = 4_096;
+
+    private DataDictionary live;
+    private DataDictionary sealed;
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        live = new DataDictionary();
+        DictionaryBatch batch = live.batch();
+        List<DataElement> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Domain domain = new Domain("ZDOM" + i, DataType.CHAR, 10 + i);
+            DataElement element = new DataElement("ZELEM" + i, domain);
+            batch.addDomain(domain);
+            batch.addDataElement(element);
+            elements.add(element);
+        }
+        for (int t = 0; t < TABLES; t++) {
+            TableDefinition table = new TableDefinition("ZTAB" + t);
+            for (int f = 0; f < 12; f++) {
+                table.addField(new FieldDefinition("F" + f, elements.get((t + f) % elements.size()),
+                        f < 2, f >= 2));
+            }
+            table.trimToSize();
+            batch.addTable(table);
+        }
+        batch.commit();
+        sealed = live.snapshot();
+        sealed.seal();
+
+        Random random = new Random(42);
+        names = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            names[i] = "ZTAB" + random.nextInt(TABLES);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int liveGetTable() {
+        int found = 0;
+        for (String name : names) {
+            found += live.getTable(name).getTableName().length();
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int sealedGetTable() {
+        int found = 0;
+        for (String name : names) {
+            found += sealed.getTable(name).getTableName().length();
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int liveGetTableFields() {
+        int found = 0;
+        for (String name : names) {
+            TableDefinition table = live.getTable(name);
+            found += table.getFields().size() + table.getKeyFields().size();
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public int sealedGetTableFields() {
+        int found = 0;
+        for (String name : names) {
+            TableDefinition table = sealed.getTable(name);
+            found += table.getFields().size() + table.getKeyFields().size();
+        }
+        return found;
+    }
+}
@@ -0,0 +1,112 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.FieldDefinition;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.DataType;
+import com.sap.datadictionary.internal.Domain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures where-used lookups through the reverse-reference index against
+ * the full scan {@link WhereUsedAnalyzer} used before the index existed.
+ * The dictionary holds {@link #TABLES} tables of ten fields each over
+ * {@link #ELEMENTS} data elements and {@link #DOMAINS} domains, so a data
+ * element is used by about a thousand tables. Each invocation asks for
+ * the next data element or domain in turn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WhereUsedBenchmark {
+
+    static final int TABLES = 100_000;
+    static final int ELEMENTS = 1_000;
+    static final int DOMAINS = 100;
+
+    private DataDictionary dictionary;
+    private WhereUsedAnalyzer analyzer;
+    private String[] elements;
+    private String[] domains;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        dictionary = new DataDictionary();
+        DictionaryBatch batch = dictionary.batch();
+        domains = new String[DOMAINS];
+        List<Domain> domainObjects = new ArrayList<>();
+        for (int i = 0; i < DOMAINS; i++) {
+            domains[i] = "ZDOM" + i;
+            Domain domain = new Domain(domains[i], DataType.CHAR, 10 + i);
+            domainObjects.add(domain);
+            batch.addDomain(domain);
+        }
+        elements = new String[ELEMENTS];
+        List<DataElement> elementObjects = new ArrayList<>();
+        for (int i = 0; i < ELEMENTS; i++) {
+            elements[i] = "ZELEM" + i;
+            DataElement element = new DataElement(elements[i], domainObjects.get(i % DOMAINS));
+            elementObjects.add(element);
+            batch.addDataElement(element);
+        }
+        for (int t = 0; t < TABLES; t++) {
+            TableDefinition table = new TableDefinition("ZTAB" + t);
+            for (int f = 0; f < 10; f++) {
+                table.addField(new FieldDefinition("F" + f,
+                        elementObjects.get((t * 7 + f * 101) % ELEMENTS), f == 0, f != 0));
+            }
+            table.trimToSize();
+            batch.addTable(table);
+        }
+        batch.commit();
+        analyzer = new WhereUsedAnalyzer(dictionary);
+    }
+
+    @Benchmark
+    public Object indexedTablesUsingDataElement() {
+        return analyzer.findTablesUsingDataElement(elements[next++ % ELEMENTS]);
+    }
+
+    @Benchmark
+    public Object scannedTablesUsingDataElement() {
+        String name = elements[next++ % ELEMENTS];
+        List<String> tables = new ArrayList<>();
+        for (TableDefinition table : dictionary.snapshot().getTables().values()) {
+            for (FieldDefinition field : table.getFields()) {
+                if (field.getDataElement().getName().equals(name)) {
+                    tables.add(table.getTableName());
+                    break;
+                }
+            }
+        }
+        return tables;
+    }
+
+    @Benchmark
+    public Object indexedDataElementsUsingDomain() {
+        return analyzer.findDataElementsUsingDomain(domains[next++ % DOMAINS]);
+    }
+
+    @Benchmark
+    public Object scannedDataElementsUsingDomain() {
+        String name = domains[next++ % DOMAINS];
+        List<String> result = new ArrayList<>();
+        for (DataElement element : dictionary.snapshot().getDataElements().values()) {
+            if (element.getDomain() != null && element.getDomain().getName().equals(name)) {
+                result.add(element.getName());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package com.sap.datadictionary.rows;
+
+import com.sap.datadictionary.conceptual.FieldDefinition;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.DataType;
+import com.sap.datadictionary.internal.Domain;
+import com.sap.datadictionary.internal.ValueRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RowValidator} throughput on a table of six fields: a
+ * NUMC key, a decimal amount, a currency with fixed values, a date, a
+ * nullable text and an integer. One row in a hundred is invalid. Every
+ * benchmark validates {@link #ROWS} rows per invocation, so the reported
+ * operations per second are rows per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RowValidatorBenchmark {
+
+    static final int ROWS = 100_000;
+
+    private static final String[] CURRENCIES = {"EUR", "USD", "GBP", "JPY", "CHF", "CAD", "AUD", "SEK"};
+
+    private RowValidator validator;
+    private Object[][] textRows;
+    private Object[][] typedRows;
+    private CharSequence[][] columns;
+
+    @Setup
+    public void setUp() {
+        Domain currency = new Domain("ZCURRENCY", DataType.CHAR, 3);
+        ValueRange currencies = new ValueRange();
+        for (String code : CURRENCIES) {
+            currencies.addFixedValue(code);
+        }
+        currency.setValueRange(currencies);
+        TableDefinition table = new TableDefinition("ZORDERS");
+        table.addField(field("ORDER_ID", new Domain("ZORDER_ID", DataType.NUMC, 10), true, false));
+        table.addField(field("AMOUNT", new Domain("ZAMOUNT", DataType.DECIMAL, 15, 2), false, false));
+        table.addField(field("CURRENCY", currency, false, false));
+        table.addField(field("ORDER_DATE", new Domain("ZDATE", DataType.DATE, 8), false, false));
+        table.addField(field("NOTE", new Domain("ZNOTE", DataType.CHAR, 40), false, true));
+        table.addField(field("QUANTITY", new Domain("ZQUANTITY", DataType.INTEGER, 10), false, false));
+        validator = RowValidator.compile(table);
+
+        textRows = new Object[ROWS][];
+        typedRows = new Object[ROWS][];
+        columns = new CharSequence[6][ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            boolean invalid = i % 100 == 99;
+            String code = invalid ? "XXX" : CURRENCIES[i % CURRENCIES.length];
+            LocalDate date = LocalDate.of(2020 + i % 5, 1 + i % 12, 1 + i % 28);
+            String[] text = {
+                    String.format("%010d", i),
+                    (i % 100_000) + "." + String.format("%02d", i % 100),
+                    code,
+                    String.format("%04d%02d%02d", date.getYear(), date.getMonthValue(), date.getDayOfMonth()),
+                    i % 3 == 0 ? null : "Order " + i,
+                    String.valueOf(i % 1000)};
+            textRows[i] = text.clone();
+            typedRows[i] = new Object[] {
+                    (long) i, BigDecimal.valueOf(i % 100_000, 2), code, date, text[4], i % 1000};
+            for (int f = 0; f < text.length; f++) {
+                columns[f][i] = text[f];
+            }
+        }
+    }
+
+    private static FieldDefinition field(String name, Domain domain, boolean key, boolean nullable) {
+        return new FieldDefinition(name, new DataElement("Z" + name, domain), key, nullable);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int textRows() {
+        return validator.validate(textRows, 0, ROWS, RowViolationSink.IGNORE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int typedRows() {
+        return validator.validate(typedRows, 0, ROWS, RowViolationSink.IGNORE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int columns() {
+        return validator.validateColumns(columns, ROWS, RowViolationSink.IGNORE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public RowValidationResult collectedRows() {
+        return validator.validate(textRows);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public RowValidationResult parallelRows() {
+        return validator.validateParallel(textRows);
+    }
+}
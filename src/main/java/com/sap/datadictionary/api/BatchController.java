@@ -0,0 +1,58 @@
+package com.sap.datadictionary.api;
+
+import com.sap.datadictionary.persistence.DictionarySerializationException;
+import com.sap.datadictionary.persistence.DictionarySerializer;
+import com.sap.datadictionary.persistence.DictionarySnapshot;
+import com.sap.datadictionary.registry.DataDictionary;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST controller for bulk registration.
+ * <p>
+ * Accepts a body in the same JSON format the dictionary is persisted in
+ * ({@link DictionarySnapshot}; any section may be omitted) and registers
+ * all contained objects as one batch: either everything is registered in
+ * a single new version, or the request is rejected and nothing changes.
+ * Objects may reference each other and objects already in the dictionary.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    private final DataDictionary dictionary;
+    private final DictionarySerializer serializer;
+
+    public BatchController(DataDictionary dictionary, DictionarySerializer serializer) {
+        this.dictionary = dictionary;
+        this.serializer = serializer;
+    }
+
+    @PostMapping
+    public ResponseEntity<Object> register(@RequestBody DictionarySnapshot body) {
+        try {
+            long version = serializer.importInto(dictionary, body);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("version", version);
+            result.put("domains", size(body.domains()));
+            result.put("dataElements", size(body.dataElements()));
+            result.put("tables", size(body.tables()));
+            result.put("structures", size(body.structures()));
+            result.put("views", size(body.views()));
+            result.put("searchHelps", size(body.searchHelps()));
+            result.put("lockObjects", size(body.lockObjects()));
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (IllegalArgumentException | DictionarySerializationException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static int size(Map<String, ?> section) {
+        return section == null ? 0 : section.size();
+    }
+}
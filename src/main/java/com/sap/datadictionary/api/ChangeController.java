@@ -0,0 +1,39 @@
+package com.sap.datadictionary.api;
+
+import com.sap.datadictionary.registry.ChangeFeed;
+import com.sap.datadictionary.registry.DataDictionary;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST controller exposing the dictionary's change feed.
+ * <p>
+ * Clients poll with the {@code next} value of the previous response as
+ * {@code after} and receive the changes made since, instead of rescanning
+ * the dictionary. A non-zero {@code missed} count means changes were
+ * dropped from the feed before the client read them.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+
+    private final DataDictionary dictionary;
+
+    public ChangeController(DataDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @GetMapping
+    public ResponseEntity<Object> changes(@RequestParam(defaultValue = "0") long after,
+                                          @RequestParam(defaultValue = "100") int limit) {
+        try {
+            ChangeFeed.Batch batch = dictionary.changes().read(after, limit);
+            return ResponseEntity.ok(batch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
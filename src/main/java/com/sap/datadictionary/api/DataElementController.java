@@ -3,12 +3,12 @@ package com.sap.datadictionary.api;
 import com.sap.datadictionary.internal.DataElement;
 import com.sap.datadictionary.internal.Domain;
 import com.sap.datadictionary.registry.DataDictionary;
+import com.sap.datadictionary.registry.NameQuery;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -24,11 +24,26 @@ public class DataElementController {
         this.dictionary = dictionary;
     }
 
+    /**
+     * List all Data Elements in registration order or, if any of {@code prefix},
+     * {@code after} (the last name of the previous page) or {@code limit}
+     * is given, the matching page in name order.
+     */
     @GetMapping
-    public List<Map<String, Object>> list() {
-        return dictionary.getDataElements().values().stream()
-                .map(DataElementController::toMap)
-                .toList();
+    public ResponseEntity<Object> list(@RequestParam(required = false) String prefix,
+                                       @RequestParam(required = false) String after,
+                                       @RequestParam(required = false) Integer limit) {
+        try {
+            NameQuery query = NameQueries.from(prefix, after, limit);
+            Map<String, DataElement> dataElements = query == null
+                    ? dictionary.getDataElements()
+                    : dictionary.getDataElements(query);
+            return ResponseEntity.ok(dataElements.values().stream()
+                    .map(DataElementController::toMap)
+                    .toList());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{name}")
@@ -43,30 +58,7 @@ public class DataElementController {
     @PostMapping
     public ResponseEntity<Object> create(@RequestBody Map<String, Object> body) {
         try {
-            String name = (String) body.get("name");
-            String domainName = (String) body.get("domainName");
-
-            Domain domain = dictionary.getDomain(domainName);
-            if (domain == null) {
-                return ResponseEntity.badRequest()
-                        .body(Map.of("error", "Domain not found: " + domainName));
-            }
-
-            DataElement element = new DataElement(name, domain);
-
-            if (body.containsKey("shortLabel")) {
-                element.setShortLabel((String) body.get("shortLabel"));
-            }
-            if (body.containsKey("mediumLabel")) {
-                element.setMediumLabel((String) body.get("mediumLabel"));
-            }
-            if (body.containsKey("longLabel")) {
-                element.setLongLabel((String) body.get("longLabel"));
-            }
-            if (body.containsKey("documentation")) {
-                element.setDocumentation((String) body.get("documentation"));
-            }
-
+            DataElement element = fromBody(body);
             dictionary.registerDataElement(element);
             return ResponseEntity.status(HttpStatus.CREATED).body(toMap(element));
         } catch (IllegalArgumentException e) {
@@ -74,6 +66,73 @@ public class DataElementController {
         }
     }
 
+    /**
+     * Replace a Data Element. With {@code cascade=true} the objects that use it
+     * are rebound to the new version; otherwise the update is refused with
+     * 409 Conflict while any exist.
+     */
+    @PutMapping("/{name}")
+    public ResponseEntity<Object> update(@PathVariable String name,
+                                         @RequestParam(defaultValue = "false") boolean cascade,
+                                         @RequestBody Map<String, Object> body) {
+        if (dictionary.getDataElement(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> {
+            DataElement element = fromBody(Modifications.named(body, "name", name));
+            dictionary.updateDataElement(element, Modifications.policy(cascade));
+            return toMap(element);
+        });
+    }
+
+    /**
+     * Remove a Data Element. With {@code cascade=true} the objects that use it
+     * are removed too; otherwise the removal is refused with 409 Conflict
+     * while any exist.
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Object> remove(@PathVariable String name,
+                                         @RequestParam(defaultValue = "false") boolean cascade) {
+        if (dictionary.getDataElement(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> Modifications.removed(name,
+                dictionary.removeDataElement(name, Modifications.policy(cascade))));
+    }
+
+    /**
+     * Build a Data Element from a request body.
+     *
+     * @throws IllegalArgumentException if the body is invalid or references
+     *                                  unknown objects
+     */
+    private DataElement fromBody(Map<String, Object> body) {
+        String name = (String) body.get("name");
+        String domainName = (String) body.get("domainName");
+
+        Domain domain = dictionary.getDomain(domainName);
+        if (domain == null) {
+            throw new IllegalArgumentException("Domain not found: " + domainName);
+        }
+
+        DataElement element = new DataElement(name, domain);
+
+        if (body.containsKey("shortLabel")) {
+            element.setShortLabel((String) body.get("shortLabel"));
+        }
+        if (body.containsKey("mediumLabel")) {
+            element.setMediumLabel((String) body.get("mediumLabel"));
+        }
+        if (body.containsKey("longLabel")) {
+            element.setLongLabel((String) body.get("longLabel"));
+        }
+        if (body.containsKey("documentation")) {
+            element.setDocumentation((String) body.get("documentation"));
+        }
+
+        return element;
+    }
+
     static Map<String, Object> toMap(DataElement element) {
         Map<String, Object> map = new LinkedHashMap<>();
         map.put("name", element.getName());
@@ -1,8 +1,11 @@
 package com.sap.datadictionary.api;
 
 import com.sap.datadictionary.ddl.DdlGenerator;
+import com.sap.datadictionary.persistence.DictionarySerializer;
 import com.sap.datadictionary.registry.DataDictionary;
+import com.sap.datadictionary.registry.ValidationCache;
 import com.sap.datadictionary.registry.WhereUsedAnalyzer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,9 +16,15 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class DictionaryConfig {
 
+    /**
+     * The shared dictionary; {@code datadictionary.integrity.enforced=true}
+     * makes it reject writes that would leave dangling references.
+     */
     @Bean
-    public DataDictionary dataDictionary() {
-        return new DataDictionary();
+    public DataDictionary dataDictionary(@Value("${datadictionary.integrity.enforced:false}") boolean enforced) {
+        DataDictionary dictionary = new DataDictionary();
+        dictionary.setIntegrityEnforced(enforced);
+        return dictionary;
     }
 
     @Bean
@@ -23,6 +32,17 @@ public class DictionaryConfig {
         return new DdlGenerator();
     }
 
+    @Bean
+    public DictionarySerializer dictionarySerializer() {
+        return new DictionarySerializer();
+    }
+
+    /** Findings kept across validation requests, so unchanged objects are not checked again. */
+    @Bean
+    public ValidationCache validationCache() {
+        return new ValidationCache();
+    }
+
     @Bean
     public WhereUsedAnalyzer whereUsedAnalyzer(DataDictionary dataDictionary) {
         return new WhereUsedAnalyzer(dataDictionary);
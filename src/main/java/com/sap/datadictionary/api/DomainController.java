@@ -2,12 +2,15 @@ package com.sap.datadictionary.api;
 
 import com.sap.datadictionary.internal.DataType;
 import com.sap.datadictionary.internal.Domain;
+import com.sap.datadictionary.internal.ValueChecker;
 import com.sap.datadictionary.internal.ValueRange;
 import com.sap.datadictionary.registry.DataDictionary;
+import com.sap.datadictionary.registry.NameQuery;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,11 +28,26 @@ public class DomainController {
         this.dictionary = dictionary;
     }
 
+    /**
+     * List all Domains in registration order or, if any of {@code prefix},
+     * {@code after} (the last name of the previous page) or {@code limit}
+     * is given, the matching page in name order.
+     */
     @GetMapping
-    public List<Map<String, Object>> list() {
-        return dictionary.getDomains().values().stream()
-                .map(DomainController::toMap)
-                .toList();
+    public ResponseEntity<Object> list(@RequestParam(required = false) String prefix,
+                                       @RequestParam(required = false) String after,
+                                       @RequestParam(required = false) Integer limit) {
+        try {
+            NameQuery query = NameQueries.from(prefix, after, limit);
+            Map<String, Domain> domains = query == null
+                    ? dictionary.getDomains()
+                    : dictionary.getDomains(query);
+            return ResponseEntity.ok(domains.values().stream()
+                    .map(DomainController::toMap)
+                    .toList());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{name}")
@@ -41,36 +59,114 @@ public class DomainController {
         return ResponseEntity.ok(toMap(domain));
     }
 
+    /**
+     * Check a list of values against the Domain's format and fixed values
+     * and return the number checked and the values rejected, in order.
+     */
+    @PostMapping("/{name}/check")
+    public ResponseEntity<Object> check(@PathVariable String name, @RequestBody List<String> values) {
+        Domain domain = dictionary.getDomain(name);
+        if (domain == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ValueChecker checker = ValueChecker.compile(domain);
+        List<String> rejected = new ArrayList<>();
+        for (String value : values) {
+            if (!checker.accepts(value)) {
+                rejected.add(value);
+            }
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("type", checker.toString());
+        body.put("checked", values.size());
+        body.put("rejected", rejected);
+        return ResponseEntity.ok(body);
+    }
+
     @PostMapping
     public ResponseEntity<Object> create(@RequestBody Map<String, Object> body) {
         try {
-            String name = (String) body.get("name");
-            DataType dataType = DataType.valueOf((String) body.get("dataType"));
-            int length = ((Number) body.get("length")).intValue();
-            int decimals = body.containsKey("decimals")
-                    ? ((Number) body.get("decimals")).intValue() : 0;
+            Domain domain = fromBody(body);
+            dictionary.registerDomain(domain);
+            return ResponseEntity.status(HttpStatus.CREATED).body(toMap(domain));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Replace a Domain. With {@code cascade=true} the objects that use it
+     * are rebound to the new version; otherwise the update is refused with
+     * 409 Conflict while any exist.
+     */
+    @PutMapping("/{name}")
+    public ResponseEntity<Object> update(@PathVariable String name,
+                                         @RequestParam(defaultValue = "false") boolean cascade,
+                                         @RequestBody Map<String, Object> body) {
+        if (dictionary.getDomain(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> {
+            Domain domain = fromBody(Modifications.named(body, "name", name));
+            dictionary.updateDomain(domain, Modifications.policy(cascade));
+            return toMap(domain);
+        });
+    }
+
+    /**
+     * Remove a Domain. With {@code cascade=true} the objects that use it
+     * are removed too; otherwise the removal is refused with 409 Conflict
+     * while any exist.
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Object> remove(@PathVariable String name,
+                                         @RequestParam(defaultValue = "false") boolean cascade) {
+        if (dictionary.getDomain(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> Modifications.removed(name,
+                dictionary.removeDomain(name, Modifications.policy(cascade))));
+    }
 
-            Domain domain = new Domain(name, dataType, length, decimals);
+    /**
+     * Build a Domain from a request body.
+     *
+     * @throws IllegalArgumentException if the body is invalid or references
+     *                                  unknown objects
+     */
+    private Domain fromBody(Map<String, Object> body) {
+        String name = (String) body.get("name");
+        DataType dataType = DataType.valueOf((String) body.get("dataType"));
+        int length = ((Number) body.get("length")).intValue();
+        int decimals = body.containsKey("decimals")
+                ? ((Number) body.get("decimals")).intValue() : 0;
 
-            if (body.containsKey("description")) {
-                domain.setDescription((String) body.get("description"));
-            }
+        Domain domain = new Domain(name, dataType, length, decimals);
+
+        if (body.containsKey("description")) {
+            domain.setDescription((String) body.get("description"));
+        }
 
+        if (body.containsKey("fixedValues") || body.containsKey("intervals")) {
+            ValueRange range = new ValueRange();
             if (body.containsKey("fixedValues")) {
-                ValueRange range = new ValueRange();
                 @SuppressWarnings("unchecked")
                 List<String> values = (List<String>) body.get("fixedValues");
                 for (String v : values) {
                     range.addFixedValue(v);
                 }
-                domain.setValueRange(range);
             }
-
-            dictionary.registerDomain(domain);
-            return ResponseEntity.status(HttpStatus.CREATED).body(toMap(domain));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            if (body.containsKey("intervals")) {
+                @SuppressWarnings("unchecked")
+                List<Map<String, String>> intervals = (List<Map<String, String>>) body.get("intervals");
+                for (Map<String, String> interval : intervals) {
+                    range.addInterval(interval.get("low"), interval.get("high"));
+                }
+            }
+            domain.setValueRange(range);
         }
+
+        return domain;
     }
 
     static Map<String, Object> toMap(Domain domain) {
@@ -82,6 +178,9 @@ public class DomainController {
         map.put("description", domain.getDescription());
         if (domain.getValueRange() != null) {
             map.put("fixedValues", List.copyOf(domain.getValueRange().getFixedValues()));
+            map.put("intervals", domain.getValueRange().getIntervals().stream()
+                    .map(interval -> Map.of("low", interval.low(), "high", interval.high()))
+                    .toList());
         }
         return map;
     }
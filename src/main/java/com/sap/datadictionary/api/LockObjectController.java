@@ -3,6 +3,8 @@ package com.sap.datadictionary.api;
 import com.sap.datadictionary.conceptual.TableDefinition;
 import com.sap.datadictionary.external.LockObject;
 import com.sap.datadictionary.registry.DataDictionary;
+import com.sap.datadictionary.registry.DependentPolicy;
+import com.sap.datadictionary.registry.NameQuery;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,11 +26,26 @@ public class LockObjectController {
         this.dictionary = dictionary;
     }
 
+    /**
+     * List all Lock Objects in registration order or, if any of {@code prefix},
+     * {@code after} (the last name of the previous page) or {@code limit}
+     * is given, the matching page in name order.
+     */
     @GetMapping
-    public List<Map<String, Object>> list() {
-        return dictionary.getLockObjects().values().stream()
-                .map(LockObjectController::toMap)
-                .toList();
+    public ResponseEntity<Object> list(@RequestParam(required = false) String prefix,
+                                       @RequestParam(required = false) String after,
+                                       @RequestParam(required = false) Integer limit) {
+        try {
+            NameQuery query = NameQueries.from(prefix, after, limit);
+            Map<String, LockObject> lockObjects = query == null
+                    ? dictionary.getLockObjects()
+                    : dictionary.getLockObjects(query);
+            return ResponseEntity.ok(lockObjects.values().stream()
+                    .map(LockObjectController::toMap)
+                    .toList());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{name}")
@@ -43,42 +60,80 @@ public class LockObjectController {
     @PostMapping
     public ResponseEntity<Object> create(@RequestBody Map<String, Object> body) {
         try {
-            String name = (String) body.get("name");
-            String primaryTableName = (String) body.get("primaryTableName");
+            LockObject lock = fromBody(body);
+            dictionary.registerLockObject(lock);
+            return ResponseEntity.status(HttpStatus.CREATED).body(toMap(lock));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
 
-            TableDefinition primaryTable = dictionary.getTable(primaryTableName);
-            if (primaryTable == null) {
-                return ResponseEntity.badRequest()
-                        .body(Map.of("error", "Primary table not found: " + primaryTableName));
-            }
+    /**
+     * Replace a Lock Object. No other object references Lock Objects, so nothing
+     * else changes.
+     */
+    @PutMapping("/{name}")
+    public ResponseEntity<Object> update(@PathVariable String name,
+                                         @RequestBody Map<String, Object> body) {
+        if (dictionary.getLockObject(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> {
+            LockObject lock = fromBody(Modifications.named(body, "name", name));
+            dictionary.updateLockObject(lock, DependentPolicy.RESTRICT);
+            return toMap(lock);
+        });
+    }
 
-            LockObject lock = new LockObject(name, primaryTable);
+    /**
+     * Remove a Lock Object.
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Object> remove(@PathVariable String name) {
+        if (dictionary.getLockObject(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> Modifications.removed(name,
+                dictionary.removeLockObject(name, DependentPolicy.RESTRICT)));
+    }
 
-            if (body.containsKey("description")) {
-                lock.setDescription((String) body.get("description"));
-            }
-            if (body.containsKey("lockMode")) {
-                lock.setLockMode(LockObject.LockMode.valueOf((String) body.get("lockMode")));
-            }
+    /**
+     * Build a Lock Object from a request body.
+     *
+     * @throws IllegalArgumentException if the body is invalid or references
+     *                                  unknown objects
+     */
+    private LockObject fromBody(Map<String, Object> body) {
+        String name = (String) body.get("name");
+        String primaryTableName = (String) body.get("primaryTableName");
+
+        TableDefinition primaryTable = dictionary.getTable(primaryTableName);
+        if (primaryTable == null) {
+            throw new IllegalArgumentException("Primary table not found: " + primaryTableName);
+        }
+
+        LockObject lock = new LockObject(name, primaryTable);
 
-            if (body.containsKey("secondaryTableNames")) {
-                @SuppressWarnings("unchecked")
-                List<String> tableNames = (List<String>) body.get("secondaryTableNames");
-                for (String tableName : tableNames) {
-                    TableDefinition table = dictionary.getTable(tableName);
-                    if (table == null) {
-                        return ResponseEntity.badRequest()
-                                .body(Map.of("error", "Secondary table not found: " + tableName));
-                    }
-                    lock.addSecondaryTable(table);
+        if (body.containsKey("description")) {
+            lock.setDescription((String) body.get("description"));
+        }
+        if (body.containsKey("lockMode")) {
+            lock.setLockMode(LockObject.LockMode.valueOf((String) body.get("lockMode")));
+        }
+
+        if (body.containsKey("secondaryTableNames")) {
+            @SuppressWarnings("unchecked")
+            List<String> tableNames = (List<String>) body.get("secondaryTableNames");
+            for (String tableName : tableNames) {
+                TableDefinition table = dictionary.getTable(tableName);
+                if (table == null) {
+                    throw new IllegalArgumentException("Secondary table not found: " + tableName);
                 }
+                lock.addSecondaryTable(table);
             }
-
-            dictionary.registerLockObject(lock);
-            return ResponseEntity.status(HttpStatus.CREATED).body(toMap(lock));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
+
+        return lock;
     }
 
     static Map<String, Object> toMap(LockObject lock) {
@@ -0,0 +1,81 @@
+package com.sap.datadictionary.api;
+
+import com.sap.datadictionary.registry.DependentPolicy;
+import com.sap.datadictionary.registry.ObjectKind;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Shared handling of the update ({@code PUT}) and removal ({@code DELETE})
+ * endpoints of the object controllers.
+ */
+final class Modifications {
+
+    private Modifications() {
+    }
+
+    /** Return the dependent policy selected by the {@code cascade} parameter. */
+    static DependentPolicy policy(boolean cascade) {
+        return cascade ? DependentPolicy.CASCADE : DependentPolicy.RESTRICT;
+    }
+
+    /**
+     * Return a copy of an update body with its name property set to the
+     * name from the path.
+     *
+     * @throws IllegalArgumentException if the body names a different object
+     */
+    static Map<String, Object> named(Map<String, Object> body, String key, String name) {
+        Object bodyName = body.get(key);
+        if (bodyName != null && !name.equals(bodyName)) {
+            throw new IllegalArgumentException("Cannot rename " + name + " to " + bodyName);
+        }
+        Map<String, Object> named = new LinkedHashMap<>(body);
+        named.put(key, name);
+        return named;
+    }
+
+    /**
+     * Run a change and answer 200 with its result, 400 if the request is
+     * invalid, or 409 if dependents or a read-only dictionary prevent it.
+     */
+    static ResponseEntity<Object> respond(Supplier<Object> change) {
+        try {
+            return ResponseEntity.ok(change.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Return the body of a removal response: the removed name and the
+     * dependents removed with it, keyed like where-used results.
+     */
+    static Map<String, Object> removed(String name, Map<ObjectKind, List<String>> cascaded) {
+        Map<String, List<String>> dependents = new LinkedHashMap<>();
+        cascaded.forEach((kind, names) -> dependents.put(resultKey(kind), names));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("removed", name);
+        body.put("cascaded", dependents);
+        return body;
+    }
+
+    private static String resultKey(ObjectKind kind) {
+        return switch (kind) {
+            case DOMAIN -> "domains";
+            case DATA_ELEMENT -> "dataElements";
+            case TABLE -> "tables";
+            case STRUCTURE -> "structures";
+            case VIEW -> "views";
+            case SEARCH_HELP -> "searchHelps";
+            case LOCK_OBJECT -> "lockObjects";
+        };
+    }
+}
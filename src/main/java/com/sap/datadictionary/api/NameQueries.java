@@ -0,0 +1,28 @@
+package com.sap.datadictionary.api;
+
+import com.sap.datadictionary.registry.NameQuery;
+
+/**
+ * Builds the {@link NameQuery} behind the {@code prefix}, {@code after} and
+ * {@code limit} parameters of the list endpoints.
+ */
+final class NameQueries {
+
+    private NameQueries() {
+    }
+
+    /**
+     * Return the query for the given list parameters, or {@code null} if
+     * none is set and the full listing in registration order is wanted.
+     *
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    static NameQuery from(String prefix, String after, Integer limit) {
+        if (prefix == null && after == null && limit == null) {
+            return null;
+        }
+        NameQuery query = prefix == null ? NameQuery.all() : NameQuery.prefix(prefix);
+        query = query.after(after);
+        return limit == null ? query : query.limit(limit);
+    }
+}
@@ -0,0 +1,110 @@
+package com.sap.datadictionary.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.datadictionary.conceptual.Structure;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.external.LockObject;
+import com.sap.datadictionary.external.SearchHelp;
+import com.sap.datadictionary.external.ViewDefinition;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.Domain;
+import com.sap.datadictionary.registry.DataDictionary;
+import com.sap.datadictionary.registry.DictionaryQuery;
+import com.sap.datadictionary.registry.QueryPlan;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * REST controller for ad-hoc dictionary queries in the text form of
+ * {@link DictionaryQuery}, e.g.
+ * {@code tables where has key field (type = CHAR(10)) and used-by lock-object}.
+ * <p>
+ * Results are streamed as newline-delimited JSON, one object per line in
+ * the format of the object's own endpoint, while the query runs, so large
+ * answers are neither buffered nor limited to a page. The query reads a
+ * pinned version of the dictionary.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/query")
+public class QueryController {
+
+    private final DataDictionary dictionary;
+    private final ObjectMapper mapper;
+
+    public QueryController(DataDictionary dictionary, ObjectMapper mapper) {
+        this.dictionary = dictionary;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Run a query and stream the objects found, in registration order, or
+     * answer 400 if the query is invalid.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> query(@RequestParam String q) {
+        Stream<?> results = dictionary.query(DictionaryQuery.parse(q));
+        StreamingResponseBody body = out -> {
+            try {
+                results.forEachOrdered(value -> {
+                    try {
+                        out.write(mapper.writeValueAsBytes(toMap(value)));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Describe how a query would be answered: the index or scan that
+     * produces candidates, its estimated size, and the criteria checked
+     * on each candidate.
+     */
+    @GetMapping("/plan")
+    public ResponseEntity<Object> plan(@RequestParam String q) {
+        try {
+            QueryPlan plan = dictionary.explain(DictionaryQuery.parse(q));
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("accessPath", plan.accessPath().name());
+            map.put("driver", plan.driver());
+            map.put("estimate", plan.estimate());
+            map.put("residual", plan.residual());
+            return ResponseEntity.ok(map);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /** Answer 400 for a query that does not parse. */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Object> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    private static Map<String, Object> toMap(Object value) {
+        return switch (value) {
+            case Domain domain -> DomainController.toMap(domain);
+            case DataElement element -> DataElementController.toMap(element);
+            case TableDefinition table -> TableController.toMap(table);
+            case Structure structure -> StructureController.toMap(structure);
+            case ViewDefinition view -> ViewController.toMap(view);
+            case SearchHelp help -> SearchHelpController.toMap(help);
+            case LockObject lock -> LockObjectController.toMap(lock);
+            default -> throw new IllegalStateException("Unexpected query result: " + value);
+        };
+    }
+}
@@ -3,6 +3,8 @@ package com.sap.datadictionary.api;
 import com.sap.datadictionary.conceptual.TableDefinition;
 import com.sap.datadictionary.external.SearchHelp;
 import com.sap.datadictionary.registry.DataDictionary;
+import com.sap.datadictionary.registry.DependentPolicy;
+import com.sap.datadictionary.registry.NameQuery;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,11 +26,26 @@ public class SearchHelpController {
         this.dictionary = dictionary;
     }
 
+    /**
+     * List all Search Helps in registration order or, if any of {@code prefix},
+     * {@code after} (the last name of the previous page) or {@code limit}
+     * is given, the matching page in name order.
+     */
     @GetMapping
-    public List<Map<String, Object>> list() {
-        return dictionary.getSearchHelps().values().stream()
-                .map(SearchHelpController::toMap)
-                .toList();
+    public ResponseEntity<Object> list(@RequestParam(required = false) String prefix,
+                                       @RequestParam(required = false) String after,
+                                       @RequestParam(required = false) Integer limit) {
+        try {
+            NameQuery query = NameQueries.from(prefix, after, limit);
+            Map<String, SearchHelp> searchHelps = query == null
+                    ? dictionary.getSearchHelps()
+                    : dictionary.getSearchHelps(query);
+            return ResponseEntity.ok(searchHelps.values().stream()
+                    .map(SearchHelpController::toMap)
+                    .toList());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{name}")
@@ -43,44 +60,83 @@ public class SearchHelpController {
     @PostMapping
     public ResponseEntity<Object> create(@RequestBody Map<String, Object> body) {
         try {
-            String name = (String) body.get("name");
-            SearchHelp help = new SearchHelp(name);
+            SearchHelp help = fromBody(body);
+            dictionary.registerSearchHelp(help);
+            return ResponseEntity.status(HttpStatus.CREATED).body(toMap(help));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
 
-            if (body.containsKey("description")) {
-                help.setDescription((String) body.get("description"));
-            }
+    /**
+     * Replace a Search Help. No other object references Search Helps, so nothing
+     * else changes.
+     */
+    @PutMapping("/{name}")
+    public ResponseEntity<Object> update(@PathVariable String name,
+                                         @RequestBody Map<String, Object> body) {
+        if (dictionary.getSearchHelp(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> {
+            SearchHelp help = fromBody(Modifications.named(body, "name", name));
+            dictionary.updateSearchHelp(help, DependentPolicy.RESTRICT);
+            return toMap(help);
+        });
+    }
 
-            if (body.containsKey("selectionMethodName")) {
-                String tableName = (String) body.get("selectionMethodName");
-                TableDefinition table = dictionary.getTable(tableName);
-                if (table == null) {
-                    return ResponseEntity.badRequest()
-                            .body(Map.of("error", "Table not found: " + tableName));
-                }
-                help.setSelectionMethod(table);
-            }
+    /**
+     * Remove a Search Help.
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Object> remove(@PathVariable String name) {
+        if (dictionary.getSearchHelp(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> Modifications.removed(name,
+                dictionary.removeSearchHelp(name, DependentPolicy.RESTRICT)));
+    }
+
+    /**
+     * Build a Search Help from a request body.
+     *
+     * @throws IllegalArgumentException if the body is invalid or references
+     *                                  unknown objects
+     */
+    private SearchHelp fromBody(Map<String, Object> body) {
+        String name = (String) body.get("name");
+        SearchHelp help = new SearchHelp(name);
 
-            if (body.containsKey("displayFields")) {
-                @SuppressWarnings("unchecked")
-                List<String> fields = (List<String>) body.get("displayFields");
-                for (String field : fields) {
-                    help.addDisplayField(field);
-                }
+        if (body.containsKey("description")) {
+            help.setDescription((String) body.get("description"));
+        }
+
+        if (body.containsKey("selectionMethodName")) {
+            String tableName = (String) body.get("selectionMethodName");
+            TableDefinition table = dictionary.getTable(tableName);
+            if (table == null) {
+                throw new IllegalArgumentException("Table not found: " + tableName);
             }
+            help.setSelectionMethod(table);
+        }
 
-            if (body.containsKey("exportFields")) {
-                @SuppressWarnings("unchecked")
-                List<String> fields = (List<String>) body.get("exportFields");
-                for (String field : fields) {
-                    help.addExportField(field);
-                }
+        if (body.containsKey("displayFields")) {
+            @SuppressWarnings("unchecked")
+            List<String> fields = (List<String>) body.get("displayFields");
+            for (String field : fields) {
+                help.addDisplayField(field);
             }
+        }
 
-            dictionary.registerSearchHelp(help);
-            return ResponseEntity.status(HttpStatus.CREATED).body(toMap(help));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        if (body.containsKey("exportFields")) {
+            @SuppressWarnings("unchecked")
+            List<String> fields = (List<String>) body.get("exportFields");
+            for (String field : fields) {
+                help.addExportField(field);
+            }
         }
+
+        return help;
     }
 
     static Map<String, Object> toMap(SearchHelp help) {
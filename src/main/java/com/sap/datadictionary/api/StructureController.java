@@ -4,6 +4,7 @@ import com.sap.datadictionary.conceptual.FieldDefinition;
 import com.sap.datadictionary.conceptual.Structure;
 import com.sap.datadictionary.internal.DataElement;
 import com.sap.datadictionary.registry.DataDictionary;
+import com.sap.datadictionary.registry.NameQuery;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,11 +26,26 @@ public class StructureController {
         this.dictionary = dictionary;
     }
 
+    /**
+     * List all Structures in registration order or, if any of {@code prefix},
+     * {@code after} (the last name of the previous page) or {@code limit}
+     * is given, the matching page in name order.
+     */
     @GetMapping
-    public List<Map<String, Object>> list() {
-        return dictionary.getStructures().values().stream()
-                .map(StructureController::toMap)
-                .toList();
+    public ResponseEntity<Object> list(@RequestParam(required = false) String prefix,
+                                       @RequestParam(required = false) String after,
+                                       @RequestParam(required = false) Integer limit) {
+        try {
+            NameQuery query = NameQueries.from(prefix, after, limit);
+            Map<String, Structure> structures = query == null
+                    ? dictionary.getStructures()
+                    : dictionary.getStructures(query);
+            return ResponseEntity.ok(structures.values().stream()
+                    .map(StructureController::toMap)
+                    .toList());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{name}")
@@ -44,38 +60,95 @@ public class StructureController {
     @PostMapping
     public ResponseEntity<Object> create(@RequestBody Map<String, Object> body) {
         try {
-            String structureName = (String) body.get("structureName");
-            Structure structure = new Structure(structureName);
+            Structure structure = fromBody(body);
+            dictionary.registerStructure(structure);
+            return ResponseEntity.status(HttpStatus.CREATED).body(toMap(structure));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
 
-            if (body.containsKey("description")) {
-                structure.setDescription((String) body.get("description"));
-            }
+    /**
+     * Replace a Structure. With {@code cascade=true} the Structures that use it
+     * are rebound to the new version; otherwise the update is refused with
+     * 409 Conflict while any exist.
+     */
+    @PutMapping("/{name}")
+    public ResponseEntity<Object> update(@PathVariable String name,
+                                         @RequestParam(defaultValue = "false") boolean cascade,
+                                         @RequestBody Map<String, Object> body) {
+        if (dictionary.getStructure(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> {
+            Structure structure = fromBody(Modifications.named(body, "structureName", name));
+            dictionary.updateStructure(structure, Modifications.policy(cascade));
+            return toMap(structure);
+        });
+    }
 
-            if (body.containsKey("fields")) {
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> fields = (List<Map<String, Object>>) body.get("fields");
-                for (Map<String, Object> fieldMap : fields) {
-                    String fieldName = (String) fieldMap.get("fieldName");
-                    String deName = (String) fieldMap.get("dataElementName");
-                    boolean keyField = fieldMap.containsKey("keyField")
-                            && (Boolean) fieldMap.get("keyField");
-                    boolean nullable = fieldMap.containsKey("nullable")
-                            && (Boolean) fieldMap.get("nullable");
-
-                    DataElement de = dictionary.getDataElement(deName);
-                    if (de == null) {
-                        return ResponseEntity.badRequest()
-                                .body(Map.of("error", "Data element not found: " + deName));
-                    }
-                    structure.addField(new FieldDefinition(fieldName, de, keyField, nullable));
+    /**
+     * Remove a Structure. With {@code cascade=true} the Structures that use it
+     * are removed too; otherwise the removal is refused with 409 Conflict
+     * while any exist.
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Object> remove(@PathVariable String name,
+                                         @RequestParam(defaultValue = "false") boolean cascade) {
+        if (dictionary.getStructure(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> Modifications.removed(name,
+                dictionary.removeStructure(name, Modifications.policy(cascade))));
+    }
+
+    /**
+     * Build a Structure from a request body.
+     *
+     * @throws IllegalArgumentException if the body is invalid or references
+     *                                  unknown objects
+     */
+    private Structure fromBody(Map<String, Object> body) {
+        String structureName = (String) body.get("structureName");
+        Structure structure = new Structure(structureName);
+
+        if (body.containsKey("description")) {
+            structure.setDescription((String) body.get("description"));
+        }
+
+        if (body.containsKey("fields")) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> fields = (List<Map<String, Object>>) body.get("fields");
+            for (Map<String, Object> fieldMap : fields) {
+                String fieldName = (String) fieldMap.get("fieldName");
+                String deName = (String) fieldMap.get("dataElementName");
+                boolean keyField = fieldMap.containsKey("keyField")
+                        && (Boolean) fieldMap.get("keyField");
+                boolean nullable = fieldMap.containsKey("nullable")
+                        && (Boolean) fieldMap.get("nullable");
+
+                DataElement de = dictionary.getDataElement(deName);
+                if (de == null) {
+                    throw new IllegalArgumentException("Data element not found: " + deName);
                 }
+                structure.addField(new FieldDefinition(fieldName, de, keyField, nullable));
             }
+        }
 
-            dictionary.registerStructure(structure);
-            return ResponseEntity.status(HttpStatus.CREATED).body(toMap(structure));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        if (body.containsKey("includeNames")) {
+            @SuppressWarnings("unchecked")
+            List<String> includeNames = (List<String>) body.get("includeNames");
+            for (String includeName : includeNames) {
+                Structure include = dictionary.getStructure(includeName);
+                if (include == null) {
+                    throw new IllegalArgumentException("Structure not found: " + includeName);
+                }
+                structure.addInclude(include);
+            }
         }
+
+        structure.trimToSize();
+        return structure;
     }
 
     static Map<String, Object> toMap(Structure structure) {
@@ -85,6 +158,9 @@ public class StructureController {
         map.put("fields", structure.getFields().stream()
                 .map(TableController::fieldToMap)
                 .toList());
+        map.put("includeNames", structure.getIncludes().stream()
+                .map(Structure::getStructureName)
+                .toList());
         return map;
     }
 }
@@ -4,6 +4,7 @@ import com.sap.datadictionary.conceptual.FieldDefinition;
 import com.sap.datadictionary.conceptual.TableDefinition;
 import com.sap.datadictionary.internal.DataElement;
 import com.sap.datadictionary.registry.DataDictionary;
+import com.sap.datadictionary.registry.NameQuery;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,11 +26,26 @@ public class TableController {
         this.dictionary = dictionary;
     }
 
+    /**
+     * List all Tables in registration order or, if any of {@code prefix},
+     * {@code after} (the last name of the previous page) or {@code limit}
+     * is given, the matching page in name order.
+     */
     @GetMapping
-    public List<Map<String, Object>> list() {
-        return dictionary.getTables().values().stream()
-                .map(TableController::toMap)
-                .toList();
+    public ResponseEntity<Object> list(@RequestParam(required = false) String prefix,
+                                       @RequestParam(required = false) String after,
+                                       @RequestParam(required = false) Integer limit) {
+        try {
+            NameQuery query = NameQueries.from(prefix, after, limit);
+            Map<String, TableDefinition> tables = query == null
+                    ? dictionary.getTables()
+                    : dictionary.getTables(query);
+            return ResponseEntity.ok(tables.values().stream()
+                    .map(TableController::toMap)
+                    .toList());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{name}")
@@ -44,40 +60,7 @@ public class TableController {
     @PostMapping
     public ResponseEntity<Object> create(@RequestBody Map<String, Object> body) {
         try {
-            String tableName = (String) body.get("tableName");
-            TableDefinition table = new TableDefinition(tableName);
-
-            if (body.containsKey("description")) {
-                table.setDescription((String) body.get("description"));
-            }
-            if (body.containsKey("deliveryClass")) {
-                table.setDeliveryClass(
-                        TableDefinition.DeliveryClass.valueOf((String) body.get("deliveryClass")));
-            }
-            if (body.containsKey("buffered")) {
-                table.setBuffered((Boolean) body.get("buffered"));
-            }
-
-            if (body.containsKey("fields")) {
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> fields = (List<Map<String, Object>>) body.get("fields");
-                for (Map<String, Object> fieldMap : fields) {
-                    String fieldName = (String) fieldMap.get("fieldName");
-                    String deName = (String) fieldMap.get("dataElementName");
-                    boolean keyField = fieldMap.containsKey("keyField")
-                            && (Boolean) fieldMap.get("keyField");
-                    boolean nullable = fieldMap.containsKey("nullable")
-                            && (Boolean) fieldMap.get("nullable");
-
-                    DataElement de = dictionary.getDataElement(deName);
-                    if (de == null) {
-                        return ResponseEntity.badRequest()
-                                .body(Map.of("error", "Data element not found: " + deName));
-                    }
-                    table.addField(new FieldDefinition(fieldName, de, keyField, nullable));
-                }
-            }
-
+            TableDefinition table = fromBody(body);
             dictionary.registerTable(table);
             return ResponseEntity.status(HttpStatus.CREATED).body(toMap(table));
         } catch (IllegalArgumentException e) {
@@ -85,6 +68,84 @@ public class TableController {
         }
     }
 
+    /**
+     * Replace a Table. With {@code cascade=true} the objects that use it
+     * are rebound to the new version; otherwise the update is refused with
+     * 409 Conflict while any exist.
+     */
+    @PutMapping("/{name}")
+    public ResponseEntity<Object> update(@PathVariable String name,
+                                         @RequestParam(defaultValue = "false") boolean cascade,
+                                         @RequestBody Map<String, Object> body) {
+        if (dictionary.getTable(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> {
+            TableDefinition table = fromBody(Modifications.named(body, "tableName", name));
+            dictionary.updateTable(table, Modifications.policy(cascade));
+            return toMap(table);
+        });
+    }
+
+    /**
+     * Remove a Table. With {@code cascade=true} the objects that use it
+     * are removed too; otherwise the removal is refused with 409 Conflict
+     * while any exist.
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Object> remove(@PathVariable String name,
+                                         @RequestParam(defaultValue = "false") boolean cascade) {
+        if (dictionary.getTable(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> Modifications.removed(name,
+                dictionary.removeTable(name, Modifications.policy(cascade))));
+    }
+
+    /**
+     * Build a Table from a request body.
+     *
+     * @throws IllegalArgumentException if the body is invalid or references
+     *                                  unknown objects
+     */
+    private TableDefinition fromBody(Map<String, Object> body) {
+        String tableName = (String) body.get("tableName");
+        TableDefinition table = new TableDefinition(tableName);
+
+        if (body.containsKey("description")) {
+            table.setDescription((String) body.get("description"));
+        }
+        if (body.containsKey("deliveryClass")) {
+            table.setDeliveryClass(
+                    TableDefinition.DeliveryClass.valueOf((String) body.get("deliveryClass")));
+        }
+        if (body.containsKey("buffered")) {
+            table.setBuffered((Boolean) body.get("buffered"));
+        }
+
+        if (body.containsKey("fields")) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> fields = (List<Map<String, Object>>) body.get("fields");
+            for (Map<String, Object> fieldMap : fields) {
+                String fieldName = (String) fieldMap.get("fieldName");
+                String deName = (String) fieldMap.get("dataElementName");
+                boolean keyField = fieldMap.containsKey("keyField")
+                        && (Boolean) fieldMap.get("keyField");
+                boolean nullable = fieldMap.containsKey("nullable")
+                        && (Boolean) fieldMap.get("nullable");
+
+                DataElement de = dictionary.getDataElement(deName);
+                if (de == null) {
+                    throw new IllegalArgumentException("Data element not found: " + deName);
+                }
+                table.addField(new FieldDefinition(fieldName, de, keyField, nullable));
+            }
+        }
+
+        table.trimToSize();
+        return table;
+    }
+
     static Map<String, Object> toMap(TableDefinition table) {
         Map<String, Object> map = new LinkedHashMap<>();
         map.put("tableName", table.getTableName());
@@ -0,0 +1,92 @@
+package com.sap.datadictionary.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sap.datadictionary.registry.ConsistencyValidator;
+import com.sap.datadictionary.registry.DataDictionary;
+import com.sap.datadictionary.registry.ValidationCache;
+import com.sap.datadictionary.registry.ValidationResult;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for consistency validation.
+ * <p>
+ * Findings are streamed as newline-delimited JSON while the validation
+ * runs, so a dictionary with millions of broken references neither fills
+ * the heap nor delays the first finding. The run can be limited to some
+ * rules and stopped after a number of findings. Findings of objects that
+ * did not change since an earlier request come from the shared
+ * {@link ValidationCache}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/validation")
+public class ValidationController {
+
+    private final DataDictionary dictionary;
+    private final ValidationCache cache;
+    private final ObjectMapper mapper;
+
+    public ValidationController(DataDictionary dictionary, ValidationCache cache, ObjectMapper mapper) {
+        this.dictionary = dictionary;
+        this.cache = cache;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Validate the dictionary and stream the findings, or answer 400 if a
+     * rule is unknown or the limit is not positive.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> validate(@RequestParam(required = false) List<String> rule,
+                                                          @RequestParam(required = false) Integer max) {
+        ConsistencyValidator validator = new ConsistencyValidator(dictionary, cache);
+        List<String> rules = rule == null ? validator.getRuleNames() : rule;
+        int limit = max == null ? Integer.MAX_VALUE : max;
+        for (String name : rules) {
+            if (!validator.getRuleNames().contains(name)) {
+                throw new IllegalArgumentException("Unknown validation rule: " + name);
+            }
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Finding limit must be positive: " + limit);
+        }
+        StreamingResponseBody body = out -> {
+            try {
+                validator.validate(rules, limit, finding -> {
+                    try {
+                        out.write(mapper.writeValueAsBytes(toMap(finding)));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /** Answer 400 for an unknown rule or a limit that is not positive. */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Object> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    static Map<String, Object> toMap(ValidationResult.Finding finding) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("severity", finding.severity().name());
+        map.put("code", finding.code());
+        map.put("message", finding.message());
+        return map;
+    }
+}
@@ -3,6 +3,7 @@ package com.sap.datadictionary.api;
 import com.sap.datadictionary.conceptual.TableDefinition;
 import com.sap.datadictionary.external.ViewDefinition;
 import com.sap.datadictionary.registry.DataDictionary;
+import com.sap.datadictionary.registry.NameQuery;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -24,11 +25,26 @@ public class ViewController {
         this.dictionary = dictionary;
     }
 
+    /**
+     * List all Views in registration order or, if any of {@code prefix},
+     * {@code after} (the last name of the previous page) or {@code limit}
+     * is given, the matching page in name order.
+     */
     @GetMapping
-    public List<Map<String, Object>> list() {
-        return dictionary.getViews().values().stream()
-                .map(ViewController::toMap)
-                .toList();
+    public ResponseEntity<Object> list(@RequestParam(required = false) String prefix,
+                                       @RequestParam(required = false) String after,
+                                       @RequestParam(required = false) Integer limit) {
+        try {
+            NameQuery query = NameQueries.from(prefix, after, limit);
+            Map<String, ViewDefinition> views = query == null
+                    ? dictionary.getViews()
+                    : dictionary.getViews(query);
+            return ResponseEntity.ok(views.values().stream()
+                    .map(ViewController::toMap)
+                    .toList());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/{name}")
@@ -43,42 +59,98 @@ public class ViewController {
     @PostMapping
     public ResponseEntity<Object> create(@RequestBody Map<String, Object> body) {
         try {
-            String viewName = (String) body.get("viewName");
-            ViewDefinition.ViewType viewType =
-                    ViewDefinition.ViewType.valueOf((String) body.get("viewType"));
+            ViewDefinition view = fromBody(body);
+            dictionary.registerView(view);
+            return ResponseEntity.status(HttpStatus.CREATED).body(toMap(view));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
 
-            ViewDefinition view = new ViewDefinition(viewName, viewType);
+    /**
+     * Replace a View. With {@code cascade=true} the Views that use it
+     * are rebound to the new version; otherwise the update is refused with
+     * 409 Conflict while any exist.
+     */
+    @PutMapping("/{name}")
+    public ResponseEntity<Object> update(@PathVariable String name,
+                                         @RequestParam(defaultValue = "false") boolean cascade,
+                                         @RequestBody Map<String, Object> body) {
+        if (dictionary.getView(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> {
+            ViewDefinition view = fromBody(Modifications.named(body, "viewName", name));
+            dictionary.updateView(view, Modifications.policy(cascade));
+            return toMap(view);
+        });
+    }
 
-            if (body.containsKey("description")) {
-                view.setDescription((String) body.get("description"));
-            }
+    /**
+     * Remove a View. With {@code cascade=true} the Views that use it
+     * are removed too; otherwise the removal is refused with 409 Conflict
+     * while any exist.
+     */
+    @DeleteMapping("/{name}")
+    public ResponseEntity<Object> remove(@PathVariable String name,
+                                         @RequestParam(defaultValue = "false") boolean cascade) {
+        if (dictionary.getView(name) == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return Modifications.respond(() -> Modifications.removed(name,
+                dictionary.removeView(name, Modifications.policy(cascade))));
+    }
+
+    /**
+     * Build a View from a request body.
+     *
+     * @throws IllegalArgumentException if the body is invalid or references
+     *                                  unknown objects
+     */
+    private ViewDefinition fromBody(Map<String, Object> body) {
+        String viewName = (String) body.get("viewName");
+        ViewDefinition.ViewType viewType =
+                ViewDefinition.ViewType.valueOf((String) body.get("viewType"));
+
+        ViewDefinition view = new ViewDefinition(viewName, viewType);
 
-            if (body.containsKey("baseTableNames")) {
-                @SuppressWarnings("unchecked")
-                List<String> tableNames = (List<String>) body.get("baseTableNames");
-                for (String tableName : tableNames) {
-                    TableDefinition table = dictionary.getTable(tableName);
-                    if (table == null) {
-                        return ResponseEntity.badRequest()
-                                .body(Map.of("error", "Table not found: " + tableName));
-                    }
-                    view.addBaseTable(table);
+        if (body.containsKey("description")) {
+            view.setDescription((String) body.get("description"));
+        }
+
+        if (body.containsKey("baseTableNames")) {
+            @SuppressWarnings("unchecked")
+            List<String> tableNames = (List<String>) body.get("baseTableNames");
+            for (String tableName : tableNames) {
+                TableDefinition table = dictionary.getTable(tableName);
+                if (table == null) {
+                    throw new IllegalArgumentException("Table not found: " + tableName);
                 }
+                view.addBaseTable(table);
             }
+        }
 
-            if (body.containsKey("selectedFields")) {
-                @SuppressWarnings("unchecked")
-                List<String> fields = (List<String>) body.get("selectedFields");
-                for (String field : fields) {
-                    view.addSelectedField(field);
+        if (body.containsKey("baseViewNames")) {
+            @SuppressWarnings("unchecked")
+            List<String> viewNames = (List<String>) body.get("baseViewNames");
+            for (String baseViewName : viewNames) {
+                ViewDefinition baseView = dictionary.getView(baseViewName);
+                if (baseView == null) {
+                    throw new IllegalArgumentException("View not found: " + baseViewName);
                 }
+                view.addBaseView(baseView);
             }
+        }
 
-            dictionary.registerView(view);
-            return ResponseEntity.status(HttpStatus.CREATED).body(toMap(view));
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        if (body.containsKey("selectedFields")) {
+            @SuppressWarnings("unchecked")
+            List<String> fields = (List<String>) body.get("selectedFields");
+            for (String field : fields) {
+                view.addSelectedField(field);
+            }
         }
+
+        return view;
     }
 
     static Map<String, Object> toMap(ViewDefinition view) {
@@ -89,6 +161,9 @@ public class ViewController {
         map.put("baseTableNames", view.getBaseTables().stream()
                 .map(TableDefinition::getTableName)
                 .toList());
+        map.put("baseViewNames", view.getBaseViews().stream()
+                .map(ViewDefinition::getViewName)
+                .toList());
         map.put("selectedFields", view.getSelectedFields());
         return map;
     }
@@ -0,0 +1,192 @@
+package com.sap.datadictionary.conceptual;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Compact storage for the ordered fields of a {@link TableDefinition} or
+ * {@link Structure}.
+ * <p>
+ * Instead of a map entry per field, the {@link FieldDefinition}s that were
+ * added are kept in one array, in their defined order. Lookups by name
+ * scan the array while there are few fields and use a small
+ * open-addressing index of positions once there are more.
+ * </p>
+ * <p>
+ * The list views returned from {@link #all()} and {@link #keys()} return
+ * the very instances that were added and allocate nothing per read. The
+ * array is only ever appended to (and replaced by a larger copy when it
+ * grows), so a view keeps showing exactly the fields that existed when it
+ * was created. {@link #trim()} drops the spare capacity once the
+ * definition is complete and before it is shared; read methods never
+ * replace the array.
+ * </p>
+ */
+final class FieldStore {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    /** Above this many fields, name lookups go through {@link #index}. */
+    private static final int INDEX_THRESHOLD = 16;
+
+    private FieldDefinition[] fields = new FieldDefinition[INITIAL_CAPACITY];
+    private int size;
+    private int keyCount;
+
+    /**
+     * Name index: open addressing with linear probing, holding position + 1
+     * ({@code 0} is empty). {@code null} until there are more than
+     * {@link #INDEX_THRESHOLD} fields; at most half full.
+     */
+    private int[] index;
+
+    /** Cached views; reset by {@link #add}. */
+    private volatile List<FieldDefinition> all;
+    private volatile List<FieldDefinition> keys;
+
+    int size() {
+        return size;
+    }
+
+    /** Append a field. Duplicate field names are rejected. */
+    void add(FieldDefinition field) {
+        if (field == null) {
+            throw new IllegalArgumentException("Field must not be null");
+        }
+        String name = field.getFieldName();
+        if (indexOf(name) >= 0) {
+            throw new IllegalArgumentException("Duplicate field: " + name);
+        }
+        if (size == fields.length) {
+            fields = Arrays.copyOf(fields, Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        fields[size] = field;
+        size++;
+        if (field.isKeyField()) {
+            keyCount++;
+        }
+        if (index != null && size * 2 <= index.length) {
+            insert(index, fields, size - 1);
+        } else if (size > INDEX_THRESHOLD) {
+            rebuildIndex();
+        }
+        all = null;
+        keys = null;
+    }
+
+    /**
+     * Drop the spare capacity of the array. Called once the definition is
+     * complete, before it is registered; like {@link #add}, not safe to
+     * run while other threads use the store. Views created earlier keep
+     * reading the previous array, which holds the same fields.
+     */
+    void trim() {
+        if (fields.length > size) {
+            fields = Arrays.copyOf(fields, size);
+        }
+    }
+
+    /** Return the named field, or {@code null}. */
+    FieldDefinition get(String fieldName) {
+        FieldDefinition[] array = fields;
+        int position = fieldName == null ? -1 : indexOf(array, fieldName);
+        return position < 0 ? null : array[position];
+    }
+
+    /** Return an unmodifiable view of all fields, shared until the next {@link #add}. */
+    List<FieldDefinition> all() {
+        List<FieldDefinition> list = all;
+        if (list == null) {
+            list = new View(fields, null, size);
+            all = list;
+        }
+        return list;
+    }
+
+    /** Return an unmodifiable view of the key fields in their defined order; cached like {@link #all()}. */
+    List<FieldDefinition> keys() {
+        List<FieldDefinition> list = keys;
+        if (list == null) {
+            FieldDefinition[] array = fields;
+            int[] positions = new int[keyCount];
+            for (int i = 0, k = 0; k < keyCount; i++) {
+                if (array[i].isKeyField()) {
+                    positions[k++] = i;
+                }
+            }
+            list = new View(array, positions, keyCount);
+            keys = list;
+        }
+        return list;
+    }
+
+    private int indexOf(String fieldName) {
+        return indexOf(fields, fieldName);
+    }
+
+    private int indexOf(FieldDefinition[] array, String fieldName) {
+        int[] table = index;
+        if (table == null) {
+            for (int i = 0; i < size; i++) {
+                if (array[i].getFieldName().equals(fieldName)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = table.length - 1;
+        for (int i = fieldName.hashCode() & mask; table[i] != 0; i = (i + 1) & mask) {
+            int position = table[i] - 1;
+            if (array[position].getFieldName().equals(fieldName)) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private void rebuildIndex() {
+        int[] table = new int[Integer.highestOneBit(size * 2 - 1) << 1];
+        for (int i = 0; i < size; i++) {
+            insert(table, fields, i);
+        }
+        index = table;
+    }
+
+    private static void insert(int[] table, FieldDefinition[] array, int position) {
+        int mask = table.length - 1;
+        int i = array[position].getFieldName().hashCode() & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = position + 1;
+    }
+
+    /** Read-only list over a fixed prefix of the array, optionally through a list of positions. */
+    private static final class View extends AbstractList<FieldDefinition> implements RandomAccess {
+
+        private final FieldDefinition[] fields;
+        private final int[] positions;
+        private final int size;
+
+        View(FieldDefinition[] fields, int[] positions, int size) {
+            this.fields = fields;
+            this.positions = positions;
+            this.size = size;
+        }
+
+        @Override
+        public FieldDefinition get(int i) {
+            if (i < 0 || i >= size) {
+                throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+            }
+            return fields[positions == null ? i : positions[i]];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -2,9 +2,9 @@ package com.sap.datadictionary.conceptual;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents an SAP Data Dictionary Structure.
@@ -12,12 +12,19 @@ import java.util.Map;
  * A Structure is similar to a {@link TableDefinition} but has no
  * corresponding database table. Structures are used in the Conceptual
  * Schema to model complex parameters, interface types, and work areas.
+ * Like a table, it stores its fields compactly in one array.
+ * </p>
+ * <p>
+ * A Structure may include other Structures, like an ABAP
+ * {@code .INCLUDE} or append structure; their fields become part of the
+ * including Structure after its own (see {@link #getAllFields()}).
  * </p>
  */
 public class Structure {
 
     private final String structureName;
-    private final Map<String, FieldDefinition> fields;
+    private final FieldStore fields;
+    private final List<Structure> includes;
     private String description;
 
     public Structure(String structureName) {
@@ -25,26 +32,67 @@ public class Structure {
             throw new IllegalArgumentException("Structure name must not be blank");
         }
         this.structureName = structureName;
-        this.fields = new LinkedHashMap<>();
+        this.fields = new FieldStore();
+        this.includes = new ArrayList<>();
     }
 
     public void addField(FieldDefinition field) {
-        if (field == null) {
-            throw new IllegalArgumentException("Field must not be null");
-        }
-        if (fields.containsKey(field.getFieldName())) {
-            throw new IllegalArgumentException(
-                    "Duplicate field: " + field.getFieldName());
-        }
-        fields.put(field.getFieldName(), field);
+        fields.add(field);
+    }
+
+    /** Drop the spare capacity of the field storage; see {@link TableDefinition#trimToSize()}. */
+    public void trimToSize() {
+        fields.trim();
     }
 
     public FieldDefinition getField(String fieldName) {
         return fields.get(fieldName);
     }
 
+    /**
+     * Return an unmodifiable ordered list view of all fields, shared until
+     * the next {@link #addField}.
+     */
     public List<FieldDefinition> getFields() {
-        return Collections.unmodifiableList(new ArrayList<>(fields.values()));
+        return fields.all();
+    }
+
+    public void addInclude(Structure structure) {
+        if (structure == null) {
+            throw new IllegalArgumentException("Included structure must not be null");
+        }
+        if (structure == this) {
+            throw new IllegalArgumentException("Structure '" + structureName + "' cannot include itself");
+        }
+        includes.add(structure);
+    }
+
+    public List<Structure> getIncludes() {
+        return Collections.unmodifiableList(includes);
+    }
+
+    /**
+     * Return the own fields followed by those of the included Structures,
+     * recursively and in include order. A Structure reached again through
+     * an include cycle contributes its fields only once.
+     */
+    public List<FieldDefinition> getAllFields() {
+        if (includes.isEmpty()) {
+            return getFields();
+        }
+        List<FieldDefinition> all = new ArrayList<>();
+        collectFields(all, Collections.newSetFromMap(new IdentityHashMap<>()));
+        return Collections.unmodifiableList(all);
+    }
+
+    private void collectFields(List<FieldDefinition> all, Set<Structure> visited) {
+        if (!visited.add(this)) {
+            return;
+        }
+        all.addAll(getFields());
+        for (Structure include : includes) {
+            include.collectFields(all, visited);
+        }
     }
 
     public String getStructureName() {
@@ -61,6 +109,7 @@ public class Structure {
 
     @Override
     public String toString() {
-        return "Structure{name='" + structureName + "', fields=" + fields.size() + '}';
+        return "Structure{name='" + structureName + "', fields=" + fields.size()
+                + ", includes=" + includes.size() + '}';
     }
 }
@@ -1,10 +1,6 @@
 package com.sap.datadictionary.conceptual;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Represents an SAP Data Dictionary transparent table definition.
@@ -14,6 +10,12 @@ import java.util.Map;
  * has an ordered list of {@link FieldDefinition}s and metadata such as
  * its delivery class and whether data buffering is enabled.
  * </p>
+ * <p>
+ * Fields are stored compactly in one array rather than in a map; the
+ * {@link FieldDefinition}s returned by {@link #getField},
+ * {@link #getFields()} and {@link #getKeyFields()} are the instances that
+ * were added.
+ * </p>
  */
 public class TableDefinition {
 
@@ -21,7 +23,7 @@ public class TableDefinition {
     public enum DeliveryClass { A, C, L, G, E, S, W }
 
     private final String tableName;
-    private final Map<String, FieldDefinition> fields;
+    private final FieldStore fields;
     private String description;
     private DeliveryClass deliveryClass;
     private boolean buffered;
@@ -31,36 +33,41 @@ public class TableDefinition {
             throw new IllegalArgumentException("Table name must not be blank");
         }
         this.tableName = tableName;
-        this.fields = new LinkedHashMap<>();
+        this.fields = new FieldStore();
         this.deliveryClass = DeliveryClass.A;
     }
 
     /** Add a field. Duplicate field names are rejected. */
     public void addField(FieldDefinition field) {
-        if (field == null) {
-            throw new IllegalArgumentException("Field must not be null");
-        }
-        if (fields.containsKey(field.getFieldName())) {
-            throw new IllegalArgumentException(
-                    "Duplicate field: " + field.getFieldName());
-        }
-        fields.put(field.getFieldName(), field);
+        fields.add(field);
+    }
+
+    /**
+     * Drop the spare capacity of the field storage. Call it once the table
+     * is complete, before registering it; the dictionary never changes the
+     * objects it is given. Like {@link #addField}, it must not run while
+     * other threads read the table.
+     */
+    public void trimToSize() {
+        fields.trim();
     }
 
     public FieldDefinition getField(String fieldName) {
         return fields.get(fieldName);
     }
 
-    /** Return an unmodifiable ordered list of all fields. */
+    /**
+     * Return an unmodifiable ordered list of all fields. The list is a view
+     * created once and shared until the next {@link #addField}; it keeps
+     * showing the fields that existed when it was created.
+     */
     public List<FieldDefinition> getFields() {
-        return Collections.unmodifiableList(new ArrayList<>(fields.values()));
+        return fields.all();
     }
 
-    /** Return only the key fields in their defined order. */
+    /** Return only the key fields in their defined order; cached like {@link #getFields()}. */
     public List<FieldDefinition> getKeyFields() {
-        return fields.values().stream()
-                .filter(FieldDefinition::isKeyField)
-                .toList();
+        return fields.keys();
     }
 
     public String getTableName() {
@@ -7,6 +7,7 @@ import com.sap.datadictionary.internal.Domain;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Generates SQL DDL statements from Data Dictionary definitions.
@@ -96,15 +97,15 @@ public class DdlGenerator {
      * <p>
      * If the view has no selected fields, {@code SELECT *} is generated.
      * When multiple base tables are present they appear as a comma-separated
-     * list in the {@code FROM} clause.
+     * list in the {@code FROM} clause, followed by any base views.
      * </p>
      *
      * @param view    the view definition to generate DDL for; must not be null
-     *                and must have at least one base table
+     *                and must have at least one base table or base view
      * @param dialect the target SQL dialect; must not be null
      * @return the SQL {@code CREATE VIEW} statement (without trailing semicolon)
      * @throws IllegalArgumentException if {@code view} or {@code dialect} is null,
-     *                                  or if the view has no base tables
+     *                                  or if the view has neither base tables nor base views
      */
     public String generateCreateView(ViewDefinition view, SqlDialect dialect) {
         if (view == null) {
@@ -114,7 +115,8 @@ public class DdlGenerator {
             throw new IllegalArgumentException("Dialect must not be null");
         }
         List<TableDefinition> baseTables = view.getBaseTables();
-        if (baseTables.isEmpty()) {
+        List<ViewDefinition> baseViews = view.getBaseViews();
+        if (baseTables.isEmpty() && baseViews.isEmpty()) {
             throw new IllegalArgumentException(
                     "View '" + view.getViewName() + "' has no base tables defined");
         }
@@ -131,8 +133,9 @@ public class DdlGenerator {
         }
 
         sb.append("\nFROM ");
-        String tableList = baseTables.stream()
-                .map(TableDefinition::getTableName)
+        String tableList = Stream.concat(
+                        baseTables.stream().map(TableDefinition::getTableName),
+                        baseViews.stream().map(ViewDefinition::getViewName))
                 .collect(Collectors.joining(", "));
         sb.append(tableList);
 
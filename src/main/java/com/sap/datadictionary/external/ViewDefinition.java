@@ -14,6 +14,10 @@ import java.util.List;
  * {@link TableDefinition}s and exposes a subset of their fields,
  * optionally with join conditions and selection criteria.
  * </p>
+ * <p>
+ * Views can also be stacked: a view may select from other views, whose
+ * selected fields it can then select in turn.
+ * </p>
  */
 public class ViewDefinition {
 
@@ -32,6 +36,7 @@ public class ViewDefinition {
     private final String viewName;
     private final ViewType viewType;
     private final List<TableDefinition> baseTables;
+    private final List<ViewDefinition> baseViews;
     private final List<String> selectedFields;
     private String description;
 
@@ -45,6 +50,7 @@ public class ViewDefinition {
         this.viewName = viewName;
         this.viewType = viewType;
         this.baseTables = new ArrayList<>();
+        this.baseViews = new ArrayList<>();
         this.selectedFields = new ArrayList<>();
     }
 
@@ -55,6 +61,16 @@ public class ViewDefinition {
         baseTables.add(table);
     }
 
+    public void addBaseView(ViewDefinition view) {
+        if (view == null) {
+            throw new IllegalArgumentException("Base view must not be null");
+        }
+        if (view == this) {
+            throw new IllegalArgumentException("View '" + viewName + "' cannot select from itself");
+        }
+        baseViews.add(view);
+    }
+
     public void addSelectedField(String fieldName) {
         if (fieldName == null || fieldName.isBlank()) {
             throw new IllegalArgumentException("Field name must not be blank");
@@ -74,6 +90,10 @@ public class ViewDefinition {
         return Collections.unmodifiableList(baseTables);
     }
 
+    public List<ViewDefinition> getBaseViews() {
+        return Collections.unmodifiableList(baseViews);
+    }
+
     public List<String> getSelectedFields() {
         return Collections.unmodifiableList(selectedFields);
     }
@@ -89,6 +109,6 @@ public class ViewDefinition {
     @Override
     public String toString() {
         return "ViewDefinition{name='" + viewName + "', type=" + viewType
-                + ", baseTables=" + baseTables.size() + '}';
+                + ", baseTables=" + baseTables.size() + ", baseViews=" + baseViews.size() + '}';
     }
 }
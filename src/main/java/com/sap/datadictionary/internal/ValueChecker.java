@@ -0,0 +1,327 @@
+package com.sap.datadictionary.internal;
+
+/**
+ * Checks values against the technical attributes of a {@link Domain}, as
+ * compiled by {@link #compile(Domain)}.
+ * <p>
+ * Compiling picks a small final class per {@link DataType} that holds the
+ * Domain's length and decimals in fields, so checking a value is one
+ * monomorphic call over its characters: no regular expression, no number
+ * parsing and no allocation. The formats are those of the ABAP types:
+ * </p>
+ * <ul>
+ *   <li>{@code CHAR}, {@code STRING}: at most {@code length} characters.</li>
+ *   <li>{@code NUMC}: one to {@code length} digits.</li>
+ *   <li>{@code INTEGER}: an optional sign and digits within the range of a
+ *       4-byte integer.</li>
+ *   <li>{@code DECIMAL}: an optional sign, at most {@code length - decimals}
+ *       integer digits and, after a point, one to {@code decimals} fraction
+ *       digits.</li>
+ *   <li>{@code DATE}: {@code YYYYMMDD}, a calendar date or the initial
+ *       value {@code 00000000}.</li>
+ *   <li>{@code TIME}: {@code HHMMSS}, from {@code 000000} to {@code 235959}.</li>
+ *   <li>{@code TIMESTAMP}: {@code YYYYMMDDHHMMSS}, a date and a time as above.</li>
+ *   <li>{@code RAW}: an even number of hexadecimal digits, at most two per
+ *       byte of {@code length}.</li>
+ * </ul>
+ * <p>
+ * If the Domain has a {@link ValueRange} with fixed values or intervals,
+ * only values that have the Domain's format and are allowed by the range
+ * are accepted. The range is looked up with the value's characters, so a
+ * {@link String}, a {@link StringBuilder} or a slice of an input buffer
+ * is looked up without being copied. A checker does not see later changes
+ * to its Domain; compile it again. Checkers are immutable and may be used
+ * by any number of threads.
+ * </p>
+ */
+public abstract class ValueChecker {
+
+    private ValueChecker() {
+    }
+
+    /**
+     * Compile a checker for the values of {@code domain}, including its
+     * fixed values and intervals if it has any.
+     *
+     * @throws IllegalArgumentException if {@code domain} is {@code null}
+     */
+    public static ValueChecker compile(Domain domain) {
+        ValueChecker format = compileFormat(domain);
+        ValueRange range = domain.getValueRange();
+        if (range == null || range.isEmpty()) {
+            return format;
+        }
+        return new Restricted(format, range.lookup());
+    }
+
+    /**
+     * Compile a checker for the format of the values of {@code domain},
+     * ignoring its value range, e.g. to check the fixed values themselves.
+     *
+     * @throws IllegalArgumentException if {@code domain} is {@code null}
+     */
+    public static ValueChecker compileFormat(Domain domain) {
+        if (domain == null) {
+            throw new IllegalArgumentException("Domain must not be null");
+        }
+        int length = domain.getLength();
+        return switch (domain.getDataType()) {
+            case CHAR -> new Characters("CHAR", length);
+            case STRING -> new Characters("STRING", length);
+            case NUMC -> new Numc(length);
+            case INTEGER -> new Int4();
+            case DECIMAL -> new Decimal(length, domain.getDecimals());
+            case DATE -> new Date();
+            case TIME -> new Time();
+            case TIMESTAMP -> new Timestamp();
+            case RAW -> new Raw(length);
+        };
+    }
+
+    /** Returns {@code true} if {@code value} is a valid value; {@code null} never is. */
+    public abstract boolean accepts(CharSequence value);
+
+    /** Returns the type the checker checks for, e.g. {@code NUMC(3)} or {@code DEC(10,2)}. */
+    @Override
+    public abstract String toString();
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /** Return the number formed by the two digits at {@code from}, which must be digits. */
+    private static int twoDigits(CharSequence value, int from) {
+        return (value.charAt(from) - '0') * 10 + value.charAt(from + 1) - '0';
+    }
+
+    /** Returns {@code true} if {@code count} characters from {@code from} are all digits. */
+    private static boolean allDigits(CharSequence value, int from, int count) {
+        for (int i = from; i < from + count; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns {@code true} if the 8 digits at {@code from} are a calendar date or all zero. */
+    private static boolean isDate(CharSequence value, int from) {
+        int year = twoDigits(value, from) * 100 + twoDigits(value, from + 2);
+        int month = twoDigits(value, from + 4);
+        int day = twoDigits(value, from + 6);
+        if (year == 0 && month == 0 && day == 0) {
+            return true;
+        }
+        if (year == 0 || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        int days = switch (month) {
+            case 2 -> (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+        return day <= days;
+    }
+
+    /** Returns {@code true} if the 6 digits at {@code from} are a time of day. */
+    private static boolean isTime(CharSequence value, int from) {
+        return twoDigits(value, from) < 24 && twoDigits(value, from + 2) < 60 && twoDigits(value, from + 4) < 60;
+    }
+
+    private static final class Characters extends ValueChecker {
+        private final String type;
+        private final int length;
+
+        Characters(String type, int length) {
+            this.type = type;
+            this.length = length;
+        }
+
+        @Override
+        public boolean accepts(CharSequence value) {
+            return value != null && value.length() <= length;
+        }
+
+        @Override
+        public String toString() {
+            return type + "(" + length + ")";
+        }
+    }
+
+    private static final class Numc extends ValueChecker {
+        private final int length;
+
+        Numc(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public boolean accepts(CharSequence value) {
+            return value != null && value.length() > 0 && value.length() <= length
+                    && allDigits(value, 0, value.length());
+        }
+
+        @Override
+        public String toString() {
+            return "NUMC(" + length + ")";
+        }
+    }
+
+    private static final class Int4 extends ValueChecker {
+        @Override
+        public boolean accepts(CharSequence value) {
+            if (value == null) {
+                return false;
+            }
+            int n = value.length();
+            int start = n > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+            if (n == start || n - start > 10) {
+                return false;
+            }
+            long magnitude = 0;
+            for (int i = start; i < n; i++) {
+                char c = value.charAt(i);
+                if (!isDigit(c)) {
+                    return false;
+                }
+                magnitude = magnitude * 10 + (c - '0');
+            }
+            return magnitude <= (value.charAt(0) == '-' ? 2147483648L : Integer.MAX_VALUE);
+        }
+
+        @Override
+        public String toString() {
+            return "INT4";
+        }
+    }
+
+    private static final class Decimal extends ValueChecker {
+        private final int length;
+        private final int decimals;
+        private final int integerDigits;
+
+        Decimal(int length, int decimals) {
+            this.length = length;
+            this.decimals = decimals;
+            this.integerDigits = Math.max(0, length - decimals);
+        }
+
+        @Override
+        public boolean accepts(CharSequence value) {
+            if (value == null) {
+                return false;
+            }
+            int n = value.length();
+            int i = n > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+            int start = i;
+            while (i < n && isDigit(value.charAt(i))) {
+                i++;
+            }
+            int digits = i - start;
+            if (digits == 0 || digits > integerDigits) {
+                return false;
+            }
+            if (i == n) {
+                return true;
+            }
+            if (value.charAt(i) != '.') {
+                return false;
+            }
+            int fraction = n - i - 1;
+            return fraction > 0 && fraction <= decimals && allDigits(value, i + 1, fraction);
+        }
+
+        @Override
+        public String toString() {
+            return "DEC(" + length + "," + decimals + ")";
+        }
+    }
+
+    private static final class Date extends ValueChecker {
+        @Override
+        public boolean accepts(CharSequence value) {
+            return value != null && value.length() == 8 && allDigits(value, 0, 8) && isDate(value, 0);
+        }
+
+        @Override
+        public String toString() {
+            return "DATS";
+        }
+    }
+
+    private static final class Time extends ValueChecker {
+        @Override
+        public boolean accepts(CharSequence value) {
+            return value != null && value.length() == 6 && allDigits(value, 0, 6) && isTime(value, 0);
+        }
+
+        @Override
+        public String toString() {
+            return "TIMS";
+        }
+    }
+
+    private static final class Timestamp extends ValueChecker {
+        @Override
+        public boolean accepts(CharSequence value) {
+            return value != null && value.length() == 14 && allDigits(value, 0, 14)
+                    && isDate(value, 0) && isTime(value, 8);
+        }
+
+        @Override
+        public String toString() {
+            return "TIMESTAMP";
+        }
+    }
+
+    private static final class Raw extends ValueChecker {
+        private final int length;
+
+        Raw(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public boolean accepts(CharSequence value) {
+            if (value == null || value.length() % 2 != 0 || value.length() > 2L * length) {
+                return false;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (!isDigit(c) && (c < 'A' || c > 'F') && (c < 'a' || c > 'f')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "RAW(" + length + ")";
+        }
+    }
+
+    /**
+     * The format of a Domain and the fixed values and intervals of its
+     * {@link ValueRange}, as compiled when the checker was.
+     */
+    private static final class Restricted extends ValueChecker {
+        private final ValueChecker format;
+        private final ValueSet values;
+
+        Restricted(ValueChecker format, ValueSet values) {
+            this.format = format;
+            this.values = values;
+        }
+
+        @Override
+        public boolean accepts(CharSequence value) {
+            return format.accepts(value) && values.contains(value);
+        }
+
+        @Override
+        public String toString() {
+            return format + " with value range";
+        }
+    }
+}
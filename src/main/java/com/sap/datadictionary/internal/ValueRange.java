@@ -1,7 +1,9 @@
 package com.sap.datadictionary.internal;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -11,13 +13,54 @@ import java.util.Set;
  * backed by the domain. This is part of the Internal Schema because
  * it directly affects data validation at the storage level.
  * </p>
+ * <p>
+ * A value is allowed if it is one of the fixed values or lies within one
+ * of the intervals, such as {@code 0001} to {@code 8999}. Values are
+ * ordered as numbers if both are numbers (an optional sign, digits and an
+ * optional fraction), otherwise character by character, with numbers
+ * before all other values; see {@link #compareValues}.
+ * </p>
+ * <p>
+ * Lookups use a representation compiled from the values on first use and
+ * again after each change: a few fixed values are compared one by one,
+ * larger sets are probed in an open-addressing table, and intervals are
+ * sorted and merged so that a value is found by binary search. A lookup
+ * allocates nothing.
+ * </p>
  */
 public class ValueRange {
 
+    /**
+     * An interval of allowed values.
+     *
+     * @param low  the lowest allowed value
+     * @param high the highest allowed value, not less than {@code low}
+     */
+    public record Interval(String low, String high) {
+
+        public Interval {
+            if (low == null || high == null) {
+                throw new IllegalArgumentException("Interval bounds must not be null");
+            }
+            if (ValueSet.compare(low, high) > 0) {
+                throw new IllegalArgumentException(
+                        "Interval low bound '" + low + "' must not be greater than its high bound '" + high + "'");
+            }
+        }
+
+        @Override
+        public String toString() {
+            return low + ".." + high;
+        }
+    }
+
     private final Set<String> fixedValues;
+    private final List<Interval> intervals;
+    private volatile ValueSet lookup;
 
     public ValueRange() {
         this.fixedValues = new LinkedHashSet<>();
+        this.intervals = new ArrayList<>();
     }
 
     /** Add a single allowed value. */
@@ -26,6 +69,18 @@ public class ValueRange {
             throw new IllegalArgumentException("Fixed value must not be null");
         }
         fixedValues.add(value);
+        lookup = null;
+    }
+
+    /**
+     * Add the values from {@code low} to {@code high}, both included.
+     *
+     * @throws IllegalArgumentException if a bound is {@code null} or
+     *                                  {@code low} is greater than {@code high}
+     */
+    public void addInterval(String low, String high) {
+        intervals.add(new Interval(low, high));
+        lookup = null;
     }
 
     /** Return an unmodifiable view of the fixed values. */
@@ -33,16 +88,49 @@ public class ValueRange {
         return Collections.unmodifiableSet(fixedValues);
     }
 
-    /** Check whether a given value is within the allowed range. */
+    /** Return an unmodifiable view of the intervals, in the order they were added. */
+    public List<Interval> getIntervals() {
+        return Collections.unmodifiableList(intervals);
+    }
+
+    /** Returns {@code true} if the range has neither fixed values nor intervals, and so allows any value. */
+    public boolean isEmpty() {
+        return fixedValues.isEmpty() && intervals.isEmpty();
+    }
+
+    /**
+     * Check whether a given value is within the allowed range. This does not
+     * check the value against its Domain's format; see {@link ValueChecker}.
+     */
     public boolean isValid(String value) {
-        if (fixedValues.isEmpty()) {
+        if (isEmpty()) {
             return true; // no restriction
         }
-        return fixedValues.contains(value);
+        return lookup().contains(value);
+    }
+
+    /**
+     * Compare two values in the order of intervals: as numbers if both are
+     * numbers, otherwise character by character, with numbers first.
+     */
+    public static int compareValues(CharSequence a, CharSequence b) {
+        return ValueSet.compare(a, b);
+    }
+
+    /** Return the compiled values, compiling them if they changed since the last lookup. */
+    ValueSet lookup() {
+        ValueSet set = lookup;
+        if (set == null) {
+            set = ValueSet.of(fixedValues, intervals);
+            lookup = set;
+        }
+        return set;
     }
 
     @Override
     public String toString() {
-        return "ValueRange{fixedValues=" + fixedValues + '}';
+        return intervals.isEmpty()
+                ? "ValueRange{fixedValues=" + fixedValues + '}'
+                : "ValueRange{fixedValues=" + fixedValues + ", intervals=" + intervals + '}';
     }
 }
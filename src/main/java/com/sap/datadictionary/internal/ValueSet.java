@@ -0,0 +1,292 @@
+package com.sap.datadictionary.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The values a {@link ValueRange} allows, compiled for lookups.
+ * <p>
+ * The representation of the fixed values is chosen by their number: up to
+ * {@link #LINEAR_MAX} are kept in an array and compared one by one, more
+ * in an open-addressing table with linear probing, at most half full.
+ * Values are hashed like {@link String#hashCode()}, so a {@link String} is
+ * probed with its cached hash, and any other {@link CharSequence} without
+ * being copied. Intervals are sorted by their low bounds and overlapping
+ * ones merged, so at most one can contain a value, found by binary search.
+ * </p>
+ * <p>
+ * A set is immutable; {@link ValueRange} compiles a new one after a change.
+ * </p>
+ */
+final class ValueSet {
+
+    /** Fixed values kept in an array rather than a hash table. */
+    static final int LINEAR_MAX = 8;
+
+    /** The fixed values, or their hash table if {@link #mask} is not {@code -1}. */
+    private final String[] values;
+    private final int mask;
+    private final int size;
+    /** The low and high bounds of disjoint intervals, in ascending order. */
+    private final String[] lows;
+    private final String[] highs;
+
+    private ValueSet(String[] values, int mask, int size, String[] lows, String[] highs) {
+        this.values = values;
+        this.mask = mask;
+        this.size = size;
+        this.lows = lows;
+        this.highs = highs;
+    }
+
+    static ValueSet of(Collection<String> fixedValues, List<ValueRange.Interval> intervals) {
+        String[] values;
+        int mask = -1;
+        if (fixedValues.size() <= LINEAR_MAX) {
+            values = fixedValues.toArray(String[]::new);
+        } else {
+            int capacity = Integer.highestOneBit(fixedValues.size() * 2 - 1) << 1;
+            values = new String[capacity];
+            mask = capacity - 1;
+            for (String fixed : fixedValues) {
+                int slot = spread(fixed.hashCode()) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                values[slot] = fixed;
+            }
+        }
+
+        List<ValueRange.Interval> sorted = new ArrayList<>(intervals);
+        sorted.sort((a, b) -> compare(a.low(), b.low()));
+        List<String> lows = new ArrayList<>();
+        List<String> highs = new ArrayList<>();
+        for (ValueRange.Interval interval : sorted) {
+            int last = highs.size() - 1;
+            if (last >= 0 && compare(interval.low(), highs.get(last)) <= 0) {
+                if (compare(interval.high(), highs.get(last)) > 0) {
+                    highs.set(last, interval.high());
+                }
+            } else {
+                lows.add(interval.low());
+                highs.add(interval.high());
+            }
+        }
+        return new ValueSet(values, mask, fixedValues.size(), lows.toArray(String[]::new),
+                highs.toArray(String[]::new));
+    }
+
+    /** Returns {@code true} if the set has neither fixed values nor intervals. */
+    boolean isEmpty() {
+        return size == 0 && lows.length == 0;
+    }
+
+    /** Returns the number of fixed values. */
+    int fixedValueCount() {
+        return size;
+    }
+
+    /** Returns {@code true} if the fixed values are kept in a hash table. */
+    boolean isHashed() {
+        return mask >= 0;
+    }
+
+    /** Returns the number of intervals after overlapping ones were merged. */
+    int intervalCount() {
+        return lows.length;
+    }
+
+    /** Returns {@code true} if {@code value} is one of the fixed values or within an interval. */
+    boolean contains(CharSequence value) {
+        if (value == null) {
+            return false;
+        }
+        return containsFixed(value) || withinInterval(value);
+    }
+
+    private boolean containsFixed(CharSequence value) {
+        if (mask < 0) {
+            for (String candidate : values) {
+                if (sameChars(candidate, value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        int slot = spread(hash(value)) & mask;
+        String candidate;
+        while ((candidate = values[slot]) != null) {
+            if (sameChars(candidate, value)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private boolean withinInterval(CharSequence value) {
+        // Find the last interval that starts at or before the value
+        int low = 0;
+        int high = lows.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (compare(lows[middle], value) <= 0) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found >= 0 && compare(value, highs[found]) <= 0;
+    }
+
+    private static int hash(CharSequence value) {
+        if (value instanceof String string) {
+            return string.hashCode();
+        }
+        int h = 0;
+        for (int i = 0; i < value.length(); i++) {
+            h = 31 * h + value.charAt(i);
+        }
+        return h;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean sameChars(String candidate, CharSequence value) {
+        if (value instanceof String string) {
+            return candidate.equals(string);
+        }
+        int n = candidate.length();
+        if (value.length() != n) {
+            return false;
+        }
+        for (int i = 0; i < n; i++) {
+            if (candidate.charAt(i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---- Ordering ----
+
+    /** Compare as numbers if both are numbers, otherwise by characters; numbers come first. */
+    static int compare(CharSequence a, CharSequence b) {
+        boolean numberA = isNumber(a);
+        boolean numberB = isNumber(b);
+        if (numberA && numberB) {
+            return compareNumbers(a, b);
+        }
+        if (numberA != numberB) {
+            return numberA ? -1 : 1;
+        }
+        return CharSequence.compare(a, b);
+    }
+
+    /** Returns {@code true} for an optional sign, digits and optionally a point and more digits. */
+    private static boolean isNumber(CharSequence value) {
+        int n = value.length();
+        int i = n > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+        int start = i;
+        while (i < n && isDigit(value.charAt(i))) {
+            i++;
+        }
+        if (i == start) {
+            return false;
+        }
+        if (i == n) {
+            return true;
+        }
+        if (value.charAt(i) != '.' || i + 1 == n) {
+            return false;
+        }
+        for (i++; i < n; i++) {
+            if (!isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int compareNumbers(CharSequence a, CharSequence b) {
+        int signA = signum(a);
+        int signB = signum(b);
+        if (signA != signB) {
+            return Integer.compare(signA, signB);
+        }
+        int magnitude = compareMagnitudes(a, b);
+        return signA < 0 ? -magnitude : magnitude;
+    }
+
+    /** Return the sign of a number, {@code 0} if all its digits are zero. */
+    private static int signum(CharSequence number) {
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c >= '1' && c <= '9') {
+                return number.charAt(0) == '-' ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    private static int compareMagnitudes(CharSequence a, CharSequence b) {
+        int startA = integerStart(a);
+        int startB = integerStart(b);
+        int endA = integerEnd(a, startA);
+        int endB = integerEnd(b, startB);
+        if (endA - startA != endB - startB) {
+            return Integer.compare(endA - startA, endB - startB);
+        }
+        for (int i = startA, j = startB; i < endA; i++, j++) {
+            if (a.charAt(i) != b.charAt(j)) {
+                return Character.compare(a.charAt(i), b.charAt(j));
+            }
+        }
+        // Compare the fractions, the shorter padded with zeros
+        int i = endA + 1;
+        int j = endB + 1;
+        while (i < a.length() || j < b.length()) {
+            char digitA = i < a.length() ? a.charAt(i) : '0';
+            char digitB = j < b.length() ? b.charAt(j) : '0';
+            if (digitA != digitB) {
+                return Character.compare(digitA, digitB);
+            }
+            i++;
+            j++;
+        }
+        return 0;
+    }
+
+    /** Return the index of the first integer digit that is not a leading zero. */
+    private static int integerStart(CharSequence number) {
+        int i = number.charAt(0) == '-' || number.charAt(0) == '+' ? 1 : 0;
+        while (i < number.length() && number.charAt(i) == '0') {
+            i++;
+        }
+        return i;
+    }
+
+    /** Return the index of the point, or the length if there is none. */
+    private static int integerEnd(CharSequence number, int from) {
+        int i = from;
+        while (i < number.length() && number.charAt(i) != '.') {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    @Override
+    public String toString() {
+        return "ValueSet{fixedValues=" + size + (isHashed() ? " (hashed)" : "")
+                + ", intervals=" + lows.length + '}';
+    }
+}
@@ -1,10 +1,26 @@
 package com.sap.datadictionary.persistence;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.sap.datadictionary.registry.DataDictionary;
+import com.sap.datadictionary.registry.ObjectKind;
+import com.sap.datadictionary.registry.ValidationCache;
+import com.sap.datadictionary.registry.ValidationResult;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * File-based repository that persists a {@link DataDictionary} as JSON.
@@ -12,12 +28,81 @@ import java.nio.file.Path;
  * Provides save/load operations for a default storage location as well as
  * import/export operations for arbitrary file paths.
  * </p>
+ * <p>
+ * {@link #save} writes one JSON file per {@linkplain DataDictionary#partitions()
+ * partition} into a {@code <name>.partitions} directory next to the storage
+ * path, and a small manifest listing those files at the storage path
+ * itself. The repository remembers which dictionary it last saved or loaded
+ * and the partition versions its files hold; saving that dictionary again
+ * rewrites only the partitions that changed since (or whose file is
+ * missing), so saving after a change to one namespace costs time
+ * proportional to that namespace. Any other dictionary, or a manifest this
+ * repository did not write, gets every partition rewritten, and files of
+ * the previous manifest that the new one no longer lists are deleted.
+ * {@link #load} also accepts a
+ * single-file dictionary as written by {@link #exportTo}.
+ * </p>
+ * <p>
+ * Each partition file also records the {@linkplain DataDictionary#orderOf
+ * registration-order key} of its objects under {@code positions}, and
+ * loading registers the objects of all partitions in that order, so the
+ * {@code getXs()} methods list them as they were listed when saved. If the
+ * loaded dictionary numbers its objects differently (the saved one had
+ * replaced or removed objects), the next save rewrites every partition so
+ * that the files agree again.
+ * </p>
+ * <p>
+ * Saving an {@linkplain DataDictionary#overlay() overlay} writes only the
+ * overlay's own objects; {@link #load(DataDictionary)} layers them over a
+ * base again.
+ * </p>
+ * <p>
+ * A {@link ValidationCache} can be saved next to the dictionary, in
+ * {@code <name>.validation}, so that validation after a restart only
+ * checks the objects that changed. Finding arguments are saved as text,
+ * which renders the same messages.
+ * </p>
  */
 public class DictionaryRepository {
 
     private final DictionarySerializer serializer;
+    private final ObjectMapper mapper;
     private final Path storagePath;
 
+    /** The dictionary whose partitions the files at the storage path hold, if this repository wrote or read them. */
+    private WeakReference<DataDictionary> written = new WeakReference<>(null);
+    /** The manifest entries this repository last wrote or read, and the partition version each file holds. */
+    private Map<String, String> writtenFiles = Map.of();
+    private final Map<String, Long> writtenVersions = new HashMap<>();
+
+    /** Version of the validation cache file; files of other versions are ignored. */
+    static final int VALIDATION_CACHE_FORMAT = 1;
+
+    /** On-disk manifest: file name of each partition, relative to the partition directory. */
+    record Manifest(Map<String, String> partitions) {}
+
+    /** Field of a partition file holding the registration-order key of each object, by section. */
+    static final String POSITIONS = "positions";
+
+    /** A section of a {@link DictionarySnapshot} and the kind of object it holds. */
+    private record Section(String name, ObjectKind kind, Function<DictionarySnapshot, Map<String, ?>> objects) {}
+
+    private static final List<Section> SECTIONS = List.of(
+            new Section("domains", ObjectKind.DOMAIN, DictionarySnapshot::domains),
+            new Section("dataElements", ObjectKind.DATA_ELEMENT, DictionarySnapshot::dataElements),
+            new Section("tables", ObjectKind.TABLE, DictionarySnapshot::tables),
+            new Section("structures", ObjectKind.STRUCTURE, DictionarySnapshot::structures),
+            new Section("views", ObjectKind.VIEW, DictionarySnapshot::views),
+            new Section("searchHelps", ObjectKind.SEARCH_HELP, DictionarySnapshot::searchHelps),
+            new Section("lockObjects", ObjectKind.LOCK_OBJECT, DictionarySnapshot::lockObjects));
+
+    /** On-disk validation cache. */
+    record CacheFile(int format, List<CacheEntry> entries) {}
+
+    record CacheEntry(String rule, long key, List<CachedFinding> findings) {}
+
+    record CachedFinding(String severity, String code, String template, List<String> arguments) {}
+
     /**
      * Create a repository that reads/writes the dictionary at the given path.
      *
@@ -25,22 +110,184 @@ public class DictionaryRepository {
      */
     public DictionaryRepository(Path storagePath) {
         this.serializer = new DictionarySerializer();
+        this.mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
         this.storagePath = storagePath;
     }
 
-    /** Save the dictionary to the configured storage path. */
-    public void save(DataDictionary dictionary) {
-        exportTo(dictionary, storagePath);
+    /**
+     * Save the dictionary to the configured storage path, rewriting only
+     * the partitions that changed since this repository last saved or
+     * loaded the same dictionary.
+     * <p>
+     * The current version is pinned for the duration of the write, so
+     * registrations do not have to be suspended while saving.
+     * </p>
+     */
+    public synchronized void save(DataDictionary dictionary) {
+        DataDictionary pinned = dictionary.snapshot();
+        Path directory = partitionDirectory();
+        Map<String, String> files = new LinkedHashMap<>();
+        Map<String, Long> versions = new HashMap<>();
+        try {
+            Map<String, String> previous = readManifest();
+            boolean incremental = written.get() == dictionary && writtenFiles.equals(previous);
+            Files.createDirectories(directory);
+            for (String partition : pinned.partitions()) {
+                String file = fileName(partition);
+                long version = pinned.partitionVersion(partition);
+                files.put(partition, file);
+                versions.put(partition, version);
+                Path target = directory.resolve(file);
+                if (!incremental || !Long.valueOf(version).equals(writtenVersions.get(partition))
+                        || !Files.exists(target)) {
+                    writeAtomically(target, partitionJson(pinned, partition));
+                }
+            }
+            writeAtomically(storagePath, mapper.writeValueAsString(new Manifest(files)));
+            if (previous != null) {
+                for (String file : previous.values()) {
+                    if (!files.containsValue(file)) {
+                        Files.deleteIfExists(directory.resolve(file));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            forgetWritten();
+            throw new DictionarySerializationException(
+                    "Failed to write dictionary to " + storagePath, e);
+        }
+        remember(dictionary, files, versions);
     }
 
     /**
-     * Load the dictionary from the configured storage path.
+     * Returns {@code true} if the given partition of {@code dictionary}
+     * changed since this repository last saved or loaded that dictionary,
+     * or holds objects and this repository has not saved or loaded it.
+     * This is the only record of what was saved; the dictionary itself
+     * keeps none.
+     */
+    public synchronized boolean isDirty(DataDictionary dictionary, String partition) {
+        Long saved = written.get() == dictionary ? writtenVersions.get(partition) : null;
+        long version = dictionary.partitionVersion(partition);
+        return saved == null ? version > 0 : version != saved;
+    }
+
+    /**
+     * Load the dictionary from the configured storage path. All partitions
+     * of the loaded dictionary start out {@linkplain #isDirty clean}.
      *
      * @return the deserialized {@link DataDictionary}
      * @throws DictionarySerializationException if the file does not exist or cannot be read
      */
     public DataDictionary load() {
-        return importFrom(storagePath);
+        return loadInto(new DataDictionary());
+    }
+
+    /**
+     * Load a saved overlay from the configured storage path and layer it
+     * over {@code base}; references to objects of the base are resolved
+     * against it. All partitions of the loaded overlay start out
+     * {@linkplain #isDirty clean}.
+     *
+     * @return a new {@linkplain DataDictionary#overlay() overlay} of {@code base}
+     * @throws DictionarySerializationException if the file does not exist or cannot be read
+     */
+    public DataDictionary load(DataDictionary base) {
+        return loadInto(base.overlay());
+    }
+
+    private synchronized DataDictionary loadInto(DataDictionary dictionary) {
+        try {
+            String json = Files.readString(storagePath);
+            JsonNode root = mapper.readTree(json);
+            DictionarySnapshot merged;
+            Manifest manifest = null;
+            Map<ObjectKind, Map<String, Long>> positions = new HashMap<>();
+            if (root == null || !root.has("partitions")) {
+                merged = serializer.snapshotFromJson(json);
+            } else {
+                manifest = mapper.treeToValue(root, Manifest.class);
+                merged = new DictionarySnapshot();
+                for (String file : manifest.partitions().values()) {
+                    ObjectNode part = (ObjectNode) mapper.readTree(
+                            Files.readString(partitionDirectory().resolve(file)));
+                    readPositions(part.remove(POSITIONS), positions);
+                    merge(merged, mapper.treeToValue(part, DictionarySnapshot.class));
+                }
+                sortByPosition(merged, positions);
+            }
+            serializer.importInto(dictionary, merged);
+            Map<String, Long> versions = new HashMap<>();
+            for (String partition : dictionary.partitions()) {
+                versions.put(partition, dictionary.partitionVersion(partition));
+            }
+            if (manifest != null && manifest.partitions().keySet().equals(versions.keySet())
+                    && positionsMatch(dictionary, positions)) {
+                remember(dictionary, manifest.partitions(), versions);
+            } else {
+                forgetWritten();
+            }
+            return dictionary;
+        } catch (IOException e) {
+            throw new DictionarySerializationException(
+                    "Failed to read dictionary from " + storagePath, e);
+        }
+    }
+
+    /** Save {@code cache} next to the storage path, replacing any saved before. */
+    public void saveValidationCache(ValidationCache cache) {
+        List<CacheEntry> entries = new ArrayList<>();
+        for (ValidationCache.Entry entry : cache.entries()) {
+            List<CachedFinding> findings = new ArrayList<>(entry.findings().size());
+            for (ValidationResult.Finding finding : entry.findings()) {
+                findings.add(new CachedFinding(finding.severity().name(), finding.code(), finding.template(),
+                        finding.arguments().stream().map(String::valueOf).toList()));
+            }
+            entries.add(new CacheEntry(entry.rule(), entry.key(), findings));
+        }
+        Path target = validationCachePath();
+        try {
+            writeAtomically(target, mapper.writer().without(SerializationFeature.INDENT_OUTPUT)
+                    .writeValueAsString(new CacheFile(VALIDATION_CACHE_FORMAT, entries)));
+        } catch (IOException e) {
+            throw new DictionarySerializationException("Failed to write validation cache to " + target, e);
+        }
+    }
+
+    /**
+     * Load the validation cache saved next to the storage path. Returns an
+     * empty cache if none was saved or it was saved in another format.
+     *
+     * @throws DictionarySerializationException if the file cannot be read
+     */
+    public ValidationCache loadValidationCache() {
+        Path source = validationCachePath();
+        if (!Files.exists(source)) {
+            return new ValidationCache();
+        }
+        try {
+            CacheFile file = mapper.readValue(Files.readString(source), CacheFile.class);
+            if (file.format() != VALIDATION_CACHE_FORMAT || file.entries() == null) {
+                return new ValidationCache();
+            }
+            List<ValidationCache.Entry> entries = new ArrayList<>(file.entries().size());
+            for (CacheEntry entry : file.entries()) {
+                List<ValidationResult.Finding> findings = new ArrayList<>(entry.findings().size());
+                for (CachedFinding finding : entry.findings()) {
+                    findings.add(new ValidationResult.Finding(ValidationResult.Severity.valueOf(finding.severity()),
+                            finding.code(), finding.template(), List.<Object>copyOf(finding.arguments())));
+                }
+                entries.add(new ValidationCache.Entry(entry.rule(), entry.key(), findings));
+            }
+            return new ValidationCache(entries);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new DictionarySerializationException("Failed to read validation cache from " + source, e);
+        }
+    }
+
+    /** Return the file the validation cache is saved in, e.g. {@code data/dictionary.json.validation}. */
+    public Path validationCachePath() {
+        return storagePath.resolveSibling(storagePath.getFileName() + ".validation");
     }
 
     /** Check whether a persisted dictionary exists at the configured storage path. */
@@ -49,7 +296,7 @@ public class DictionaryRepository {
     }
 
     /**
-     * Export the dictionary to an arbitrary file path.
+     * Export the dictionary to an arbitrary file path, as a single file.
      *
      * @param dictionary the dictionary to export
      * @param target     target file path
@@ -88,4 +335,140 @@ public class DictionaryRepository {
     public Path getStoragePath() {
         return storagePath;
     }
+
+    /** Return the directory holding the partition files, e.g. {@code data/dictionary.json.partitions}. */
+    public Path partitionDirectory() {
+        return storagePath.resolveSibling(storagePath.getFileName() + ".partitions");
+    }
+
+    /**
+     * Return the file name a partition is stored under: the partition name
+     * for {@code SAP}, {@code Z} and {@code Y}, and {@code ns-XYZ.json} for
+     * the namespace {@code /XYZ/}.
+     */
+    static String fileName(String partition) {
+        String name = partition.startsWith("/")
+                ? "ns-" + partition.substring(1, partition.length() - 1)
+                : partition;
+        return name.replaceAll("[^A-Za-z0-9_-]", "_") + ".json";
+    }
+
+    /**
+     * Return the partition files listed by the manifest at the storage
+     * path, or {@code null} if there is no manifest there.
+     */
+    private Map<String, String> readManifest() throws IOException {
+        if (!Files.exists(storagePath)) {
+            return null;
+        }
+        JsonNode root = mapper.readTree(Files.readString(storagePath));
+        if (root == null || !root.has("partitions")) {
+            return null;
+        }
+        return mapper.treeToValue(root, Manifest.class).partitions();
+    }
+
+    /** Record that the files at the storage path hold the given partition versions of {@code dictionary}. */
+    private void remember(DataDictionary dictionary, Map<String, String> files, Map<String, Long> versions) {
+        written = new WeakReference<>(dictionary);
+        writtenFiles = Map.copyOf(files);
+        writtenVersions.clear();
+        writtenVersions.putAll(versions);
+    }
+
+    /** Forget what the files hold, so that the next save rewrites every partition. */
+    private void forgetWritten() {
+        written = new WeakReference<>(null);
+        writtenFiles = Map.of();
+        writtenVersions.clear();
+    }
+
+    private void writeAtomically(Path target, String json) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(temp, json);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** Return the file content of a partition: its objects and their registration-order keys. */
+    private String partitionJson(DataDictionary pinned, String partition) throws IOException {
+        DictionarySnapshot snapshot = serializer.toSnapshot(pinned.partition(partition));
+        ObjectNode root = mapper.valueToTree(snapshot);
+        ObjectNode positions = root.putObject(POSITIONS);
+        for (Section section : SECTIONS) {
+            ObjectNode keys = positions.putObject(section.name());
+            for (String name : section.objects().apply(snapshot).keySet()) {
+                keys.put(name, pinned.orderOf(section.kind(), name));
+            }
+        }
+        return mapper.writeValueAsString(root);
+    }
+
+    /** Add the registration-order keys of a partition file to {@code into}; files without them add none. */
+    private static void readPositions(JsonNode node, Map<ObjectKind, Map<String, Long>> into) {
+        if (node == null) {
+            return;
+        }
+        for (Section section : SECTIONS) {
+            JsonNode keys = node.get(section.name());
+            if (keys != null) {
+                Map<String, Long> target = into.computeIfAbsent(section.kind(), kind -> new HashMap<>());
+                keys.fields().forEachRemaining(entry -> target.put(entry.getKey(), entry.getValue().asLong()));
+            }
+        }
+    }
+
+    /**
+     * Reorder each section of {@code snapshot} by registration-order key.
+     * Objects without a key keep their relative order and come last.
+     */
+    private static void sortByPosition(DictionarySnapshot snapshot, Map<ObjectKind, Map<String, Long>> positions) {
+        for (Section section : SECTIONS) {
+            Map<String, ?> objects = section.objects().apply(snapshot);
+            Map<String, Long> keys = positions.getOrDefault(section.kind(), Map.of());
+            List<String> names = new ArrayList<>(objects.keySet());
+            names.sort(Comparator.comparingLong(name -> keys.getOrDefault(name, Long.MAX_VALUE)));
+            reorder(objects, names);
+        }
+    }
+
+    /** Returns {@code true} if every object of {@code positions} has the same key in {@code dictionary}. */
+    private static boolean positionsMatch(DataDictionary dictionary, Map<ObjectKind, Map<String, Long>> positions) {
+        for (Map.Entry<ObjectKind, Map<String, Long>> kind : positions.entrySet()) {
+            for (Map.Entry<String, Long> entry : kind.getValue().entrySet()) {
+                if (dictionary.orderOf(kind.getKey(), entry.getKey()) != entry.getValue()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void merge(DictionarySnapshot into, DictionarySnapshot part) {
+        for (Section section : SECTIONS) {
+            Map<String, ?> source = section.objects().apply(part);
+            if (source != null) {
+                putAll(section.objects().apply(into), source);
+            }
+        }
+    }
+
+    /** Re-insert the entries of {@code map} in the order of {@code names}. */
+    private static <T> void reorder(Map<String, T> map, List<String> names) {
+        Map<String, T> entries = new LinkedHashMap<>(map);
+        map.clear();
+        for (String name : names) {
+            map.put(name, entries.get(name));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void putAll(Map<String, T> target, Map<String, ?> source) {
+        target.putAll((Map<String, T>) source);
+    }
 }
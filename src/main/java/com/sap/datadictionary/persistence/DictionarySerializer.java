@@ -15,11 +15,15 @@ import com.sap.datadictionary.internal.Domain;
 import com.sap.datadictionary.internal.ValueRange;
 import com.sap.datadictionary.persistence.DictionarySnapshot.*;
 import com.sap.datadictionary.registry.DataDictionary;
+import com.sap.datadictionary.registry.DictionaryBatch;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Converts a {@link DataDictionary} to and from JSON via an intermediate
@@ -47,9 +51,13 @@ public class DictionarySerializer {
 
     /** Deserialize a JSON string back into a fully-wired {@link DataDictionary}. */
     public DataDictionary fromJson(String json) {
+        return fromSnapshot(snapshotFromJson(json));
+    }
+
+    /** Deserialize a JSON string into a {@link DictionarySnapshot} without resolving references. */
+    public DictionarySnapshot snapshotFromJson(String json) {
         try {
-            DictionarySnapshot snapshot = mapper.readValue(json, DictionarySnapshot.class);
-            return fromSnapshot(snapshot);
+            return mapper.readValue(json, DictionarySnapshot.class);
         } catch (JsonProcessingException e) {
             throw new DictionarySerializationException("Failed to deserialize dictionary from JSON", e);
         }
@@ -57,17 +65,29 @@ public class DictionarySerializer {
 
     // ---- snapshot conversion ----
 
-    /** Convert a live {@link DataDictionary} into a serializable snapshot. */
-    public DictionarySnapshot toSnapshot(DataDictionary dictionary) {
+    /**
+     * Convert a live {@link DataDictionary} into a serializable snapshot.
+     * <p>
+     * The conversion reads a {@linkplain DataDictionary#snapshot() pinned
+     * version}, so the export is consistent even while other threads keep
+     * registering objects.
+     * </p>
+     */
+    public DictionarySnapshot toSnapshot(DataDictionary live) {
+        DataDictionary dictionary = live.snapshot();
         Map<String, DomainDto> domains = new LinkedHashMap<>();
         for (Domain d : dictionary.getDomains().values()) {
             List<String> fixedValues = List.of();
+            List<IntervalDto> intervals = List.of();
             if (d.getValueRange() != null) {
                 fixedValues = new ArrayList<>(d.getValueRange().getFixedValues());
+                intervals = d.getValueRange().getIntervals().stream()
+                        .map(interval -> new IntervalDto(interval.low(), interval.high()))
+                        .toList();
             }
             domains.put(d.getName(), new DomainDto(
                     d.getName(), d.getDataType().name(), d.getLength(),
-                    d.getDecimals(), d.getDescription(), fixedValues));
+                    d.getDecimals(), d.getDescription(), fixedValues, intervals));
         }
 
         Map<String, DataElementDto> dataElements = new LinkedHashMap<>();
@@ -88,18 +108,22 @@ public class DictionarySerializer {
 
         Map<String, StructureDto> structures = new LinkedHashMap<>();
         for (Structure s : dictionary.getStructures().values()) {
+            List<String> includeNames = s.getIncludes().stream()
+                    .map(Structure::getStructureName).toList();
             structures.put(s.getStructureName(), new StructureDto(
                     s.getStructureName(), s.getDescription(),
-                    toFieldDtos(s.getFields())));
+                    toFieldDtos(s.getFields()), includeNames));
         }
 
         Map<String, ViewDto> views = new LinkedHashMap<>();
         for (ViewDefinition v : dictionary.getViews().values()) {
             List<String> baseTableNames = v.getBaseTables().stream()
                     .map(TableDefinition::getTableName).toList();
+            List<String> baseViewNames = v.getBaseViews().stream()
+                    .map(ViewDefinition::getViewName).toList();
             views.put(v.getViewName(), new ViewDto(
                     v.getViewName(), v.getViewType().name(),
-                    baseTableNames, new ArrayList<>(v.getSelectedFields()),
+                    baseTableNames, baseViewNames, new ArrayList<>(v.getSelectedFields()),
                     v.getDescription()));
         }
 
@@ -127,131 +151,182 @@ public class DictionarySerializer {
                 structures, views, searchHelps, lockObjects);
     }
 
-    /** Reconstruct a live {@link DataDictionary} from a snapshot. */
+    /** Reconstruct a live {@link DataDictionary} from a snapshot, as a single batch. */
     public DataDictionary fromSnapshot(DictionarySnapshot snapshot) {
         DataDictionary dd = new DataDictionary();
+        importInto(dd, snapshot);
+        return dd;
+    }
+
+    /**
+     * Register all objects of a snapshot in an existing dictionary as one
+     * {@linkplain DataDictionary#batch() batch}.
+     * <p>
+     * References are resolved against the objects of the snapshot first and
+     * then against the objects already registered in {@code target}, so a
+     * snapshot may extend an existing model. Either all objects are
+     * registered, in a single new version, or none is. Missing or
+     * {@code null} sections of the snapshot are treated as empty.
+     * </p>
+     *
+     * @return the dictionary version that contains the imported objects
+     * @throws DictionarySerializationException if a reference cannot be resolved
+     * @throws IllegalArgumentException         if a name is already registered
+     */
+    public long importInto(DataDictionary target, DictionarySnapshot snapshot) {
+        DictionaryBatch batch = target.batch();
+        Map<String, Domain> domains = new HashMap<>();
+        Map<String, DataElement> dataElements = new HashMap<>();
+        Map<String, TableDefinition> tables = new HashMap<>();
 
         // 1. Domains (no external references)
-        for (DomainDto dto : snapshot.domains().values()) {
+        for (DomainDto dto : values(snapshot.domains())) {
             Domain domain = new Domain(dto.name(),
                     DataType.valueOf(dto.dataType()),
                     dto.length(), dto.decimals());
             domain.setDescription(dto.description());
-            if (dto.fixedValues() != null && !dto.fixedValues().isEmpty()) {
+            boolean hasFixedValues = dto.fixedValues() != null && !dto.fixedValues().isEmpty();
+            boolean hasIntervals = dto.intervals() != null && !dto.intervals().isEmpty();
+            if (hasFixedValues || hasIntervals) {
                 ValueRange vr = new ValueRange();
-                dto.fixedValues().forEach(vr::addFixedValue);
+                if (hasFixedValues) {
+                    dto.fixedValues().forEach(vr::addFixedValue);
+                }
+                if (hasIntervals) {
+                    dto.intervals().forEach(interval -> vr.addInterval(interval.low(), interval.high()));
+                }
                 domain.setValueRange(vr);
             }
-            dd.registerDomain(domain);
+            domains.put(domain.getName(), domain);
+            batch.addDomain(domain);
         }
 
         // 2. Data Elements (reference Domains by name)
-        for (DataElementDto dto : snapshot.dataElements().values()) {
-            Domain domain = dd.getDomain(dto.domainName());
-            if (domain == null) {
-                throw new DictionarySerializationException(
-                        "Domain not found: " + dto.domainName());
-            }
+        for (DataElementDto dto : values(snapshot.dataElements())) {
+            Domain domain = resolve(domains, target::getDomain, dto.domainName(), "Domain");
             DataElement element = new DataElement(dto.name(), domain);
             element.setShortLabel(dto.shortLabel());
             element.setMediumLabel(dto.mediumLabel());
             element.setLongLabel(dto.longLabel());
             element.setDocumentation(dto.documentation());
-            dd.registerDataElement(element);
+            dataElements.put(element.getName(), element);
+            batch.addDataElement(element);
         }
 
         // 3. Tables (fields reference DataElements by name)
-        for (TableDto dto : snapshot.tables().values()) {
+        for (TableDto dto : values(snapshot.tables())) {
             TableDefinition table = new TableDefinition(dto.tableName());
             table.setDescription(dto.description());
-            table.setDeliveryClass(TableDefinition.DeliveryClass.valueOf(dto.deliveryClass()));
+            if (dto.deliveryClass() != null) {
+                table.setDeliveryClass(TableDefinition.DeliveryClass.valueOf(dto.deliveryClass()));
+            }
             table.setBuffered(dto.buffered());
-            for (FieldDto f : dto.fields()) {
-                DataElement de = dd.getDataElement(f.dataElementName());
-                if (de == null) {
-                    throw new DictionarySerializationException(
-                            "DataElement not found: " + f.dataElementName());
-                }
+            for (FieldDto f : items(dto.fields())) {
+                DataElement de = resolve(dataElements, target::getDataElement,
+                        f.dataElementName(), "DataElement");
                 table.addField(new FieldDefinition(f.fieldName(), de, f.keyField(), f.nullable()));
             }
-            dd.registerTable(table);
+            table.trimToSize();
+            tables.put(table.getTableName(), table);
+            batch.addTable(table);
         }
 
-        // 4. Structures (fields reference DataElements by name)
-        for (StructureDto dto : snapshot.structures().values()) {
+        // 4. Structures (fields reference DataElements by name). All are
+        //    created before includes are wired, since they may include each other.
+        Map<String, Structure> structures = new LinkedHashMap<>();
+        for (StructureDto dto : values(snapshot.structures())) {
             Structure structure = new Structure(dto.structureName());
             structure.setDescription(dto.description());
-            for (FieldDto f : dto.fields()) {
-                DataElement de = dd.getDataElement(f.dataElementName());
-                if (de == null) {
-                    throw new DictionarySerializationException(
-                            "DataElement not found: " + f.dataElementName());
-                }
+            for (FieldDto f : items(dto.fields())) {
+                DataElement de = resolve(dataElements, target::getDataElement,
+                        f.dataElementName(), "DataElement");
                 structure.addField(new FieldDefinition(f.fieldName(), de, f.keyField(), f.nullable()));
             }
-            dd.registerStructure(structure);
+            structure.trimToSize();
+            structures.put(structure.getStructureName(), structure);
+        }
+        for (StructureDto dto : values(snapshot.structures())) {
+            Structure structure = structures.get(dto.structureName());
+            for (String includeName : items(dto.includeNames())) {
+                structure.addInclude(resolve(structures, target::getStructure, includeName, "Structure"));
+            }
+            batch.addStructure(structure);
         }
 
-        // 5. Views (reference Tables by name)
-        for (ViewDto dto : snapshot.views().values()) {
+        // 5. Views (reference Tables and other Views by name), wired like Structures
+        Map<String, ViewDefinition> views = new LinkedHashMap<>();
+        for (ViewDto dto : values(snapshot.views())) {
             ViewDefinition view = new ViewDefinition(dto.viewName(),
                     ViewDefinition.ViewType.valueOf(dto.viewType()));
             view.setDescription(dto.description());
-            for (String tableName : dto.baseTableNames()) {
-                TableDefinition table = dd.getTable(tableName);
-                if (table == null) {
-                    throw new DictionarySerializationException(
-                            "Table not found: " + tableName);
-                }
-                view.addBaseTable(table);
+            for (String tableName : items(dto.baseTableNames())) {
+                view.addBaseTable(resolve(tables, target::getTable, tableName, "Table"));
             }
-            dto.selectedFields().forEach(view::addSelectedField);
-            dd.registerView(view);
+            items(dto.selectedFields()).forEach(view::addSelectedField);
+            views.put(view.getViewName(), view);
+        }
+        for (ViewDto dto : values(snapshot.views())) {
+            ViewDefinition view = views.get(dto.viewName());
+            for (String baseViewName : items(dto.baseViewNames())) {
+                view.addBaseView(resolve(views, target::getView, baseViewName, "View"));
+            }
+            batch.addView(view);
         }
 
         // 6. Search Helps (reference Tables by name)
-        for (SearchHelpDto dto : snapshot.searchHelps().values()) {
+        for (SearchHelpDto dto : values(snapshot.searchHelps())) {
             SearchHelp help = new SearchHelp(dto.name());
             help.setDescription(dto.description());
             if (dto.selectionMethodName() != null) {
-                TableDefinition table = dd.getTable(dto.selectionMethodName());
-                if (table == null) {
-                    throw new DictionarySerializationException(
-                            "Table not found: " + dto.selectionMethodName());
-                }
-                help.setSelectionMethod(table);
+                help.setSelectionMethod(resolve(tables, target::getTable,
+                        dto.selectionMethodName(), "Table"));
             }
-            dto.displayFields().forEach(help::addDisplayField);
-            dto.exportFields().forEach(help::addExportField);
-            dd.registerSearchHelp(help);
+            items(dto.displayFields()).forEach(help::addDisplayField);
+            items(dto.exportFields()).forEach(help::addExportField);
+            batch.addSearchHelp(help);
         }
 
         // 7. Lock Objects (reference Tables by name)
-        for (LockObjectDto dto : snapshot.lockObjects().values()) {
-            TableDefinition primary = dd.getTable(dto.primaryTableName());
-            if (primary == null) {
-                throw new DictionarySerializationException(
-                        "Table not found: " + dto.primaryTableName());
-            }
+        for (LockObjectDto dto : values(snapshot.lockObjects())) {
+            TableDefinition primary = resolve(tables, target::getTable,
+                    dto.primaryTableName(), "Table");
             LockObject lock = new LockObject(dto.name(), primary);
-            lock.setLockMode(LockObject.LockMode.valueOf(dto.lockMode()));
+            if (dto.lockMode() != null) {
+                lock.setLockMode(LockObject.LockMode.valueOf(dto.lockMode()));
+            }
             lock.setDescription(dto.description());
-            for (String secName : dto.secondaryTableNames()) {
-                TableDefinition sec = dd.getTable(secName);
-                if (sec == null) {
-                    throw new DictionarySerializationException(
-                            "Table not found: " + secName);
-                }
-                lock.addSecondaryTable(sec);
+            for (String secName : items(dto.secondaryTableNames())) {
+                lock.addSecondaryTable(resolve(tables, target::getTable, secName, "Table"));
             }
-            dd.registerLockObject(lock);
+            batch.addLockObject(lock);
         }
 
-        return dd;
+        return batch.commit();
     }
 
     // ---- helpers ----
 
+    /** Look a name up among the imported objects first, then in the target. */
+    private static <T> T resolve(Map<String, T> imported, Function<String, T> registered,
+                                 String name, String label) {
+        T object = imported.get(name);
+        if (object == null) {
+            object = registered.apply(name);
+        }
+        if (object == null) {
+            throw new DictionarySerializationException(label + " not found: " + name);
+        }
+        return object;
+    }
+
+    private static <T> Collection<T> values(Map<String, T> section) {
+        return section == null ? List.of() : section.values();
+    }
+
+    private static <T> List<T> items(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+
     private List<FieldDto> toFieldDtos(List<FieldDefinition> fields) {
         return fields.stream()
                 .map(f -> new FieldDto(f.getFieldName(),
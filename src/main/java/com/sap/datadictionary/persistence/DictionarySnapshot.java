@@ -37,7 +37,20 @@ public record DictionarySnapshot(
             int length,
             int decimals,
             String description,
-            List<String> fixedValues
+            List<String> fixedValues,
+            List<IntervalDto> intervals
+    ) {
+
+        /** A Domain without intervals, as written before they existed. */
+        public DomainDto(String name, String dataType, int length, int decimals,
+                         String description, List<String> fixedValues) {
+            this(name, dataType, length, decimals, description, fixedValues, List.of());
+        }
+    }
+
+    public record IntervalDto(
+            String low,
+            String high
     ) {}
 
     public record DataElementDto(
@@ -67,13 +80,15 @@ public record DictionarySnapshot(
     public record StructureDto(
             String structureName,
             String description,
-            List<FieldDto> fields
+            List<FieldDto> fields,
+            List<String> includeNames
     ) {}
 
     public record ViewDto(
             String viewName,
             String viewType,
             List<String> baseTableNames,
+            List<String> baseViewNames,
             List<String> selectedFields,
             String description
     ) {}
@@ -0,0 +1,111 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.external.LockObject;
+import com.sap.datadictionary.external.ViewDefinition;
+import com.sap.datadictionary.internal.DataType;
+import com.sap.datadictionary.internal.Domain;
+import com.sap.datadictionary.registry.AttributeIndex.Attribute;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Selects DDIC objects of one type by indexed attribute values, for the
+ * {@code findX(AttributeFilter)} methods of {@link DataDictionary}.
+ * <p>
+ * Terms are combined with {@link #and}:
+ * </p>
+ * <pre>{@code
+ * dd.findTables(AttributeFilter.deliveryClass(DeliveryClass.C).and(AttributeFilter.buffered(true)));
+ * dd.findDomains(AttributeFilter.dataType(DataType.NUMC).and(AttributeFilter.length(10)));
+ * dd.findViews(AttributeFilter.viewType(ViewType.PROJECTION));
+ * }</pre>
+ * <p>
+ * Filters are answered by intersecting the dictionary's attribute bitmaps
+ * (see {@link AttributeIndex}) and match the attribute values the objects
+ * had when they were registered. Filters are immutable.
+ * </p>
+ *
+ * @param <T> the type of object selected
+ */
+public final class AttributeFilter<T> {
+
+    private final ObjectKind kind;
+    private final Map<Attribute, Object> terms;
+
+    private AttributeFilter(ObjectKind kind, Map<Attribute, Object> terms) {
+        this.kind = kind;
+        this.terms = terms;
+    }
+
+    public static AttributeFilter<Domain> dataType(DataType dataType) {
+        return of(Attribute.DOMAIN_DATA_TYPE, dataType);
+    }
+
+    public static AttributeFilter<Domain> length(int length) {
+        return of(Attribute.DOMAIN_LENGTH, length);
+    }
+
+    public static AttributeFilter<TableDefinition> deliveryClass(TableDefinition.DeliveryClass deliveryClass) {
+        return of(Attribute.TABLE_DELIVERY_CLASS, deliveryClass);
+    }
+
+    public static AttributeFilter<TableDefinition> buffered(boolean buffered) {
+        return of(Attribute.TABLE_BUFFERED, buffered);
+    }
+
+    public static AttributeFilter<ViewDefinition> viewType(ViewDefinition.ViewType viewType) {
+        return of(Attribute.VIEW_TYPE, viewType);
+    }
+
+    public static AttributeFilter<LockObject> lockMode(LockObject.LockMode lockMode) {
+        return of(Attribute.LOCK_MODE, lockMode);
+    }
+
+    /**
+     * Return a filter that selects the objects matched by both this filter
+     * and {@code other}. Two different values for the same attribute match
+     * nothing.
+     */
+    public AttributeFilter<T> and(AttributeFilter<T> other) {
+        Map<Attribute, Object> combined = new EnumMap<>(terms);
+        for (Map.Entry<Attribute, Object> term : other.terms.entrySet()) {
+            Object previous = combined.putIfAbsent(term.getKey(), term.getValue());
+            if (previous != null && !previous.equals(term.getValue())) {
+                return new AttributeFilter<>(kind, null);
+            }
+        }
+        return new AttributeFilter<>(kind, Collections.unmodifiableMap(combined));
+    }
+
+    ObjectKind kind() {
+        return kind;
+    }
+
+    @Override
+    public String toString() {
+        if (terms == null) {
+            return "contradictory attributes";
+        }
+        StringJoiner text = new StringJoiner(" and ");
+        terms.forEach((attribute, value) -> text.add(attribute.label() + " = " + value));
+        return text.toString();
+    }
+
+    /** Return the required value per attribute, or {@code null} if the filter is contradictory. */
+    Map<Attribute, Object> terms() {
+        return terms;
+    }
+
+    private static <T> AttributeFilter<T> of(Attribute attribute, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Attribute value must not be null");
+        }
+        Map<Attribute, Object> terms = new EnumMap<>(Attribute.class);
+        terms.put(attribute, value);
+        return new AttributeFilter<>(attribute.kind(), Collections.unmodifiableMap(terms));
+    }
+}
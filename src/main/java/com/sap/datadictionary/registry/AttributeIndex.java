@@ -0,0 +1,147 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.external.LockObject;
+import com.sap.datadictionary.external.ViewDefinition;
+import com.sap.datadictionary.internal.Domain;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Secondary indexes of a {@link DataDictionary} over selected object
+ * attributes, used to answer {@link AttributeFilter}s.
+ * <p>
+ * For every indexed {@link Attribute} and every value it takes, the index
+ * keeps a {@link PositionBitmap} of the registration-order positions of
+ * the objects with that value. Positions are dense per kind, so the
+ * bitmaps stay small, and a filter is answered by intersecting them
+ * rather than by scanning the objects. Attribute values are captured when
+ * an object is published.
+ * </p>
+ * <p>
+ * The index is written by the dictionary's publish step only; readers pass
+ * the number of objects visible at their version and never lock.
+ * </p>
+ */
+final class AttributeIndex {
+
+    /** The indexed attributes. */
+    enum Attribute {
+        DOMAIN_DATA_TYPE(ObjectKind.DOMAIN, "type", value -> ((Domain) value).getDataType()),
+        DOMAIN_LENGTH(ObjectKind.DOMAIN, "length", value -> ((Domain) value).getLength()),
+        TABLE_DELIVERY_CLASS(ObjectKind.TABLE, "delivery-class",
+                value -> ((TableDefinition) value).getDeliveryClass()),
+        TABLE_BUFFERED(ObjectKind.TABLE, "buffered", value -> ((TableDefinition) value).isBuffered()),
+        VIEW_TYPE(ObjectKind.VIEW, "view-type", value -> ((ViewDefinition) value).getViewType()),
+        LOCK_MODE(ObjectKind.LOCK_OBJECT, "lock-mode", value -> ((LockObject) value).getLockMode());
+
+        private final ObjectKind kind;
+        private final String label;
+        private final Function<Object, Object> extractor;
+
+        Attribute(ObjectKind kind, String label, Function<Object, Object> extractor) {
+            this.kind = kind;
+            this.label = label;
+            this.extractor = extractor;
+        }
+
+        ObjectKind kind() {
+            return kind;
+        }
+
+        /** Return the name of this attribute in query text, e.g. {@code delivery-class}. */
+        String label() {
+            return label;
+        }
+
+        /** Return this attribute's value for an object of its kind. */
+        Object valueOf(Object value) {
+            return extractor.apply(value);
+        }
+    }
+
+    private static final Attribute[] ATTRIBUTES = Attribute.values();
+
+    /** Bitmaps by attribute, then by attribute value. */
+    private final Map<Object, PositionBitmap>[] bitmaps = newBitmaps();
+
+    /**
+     * Index the attributes of an object published at {@code position}. Must
+     * only be called by the publishing writer, in position order per kind.
+     */
+    void add(ObjectKind kind, Object value, int position) {
+        for (Attribute attribute : ATTRIBUTES) {
+            if (attribute.kind == kind) {
+                Object key = attribute.extractor.apply(value);
+                if (key != null) {
+                    bitmaps[attribute.ordinal()].computeIfAbsent(key, k -> new PositionBitmap()).add(position);
+                }
+            }
+        }
+    }
+
+    /**
+     * Feed the positions below {@code count} of all objects that satisfy
+     * every term to the consumer, in ascending order.
+     * <p>
+     * The rarest term's bitmap drives the intersection; each of its
+     * positions is probed in the other bitmaps, so the cost is
+     * proportional to the rarest value's frequency, not to the number of
+     * objects.
+     * </p>
+     */
+    void forEach(Map<Attribute, Object> terms, int count, IntConsumer consumer) {
+        PositionBitmap[] operands = new PositionBitmap[terms.size()];
+        int i = 0;
+        for (Map.Entry<Attribute, Object> term : terms.entrySet()) {
+            PositionBitmap bitmap = bitmaps[term.getKey().ordinal()].get(term.getValue());
+            if (bitmap == null) {
+                return;
+            }
+            operands[i++] = bitmap;
+        }
+        int rarest = 0;
+        for (int j = 1; j < operands.length; j++) {
+            if (operands[j].cardinality() < operands[rarest].cardinality()) {
+                rarest = j;
+            }
+        }
+        PositionBitmap driver = operands[rarest];
+        operands[rarest] = operands[operands.length - 1];
+        int others = operands.length - 1;
+        driver.forEach(count, position -> {
+            for (int j = 0; j < others; j++) {
+                if (!operands[j].contains(position)) {
+                    return;
+                }
+            }
+            consumer.accept(position);
+        });
+    }
+
+    /**
+     * Return an upper bound for the number of objects that satisfy every
+     * term: the frequency of the rarest value. Positions of replaced and
+     * removed objects are counted too.
+     */
+    int estimate(Map<Attribute, Object> terms) {
+        int estimate = Integer.MAX_VALUE;
+        for (Map.Entry<Attribute, Object> term : terms.entrySet()) {
+            PositionBitmap bitmap = bitmaps[term.getKey().ordinal()].get(term.getValue());
+            estimate = Math.min(estimate, bitmap == null ? 0 : bitmap.cardinality());
+        }
+        return estimate == Integer.MAX_VALUE ? 0 : estimate;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<Object, PositionBitmap>[] newBitmaps() {
+        Map[] maps = new Map[ATTRIBUTES.length];
+        for (int a = 0; a < maps.length; a++) {
+            maps[a] = new ConcurrentHashMap<>();
+        }
+        return maps;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sap.datadictionary.registry;
+
+/**
+ * One change to a {@link DataDictionary}, as delivered by its
+ * {@link ChangeFeed}.
+ *
+ * @param sequence position of the event in the feed, starting at 1
+ * @param type     what happened to the object
+ * @param kind     the object kind
+ * @param name     the object name
+ * @param version  the dictionary version that contains the change
+ */
+public record ChangeEvent(long sequence, Type type, ObjectKind kind, String name, long version) {
+
+    /** The kinds of change. */
+    public enum Type {
+        /** A new object was registered. */
+        REGISTERED,
+        /** A registered object was replaced, directly or by a cascading update of an object it references. */
+        UPDATED,
+        /** A registered object was removed. */
+        REMOVED
+    }
+}
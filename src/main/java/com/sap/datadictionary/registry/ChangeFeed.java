@@ -0,0 +1,259 @@
+package com.sap.datadictionary.registry;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Stream of the changes made to a {@link DataDictionary}.
+ * <p>
+ * Events are written into a pre-allocated ring buffer by the dictionary's
+ * publish step, which is the only producer, right after the changed
+ * objects become visible. The producer never allocates and never waits
+ * for consumers: a consumer that falls more than {@link #capacity()}
+ * events behind loses the oldest ones and is told how many it missed.
+ * Each slot carries the sequence number of the event it holds and is
+ * read under a seqlock, so consumers never lock either.
+ * </p>
+ * <p>
+ * Consumers track their own position. {@link #read} is a stateless read
+ * after a given sequence number, {@link #subscribe()} returns a
+ * {@link Subscription} that remembers its position and is polled, and
+ * {@link #subscribe(Set, ChangeListener)} delivers batches to a listener on
+ * a dedicated daemon thread.
+ * </p>
+ */
+public final class ChangeFeed {
+
+    /** Default number of events kept in the ring. */
+    static final int DEFAULT_CAPACITY = 1 << 13;
+
+    /** Number of events kept in the ring of an overlay, which changes far less than a full dictionary. */
+    static final int OVERLAY_CAPACITY = 1 << 10;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int LISTENER_BATCH = 256;
+
+    private final Slot[] slots;
+    private final int mask;
+
+    /** Sequence number of the last published event; 0 if none. */
+    private volatile long published;
+
+    private final List<Thread> waiters = new CopyOnWriteArrayList<>();
+
+    /** One pre-allocated ring entry. {@code sequence} guards the other fields. */
+    private static final class Slot {
+        volatile long sequence;
+        ChangeEvent.Type type;
+        ObjectKind kind;
+        String name;
+        long version;
+    }
+
+    /**
+     * A batch of events read from the feed.
+     *
+     * @param events the events, in sequence order
+     * @param next   the sequence number to read after next time
+     * @param missed how many events were overwritten before they could be read
+     */
+    public record Batch(List<ChangeEvent> events, long next, long missed) {}
+
+    ChangeFeed(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /** Return the number of events the ring keeps. */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /** Return the sequence number of the last published event, or 0 if there is none. */
+    public long lastSequence() {
+        return published;
+    }
+
+    /**
+     * Append an event. Must only be called by the dictionary's publish
+     * step, which serializes producers.
+     */
+    void publish(ChangeEvent.Type type, ObjectKind kind, String name, long version) {
+        long sequence = published + 1;
+        Slot slot = slots[(int) (sequence - 1) & mask];
+        slot.sequence = 0;
+        VarHandle.storeStoreFence();
+        slot.type = type;
+        slot.kind = kind;
+        slot.name = name;
+        slot.version = version;
+        slot.sequence = sequence;
+        published = sequence;
+    }
+
+    /** Wake the listener threads after one or more {@link #publish} calls. */
+    void signal() {
+        for (Thread waiter : waiters) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * Read up to {@code max} events with sequence numbers greater than
+     * {@code after}. If some of them have already been overwritten, reading
+     * resumes at the oldest event still in the ring and {@link Batch#missed()}
+     * counts the lost ones.
+     *
+     * @throws IllegalArgumentException if {@code max} is not positive
+     */
+    public Batch read(long after, int max) {
+        if (max <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + max);
+        }
+        long last = published;
+        long sequence = Math.max(after, 0) + 1;
+        long missed = 0;
+        List<ChangeEvent> events = new ArrayList<>();
+        while (sequence <= last && events.size() < max) {
+            long oldest = published - slots.length + 1;
+            if (sequence < oldest) {
+                missed += oldest - sequence;
+                sequence = oldest;
+                continue;
+            }
+            Slot slot = slots[(int) (sequence - 1) & mask];
+            long stamp = slot.sequence;
+            ChangeEvent event = stamp == sequence
+                    ? new ChangeEvent(sequence, slot.type, slot.kind, slot.name, slot.version)
+                    : null;
+            VarHandle.acquireFence();
+            if (event == null || slot.sequence != sequence) {
+                // Overwritten while we were reading; the oldest check above catches up.
+                continue;
+            }
+            events.add(event);
+            sequence++;
+        }
+        return new Batch(Collections.unmodifiableList(events), sequence - 1, missed);
+    }
+
+    /** Start a polled subscription at the next event to be published. */
+    public Subscription subscribe() {
+        return new Subscription(published, EnumSet.allOf(ObjectKind.class));
+    }
+
+    /**
+     * Deliver the events about objects of the given kinds to a listener on
+     * a dedicated daemon thread, starting at the next event to be
+     * published. Events are delivered in batches of whatever has
+     * accumulated; close the returned subscription to stop delivery.
+     */
+    public Subscription subscribe(Set<ObjectKind> kinds, ChangeListener listener) {
+        if (kinds == null || kinds.isEmpty() || listener == null) {
+            throw new IllegalArgumentException("Kinds and listener must be given");
+        }
+        Subscription subscription = new Subscription(published, EnumSet.copyOf(kinds));
+        Thread thread = new Thread(() -> subscription.deliver(listener), "dictionary-changes");
+        thread.setDaemon(true);
+        subscription.thread = thread;
+        thread.start();
+        return subscription;
+    }
+
+    /** A consumer's position in the feed. */
+    public final class Subscription implements AutoCloseable {
+
+        private final Set<ObjectKind> kinds;
+        private volatile long position;
+        private volatile long missed;
+        private volatile boolean closed;
+        private Thread thread;
+
+        private Subscription(long position, Set<ObjectKind> kinds) {
+            this.position = position;
+            this.kinds = kinds;
+        }
+
+        /**
+         * Return up to {@code max} new events about the subscribed kinds
+         * without waiting, and advance past them. Not thread-safe: poll a
+         * subscription from one thread at a time.
+         */
+        public List<ChangeEvent> poll(int max) {
+            List<ChangeEvent> events = new ArrayList<>();
+            while (events.size() < max) {
+                Batch batch = read(position, max - events.size());
+                position = batch.next();
+                missed += batch.missed();
+                for (ChangeEvent event : batch.events()) {
+                    if (kinds.contains(event.kind())) {
+                        events.add(event);
+                    }
+                }
+                if (batch.events().isEmpty()) {
+                    break;
+                }
+            }
+            return events;
+        }
+
+        /** Return the sequence number of the last event this subscription has consumed. */
+        public long position() {
+            return position;
+        }
+
+        /** Return how many events this subscription has lost to overruns so far. */
+        public long missed() {
+            return missed;
+        }
+
+        /** Stop delivery; a polled subscription simply stops being used. */
+        @Override
+        public void close() {
+            closed = true;
+            if (thread != null) {
+                waiters.remove(thread);
+                LockSupport.unpark(thread);
+            }
+        }
+
+        private void deliver(ChangeListener listener) {
+            Thread self = Thread.currentThread();
+            waiters.add(self);
+            try {
+                while (!closed) {
+                    long missedBefore = missed;
+                    List<ChangeEvent> events = poll(LISTENER_BATCH);
+                    try {
+                        if (missed > missedBefore) {
+                            listener.onMissed(missed - missedBefore);
+                        }
+                        if (!events.isEmpty()) {
+                            listener.onChanges(events);
+                        }
+                    } catch (RuntimeException e) {
+                        self.getUncaughtExceptionHandler().uncaughtException(self, e);
+                    }
+                    if (events.isEmpty() && position == published) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                }
+            } finally {
+                waiters.remove(self);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.sap.datadictionary.registry;
+
+import java.util.List;
+
+/**
+ * Receives batches of {@link ChangeEvent}s from a {@link ChangeFeed}
+ * subscription, on the subscription's own delivery thread.
+ */
+@FunctionalInterface
+public interface ChangeListener {
+
+    /** Handle the next events, in sequence order. */
+    void onChanges(List<ChangeEvent> events);
+
+    /**
+     * Called when the listener fell so far behind that {@code count} events
+     * were overwritten before it could receive them. A listener that needs
+     * every change should rescan the dictionary.
+     */
+    default void onMissed(long count) {
+    }
+}
@@ -0,0 +1,335 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.FieldDefinition;
+import com.sap.datadictionary.conceptual.Structure;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.external.SearchHelp;
+import com.sap.datadictionary.external.ViewDefinition;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.Domain;
+import com.sap.datadictionary.internal.ValueChecker;
+import com.sap.datadictionary.internal.ValueRange;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The built-in {@link ValidationRule}s of {@link ConsistencyValidator}, in
+ * the order their findings are reported.
+ */
+final class ConsistencyRules {
+
+    /** Every {@link DataElement} references a registered {@link Domain}. */
+    static final ValidationRule DATA_ELEMENT_DOMAIN = ValidationRule.of(
+            "data-element-domain", ObjectKind.DATA_ELEMENT, ConsistencyRules::validateDataElement);
+
+    /** Every field of a Table references a registered {@link DataElement}. */
+    static final ValidationRule TABLE_FIELDS = ValidationRule.<TableDefinition>of(
+            "table-fields", ObjectKind.TABLE, (table, context) -> validateFieldList(context,
+                    table.getFields(), "Table", table.getTableName()));
+
+    /**
+     * Every field of a Structure references a registered {@link DataElement},
+     * and every included Structure is registered.
+     */
+    static final ValidationRule STRUCTURE_FIELDS = ValidationRule.of(
+            "structure-fields", ObjectKind.STRUCTURE, ConsistencyRules::validateStructure);
+
+    /** Views select existing fields of registered base tables and base views. */
+    static final ValidationRule VIEW_REFERENCES = ValidationRule.of(
+            "view-references", ObjectKind.VIEW, ConsistencyRules::validateViewFieldReferences);
+
+    /** Search Helps use existing fields of a registered selection-method table. */
+    static final ValidationRule SEARCH_HELP_FIELDS = ValidationRule.of(
+            "search-help-fields", ObjectKind.SEARCH_HELP, ConsistencyRules::validateSearchHelpFieldReferences);
+
+    /** Warn about Views without base tables or base views, or without selected fields. */
+    static final ValidationRule VIEW_COMPLETENESS = ValidationRule.of(
+            "view-completeness", ObjectKind.VIEW, ConsistencyRules::validateViewCompleteness);
+
+    /** Warn about Tables without fields. */
+    static final ValidationRule TABLE_COMPLETENESS = ValidationRule.of(
+            "table-completeness", ObjectKind.TABLE, ConsistencyRules::validateTableCompleteness);
+
+    /** The fixed values and interval bounds of every {@link Domain} have the Domain's format. */
+    static final ValidationRule DOMAIN_FIXED_VALUES = ValidationRule.of(
+            "domain-fixed-values", ObjectKind.DOMAIN, ConsistencyRules::validateFixedValues);
+
+    /** Views and Structures do not reference themselves, directly or through others. */
+    static final ValidationRule DEPENDENCY_CYCLES = new ValidationRule() {
+        private final Set<ObjectKind> kinds =
+                Collections.unmodifiableSet(EnumSet.of(ObjectKind.STRUCTURE, ObjectKind.VIEW));
+
+        @Override
+        public String name() {
+            return "dependency-cycles";
+        }
+
+        @Override
+        public Set<ObjectKind> kinds() {
+            return kinds;
+        }
+
+        @Override
+        public boolean isGlobal() {
+            return true;
+        }
+
+        @Override
+        public void check(Object object, RuleContext context) {
+            validateCycleMembership(object, context);
+        }
+
+        @Override
+        public String toString() {
+            return name();
+        }
+    };
+
+    static final List<ValidationRule> ALL = List.of(DATA_ELEMENT_DOMAIN, TABLE_FIELDS, STRUCTURE_FIELDS,
+            VIEW_REFERENCES, SEARCH_HELP_FIELDS, VIEW_COMPLETENESS, TABLE_COMPLETENESS, DOMAIN_FIXED_VALUES,
+            DEPENDENCY_CYCLES);
+
+    /** The findings of the built-in rules; the code of a finding is the constant's name. */
+    enum Message {
+        DOMAIN_NOT_REGISTERED(
+                "DataElement '{0}' references Domain '{1}' which is not registered in the dictionary"),
+        DOMAIN_INSTANCE_DIFFERS("DataElement '{0}' references a Domain instance '{1}'"
+                + " that differs from the registered Domain with the same name"),
+        DATA_ELEMENT_NOT_REGISTERED(
+                "{0} '{1}', field '{2}' references DataElement '{3}' which is not registered in the dictionary"),
+        DATA_ELEMENT_INSTANCE_DIFFERS("{0} '{1}', field '{2}' references a DataElement instance '{3}'"
+                + " that differs from the registered DataElement with the same name"),
+        STRUCTURE_NOT_REGISTERED(
+                "Structure '{0}' includes Structure '{1}' which is not registered in the dictionary"),
+        BASE_TABLE_NOT_REGISTERED(
+                "View '{0}' references base table '{1}' which is not registered in the dictionary"),
+        BASE_VIEW_NOT_REGISTERED(
+                "View '{0}' references base view '{1}' which is not registered in the dictionary"),
+        VIEW_FIELD_NOT_FOUND("View '{0}' selects field '{1}' which does not exist in any of its base tables"),
+        VIEW_FIELD_NOT_FOUND_IN_BASES(
+                "View '{0}' selects field '{1}' which does not exist in any of its base tables or base views"),
+        SELECTION_TABLE_NOT_REGISTERED(
+                "SearchHelp '{0}' references selection-method table '{1}' which is not registered in the dictionary"),
+        DISPLAY_FIELD_NOT_FOUND(
+                "SearchHelp '{0}' display field '{1}' does not exist in selection-method table '{2}'"),
+        EXPORT_FIELD_NOT_FOUND(
+                "SearchHelp '{0}' export field '{1}' does not exist in selection-method table '{2}'"),
+        VIEW_WITHOUT_BASE_TABLES("View '{0}' has no base tables defined"),
+        VIEW_WITHOUT_FIELDS("View '{0}' has base tables but selects no fields"),
+        TABLE_WITHOUT_FIELDS("Table '{0}' has no fields defined"),
+        FIXED_VALUE_INVALID("Domain '{0}' has fixed value '{1}' which is not a valid {2} value"),
+        INTERVAL_BOUND_INVALID("Domain '{0}' has interval bound '{1}' which is not a valid {2} value"),
+        DEPENDENCY_CYCLE("Dependency cycle between {0}");
+
+        final String template;
+
+        Message(String template) {
+            this.template = template;
+        }
+
+        void error(RuleContext context, Object... arguments) {
+            context.error(name(), template, arguments);
+        }
+
+        void warning(RuleContext context, Object... arguments) {
+            context.warning(name(), template, arguments);
+        }
+    }
+
+    private ConsistencyRules() {
+    }
+
+    private static void validateDataElement(DataElement element, RuleContext context) {
+        DataDictionary dictionary = context.dictionary();
+        Domain domain = element.getDomain();
+        if (dictionary.getDomain(domain.getName()) == null) {
+            Message.DOMAIN_NOT_REGISTERED.error(context, element.getName(), domain.getName());
+        } else if (dictionary.getDomain(domain.getName()) != domain) {
+            Message.DOMAIN_INSTANCE_DIFFERS.error(context, element.getName(), domain.getName());
+        }
+    }
+
+    private static void validateFieldList(RuleContext context,
+                                          List<FieldDefinition> fields,
+                                          String parentKind, String parentName) {
+        DataDictionary dictionary = context.dictionary();
+        for (FieldDefinition field : fields) {
+            DataElement de = field.getDataElement();
+            if (dictionary.getDataElement(de.getName()) == null) {
+                Message.DATA_ELEMENT_NOT_REGISTERED.error(context,
+                        parentKind, parentName, field.getFieldName(), de.getName());
+            } else if (dictionary.getDataElement(de.getName()) != de) {
+                Message.DATA_ELEMENT_INSTANCE_DIFFERS.error(context,
+                        parentKind, parentName, field.getFieldName(), de.getName());
+            }
+        }
+    }
+
+    private static void validateStructure(Structure structure, RuleContext context) {
+        validateFieldList(context, structure.getFields(), "Structure", structure.getStructureName());
+        for (Structure include : structure.getIncludes()) {
+            if (context.dictionary().getStructure(include.getStructureName()) == null) {
+                Message.STRUCTURE_NOT_REGISTERED.error(context,
+                        structure.getStructureName(), include.getStructureName());
+            }
+        }
+    }
+
+    /**
+     * Validate that a {@link ViewDefinition}:
+     * <ul>
+     *   <li>has all base tables and base views registered in the dictionary</li>
+     *   <li>only selects fields that exist in at least one of its base tables,
+     *       or are offered by one of its base views</li>
+     * </ul>
+     */
+    private static void validateViewFieldReferences(ViewDefinition view, RuleContext context) {
+        for (TableDefinition baseTable : view.getBaseTables()) {
+            if (context.dictionary().getTable(baseTable.getTableName()) == null) {
+                Message.BASE_TABLE_NOT_REGISTERED.error(context, view.getViewName(), baseTable.getTableName());
+            }
+        }
+        for (ViewDefinition baseView : view.getBaseViews()) {
+            if (context.dictionary().getView(baseView.getViewName()) == null) {
+                Message.BASE_VIEW_NOT_REGISTERED.error(context, view.getViewName(), baseView.getViewName());
+            }
+        }
+
+        // Collect available field names from all base tables and base views
+        Set<String> availableFields = baseFields(view);
+
+        // Check each selected field exists in the bases
+        Message notFound = view.getBaseViews().isEmpty()
+                ? Message.VIEW_FIELD_NOT_FOUND : Message.VIEW_FIELD_NOT_FOUND_IN_BASES;
+        for (String selectedField : view.getSelectedFields()) {
+            if (!availableFields.contains(selectedField)) {
+                notFound.error(context, view.getViewName(), selectedField);
+            }
+        }
+    }
+
+    /** Return the names of the fields {@code view} can select; see {@link #collectBaseFields}. */
+    static Set<String> baseFields(ViewDefinition view) {
+        Set<String> fields = new HashSet<>();
+        collectBaseFields(view, fields, Collections.newSetFromMap(new IdentityHashMap<>()));
+        return fields;
+    }
+
+    /**
+     * Add the fields {@code view} can select to {@code fields}: those of its
+     * base tables, and those each base view offers, which are its selected
+     * fields or, if it selects none, its own base fields. {@code visiting}
+     * guards against views in a dependency cycle.
+     */
+    private static void collectBaseFields(ViewDefinition view, Set<String> fields, Set<ViewDefinition> visiting) {
+        if (!visiting.add(view)) {
+            return;
+        }
+        for (TableDefinition baseTable : view.getBaseTables()) {
+            for (FieldDefinition field : baseTable.getFields()) {
+                fields.add(field.getFieldName());
+            }
+        }
+        for (ViewDefinition baseView : view.getBaseViews()) {
+            if (baseView.getSelectedFields().isEmpty()) {
+                collectBaseFields(baseView, fields, visiting);
+            } else {
+                fields.addAll(baseView.getSelectedFields());
+            }
+        }
+    }
+
+    /**
+     * Validate that a {@link SearchHelp}:
+     * <ul>
+     *   <li>has its selection-method table registered (if set)</li>
+     *   <li>only references display/export fields that exist in the
+     *       selection-method table</li>
+     * </ul>
+     */
+    private static void validateSearchHelpFieldReferences(SearchHelp help, RuleContext context) {
+        TableDefinition table = help.getSelectionMethod();
+        if (table == null) {
+            // No selection method set – nothing to validate
+            return;
+        }
+
+        if (context.dictionary().getTable(table.getTableName()) == null) {
+            Message.SELECTION_TABLE_NOT_REGISTERED.error(context, help.getName(), table.getTableName());
+        }
+
+        Set<String> tableFields = new HashSet<>();
+        for (FieldDefinition field : table.getFields()) {
+            tableFields.add(field.getFieldName());
+        }
+
+        for (String displayField : help.getDisplayFields()) {
+            if (!tableFields.contains(displayField)) {
+                Message.DISPLAY_FIELD_NOT_FOUND.error(context, help.getName(), displayField, table.getTableName());
+            }
+        }
+
+        for (String exportField : help.getExportFields()) {
+            if (!tableFields.contains(exportField)) {
+                Message.EXPORT_FIELD_NOT_FOUND.error(context, help.getName(), exportField, table.getTableName());
+            }
+        }
+    }
+
+    private static void validateViewCompleteness(ViewDefinition view, RuleContext context) {
+        boolean hasBases = !view.getBaseTables().isEmpty() || !view.getBaseViews().isEmpty();
+        if (!hasBases) {
+            Message.VIEW_WITHOUT_BASE_TABLES.warning(context, view.getViewName());
+        }
+        if (view.getSelectedFields().isEmpty() && hasBases) {
+            Message.VIEW_WITHOUT_FIELDS.warning(context, view.getViewName());
+        }
+    }
+
+    private static void validateTableCompleteness(TableDefinition table, RuleContext context) {
+        if (table.getFields().isEmpty()) {
+            Message.TABLE_WITHOUT_FIELDS.warning(context, table.getTableName());
+        }
+    }
+
+    private static void validateFixedValues(Domain domain, RuleContext context) {
+        ValueRange range = domain.getValueRange();
+        if (range == null || range.isEmpty()) {
+            return;
+        }
+        ValueChecker format = ValueChecker.compileFormat(domain);
+        for (String value : range.getFixedValues()) {
+            if (!format.accepts(value)) {
+                Message.FIXED_VALUE_INVALID.error(context, domain.getName(), value, format.toString());
+            }
+        }
+        for (ValueRange.Interval interval : range.getIntervals()) {
+            for (String bound : List.of(interval.low(), interval.high())) {
+                if (!format.accepts(bound)) {
+                    Message.INTERVAL_BOUND_INVALID.error(context, domain.getName(), bound, format.toString());
+                }
+            }
+        }
+    }
+
+    /** Report each dependency cycle once, at its first member in registration order. */
+    private static void validateCycleMembership(Object object, RuleContext context) {
+        ObjectRef ref = switch (object) {
+            case Structure structure -> new ObjectRef(ObjectKind.STRUCTURE, structure.getStructureName());
+            case ViewDefinition view -> new ObjectRef(ObjectKind.VIEW, view.getViewName());
+            default -> null;
+        };
+        List<ObjectRef> cycle = ref == null ? null : context.dictionary().dependencyCycles().cycleOf(ref);
+        if (cycle != null && cycle.get(0).equals(ref)) {
+            Message.DEPENDENCY_CYCLE.error(context, cycle.stream()
+                    .map(member -> member.kind().label() + " '" + member.name() + "'")
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+}
@@ -1,222 +1,737 @@
 package com.sap.datadictionary.registry;
 
 import com.sap.datadictionary.conceptual.FieldDefinition;
-import com.sap.datadictionary.conceptual.Structure;
-import com.sap.datadictionary.conceptual.TableDefinition;
 import com.sap.datadictionary.external.SearchHelp;
 import com.sap.datadictionary.external.ViewDefinition;
 import com.sap.datadictionary.internal.DataElement;
 import com.sap.datadictionary.internal.Domain;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Validates the referential integrity and consistency of a
  * {@link DataDictionary} across all three ANSI/SPARC schema layers.
  * <p>
- * Checks performed:
+ * Checks are {@link ValidationRule}s. The built-in rules, by name:
+ * </p>
  * <ul>
- *   <li>Every {@link DataElement} references a {@link Domain} that is
- *       registered in the dictionary.</li>
- *   <li>Every {@link FieldDefinition} (in tables and structures)
- *       references a registered {@link DataElement}.</li>
- *   <li>Every {@link ViewDefinition} only selects fields that exist
- *       in its base tables, and all base tables are registered.</li>
- *   <li>Every {@link SearchHelp} only references fields that exist
- *       in its selection-method table.</li>
- *   <li>Completeness warnings for views with no base tables or selected
- *       fields, and tables with no fields defined.</li>
+ *   <li>{@code data-element-domain}: every {@link DataElement} references a
+ *       {@link Domain} that is registered in the dictionary.</li>
+ *   <li>{@code table-fields}, {@code structure-fields}: every
+ *       {@link FieldDefinition} (in tables and structures) references a
+ *       registered {@link DataElement}, and every included structure is
+ *       registered.</li>
+ *   <li>{@code view-references}: every {@link ViewDefinition} only selects
+ *       fields that exist in its base tables or base views, and all of
+ *       those are registered.</li>
+ *   <li>{@code search-help-fields}: every {@link SearchHelp} only references
+ *       fields that exist in its selection-method table.</li>
+ *   <li>{@code view-completeness}, {@code table-completeness}: warnings for
+ *       views with no base tables or selected fields, and tables with no
+ *       fields defined.</li>
+ *   <li>{@code domain-fixed-values}: every fixed value and interval bound
+ *       of a {@link Domain} has the Domain's format, as checked by its
+ *       {@link com.sap.datadictionary.internal.ValueChecker}.</li>
+ *   <li>{@code dependency-cycles}: no view selects from itself and no
+ *       structure includes itself, directly or through others. Each cycle
+ *       is reported once, naming all of its members.</li>
  * </ul>
+ * <p>
+ * Further rules are added with {@link #addRule}. A run visits each object
+ * once and applies every selected rule for its kind, however many rules
+ * there are, and reports the findings rule by rule in the order the rules
+ * were added, each rule's in registration order. The result records the
+ * time, objects and findings of every rule that ran.
+ * </p>
+ * <p>
+ * {@link #validate()} checks every object. {@link #validateIncremental()}
+ * gives the same result, but keeps the findings of each object between
+ * calls and only re-checks the objects that changed since the previous
+ * call, according to the dictionary's {@link ChangeFeed}, plus the objects
+ * whose checks look them up: the Data Elements of a changed Domain, the
+ * Tables and Structures with fields of a changed Data Element, and the
+ * Views and Search Helps over a changed Table, the Views over a changed
+ * View and the Structures including a changed Structure. A
+ * {@link ValidationRule#isGlobal() global} rule re-checks all objects of
+ * its kinds when one of them changed. The findings are kept merged in
+ * result order in {@link MergedFindings}, where only the entries of
+ * objects whose findings changed are replaced, and a new result shares
+ * everything else with the previous one. When no finding changes, the
+ * previous result is returned as is. A call therefore costs time
+ * proportional to the number of changed objects and their direct
+ * dependents, not to the number of findings.
+ * {@link #validateParallel()} also gives the same result,
+ * checking every object on a {@link ForkJoinPool}.
+ * </p>
+ * <p>
+ * A validator created with a {@link ValidationCache} looks the findings of
+ * each object up by its fingerprint before checking it, in every kind of
+ * run, and only runs the rules whose findings for it are not cached yet.
+ * </p>
  */
 public class ConsistencyValidator {
 
+    /** Fewest objects one task of a parallel run checks. */
+    static final int PARALLEL_BATCH = 64;
+
+    /** Change events read from the feed per call while catching up. */
+    private static final int FEED_BATCH = 1024;
+
+    /**
+     * One rule of an incremental run: its index in result order, and the
+     * registration order of each object it has findings for.
+     */
+    private static final class Section {
+        final int index;
+        final Map<ObjectRef, Long> orderByRef = new HashMap<>();
+
+        Section(int index) {
+            this.index = index;
+        }
+    }
+
     private final DataDictionary dictionary;
+    /** Findings by object fingerprint, or {@code null} to check every object. */
+    private final ValidationCache cache;
+    /** The rules, built-in first; replaced as a whole when a rule is added. */
+    private volatile List<ValidationRule> rules = ConsistencyRules.ALL;
+
+    // Incremental state, guarded by this validator's monitor.
+    private final Map<ValidationRule, Section> sections = new HashMap<>();
+    /** Feed sequence number covered by {@link #sections}; -1 before the first incremental run. */
+    private long covered = -1;
+    /** The findings of all objects, in result order. */
+    private MergedFindings findings = MergedFindings.EMPTY;
+    /** Collects the findings during a run that checks every object, else {@code null}. */
+    private MergedFindings.Builder rebuilding;
+    /** Result over {@link #findings}; {@code null} when a finding changed since. */
+    private ValidationResult merged;
+    /** Cache run number and fingerprints of the current incremental call, if there is a cache. */
+    private long cacheRun;
+    private Fingerprints fingerprints;
 
     public ConsistencyValidator(DataDictionary dictionary) {
+        this(dictionary, null);
+    }
+
+    /**
+     * Create a validator that reuses the findings kept in {@code cache},
+     * and adds those it finds, if {@code cache} is not {@code null}.
+     */
+    public ConsistencyValidator(DataDictionary dictionary, ValidationCache cache) {
         if (dictionary == null) {
             throw new IllegalArgumentException("DataDictionary must not be null");
         }
         this.dictionary = dictionary;
+        this.cache = cache;
+    }
+
+    /**
+     * Add a rule, run after the rules added before it.
+     *
+     * @throws IllegalArgumentException if the rule is {@code null}, visits
+     *         no kind, or has the name of another rule
+     */
+    public synchronized void addRule(ValidationRule rule) {
+        if (rule == null) {
+            throw new IllegalArgumentException("Rule must not be null");
+        }
+        if (rule.kinds() == null || rule.kinds().isEmpty()) {
+            throw new IllegalArgumentException("Rule '" + rule.name() + "' visits no object kind");
+        }
+        if (getRuleNames().contains(rule.name())) {
+            throw new IllegalArgumentException("Rule '" + rule.name() + "' already exists");
+        }
+        List<ValidationRule> added = new ArrayList<>(rules);
+        added.add(rule);
+        rules = List.copyOf(added);
+        // The next incremental run must check every object with the new rule
+        covered = -1;
+        merged = null;
+    }
+
+    /** Return the names of all rules, in the order their findings are reported. */
+    public List<String> getRuleNames() {
+        return rules.stream().map(ValidationRule::name).toList();
     }
 
     /**
      * Run all consistency checks and return a combined result.
+     * <p>
+     * The checks run against a {@linkplain DataDictionary#snapshot() pinned
+     * version} of the dictionary, so registrations made while validation is
+     * in progress neither block nor skew the result.
+     * </p>
      */
     public ValidationResult validate() {
-        ValidationResult result = new ValidationResult();
-        validateDataElements(result);
-        validateTableFields(result);
-        validateStructureFields(result);
-        validateViewFieldReferences(result);
-        validateSearchHelpFieldReferences(result);
-        validateDependencyCycles(result);
-        return result;
+        return run(rules, Integer.MAX_VALUE, null);
     }
 
     /**
-     * Validate that every registered {@link DataElement} references a
-     * {@link Domain} that is also registered in the dictionary.
+     * Run only the named rules, e.g. to skip the completeness warnings.
+     *
+     * @throws IllegalArgumentException if a name is not that of a rule
      */
-    void validateDataElements(ValidationResult result) {
-        for (DataElement element : dictionary.getDataElements().values()) {
-            Domain domain = element.getDomain();
-            if (dictionary.getDomain(domain.getName()) == null) {
-                result.addError("DataElement '" + element.getName()
-                        + "' references Domain '" + domain.getName()
-                        + "' which is not registered in the dictionary");
-            } else if (dictionary.getDomain(domain.getName()) != domain) {
-                result.addError("DataElement '" + element.getName()
-                        + "' references a Domain instance '" + domain.getName()
-                        + "' that differs from the registered Domain with the same name");
-            }
-        }
+    public ValidationResult validate(Collection<String> ruleNames) {
+        return validate(ruleNames, Integer.MAX_VALUE);
     }
 
     /**
-     * Validate that every {@link FieldDefinition} in registered tables
-     * references a {@link DataElement} that is registered in the dictionary.
+     * Run the named rules until they have reported {@code maxFindings}
+     * findings. The run stops after the object that reached the limit, and
+     * the result keeps the first {@code maxFindings} findings collected, in
+     * the usual order, and is {@linkplain ValidationResult#isTruncated()
+     * truncated} if it stopped early or dropped findings.
+     *
+     * @throws IllegalArgumentException if a name is not that of a rule, or
+     *         {@code maxFindings} is not positive
      */
-    void validateTableFields(ValidationResult result) {
-        for (TableDefinition table : dictionary.getTables().values()) {
-            validateFieldList(result, table.getFields(), "Table '" + table.getTableName() + "'");
-        }
+    public ValidationResult validate(Collection<String> ruleNames, int maxFindings) {
+        return run(select(ruleNames), checkLimit(maxFindings), null);
     }
 
     /**
-     * Validate that every {@link FieldDefinition} in registered structures
-     * references a {@link DataElement} that is registered in the dictionary.
+     * Run the named rules and pass each finding to {@code sink} as soon as
+     * it is found, keeping none, e.g. to write them to a file or an HTTP
+     * response. Findings arrive object by object: for each kind in
+     * {@link ObjectKind} order and each object in registration order, the
+     * findings of every rule that visits it, in rule order. The run stops
+     * after the object at which {@code maxFindings} were reached. The
+     * returned result holds the counts and rule statistics only.
+     *
+     * @throws IllegalArgumentException if a name is not that of a rule,
+     *         {@code maxFindings} is not positive, or {@code sink} is {@code null}
      */
-    void validateStructureFields(ValidationResult result) {
-        for (Structure structure : dictionary.getStructures().values()) {
-            validateFieldList(result, structure.getFields(),
-                    "Structure '" + structure.getStructureName() + "'");
+    public ValidationResult validate(Collection<String> ruleNames, int maxFindings, FindingSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Finding sink must not be null");
         }
+        return run(select(ruleNames), checkLimit(maxFindings), sink);
     }
 
-    private void validateFieldList(ValidationResult result,
-                                   List<FieldDefinition> fields,
-                                   String parentLabel) {
-        for (FieldDefinition field : fields) {
-            DataElement de = field.getDataElement();
-            if (dictionary.getDataElement(de.getName()) == null) {
-                result.addError(parentLabel + ", field '" + field.getFieldName()
-                        + "' references DataElement '" + de.getName()
-                        + "' which is not registered in the dictionary");
-            } else if (dictionary.getDataElement(de.getName()) != de) {
-                result.addError(parentLabel + ", field '" + field.getFieldName()
-                        + "' references a DataElement instance '" + de.getName()
-                        + "' that differs from the registered DataElement with the same name");
-            }
+    private static int checkLimit(int maxFindings) {
+        if (maxFindings <= 0) {
+            throw new IllegalArgumentException("Finding limit must be positive: " + maxFindings);
         }
+        return maxFindings;
+    }
+
+    // ---- Parallel validation ----
+
+    /** Run {@link #validateParallel(ForkJoinPool)} on the common pool. */
+    public ValidationResult validateParallel() {
+        return validateParallel(ForkJoinPool.commonPool());
     }
 
     /**
-     * Validate that every {@link ViewDefinition}:
-     * <ul>
-     *   <li>has all base tables registered in the dictionary</li>
-     *   <li>only selects fields that exist in at least one of its base tables</li>
-     * </ul>
+     * Return the same result as {@link #validate()}, checking the objects
+     * in parallel on {@code pool}.
+     * <p>
+     * Each rule checks each kind it visits in a task of its own, so cheap
+     * and costly rules are stolen independently. A task halves its range of
+     * objects, in registration order, down to ranges of about a quarter of
+     * an even share per worker, but not below {@link #PARALLEL_BATCH}
+     * objects. Each range collects its findings in a buffer of its own, and
+     * the buffers are joined in rule, kind and range order, so the result
+     * does not depend on scheduling. Rule times add up the time spent on
+     * all threads.
+     * </p>
+     *
+     * @throws IllegalArgumentException if {@code pool} is {@code null}
      */
-    void validateViewFieldReferences(ValidationResult result) {
-        for (ViewDefinition view : dictionary.getViews().values()) {
-            // Collect available field names from all base tables
-            Set<String> availableFields = new HashSet<>();
-            for (TableDefinition baseTable : view.getBaseTables()) {
-                if (dictionary.getTable(baseTable.getTableName()) == null) {
-                    result.addError("View '" + view.getViewName()
-                            + "' references base table '" + baseTable.getTableName()
-                            + "' which is not registered in the dictionary");
-                }
-                for (FieldDefinition field : baseTable.getFields()) {
-                    availableFields.add(field.getFieldName());
+    public ValidationResult validateParallel(ForkJoinPool pool) {
+        return validateParallel(pool, getRuleNames());
+    }
+
+    /**
+     * Run only the named rules in parallel on {@code pool}.
+     *
+     * @throws IllegalArgumentException if {@code pool} is {@code null} or a
+     *         name is not that of a rule
+     */
+    public ValidationResult validateParallel(ForkJoinPool pool, Collection<String> ruleNames) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+        List<ValidationRule> selected = select(ruleNames);
+        DataDictionary view = dictionary.isReadOnly() ? dictionary : dictionary.snapshot();
+        long cacheRun = cache == null ? 0 : cache.startRun();
+        Map<ObjectKind, List<Map.Entry<String, Object>>> objectsByKind = new EnumMap<>(ObjectKind.class);
+        List<List<RangeTask>> tasksByRule = new ArrayList<>();
+        List<RangeTask> tasks = new ArrayList<>();
+        for (ValidationRule rule : selected) {
+            List<RangeTask> ruleTasks = new ArrayList<>();
+            for (ObjectKind kind : ObjectKind.values()) {
+                if (rule.kinds().contains(kind)) {
+                    List<Map.Entry<String, Object>> objects = objectsByKind.computeIfAbsent(kind,
+                            k -> new ArrayList<>(view.objects(k).entrySet()));
+                    int grain = Math.max(PARALLEL_BATCH, objects.size() / (pool.getParallelism() << 2));
+                    ruleTasks.add(new RangeTask(rule, kind, objects, 0, objects.size(), grain, view, cache,
+                            cacheRun));
                 }
             }
+            tasksByRule.add(ruleTasks);
+            tasks.addAll(ruleTasks);
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
 
-            // Check each selected field exists in base tables
-            for (String selectedField : view.getSelectedFields()) {
-                if (!availableFields.contains(selectedField)) {
-                    result.addError("View '" + view.getViewName()
-                            + "' selects field '" + selectedField
-                            + "' which does not exist in any of its base tables");
-                }
+        ValidationResult result = new ValidationResult();
+        for (int r = 0; r < selected.size(); r++) {
+            List<RuleRun> runs = new ArrayList<>();
+            for (RangeTask task : tasksByRule.get(r)) {
+                task.collect(runs);
             }
+            addRuns(result, selected.get(r), runs);
         }
+        if (cache != null) {
+            cache.retainUsed(selected.stream().filter(rule -> !rule.isGlobal()).map(ValidationRule::name).toList(),
+                    cacheRun);
+        }
+        return result;
+    }
+
+    private List<ValidationRule> select(Collection<String> ruleNames) {
+        if (ruleNames == null) {
+            throw new IllegalArgumentException("Rule names must not be null");
+        }
+        List<ValidationRule> all = rules;
+        Set<String> wanted = new LinkedHashSet<>(ruleNames);
+        List<ValidationRule> selected = new ArrayList<>();
+        for (ValidationRule rule : all) {
+            if (wanted.remove(rule.name())) {
+                selected.add(rule);
+            }
+        }
+        if (!wanted.isEmpty()) {
+            throw new IllegalArgumentException("Unknown validation rule: " + wanted.iterator().next());
+        }
+        return selected;
     }
 
     /**
-     * Validate that every {@link SearchHelp}:
-     * <ul>
-     *   <li>has its selection-method table registered (if set)</li>
-     *   <li>only references display/export fields that exist in the
-     *       selection-method table</li>
-     * </ul>
+     * Apply {@code selected} to every object of a pinned version in one
+     * pass, until {@code maxFindings} are reported. Findings go to
+     * {@code sink} if given, otherwise to per-rule buffers merged at the
+     * end.
      */
-    void validateSearchHelpFieldReferences(ValidationResult result) {
-        for (SearchHelp help : dictionary.getSearchHelps().values()) {
-            TableDefinition table = help.getSelectionMethod();
-            if (table == null) {
-                // No selection method set – nothing to validate
+    private ValidationResult run(List<ValidationRule> selected, int maxFindings, FindingSink sink) {
+        DataDictionary view = dictionary.isReadOnly() ? dictionary : dictionary.snapshot();
+        ValidationResult result = new ValidationResult(maxFindings);
+        Budget budget = new Budget(maxFindings);
+        FindingSink streamed = sink == null ? null : finding -> {
+            result.count(finding);
+            sink.accept(finding);
+        };
+        long cacheRun = cache == null ? 0 : cache.startRun();
+        List<Batch> batches = new ArrayList<>();
+        for (ObjectKind kind : ObjectKind.values()) {
+            List<ValidationRule> visiting = new ArrayList<>(selected.size());
+            for (ValidationRule rule : selected) {
+                visiting.add(rule.kinds().contains(kind) ? rule : null);
+            }
+            if (visiting.stream().allMatch(Objects::isNull)) {
                 continue;
             }
+            RuleRun[] runs = new RuleRun[visiting.size()];
+            for (int r = 0; r < runs.length; r++) {
+                if (visiting.get(r) != null) {
+                    runs[r] = new RuleRun(visiting.get(r), view, maxFindings, budget, streamed);
+                }
+            }
+            Fingerprints fingerprints = cache == null ? null : new Fingerprints(view);
+            batches.add(new Batch(kind, new ArrayList<>(view.objects(kind).entrySet()), runs, budget,
+                    fingerprints, cache, cacheRun));
+        }
+        batches.forEach(Batch::check);
 
-            if (dictionary.getTable(table.getTableName()) == null) {
-                result.addError("SearchHelp '" + help.getName()
-                        + "' references selection-method table '" + table.getTableName()
-                        + "' which is not registered in the dictionary");
+        for (int r = 0; r < selected.size(); r++) {
+            List<RuleRun> runs = new ArrayList<>();
+            for (Batch batch : batches) {
+                if (batch.runs[r] != null) {
+                    runs.add(batch.runs[r]);
+                }
             }
+            addRuns(result, selected.get(r), runs);
+        }
+        if (budget.stopped) {
+            result.truncate();
+        } else if (cache != null) {
+            cache.retainUsed(selected.stream().filter(rule -> !rule.isGlobal()).map(ValidationRule::name).toList(),
+                    cacheRun);
+        }
+        return result;
+    }
+
+    /** Add the findings and the statistics of one rule's runs, in the order given. */
+    private static void addRuns(ValidationResult result, ValidationRule rule, List<RuleRun> runs) {
+        long objects = 0;
+        long findings = 0;
+        long nanos = 0;
+        for (RuleRun run : runs) {
+            result.addAll(run.findings.getFindings());
+            objects += run.objects;
+            findings += run.reported;
+            nanos += run.nanos;
+        }
+        result.addStatistics(new ValidationResult.RuleStatistics(rule.name(), objects, findings,
+                Duration.ofNanos(nanos)));
+    }
 
-            Set<String> tableFields = new HashSet<>();
-            for (FieldDefinition field : table.getFields()) {
-                tableFields.add(field.getFieldName());
+    /** Counts the findings of a sequential run and tells it when to stop. */
+    private static final class Budget {
+        final long limit;
+        long reported;
+        boolean stopped;
+
+        Budget(long limit) {
+            this.limit = limit;
+        }
+
+        boolean exhausted() {
+            return reported >= limit;
+        }
+    }
+
+    /** One rule's findings, objects and time for one batch or range. */
+    private static final class RuleRun {
+        final ValidationRule rule;
+        final ValidationResult findings;
+        final RuleContext context;
+        /** The budget of a sequential run, or {@code null} in a parallel run. */
+        final Budget budget;
+        final FindingSink streamed;
+        /** Collects the findings of the object being checked for the cache, or {@code null}. */
+        List<ValidationResult.Finding> captured;
+        long objects;
+        long reported;
+        long nanos;
+
+        RuleRun(ValidationRule rule, DataDictionary view, int maxFindings, Budget budget, FindingSink streamed) {
+            this.rule = rule;
+            this.findings = new ValidationResult(streamed == null ? maxFindings : 0);
+            this.budget = budget;
+            this.streamed = streamed;
+            this.context = new RuleContext(view, rule.name(), finding -> {
+                if (captured != null) {
+                    captured.add(finding);
+                }
+                report(finding);
+            });
+        }
+
+        void report(ValidationResult.Finding finding) {
+            reported++;
+            if (budget != null) {
+                budget.reported++;
+            }
+            if (streamed == null) {
+                findings.add(finding);
+            } else {
+                streamed.accept(finding);
             }
+        }
 
-            for (String displayField : help.getDisplayFields()) {
-                if (!tableFields.contains(displayField)) {
-                    result.addError("SearchHelp '" + help.getName()
-                            + "' display field '" + displayField
-                            + "' does not exist in selection-method table '"
-                            + table.getTableName() + "'");
+        /**
+         * Check one object of {@code kind}, looking its findings up in
+         * {@code cache} if there is one. {@code key} is the object's
+         * validation key, or {@code 0} if not taken yet; return it, taken
+         * if the cache needed it, so the object's other rules can share it.
+         */
+        long check(ObjectKind kind, Map.Entry<String, Object> object, long key, Fingerprints fingerprints,
+                   ValidationCache cache, long cacheRun) {
+            long start = System.nanoTime();
+            if (cache == null || rule.isGlobal()) {
+                rule.check(object.getValue(), context);
+            } else {
+                if (key == 0) {
+                    key = fingerprints.validationKey(kind, object.getKey(), object.getValue());
+                }
+                List<ValidationResult.Finding> cached = cache.get(rule.name(), key, cacheRun);
+                if (cached != null) {
+                    cached.forEach(this::report);
+                } else {
+                    captured = new ArrayList<>();
+                    rule.check(object.getValue(), context);
+                    cache.put(rule.name(), key, captured, cacheRun);
+                    captured = null;
                 }
             }
+            nanos += System.nanoTime() - start;
+            objects++;
+            return key;
+        }
+    }
+
+    /**
+     * The objects of one kind, and a run for each selected rule that visits
+     * the kind ({@code null} for the others). With a cache, each object's
+     * key is taken once and shared by its rules.
+     */
+    private static final class Batch {
+        final ObjectKind kind;
+        final List<Map.Entry<String, Object>> objects;
+        final RuleRun[] runs;
+        final Budget budget;
+        final Fingerprints fingerprints;
+        final ValidationCache cache;
+        final long cacheRun;
+
+        Batch(ObjectKind kind, List<Map.Entry<String, Object>> objects, RuleRun[] runs, Budget budget,
+              Fingerprints fingerprints, ValidationCache cache, long cacheRun) {
+            this.kind = kind;
+            this.objects = objects;
+            this.runs = runs;
+            this.budget = budget;
+            this.fingerprints = fingerprints;
+            this.cache = cache;
+            this.cacheRun = cacheRun;
+        }
 
-            for (String exportField : help.getExportFields()) {
-                if (!tableFields.contains(exportField)) {
-                    result.addError("SearchHelp '" + help.getName()
-                            + "' export field '" + exportField
-                            + "' does not exist in selection-method table '"
-                            + table.getTableName() + "'");
+        void check() {
+            for (Map.Entry<String, Object> object : objects) {
+                if (budget.exhausted()) {
+                    budget.stopped = true;
+                    return;
+                }
+                long key = 0;
+                for (RuleRun run : runs) {
+                    if (run != null) {
+                        key = run.check(kind, object, key, fingerprints, cache, cacheRun);
+                    }
                 }
             }
         }
     }
 
     /**
-     * Check for incomplete definitions that may indicate modelling errors.
+     * Applies one rule to the objects {@code from} to {@code to} of one
+     * kind: halves the range while it is larger than {@code grain}, then
+     * checks it into a run of its own. {@link #collect} lists the runs of
+     * the ranges in object order once the task is done.
+     */
+    private static final class RangeTask extends RecursiveAction {
+        private final ValidationRule rule;
+        private final ObjectKind kind;
+        private final List<Map.Entry<String, Object>> objects;
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final DataDictionary view;
+        private final ValidationCache cache;
+        private final long cacheRun;
+        /** The halves this range was split into, or {@code null}. */
+        private RangeTask lower;
+        private RangeTask upper;
+        /** The run of an unsplit range. */
+        private RuleRun run;
+
+        RangeTask(ValidationRule rule, ObjectKind kind, List<Map.Entry<String, Object>> objects, int from, int to,
+                  int grain, DataDictionary view, ValidationCache cache, long cacheRun) {
+            this.rule = rule;
+            this.kind = kind;
+            this.objects = objects;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.view = view;
+            this.cache = cache;
+            this.cacheRun = cacheRun;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > grain) {
+                int middle = (from + to) >>> 1;
+                lower = new RangeTask(rule, kind, objects, from, middle, grain, view, cache, cacheRun);
+                upper = new RangeTask(rule, kind, objects, middle, to, grain, view, cache, cacheRun);
+                invokeAll(lower, upper);
+                return;
+            }
+            run = new RuleRun(rule, view, Integer.MAX_VALUE, null, null);
+            Fingerprints fingerprints = cache == null ? null : new Fingerprints(view);
+            for (int i = from; i < to; i++) {
+                run.check(kind, objects.get(i), 0, fingerprints, cache, cacheRun);
+            }
+        }
+
+        void collect(List<RuleRun> runs) {
+            if (lower != null) {
+                lower.collect(runs);
+                upper.collect(runs);
+            } else {
+                runs.add(run);
+            }
+        }
+    }
+
+    // ---- Incremental validation ----
+
+    /**
+     * Return the same result as {@link #validate()}, re-checking only the
+     * objects changed since the previous call and their direct dependents.
      * <p>
-     * Reports warnings for views with no base tables, views with base
-     * tables but no selected fields, and tables with no fields defined.
+     * The first call, and any call after the change feed dropped events
+     * this validator had not read yet, checks every object. A validator of
+     * a read-only view validates it once. The result records no rule
+     * statistics.
      * </p>
      */
-    void validateDependencyCycles(ValidationResult result) {
-        for (ViewDefinition view : dictionary.getViews().values()) {
-            if (view.getBaseTables().isEmpty()) {
-                result.addWarning("View '" + view.getViewName()
-                        + "' has no base tables defined");
+    public synchronized ValidationResult validateIncremental() {
+        if (dictionary.isReadOnly()) {
+            if (merged == null) {
+                ValidationResult result = new ValidationResult();
+                result.addAll(validate().getFindings());
+                merged = result;
             }
-            if (view.getSelectedFields().isEmpty() && !view.getBaseTables().isEmpty()) {
-                result.addWarning("View '" + view.getViewName()
-                        + "' has base tables but selects no fields");
+            return merged;
+        }
+        DataDictionary.Checkpoint checkpoint = dictionary.checkpoint();
+        DataDictionary view = checkpoint.view();
+        List<ValidationRule> all = rules;
+        if (cache != null) {
+            cacheRun = cache.startRun();
+            fingerprints = new Fingerprints(view);
+        }
+        Set<ObjectRef> changed = covered < 0 ? null : changedUpTo(checkpoint.sequence());
+        if (changed == null) {
+            sections.clear();
+            for (int r = 0; r < all.size(); r++) {
+                sections.put(all.get(r), new Section(r));
+            }
+            findings = MergedFindings.EMPTY;
+            merged = null;
+            rebuilding = new MergedFindings.Builder();
+            for (ObjectKind kind : ObjectKind.values()) {
+                for (String name : view.objects(kind).keySet()) {
+                    recheck(view, all, new ObjectRef(kind, name));
+                }
             }
+            findings = rebuilding.build();
+            rebuilding = null;
+        } else {
+            Set<ObjectRef> dirty = withDependents(view, changed);
+            for (ObjectRef ref : dirty) {
+                recheck(view, all, ref);
+            }
+            for (ValidationRule rule : all) {
+                if (rule.isGlobal() && dirty.stream().anyMatch(ref -> rule.kinds().contains(ref.kind()))) {
+                    for (ObjectKind kind : rule.kinds()) {
+                        for (String name : view.objects(kind).keySet()) {
+                            recheck(view, List.of(rule), new ObjectRef(kind, name));
+                        }
+                    }
+                }
+            }
+        }
+        covered = checkpoint.sequence();
+        fingerprints = null;
+        if (merged == null) {
+            merged = new ValidationResult(findings.findings(), findings.errorCount(), findings.warningCount());
         }
+        return merged;
+    }
 
-        // Detect if any table appears as its own base table through structures
-        // (currently structures and tables are separate, but validate anyway)
-        for (TableDefinition table : dictionary.getTables().values()) {
-            if (table.getFields().isEmpty()) {
-                result.addWarning("Table '" + table.getTableName()
-                        + "' has no fields defined");
+    /**
+     * Return the objects changed by the events after {@link #covered} up to
+     * {@code sequence}, or {@code null} if some of them were dropped.
+     */
+    private Set<ObjectRef> changedUpTo(long sequence) {
+        Set<ObjectRef> changed = new HashSet<>();
+        long after = covered;
+        while (after < sequence) {
+            ChangeFeed.Batch batch = dictionary.changes().read(after, FEED_BATCH);
+            if (batch.missed() > 0) {
+                return null;
+            }
+            for (ChangeEvent event : batch.events()) {
+                if (event.sequence() <= sequence) {
+                    changed.add(new ObjectRef(event.kind(), event.name()));
+                }
+            }
+            after = batch.next();
+        }
+        return changed;
+    }
+
+    /** Return the changed objects plus the objects whose checks look them up. */
+    private static Set<ObjectRef> withDependents(DataDictionary view, Set<ObjectRef> changed) {
+        Set<ObjectRef> dirty = new HashSet<>(changed);
+        for (ObjectRef ref : changed) {
+            for (ObjectKind dependent : ObjectKind.values()) {
+                if (DictionaryQuery.canReference(dependent, ref.kind())) {
+                    for (String name : view.findReferencing(ref.kind(), ref.name(), dependent)) {
+                        dirty.add(new ObjectRef(dependent, name));
+                    }
+                }
+            }
+        }
+        return dirty;
+    }
+
+    /**
+     * Replace the stored findings of one object with those of its current
+     * version in {@code view}, or drop them if it was removed.
+     */
+    private void recheck(DataDictionary view, List<ValidationRule> all, ObjectRef ref) {
+        Object value = view.get(ref.kind(), ref.name());
+        long key = 0;
+        for (ValidationRule rule : all) {
+            if (!rule.kinds().contains(ref.kind())) {
+                continue;
+            }
+            Section section = sections.get(rule);
+            Long oldOrder = section.orderByRef.remove(ref);
+            List<ValidationResult.Finding> old = oldOrder == null ? null
+                    : findings.get(section.index, ref.kind(), oldOrder);
+            Long order = null;
+            List<ValidationResult.Finding> found = null;
+            if (value != null) {
+                ValidationResult result = new ValidationResult();
+                if (cache == null || rule.isGlobal()) {
+                    rule.check(value, new RuleContext(view, rule.name(), result::add));
+                } else {
+                    if (key == 0) {
+                        key = fingerprints.validationKey(ref.kind(), ref.name(), value);
+                    }
+                    List<ValidationResult.Finding> cached = cache.get(rule.name(), key, cacheRun);
+                    if (cached == null) {
+                        rule.check(value, new RuleContext(view, rule.name(), result::add));
+                        cache.put(rule.name(), key, result.getFindings(), cacheRun);
+                    } else {
+                        result.addAll(cached);
+                    }
+                }
+                if (!result.isValid()) {
+                    order = view.orderOf(ref.kind(), ref.name());
+                    found = result.getFindings();
+                    section.orderByRef.put(ref, order);
+                }
+            }
+            if (rebuilding != null) {
+                if (order != null) {
+                    rebuilding.add(section.index, ref.kind(), order, found);
+                }
+            } else if (!Objects.equals(old, found) || !Objects.equals(oldOrder, order)) {
+                if (oldOrder != null) {
+                    findings = findings.remove(section.index, ref.kind(), oldOrder);
+                }
+                if (order != null) {
+                    findings = findings.put(section.index, ref.kind(), order, found);
+                }
+                merged = null;
             }
         }
     }
@@ -1,5 +1,6 @@
 package com.sap.datadictionary.registry;
 
+import com.sap.datadictionary.conceptual.FieldDefinition;
 import com.sap.datadictionary.conceptual.Structure;
 import com.sap.datadictionary.conceptual.TableDefinition;
 import com.sap.datadictionary.external.LockObject;
@@ -8,9 +9,29 @@ import com.sap.datadictionary.external.ViewDefinition;
 import com.sap.datadictionary.internal.DataElement;
 import com.sap.datadictionary.internal.Domain;
 
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 /**
  * Central metadata registry for the SAP Data Dictionary.
@@ -24,137 +45,1735 @@ import java.util.Map;
  *   <li><b>External Schema</b> – {@link ViewDefinition}s, {@link SearchHelp}s,
  *       and {@link LockObject}s</li>
  * </ul>
+ * <p>
+ * A single instance is shared by all request threads and is thread-safe;
+ * readers never lock.
+ * </p>
  */
 public class DataDictionary {
 
-    // Internal Schema
-    private final Map<String, Domain> domains = new LinkedHashMap<>();
-    private final Map<String, DataElement> dataElements = new LinkedHashMap<>();
+    private static final ObjectKind[] KINDS = ObjectKind.values();
+
+    /** Partition of names outside the customer and registered namespaces. */
+    public static final String SAP_PARTITION = "SAP";
+
+    private final Map<String, Partition> partitionsByName;
+    private final AtomicInteger nextPartitionId;
+
+    /**
+     * Dictionary-wide registration order, per kind. Updates and removals
+     * leave retired entries in place, as they do in the name and attribute
+     * indexes and the reverse references, and readers skip them.
+     */
+    private final RegistrationOrder[] orders;
+
+    /**
+     * Sorted index of all published names, per kind, for {@link NameQuery}
+     * listings: the {@code getXs(NameQuery)} overloads list objects by
+     * prefix, name range or wildcard pattern, one page at a time, in
+     * O(log n + k). Names are added once their version is published, so
+     * every name resolves in the current snapshot unless it was removed
+     * since; readers filter those out, and names newer than a pinned
+     * view, by looking them up in their snapshot.
+     */
+    private final NavigableSet<String>[] sortedNames;
+
+    /**
+     * Compressed bitmaps over registration-order positions of selected
+     * attributes (data type and length of Domains, delivery class and
+     * buffering of Tables, View type, lock mode); the {@code findX} methods
+     * intersect them instead of scanning.
+     */
+    private final AttributeIndex attributes;
+    /**
+     * Transitive impact analysis over the {@link ReferenceIndex} of each
+     * partition, which records the objects each registration references so
+     * that {@link WhereUsedAnalyzer} answers in time proportional to the
+     * answer. Memoizes its results per start object and drops only the
+     * memos a registration can change.
+     */
+    private final DependencyGraph dependencies;
+    private final ChangeFeed changes;
+
+    /** Read-only layer this dictionary overlays, or {@code null}; see {@link #overlay()}. */
+    private final DataDictionary base;
+
+    /** Number of layers below this one. */
+    private final int depth;
+
+    /** Publish lock, or {@code null} for a read-only view pinned to one version. */
+    private final ReentrantLock publishLock;
+
+    /** The only partition visible through a partition view, else {@code null}. */
+    private final Partition scope;
+
+    /**
+     * The published state. Objects are kept in append-only
+     * {@link ObjectLog}s, one per kind and {@link Partition}, and every
+     * change publishes a new snapshot recording how many objects of each
+     * kind are visible. Readers only read the current snapshot, so the maps
+     * returned by {@code getXs()} are fixed at the snapshot they were
+     * created from and can be iterated while other threads keep
+     * registering. Writers only meet in the publish step, which stamps the
+     * new objects with the next version and swaps the snapshot.
+     */
+    private volatile Snapshot snapshot;
+
+    /** Compiled read-only catalog once {@link #seal()} has been called, else {@code null}. */
+    private volatile SealedCatalog catalog;
+
+    /** Whether writes run the {@link IntegrityCheck}; see {@link #setIntegrityEnforced}. */
+    private volatile boolean integrityEnforced;
+
+    /** Dependency cycles of a read-only view, found on first use, else {@code null}. */
+    private volatile DependencyCycles cycles;
+
+    /**
+     * Immutable record of the dictionary version and of how many slots of
+     * each {@link ObjectKind} are published at that version, per partition
+     * ({@code counts}) and as registration-order entries in total
+     * ({@code totals}), plus how many objects of each kind are live
+     * ({@code sizes}); the difference are slots retired by updates and
+     * removals. Partition arrays are indexed by {@link Partition#id()} and
+     * have {@code null} holes for partitions that have not been published.
+     * Replaced wholesale on every commit.
+     */
+    private record Snapshot(long version, Partition[] partitions, int[][] counts, int[] totals,
+                            int[] sizes) {
+
+        static final Snapshot EMPTY = new Snapshot(0, new Partition[0], new int[0][],
+                new int[KINDS.length], new int[KINDS.length]);
+
+        int count(Partition partition, ObjectKind kind) {
+            int id = partition.id();
+            return id < counts.length && counts[id] != null ? counts[id][kind.ordinal()] : 0;
+        }
+
+        int total(ObjectKind kind) {
+            return totals[kind.ordinal()];
+        }
+
+        int size(ObjectKind kind) {
+            return sizes[kind.ordinal()];
+        }
+    }
+
+    /** Create an empty, writable dictionary. */
+    public DataDictionary() {
+        this(null, ChangeFeed.DEFAULT_CAPACITY);
+    }
+
+    /** Create an empty, writable dictionary over an optional read-only base. */
+    private DataDictionary(DataDictionary base, int feedCapacity) {
+        this.partitionsByName = new ConcurrentHashMap<>();
+        this.nextPartitionId = new AtomicInteger();
+        this.orders = new RegistrationOrder[KINDS.length];
+        this.sortedNames = newSortedNames();
+        this.attributes = new AttributeIndex();
+        for (int k = 0; k < KINDS.length; k++) {
+            orders[k] = new RegistrationOrder();
+            sortedNames[k] = new ConcurrentSkipListSet<>();
+        }
+        this.dependencies = new DependencyGraph();
+        this.changes = new ChangeFeed(feedCapacity);
+        this.base = base;
+        this.depth = base == null ? 0 : base.depth + 1;
+        this.publishLock = new ReentrantLock();
+        this.scope = null;
+        this.snapshot = Snapshot.EMPTY;
+    }
+
+    /**
+     * Create a read-only view of {@code source} pinned to {@code pinned},
+     * optionally restricted to one partition.
+     */
+    private DataDictionary(DataDictionary source, Snapshot pinned, Partition scope) {
+        this.partitionsByName = source.partitionsByName;
+        this.nextPartitionId = source.nextPartitionId;
+        this.orders = source.orders;
+        this.sortedNames = source.sortedNames;
+        this.attributes = source.attributes;
+        this.dependencies = source.dependencies;
+        this.changes = source.changes;
+        this.base = source.base;
+        this.depth = source.depth;
+        this.publishLock = null;
+        this.scope = scope;
+        this.snapshot = pinned;
+        this.catalog = pinned == source.snapshot && scope == source.scope ? source.catalog : null;
+    }
+
+    // ---- Versions ----
+
+    /**
+     * Return the current version. An empty dictionary is at version 0 and
+     * every successful registration increments the version by one.
+     */
+    public long version() {
+        return snapshot.version();
+    }
+
+    /**
+     * Return a read-only view pinned to the current version. Registrations
+     * made afterwards are not visible through the view. Long running readers
+     * such as exports, validation runs or DDL generation should work on such
+     * a view, so that writers never have to be stopped for them. The view
+     * shares all storage with this dictionary and costs no copying.
+     */
+    public DataDictionary snapshot() {
+        return isReadOnly() ? this : new DataDictionary(this, snapshot, null);
+    }
+
+    /**
+     * Return a read-only view of the dictionary as it was at the given
+     * version, sharing all storage with this dictionary like
+     * {@link #snapshot()}. Replaced and removed objects stay visible to views
+     * pinned to versions before the change. Pinning costs O(log n).
+     *
+     * @throws IllegalArgumentException if the version is negative or newer
+     *                                  than the version of this dictionary
+     */
+    public DataDictionary at(long version) {
+        Snapshot current = snapshot;
+        if (version < 0 || version > current.version()) {
+            throw new IllegalArgumentException("Unknown dictionary version: " + version
+                    + " (current version is " + current.version() + ")");
+        }
+        if (version == current.version()) {
+            return new DataDictionary(this, current, scope);
+        }
+        int[][] counts = new int[current.counts().length][];
+        int[] totals = new int[KINDS.length];
+        int[] sizes = new int[KINDS.length];
+        for (Partition partition : current.partitions()) {
+            if (partition == null) {
+                continue;
+            }
+            int[] partitionCounts = new int[KINDS.length];
+            for (ObjectKind kind : KINDS) {
+                ObjectLog<?> log = partition.log(kind);
+                int count = log.countAt(version, current.count(partition, kind));
+                partitionCounts[kind.ordinal()] = count;
+                totals[kind.ordinal()] += count;
+                sizes[kind.ordinal()] += log.liveCount(count, version);
+            }
+            counts[partition.id()] = partitionCounts;
+        }
+        return new DataDictionary(this,
+                new Snapshot(version, current.partitions(), counts, totals, sizes), scope);
+    }
+
+    /** Returns {@code true} for views obtained from {@link #snapshot()}, {@link #at(long)} or {@link #partition(String)}. */
+    public boolean isReadOnly() {
+        return publishLock == null;
+    }
+
+    // ---- Sealing ----
+
+    /**
+     * Freeze this dictionary (or view) and compile it into a read-optimized
+     * {@link SealedCatalog}: flat arrays per kind with a minimal perfect hash
+     * for name lookups, and precomputed field and key-field lists for every
+     * Table and Structure. Afterwards lookups do not allocate and
+     * {@code getXs()} return the same map instance on every call; all other
+     * queries work as before. Registrations and batches are rejected with
+     * an {@link IllegalStateException}, including any still in flight.
+     * Sealing twice has no further effect.
+     */
+    public void seal() {
+        if (publishLock != null) {
+            publishLock.lock();
+        }
+        try {
+            if (catalog == null) {
+                catalog = SealedCatalog.compile(this::list);
+            }
+        } finally {
+            if (publishLock != null) {
+                publishLock.unlock();
+            }
+        }
+    }
+
+    /** Returns {@code true} once {@link #seal()} has been called on this dictionary or view. */
+    public boolean isSealed() {
+        return catalog != null;
+    }
+
+    // ---- Integrity ----
+
+    /**
+     * Turn write-time integrity checks on or off. By default
+     * {@code register*} only checks names, and a later
+     * {@link ConsistencyValidator} run finds dangling references. With
+     * checks on, every registration, update and batch is rejected whose
+     * objects would give the validator an error, so the dictionary is
+     * consistent by construction. The {@link IntegrityCheck} costs one hash
+     * probe per reference; bulk loads may bypass it with
+     * {@link DictionaryBatch#commitUnchecked()} and validate once afterwards.
+     * <p>
+     * Turning checks on does not check the objects already registered; run
+     * a {@link ConsistencyValidator} for those. Overlays created afterwards
+     * start with the same setting.
+     * </p>
+     *
+     * @throws IllegalStateException if this is a read-only view
+     */
+    public void setIntegrityEnforced(boolean enforced) {
+        requireWritable();
+        integrityEnforced = enforced;
+    }
+
+    /** Returns {@code true} if registrations, updates and batches run the {@link IntegrityCheck}. */
+    public boolean isIntegrityEnforced() {
+        return integrityEnforced;
+    }
+
+    // ---- Layers ----
+
+    /**
+     * Return a new, empty, writable dictionary layered over a read-only view
+     * of this dictionary pinned to its current version. Registrations made
+     * here afterwards are not visible through the overlay. The overlay
+     * starts at version 0.
+     * <p>
+     * The overlay stores only its own additions and overrides, so many
+     * dictionaries can share one large model. Lookups try the overlay
+     * first; listings and name and attribute queries list the base objects
+     * the overlay does not override, in base order, followed by its own;
+     * where-used and impact analysis, and the dependents of updates and
+     * removals, merge the reverse references of both layers. An override is
+     * registered like a new object or through {@code updateX}, whose
+     * {@code CASCADE} policy copies the affected base objects into the
+     * overlay. Objects of the base cannot be removed through an overlay.
+     * Versions, partitions, persistence and change events are those of the
+     * overlay alone.
+     * </p>
+     */
+    public DataDictionary overlay() {
+        DataDictionary overlay = new DataDictionary(snapshot(), ChangeFeed.OVERLAY_CAPACITY);
+        overlay.integrityEnforced = integrityEnforced;
+        return overlay;
+    }
+
+    /** Return the read-only layer this dictionary overlays, or {@code null} if it has none. */
+    public DataDictionary base() {
+        return base;
+    }
+
+    /** Return the base to read through to: none for partition views, which list only their own objects. */
+    private DataDictionary inherited() {
+        return scope == null ? base : null;
+    }
+
+    /** Returns {@code true} if the base of this overlay has a visible object of that name. */
+    private boolean inherits(ObjectKind kind, String name) {
+        DataDictionary inherited = inherited();
+        return inherited != null && inherited.lookup(inherited.snapshot, kind, name) != null;
+    }
+
+    // ---- Change events ----
+
+    /**
+     * Return the feed of changes to this dictionary: one {@link ChangeEvent}
+     * per changed object, in a pre-allocated ring buffer that consumers read
+     * at their own pace without holding up registration. Views share the
+     * feed of the dictionary they were created from.
+     */
+    public ChangeFeed changes() {
+        return changes;
+    }
+
+    /**
+     * A pinned view and the sequence number of the last change event it
+     * contains: every change in the view has an event up to
+     * {@code sequence}, and every later event is newer than the view.
+     */
+    record Checkpoint(DataDictionary view, long sequence) {}
+
+    /**
+     * Pin the current version together with the matching position in the
+     * change feed. Writable dictionaries only.
+     */
+    Checkpoint checkpoint() {
+        publishLock.lock();
+        try {
+            return new Checkpoint(new DataDictionary(this, snapshot, null), changes.lastSequence());
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    // ---- Partitions ----
+
+    /**
+     * Return the partition an object name belongs to: the namespace prefix
+     * for names in a registered namespace (e.g. {@code /XYZ/} for
+     * {@code /XYZ/TABLE}), {@code Z} or {@code Y} for customer names, and
+     * {@value #SAP_PARTITION} for everything else.
+     * <p>
+     * Each partition has its own storage, symbol table, reverse-reference
+     * index and writer lock, so writes to different partitions run in
+     * parallel up to the publish step.
+     * </p>
+     */
+    public static String partitionOf(String name) {
+        if (name.length() > 2 && name.charAt(0) == '/') {
+            int end = name.indexOf('/', 1);
+            if (end > 1) {
+                return name.substring(0, end + 1);
+            }
+        }
+        if (!name.isEmpty()) {
+            char first = name.charAt(0);
+            if (first == 'Z') {
+                return "Z";
+            }
+            if (first == 'Y') {
+                return "Y";
+            }
+        }
+        return SAP_PARTITION;
+    }
+
+    /**
+     * Return the names of the partitions that hold objects at this version,
+     * in the order the partitions were created.
+     */
+    public List<String> partitions() {
+        Snapshot current = snapshot;
+        List<String> names = new ArrayList<>();
+        for (Partition partition : current.partitions()) {
+            if (partition != null && (scope == null || scope == partition)
+                    && partitionVersion(current, partition) > 0) {
+                names.add(partition.name());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Return the version of the last registration that changed the given
+     * partition, as of this dictionary's version, or 0 if it is empty.
+     * {@code DictionaryRepository} uses it to rewrite only the partitions
+     * that changed.
+     */
+    public long partitionVersion(String partition) {
+        Partition p = partitionsByName.get(partition);
+        return p == null ? 0 : partitionVersion(snapshot, p);
+    }
+
+    /**
+     * Return a read-only view, pinned to this dictionary's version, that
+     * only lists and finds the objects of one partition. References to
+     * objects of other partitions are kept as they are. The partition view
+     * of an overlay does not read through to the base.
+     */
+    public DataDictionary partition(String partition) {
+        Partition p = partitionsByName.get(partition);
+        if (p == null) {
+            p = new Partition(partition, Integer.MAX_VALUE);
+        }
+        return new DataDictionary(this, snapshot, p);
+    }
+
+    private static long partitionVersion(Snapshot snapshot, Partition partition) {
+        long version = 0;
+        for (ObjectKind kind : KINDS) {
+            int count = snapshot.count(partition, kind);
+            version = Math.max(version, partition.log(kind).lastChangeAt(count, snapshot.version()));
+        }
+        return version;
+    }
+
+    private Partition partitionFor(String name) {
+        return partitionsByName.computeIfAbsent(partitionOf(name),
+                key -> new Partition(key, nextPartitionId.getAndIncrement()));
+    }
 
-    // Conceptual Schema
-    private final Map<String, TableDefinition> tables = new LinkedHashMap<>();
-    private final Map<String, Structure> structures = new LinkedHashMap<>();
+    // ---- Batches ----
 
-    // External Schema
-    private final Map<String, ViewDefinition> views = new LinkedHashMap<>();
-    private final Map<String, SearchHelp> searchHelps = new LinkedHashMap<>();
-    private final Map<String, LockObject> lockObjects = new LinkedHashMap<>();
+    /**
+     * Start a batch that stages objects for one atomic registration. Large
+     * models should be loaded this way: the staged objects are checked once
+     * at commit, the storage is grown once, and all objects become visible
+     * together in a single new version, or none of them does.
+     *
+     * @throws IllegalStateException if this is a read-only view
+     */
+    public DictionaryBatch batch() {
+        requireWritable();
+        return new DictionaryBatch(this);
+    }
 
     // ---- Internal Schema operations ----
 
     public void registerDomain(Domain domain) {
         requireNonNull(domain, "Domain");
-        requireUnique(domains, domain.getName(), "Domain");
-        domains.put(domain.getName(), domain);
+        register(ObjectKind.DOMAIN, domain.getName(), domain);
     }
 
     public Domain getDomain(String name) {
-        return domains.get(name);
+        return lookup(snapshot, ObjectKind.DOMAIN, name);
     }
 
     public Map<String, Domain> getDomains() {
-        return Collections.unmodifiableMap(domains);
+        return list(ObjectKind.DOMAIN);
+    }
+
+    public Map<String, Domain> getDomains(NameQuery query) {
+        return list(ObjectKind.DOMAIN, query);
+    }
+
+    public Map<ObjectKind, List<String>> updateDomain(Domain domain, DependentPolicy policy) {
+        requireNonNull(domain, "Domain");
+        return modify(ObjectKind.DOMAIN, domain.getName(), domain, policy);
+    }
+
+    public Map<ObjectKind, List<String>> removeDomain(String name, DependentPolicy policy) {
+        return modify(ObjectKind.DOMAIN, name, null, policy);
     }
 
     public void registerDataElement(DataElement element) {
         requireNonNull(element, "Data element");
-        requireUnique(dataElements, element.getName(), "Data element");
-        dataElements.put(element.getName(), element);
+        register(ObjectKind.DATA_ELEMENT, element.getName(), element);
     }
 
     public DataElement getDataElement(String name) {
-        return dataElements.get(name);
+        return lookup(snapshot, ObjectKind.DATA_ELEMENT, name);
     }
 
     public Map<String, DataElement> getDataElements() {
-        return Collections.unmodifiableMap(dataElements);
+        return list(ObjectKind.DATA_ELEMENT);
+    }
+
+    public Map<String, DataElement> getDataElements(NameQuery query) {
+        return list(ObjectKind.DATA_ELEMENT, query);
+    }
+
+    public Map<ObjectKind, List<String>> updateDataElement(DataElement element, DependentPolicy policy) {
+        requireNonNull(element, "Data element");
+        return modify(ObjectKind.DATA_ELEMENT, element.getName(), element, policy);
+    }
+
+    public Map<ObjectKind, List<String>> removeDataElement(String name, DependentPolicy policy) {
+        return modify(ObjectKind.DATA_ELEMENT, name, null, policy);
     }
 
     // ---- Conceptual Schema operations ----
 
     public void registerTable(TableDefinition table) {
         requireNonNull(table, "Table");
-        requireUnique(tables, table.getTableName(), "Table");
-        tables.put(table.getTableName(), table);
+        register(ObjectKind.TABLE, table.getTableName(), table);
     }
 
     public TableDefinition getTable(String name) {
-        return tables.get(name);
+        return lookup(snapshot, ObjectKind.TABLE, name);
     }
 
     public Map<String, TableDefinition> getTables() {
-        return Collections.unmodifiableMap(tables);
+        return list(ObjectKind.TABLE);
+    }
+
+    public Map<String, TableDefinition> getTables(NameQuery query) {
+        return list(ObjectKind.TABLE, query);
+    }
+
+    public Map<ObjectKind, List<String>> updateTable(TableDefinition table, DependentPolicy policy) {
+        requireNonNull(table, "Table");
+        return modify(ObjectKind.TABLE, table.getTableName(), table, policy);
+    }
+
+    public Map<ObjectKind, List<String>> removeTable(String name, DependentPolicy policy) {
+        return modify(ObjectKind.TABLE, name, null, policy);
     }
 
     public void registerStructure(Structure structure) {
         requireNonNull(structure, "Structure");
-        requireUnique(structures, structure.getStructureName(), "Structure");
-        structures.put(structure.getStructureName(), structure);
+        register(ObjectKind.STRUCTURE, structure.getStructureName(), structure);
     }
 
     public Structure getStructure(String name) {
-        return structures.get(name);
+        return lookup(snapshot, ObjectKind.STRUCTURE, name);
     }
 
     public Map<String, Structure> getStructures() {
-        return Collections.unmodifiableMap(structures);
+        return list(ObjectKind.STRUCTURE);
+    }
+
+    public Map<String, Structure> getStructures(NameQuery query) {
+        return list(ObjectKind.STRUCTURE, query);
+    }
+
+    public Map<ObjectKind, List<String>> updateStructure(Structure structure, DependentPolicy policy) {
+        requireNonNull(structure, "Structure");
+        return modify(ObjectKind.STRUCTURE, structure.getStructureName(), structure, policy);
+    }
+
+    public Map<ObjectKind, List<String>> removeStructure(String name, DependentPolicy policy) {
+        return modify(ObjectKind.STRUCTURE, name, null, policy);
     }
 
     // ---- External Schema operations ----
 
     public void registerView(ViewDefinition view) {
         requireNonNull(view, "View");
-        requireUnique(views, view.getViewName(), "View");
-        views.put(view.getViewName(), view);
+        register(ObjectKind.VIEW, view.getViewName(), view);
     }
 
     public ViewDefinition getView(String name) {
-        return views.get(name);
+        return lookup(snapshot, ObjectKind.VIEW, name);
     }
 
     public Map<String, ViewDefinition> getViews() {
-        return Collections.unmodifiableMap(views);
+        return list(ObjectKind.VIEW);
+    }
+
+    public Map<String, ViewDefinition> getViews(NameQuery query) {
+        return list(ObjectKind.VIEW, query);
+    }
+
+    public Map<ObjectKind, List<String>> updateView(ViewDefinition view, DependentPolicy policy) {
+        requireNonNull(view, "View");
+        return modify(ObjectKind.VIEW, view.getViewName(), view, policy);
+    }
+
+    public Map<ObjectKind, List<String>> removeView(String name, DependentPolicy policy) {
+        return modify(ObjectKind.VIEW, name, null, policy);
     }
 
     public void registerSearchHelp(SearchHelp searchHelp) {
         requireNonNull(searchHelp, "Search help");
-        requireUnique(searchHelps, searchHelp.getName(), "Search help");
-        searchHelps.put(searchHelp.getName(), searchHelp);
+        register(ObjectKind.SEARCH_HELP, searchHelp.getName(), searchHelp);
     }
 
     public SearchHelp getSearchHelp(String name) {
-        return searchHelps.get(name);
+        return lookup(snapshot, ObjectKind.SEARCH_HELP, name);
     }
 
     public Map<String, SearchHelp> getSearchHelps() {
-        return Collections.unmodifiableMap(searchHelps);
+        return list(ObjectKind.SEARCH_HELP);
+    }
+
+    public Map<String, SearchHelp> getSearchHelps(NameQuery query) {
+        return list(ObjectKind.SEARCH_HELP, query);
+    }
+
+    public Map<ObjectKind, List<String>> updateSearchHelp(SearchHelp searchHelp, DependentPolicy policy) {
+        requireNonNull(searchHelp, "Search help");
+        return modify(ObjectKind.SEARCH_HELP, searchHelp.getName(), searchHelp, policy);
+    }
+
+    public Map<ObjectKind, List<String>> removeSearchHelp(String name, DependentPolicy policy) {
+        return modify(ObjectKind.SEARCH_HELP, name, null, policy);
     }
 
     public void registerLockObject(LockObject lockObject) {
         requireNonNull(lockObject, "Lock object");
-        requireUnique(lockObjects, lockObject.getName(), "Lock object");
-        lockObjects.put(lockObject.getName(), lockObject);
+        register(ObjectKind.LOCK_OBJECT, lockObject.getName(), lockObject);
     }
 
     public LockObject getLockObject(String name) {
-        return lockObjects.get(name);
+        return lookup(snapshot, ObjectKind.LOCK_OBJECT, name);
     }
 
     public Map<String, LockObject> getLockObjects() {
-        return Collections.unmodifiableMap(lockObjects);
+        return list(ObjectKind.LOCK_OBJECT);
+    }
+
+    public Map<String, LockObject> getLockObjects(NameQuery query) {
+        return list(ObjectKind.LOCK_OBJECT, query);
+    }
+
+    public Map<ObjectKind, List<String>> updateLockObject(LockObject lockObject, DependentPolicy policy) {
+        requireNonNull(lockObject, "Lock object");
+        return modify(ObjectKind.LOCK_OBJECT, lockObject.getName(), lockObject, policy);
+    }
+
+    public Map<ObjectKind, List<String>> removeLockObject(String name, DependentPolicy policy) {
+        return modify(ObjectKind.LOCK_OBJECT, name, null, policy);
+    }
+
+    // ---- Attribute queries ----
+
+    public Map<String, Domain> findDomains(AttributeFilter<Domain> filter) {
+        return find(filter);
+    }
+
+    public Map<String, TableDefinition> findTables(AttributeFilter<TableDefinition> filter) {
+        return find(filter);
+    }
+
+    public Map<String, ViewDefinition> findViews(AttributeFilter<ViewDefinition> filter) {
+        return find(filter);
+    }
+
+    public Map<String, LockObject> findLockObjects(AttributeFilter<LockObject> filter) {
+        return find(filter);
+    }
+
+    // ---- Queries ----
+
+    /**
+     * Return the objects that satisfy {@code query}, in registration order,
+     * as of the current version. The {@link QueryPlan} drives the query from
+     * whichever of the name, attribute and reverse-reference indexes
+     * promises the fewest candidates. The result is computed lazily from a
+     * pinned view, so registrations made while it is consumed do not show
+     * up in it. For large scans the stream may be parallel; use
+     * {@link Stream#forEachOrdered} or {@link Stream#toList} to keep the
+     * order.
+     */
+    public <T> Stream<T> query(DictionaryQuery<T> query) {
+        return explain(query).execute();
+    }
+
+    /**
+     * Return the plan by which {@link #query} would answer {@code query}
+     * at the current version.
+     */
+    public QueryPlan explain(DictionaryQuery<?> query) {
+        requireNonNull(query, "Query");
+        return QueryPlan.plan(snapshot(), query);
     }
 
     // ---- helpers ----
 
-    private static void requireNonNull(Object obj, String label) {
-        if (obj == null) {
-            throw new IllegalArgumentException(label + " must not be null");
+    /** Find a visible object by name, in this layer first and then in the base. */
+    private <V> V lookup(Snapshot current, ObjectKind kind, String name) {
+        if (name == null) {
+            return null;
+        }
+        SealedCatalog sealed = catalog;
+        if (sealed != null) {
+            return sealed.get(kind, name);
+        }
+        V value = lookupOwn(current, kind, name);
+        DataDictionary inherited = inherited();
+        return value != null || inherited == null ? value : inherited.lookup(inherited.snapshot, kind, name);
+    }
+
+    /** Find a visible object of this layer by name: one partition lookup, then one log probe. */
+    private <V> V lookupOwn(Snapshot current, ObjectKind kind, String name) {
+        Partition partition = partitionsByName.get(partitionOf(name));
+        if (partition == null || (scope != null && scope != partition)) {
+            return null;
+        }
+        ObjectLog<V> log = partition.log(kind);
+        return log.get(name, current.count(partition, kind), current.version());
+    }
+
+    private <V> Map<String, V> list(ObjectKind kind) {
+        SealedCatalog sealed = catalog;
+        if (sealed != null) {
+            return sealed.view(kind);
+        }
+        Snapshot current = snapshot;
+        if (scope != null) {
+            ObjectLog<V> log = scope.log(kind);
+            return log.view(current.count(scope, kind), current.version());
+        }
+        Map<String, V> own = orders[kind.ordinal()].view(current.total(kind), current.version(),
+                current.size(kind), name -> lookupOwn(current, kind, name), current.partitions(), kind);
+        return base == null ? own : new LayeredMap<>(base.list(kind), own);
+    }
+
+    /**
+     * Answer a {@link NameQuery} from the sorted name index: seek to the
+     * start of its range, then walk forward until the page is full, skipping
+     * names that do not match or are not visible at this version.
+     */
+    private <V> Map<String, V> list(ObjectKind kind, NameQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Name query must not be null");
+        }
+        Snapshot current = snapshot;
+        Map<String, V> page = new LinkedHashMap<>();
+        for (String name : candidates(kind, query)) {
+            if (page.size() == query.limit()) {
+                break;
+            }
+            if (query.matches(name)) {
+                V value = lookup(current, kind, name);
+                if (value != null) {
+                    page.put(name, value);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(page);
+    }
+
+    /**
+     * Return the sorted names of this layer and, merged in, of the base that
+     * can match {@code query}. A name may be listed by both layers but is
+     * returned once.
+     */
+    Iterable<String> candidates(ObjectKind kind, NameQuery query) {
+        NavigableSet<String> own = query.candidates(sortedNames[kind.ordinal()]);
+        DataDictionary inherited = inherited();
+        if (inherited == null) {
+            return own;
+        }
+        Iterable<String> below = inherited.candidates(kind, query);
+        return () -> mergeSorted(own.iterator(), below.iterator());
+    }
+
+    /** Merge two ascending iterators of distinct names into one, dropping duplicates. */
+    private static Iterator<String> mergeSorted(Iterator<String> a, Iterator<String> b) {
+        return new Iterator<>() {
+            private String nextA = a.hasNext() ? a.next() : null;
+            private String nextB = b.hasNext() ? b.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextA != null || nextB != null;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int order = nextA == null ? 1 : nextB == null ? -1 : nextA.compareTo(nextB);
+                String name = order <= 0 ? nextA : nextB;
+                if (order <= 0) {
+                    nextA = a.hasNext() ? a.next() : null;
+                }
+                if (order >= 0) {
+                    nextB = b.hasNext() ? b.next() : null;
+                }
+                return name;
+            }
+        };
+    }
+
+    /**
+     * Answer an {@link AttributeFilter} by intersecting attribute bitmaps,
+     * in registration order. The bitmaps also hold the positions of
+     * replaced and removed objects, which are skipped. An overlay lists the
+     * base's matches it does not override first.
+     */
+    <V> Map<String, V> find(AttributeFilter<?> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Attribute filter must not be null");
+        }
+        Snapshot current = snapshot;
+        ObjectKind kind = filter.kind();
+        Map<String, V> result = new LinkedHashMap<>();
+        DataDictionary inherited = inherited();
+        if (inherited != null) {
+            Map<String, V> below = inherited.find(filter);
+            below.forEach((name, value) -> {
+                if (lookupOwn(current, kind, name) == null) {
+                    result.put(name, value);
+                }
+            });
+        }
+        if (filter.terms() != null) {
+            RegistrationOrder order = orders[kind.ordinal()];
+            attributes.forEach(filter.terms(), current.total(kind), position -> {
+                if (!order.isLive(position, current.partitions(), kind, current.version())) {
+                    return;
+                }
+                String name = order.nameAt(position, current.partitions(), kind);
+                V value = lookupOwn(current, kind, name);
+                if (value != null) {
+                    result.put(name, value);
+                }
+            });
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Return an upper bound for the number of objects {@code filter}
+     * selects, from the attribute bitmaps of this layer and the base.
+     */
+    int estimate(AttributeFilter<?> filter) {
+        if (filter.terms() == null) {
+            return 0;
+        }
+        int own = attributes.estimate(filter.terms());
+        DataDictionary inherited = inherited();
+        return inherited == null ? own : own + inherited.estimate(filter);
+    }
+
+    /** Return the visible object of the given kind and name, or {@code null}. */
+    <V> V get(ObjectKind kind, String name) {
+        return lookup(snapshot, kind, name);
+    }
+
+    /** Return all visible objects of a kind in registration order, like the {@code getXs()} methods. */
+    <V> Map<String, V> objects(ObjectKind kind) {
+        return list(kind);
+    }
+
+    /**
+     * Return a key that sorts the visible objects of a kind into
+     * registration order, as listed by {@code getXs()}, or
+     * {@link Long#MAX_VALUE} if there is no such object. Objects of an
+     * {@linkplain #overlay() overlay} sort after those of its base.
+     */
+    public long orderOf(ObjectKind kind, String name) {
+        return orderKey(snapshot, kind, name);
+    }
+
+    /**
+     * Return the content fingerprint of the visible object of the given
+     * kind and name, or {@code 0} if there is none; see {@link Fingerprints}.
+     * It covers the object's canonical form and the objects it references,
+     * so equal definitions have equal fingerprints in every dictionary. It
+     * is memoized in the object's slot when first taken, so a registered
+     * object must not be changed in place afterwards.
+     */
+    public long fingerprintOf(ObjectKind kind, String name) {
+        Object value = get(kind, name);
+        return value == null ? 0 : new Fingerprints(this).of(kind, name, value);
+    }
+
+    /**
+     * Return the memoized fingerprint of {@code value} if it is the visible
+     * object of the given kind and name and has one, else {@code 0}.
+     */
+    long memoizedFingerprint(ObjectKind kind, String name, Object value) {
+        return atSlotOf(snapshot, kind, name, value, ObjectLog::fingerprintAt);
+    }
+
+    /**
+     * Memoize the fingerprint of {@code value} if it is the visible object
+     * of the given kind and name; otherwise do nothing.
+     */
+    void memoizeFingerprint(ObjectKind kind, String name, Object value, long fingerprint) {
+        atSlotOf(snapshot, kind, name, value, (log, slot) -> {
+            log.memoizeFingerprint(slot, fingerprint);
+            return 0;
+        });
+    }
+
+    /** An operation on one slot of an {@link ObjectLog}. */
+    private interface SlotAction {
+        long apply(ObjectLog<?> log, int slot);
+    }
+
+    /**
+     * Apply {@code action} to the slot of this layer or the base that holds
+     * {@code value} as the visible object of the given kind and name, and
+     * return its result, or {@code 0} if {@code value} is not that object.
+     */
+    private long atSlotOf(Snapshot current, ObjectKind kind, String name, Object value, SlotAction action) {
+        Partition partition = partitionsByName.get(partitionOf(name));
+        if (partition != null && (scope == null || scope == partition)) {
+            ObjectLog<?> log = partition.log(kind);
+            int slot = log.visibleSlot(name, current.count(partition, kind), current.version());
+            if (slot >= 0) {
+                return log.valueAt(slot) == value ? action.apply(log, slot) : 0;
+            }
+        }
+        DataDictionary inherited = inherited();
+        return inherited == null ? 0 : inherited.atSlotOf(inherited.snapshot, kind, name, value, action);
+    }
+
+    /**
+     * Return the dependency cycles among the visible objects. A read-only
+     * view finds them once; a writable dictionary on every call.
+     */
+    DependencyCycles dependencyCycles() {
+        if (!isReadOnly()) {
+            return DependencyCycles.of(this);
+        }
+        DependencyCycles found = cycles;
+        if (found == null) {
+            synchronized (this) {
+                found = cycles;
+                if (found == null) {
+                    found = DependencyCycles.of(this);
+                    cycles = found;
+                }
+            }
+        }
+        return found;
+    }
+
+    /** Return the given names of visible objects sorted into registration order. */
+    List<String> inRegistrationOrder(ObjectKind kind, Collection<String> names) {
+        Snapshot current = snapshot;
+        Map<String, Long> keys = new HashMap<>(names.size() * 2);
+        for (String name : names) {
+            keys.put(name, orderKey(current, kind, name));
+        }
+        List<String> sorted = new ArrayList<>(names);
+        sorted.sort(Comparator.comparing(keys::get));
+        return sorted;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static NavigableSet<String>[] newSortedNames() {
+        return new NavigableSet[KINDS.length];
+    }
+
+    /** Register a single object; see {@link #commit}. */
+    private void register(ObjectKind kind, String name, Object value) {
+        commit(List.of(new Staged(kind, name, value)),
+                integrityEnforced ? ReferenceCheck.INTEGRITY : ReferenceCheck.NONE);
+    }
+
+    /** An object staged for registration by {@link #commit}. */
+    record Staged(ObjectKind kind, String name, Object value) {}
+
+    /** How {@link #commit} checks the references of the staged objects. */
+    enum ReferenceCheck {
+        /** References are not checked. */
+        NONE,
+        /** Every reference names a registered or staged object. */
+        RESOLVABLE,
+        /** Every staged object passes the {@link IntegrityCheck}. */
+        INTEGRITY
+    }
+
+    /**
+     * Commit path shared by {@code register*} and {@link DictionaryBatch}.
+     * <p>
+     * Under the locks of the partitions involved (taken in id order), check
+     * that all names are new, check the references as {@code check} says,
+     * then append and index all objects.
+     * Nothing is appended unless every check passes. Finally
+     * {@linkplain #publish publish} them in one new version and add their
+     * names to the sorted name index, so that a name query never lists an
+     * object before it is visible. When checking
+     * references, the partitions of the referenced objects are locked as
+     * well, so that they cannot be removed between the check and the
+     * publish.
+     * </p>
+     *
+     * @return the version the objects were published at
+     * @throws IllegalArgumentException listing every problem found
+     */
+    long commit(List<Staged> staged, ReferenceCheck check) {
+        boolean checkReferences = check != ReferenceCheck.NONE;
+        requireWritable();
+        if (staged.isEmpty()) {
+            return snapshot.version();
+        }
+        Partition[] targets = new Partition[staged.size()];
+        TreeMap<Integer, Partition> involved = new TreeMap<>();
+        for (int i = 0; i < staged.size(); i++) {
+            targets[i] = partitionFor(staged.get(i).name());
+            involved.put(targets[i].id(), targets[i]);
+        }
+        List<Set<ObjectRef>> refsByObject = new ArrayList<>(staged.size());
+        TreeMap<Integer, Partition> locked = new TreeMap<>(involved);
+        for (Staged object : staged) {
+            Set<ObjectRef> refs = referencesOf(object.value());
+            refsByObject.add(refs);
+            if (checkReferences) {
+                for (ObjectRef ref : refs) {
+                    Partition partition = partitionsByName.get(partitionOf(ref.name()));
+                    if (partition != null) {
+                        locked.put(partition.id(), partition);
+                    }
+                }
+            }
+        }
+        for (Partition partition : locked.values()) {
+            partition.lock().lock();
+        }
+        try {
+            Snapshot current = snapshot;
+            List<String> problems = new ArrayList<>();
+            Set<ObjectRef> stagedRefs = new HashSet<>(staged.size() * 2);
+            for (int i = 0; i < staged.size(); i++) {
+                Staged object = staged.get(i);
+                if (targets[i].log(object.kind()).contains(object.name())) {
+                    problems.add(object.kind().label() + " already registered: " + object.name());
+                } else if (!stagedRefs.add(new ObjectRef(object.kind(), object.name()))) {
+                    problems.add(object.kind().label() + " staged twice: " + object.name());
+                }
+            }
+            if (check == ReferenceCheck.INTEGRITY) {
+                problems.addAll(checkIntegrity(current, staged));
+            }
+            for (int i = 0; check == ReferenceCheck.RESOLVABLE && i < staged.size(); i++) {
+                Staged object = staged.get(i);
+                for (ObjectRef ref : refsByObject.get(i)) {
+                    if (!stagedRefs.contains(ref) && lookup(current, ref.kind(), ref.name()) == null) {
+                        problems.add(object.kind().label() + " '" + object.name()
+                                + "' references " + ref.kind().label() + " '" + ref.name()
+                                + "' which is neither registered nor staged");
+                    }
+                }
+            }
+            requireNoProblems(problems, "nothing registered");
+
+            if (staged.size() > 1) {
+                Map<ObjectLog<?>, Integer> added = new HashMap<>();
+                for (int i = 0; i < staged.size(); i++) {
+                    added.merge(targets[i].log(staged.get(i).kind()), 1, Integer::sum);
+                }
+                added.forEach(ObjectLog::reserve);
+            }
+            int[] slots = new int[staged.size()];
+            Set<ObjectRef> touched = new HashSet<>();
+            for (int i = 0; i < staged.size(); i++) {
+                Staged object = staged.get(i);
+                slots[i] = append(targets[i].log(object.kind()), object.name(), object.value());
+                for (ObjectRef ref : refsByObject.get(i)) {
+                    targets[i].references().add(ref.kind(), ref.name(), object.kind(), slots[i]);
+                }
+                touched.addAll(refsByObject.get(i));
+            }
+            long version = publish(staged, targets, slots, ChangeEvent.Type.REGISTERED, List.of(),
+                    involved.values(), touched);
+            for (Staged object : staged) {
+                sortedNames[object.kind().ordinal()].add(object.name());
+            }
+            return version;
+        } finally {
+            for (Partition partition : locked.descendingMap().values()) {
+                partition.lock().unlock();
+            }
+        }
+    }
+
+    /** Run the {@link IntegrityCheck} on objects to be written together at {@code current}. */
+    private List<String> checkIntegrity(Snapshot current, List<Staged> staged) {
+        IntegrityCheck integrity = new IntegrityCheck((kind, name) -> lookup(current, kind, name));
+        for (Staged object : staged) {
+            integrity.stage(object.kind(), object.name(), object.value());
+        }
+        for (Staged object : staged) {
+            integrity.check(object.kind(), object.name(), object.value());
+        }
+        return integrity.problems();
+    }
+
+    /** Throw an {@link IllegalArgumentException} listing {@code problems}, if there are any. */
+    private static void requireNoProblems(List<String> problems, String outcome) {
+        if (problems.size() == 1) {
+            throw new IllegalArgumentException(problems.get(0));
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException(problems.size() + " problems, " + outcome + ": "
+                    + String.join("; ", problems));
+        }
+    }
+
+    /**
+     * Make a change visible: under the publish lock, assign the next
+     * version, stamp each appended object with it and with its
+     * registration-order position, retire the slots the change replaces or
+     * removes, and swap in the new snapshot. Called with the locks of all
+     * involved partitions held; this is the only step writers of different
+     * partitions serialize on.
+     *
+     * @param type    the change event type of the appended objects
+     * @param retired the slots to retire; removed ones are reported as
+     *                {@link ChangeEvent.Type#REMOVED}
+     */
+    private long publish(List<Staged> staged, Partition[] targets, int[] slots, ChangeEvent.Type type,
+                         List<Retired> retired, Collection<Partition> involved, Set<ObjectRef> touched) {
+        publishLock.lock();
+        try {
+            requireWritable();
+            Snapshot current = snapshot;
+            long version = current.version() + 1;
+            int length = current.partitions().length;
+            for (Partition partition : involved) {
+                length = Math.max(length, partition.id() + 1);
+            }
+            Partition[] partitions = Arrays.copyOf(current.partitions(), length);
+            int[][] counts = Arrays.copyOf(current.counts(), length);
+            for (Partition partition : involved) {
+                int[] previous = counts[partition.id()];
+                partitions[partition.id()] = partition;
+                counts[partition.id()] = previous == null ? new int[KINDS.length] : previous.clone();
+            }
+            int[] totals = current.totals().clone();
+            int[] sizes = current.sizes().clone();
+            for (int i = 0; i < staged.size(); i++) {
+                ObjectKind kind = staged.get(i).kind();
+                int position = orders[kind.ordinal()].append(targets[i].id(), slots[i]);
+                attributes.add(kind, staged.get(i).value(), position);
+                targets[i].log(kind).stamp(slots[i], version, position);
+                counts[targets[i].id()][kind.ordinal()] = slots[i] + 1;
+                totals[kind.ordinal()]++;
+                sizes[kind.ordinal()]++;
+            }
+            for (Retired old : retired) {
+                Partition partition = old.partition();
+                partition.log(old.kind()).retire(old.slot(), version);
+                for (ObjectRef ref : referencesOf(partition.log(old.kind()).valueAt(old.slot()))) {
+                    partition.references().retire(ref.kind(), ref.name(), version,
+                            (kind, slot) -> partition.log(kind).isLive(slot, version));
+                }
+                sizes[old.kind().ordinal()]--;
+            }
+            dependencies.invalidate(touched, version, this::referencesOfRegistered);
+            snapshot = new Snapshot(version, partitions, counts, totals, sizes);
+            for (Staged object : staged) {
+                changes.publish(type, object.kind(), object.name(), version);
+            }
+            for (Retired old : retired) {
+                if (!old.replaced()) {
+                    changes.publish(ChangeEvent.Type.REMOVED, old.kind(), old.name(), version);
+                }
+            }
+            return version;
+        } finally {
+            publishLock.unlock();
+            changes.signal();
+        }
+    }
+
+    /** A published slot retired by a change; {@code replaced} unless the object is removed. */
+    private record Retired(Partition partition, ObjectKind kind, String name, int slot, boolean replaced) {}
+
+    /**
+     * Update and removal path shared by {@code update*} and {@code remove*}.
+     * <p>
+     * This locks the partition of the object and finds its dependents
+     * through the reverse-reference index: the direct ones for
+     * {@link DependentPolicy#RESTRICT}, which rejects the change if there
+     * are any, and the transitive impact for {@link DependentPolicy#CASCADE}.
+     * Replacing an object by itself affects no dependents. The object and
+     * the cascaded dependents of this layer are retired; for an update, the
+     * replacement and {@linkplain Rebinder rebound} copies of the dependents
+     * are appended and indexed like new registrations, and in an overlay
+     * they override the base objects they replace. Everything is published
+     * in one new version, and the work is proportional to the number of
+     * affected objects. An update moves the object, and every object it
+     * cascades to, to the end of the registration order.
+     * </p>
+     * <p>
+     * Like {@link #commit}, this holds the locks of every partition it
+     * changes, and when integrity is enforced of the partitions the
+     * replacement references, taking them in id order. Those partitions are
+     * only known once the dependents are found, so if they include one that
+     * is not locked yet, all locks are released and the change starts over
+     * holding the larger set. Writers that add a dependent lock the
+     * partition of the object it references, which this holds, so the
+     * dependents found cannot change before the publish. Likewise, if an
+     * override needs a partition the overlay does not have yet, the
+     * partition is created with no locks held and the change starts over.
+     * </p>
+     *
+     * @param replacement the new object, or {@code null} to remove the object
+     * @return the cascaded dependents by kind, each in registration order
+     * @throws IllegalArgumentException if no such object is registered
+     * @throws IllegalStateException    if the policy is {@code RESTRICT} and
+     *                                  the object has dependents, or if a
+     *                                  removal would remove objects of the base
+     */
+    private Map<ObjectKind, List<String>> modify(ObjectKind kind, String name, Object replacement,
+                                                 DependentPolicy policy) {
+        requireWritable();
+        requireNonNull(name, kind.label() + " name");
+        requireNonNull(policy, "Dependent policy");
+        List<String> unpartitioned = List.of();
+        TreeMap<Integer, Partition> wanted = new TreeMap<>();
+        while (true) {
+            for (String objectName : unpartitioned) {
+                partitionFor(objectName);
+            }
+            Partition home = partitionsByName.get(partitionOf(name));
+            if (home != null) {
+                wanted.put(home.id(), home);
+            }
+            List<Partition> locked = new ArrayList<>(wanted.values());
+            for (Partition partition : locked) {
+                partition.lock().lock();
+            }
+            try {
+                Snapshot current = snapshot;
+                ObjectRef target = new ObjectRef(kind, name);
+                Affected changed = affected(current, kind, name);
+                if (changed == null) {
+                    throw new IllegalArgumentException(kind.label() + " not registered: " + name);
+                }
+                List<Affected> affected = new ArrayList<>();
+                affected.add(changed);
+                Map<ObjectKind, List<String>> cascaded = new EnumMap<>(ObjectKind.class);
+                if (replacement != changed.value() && policy == DependentPolicy.RESTRICT) {
+                    List<String> dependents = directDependents(current, target);
+                    if (!dependents.isEmpty()) {
+                        throw new IllegalStateException(kind.label() + " '" + name + "' is still used by "
+                                + String.join(", ", dependents));
+                    }
+                } else if (replacement != changed.value()) {
+                    cascaded = dependentsOf(current, target, affected);
+                }
+                if (replacement == null) {
+                    requireOwn(kind, name, affected);
+                }
+
+                unpartitioned = new ArrayList<>();
+                for (Affected object : affected) {
+                    if (object.partition() == null && !partitionsByName.containsKey(partitionOf(object.name()))) {
+                        unpartitioned.add(object.name());
+                    }
+                }
+                if (replacement != null && !unpartitioned.isEmpty()) {
+                    continue;
+                }
+                Map<Integer, Partition> needed = partitionsChangedBy(affected, replacement);
+                if (!wanted.keySet().containsAll(needed.keySet())) {
+                    wanted.putAll(needed);
+                    continue;
+                }
+
+                Set<ObjectRef> touched = new HashSet<>();
+                TreeMap<Integer, Partition> involved = new TreeMap<>();
+                List<Retired> retired = new ArrayList<>();
+                for (Affected object : affected) {
+                    touched.add(new ObjectRef(object.kind(), object.name()));
+                    touched.addAll(referencesOf(object.value()));
+                    if (object.partition() != null) {
+                        retired.add(new Retired(object.partition(), object.kind(), object.name(),
+                                object.slot(), replacement != null));
+                        involved.put(object.partition().id(), object.partition());
+                    }
+                }
+                List<Staged> staged = new ArrayList<>();
+                if (replacement != null) {
+                    Rebinder rebinder = new Rebinder();
+                    rebinder.replace(target, replacement);
+                    for (Affected dependent : affected.subList(1, affected.size())) {
+                        rebinder.defer(new ObjectRef(dependent.kind(), dependent.name()), dependent.value());
+                    }
+                    staged.add(new Staged(kind, name, replacement));
+                    for (Affected dependent : affected.subList(1, affected.size())) {
+                        staged.add(new Staged(dependent.kind(), dependent.name(),
+                                rebinder.rebind(dependent.kind(), dependent.name(), dependent.value())));
+                    }
+                    if (integrityEnforced) {
+                        requireIntegrity(current, target, staged, affected);
+                    }
+                }
+                Partition[] targets = new Partition[staged.size()];
+                int[] slots = new int[staged.size()];
+                for (int i = 0; i < staged.size(); i++) {
+                    Staged object = staged.get(i);
+                    targets[i] = partitionsByName.get(partitionOf(object.name()));
+                    involved.put(targets[i].id(), targets[i]);
+                    slots[i] = append(targets[i].log(object.kind()), object.name(), object.value());
+                    Set<ObjectRef> refs = referencesOf(object.value());
+                    for (ObjectRef ref : refs) {
+                        targets[i].references().add(ref.kind(), ref.name(), object.kind(), slots[i]);
+                    }
+                    touched.addAll(refs);
+                }
+                publish(staged, targets, slots, ChangeEvent.Type.UPDATED, retired, involved.values(), touched);
+                return cascaded;
+            } finally {
+                for (int i = locked.size() - 1; i >= 0; i--) {
+                    locked.get(i).lock().unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the partitions {@link #modify} must hold, by id: those of the
+     * affected objects, and when integrity is enforced those of the objects
+     * the replacement references, so that they cannot be removed before the
+     * publish. Partitions the overlay does not have yet are left out.
+     */
+    private Map<Integer, Partition> partitionsChangedBy(List<Affected> affected, Object replacement) {
+        Map<Integer, Partition> partitions = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (Affected object : affected) {
+            names.add(object.name());
+        }
+        if (replacement != null && integrityEnforced) {
+            for (ObjectRef ref : referencesOf(replacement)) {
+                names.add(ref.name());
+            }
+        }
+        for (String objectName : names) {
+            Partition partition = partitionsByName.get(partitionOf(objectName));
+            if (partition != null) {
+                partitions.put(partition.id(), partition);
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Reject an update whose replacement references the object it replaces
+     * or one of that object's dependents, which would close a dependency
+     * cycle, or whose replacement or a dependent rebound to it would fail
+     * the {@link IntegrityCheck}.
+     */
+    private void requireIntegrity(Snapshot current, ObjectRef target, List<Staged> staged,
+                                  List<Affected> affected) {
+        List<String> problems = new ArrayList<>();
+        Set<ObjectRef> dependents = new HashSet<>();
+        for (Affected dependent : affected.subList(1, affected.size())) {
+            dependents.add(new ObjectRef(dependent.kind(), dependent.name()));
+        }
+        for (ObjectRef ref : referencesOf(staged.get(0).value())) {
+            if (ref.equals(target) || dependents.contains(ref)) {
+                problems.add(target.kind().label() + " '" + target.name() + "' would depend on itself through "
+                        + ref.kind().label() + " '" + ref.name() + "'");
+            }
+        }
+        requireNoProblems(problems.isEmpty() ? checkIntegrity(current, staged) : problems, "nothing changed");
+    }
+
+    /**
+     * An object affected by an update or removal, with its partition and
+     * slot if this layer holds it, or {@code null} and {@code -1} if it is
+     * only in the base.
+     */
+    private record Affected(ObjectKind kind, String name, Object value, Partition partition, int slot) {}
+
+    /**
+     * Return the named object as visible at {@code current}, or {@code null}.
+     * Reads only the snapshot, so {@link #modify} can find dependents in
+     * partitions it has not locked yet.
+     */
+    private Affected affected(Snapshot current, ObjectKind kind, String name) {
+        Partition home = partitionsByName.get(partitionOf(name));
+        int slot = home == null ? -1
+                : home.log(kind).visibleSlot(name, current.count(home, kind), current.version());
+        if (slot >= 0) {
+            return new Affected(kind, name, home.log(kind).valueAt(slot), home, slot);
+        }
+        Object inherited = base == null ? null : base.lookup(base.snapshot, kind, name);
+        return inherited == null ? null : new Affected(kind, name, inherited, null, -1);
+    }
+
+    /**
+     * Add the transitive dependents of {@code target} to {@code affected},
+     * in {@link ObjectKind} order so that they can be rebound in sequence,
+     * and return their names by kind. Without a base this reads the memoized
+     * impact of the {@link DependencyGraph}.
+     */
+    private Map<ObjectKind, List<String>> dependentsOf(Snapshot current, ObjectRef target,
+                                                       List<Affected> affected) {
+        if (base != null) {
+            Map<ObjectKind, List<String>> impact = layeredImpact(current, target);
+            impact.forEach((kind, names) -> {
+                for (String name : names) {
+                    affected.add(affected(current, kind, name));
+                }
+            });
+            return impact;
+        }
+        Map<ObjectKind, List<String>> cascaded = new EnumMap<>(ObjectKind.class);
+        DependencyGraph.Impact impact = dependencies.impactOf(target, current.version(),
+                current.partitions(), current.counts());
+        for (ObjectKind kind : KINDS) {
+            int[] positions = impact.positions(kind);
+            RegistrationOrder order = orders[kind.ordinal()];
+            for (int position : positions) {
+                Partition partition = current.partitions()[order.partitionAt(position)];
+                int slot = order.slotAt(position);
+                affected.add(new Affected(kind, order.nameAt(position, current.partitions(), kind),
+                        partition.log(kind).valueAt(slot), partition, slot));
+            }
+            if (positions.length > 0) {
+                cascaded.put(kind, names(current, kind, positions));
+            }
+        }
+        return cascaded;
+    }
+
+    /**
+     * Reject a removal that would remove objects of the base, which an
+     * overlay can override but not remove.
+     */
+    private void requireOwn(ObjectKind kind, String name, List<Affected> affected) {
+        List<String> inherited = new ArrayList<>();
+        for (Affected object : affected) {
+            if (inherits(object.kind(), object.name())) {
+                inherited.add(object.kind().label() + " '" + object.name() + "'");
+            }
+        }
+        if (!inherited.isEmpty()) {
+            throw new IllegalStateException("Cannot remove " + kind.label() + " '" + name
+                    + "': the base layer defines " + String.join(", ", inherited));
+        }
+    }
+
+    /**
+     * Describe the objects that directly reference {@code ref} at the given
+     * snapshot, e.g. {@code Table 'ZTAB'}, grouped by kind and in
+     * registration order.
+     */
+    private List<String> directDependents(Snapshot current, ObjectRef ref) {
+        List<String> dependents = new ArrayList<>();
+        for (ObjectKind kind : KINDS) {
+            for (String name : findReferencing(current, ref.kind(), ref.name(), kind)) {
+                dependents.add(kind.label() + " '" + name + "'");
+            }
+        }
+        return dependents;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> int append(ObjectLog<V> log, String name, Object value) {
+        return log.append(name, (V) value);
+    }
+
+    /** Return the objects referenced by {@code value}, each once. */
+    static Set<ObjectRef> referencesOf(Object value) {
+        Set<ObjectRef> refs = new LinkedHashSet<>();
+        switch (value) {
+            case DataElement element -> refs.add(
+                    new ObjectRef(ObjectKind.DOMAIN, element.getDomain().getName()));
+            case TableDefinition table -> addFieldReferences(refs, table.getFields());
+            case Structure structure -> {
+                addFieldReferences(refs, structure.getFields());
+                for (Structure include : structure.getIncludes()) {
+                    refs.add(new ObjectRef(ObjectKind.STRUCTURE, include.getStructureName()));
+                }
+            }
+            case ViewDefinition view -> {
+                for (TableDefinition baseTable : view.getBaseTables()) {
+                    refs.add(new ObjectRef(ObjectKind.TABLE, baseTable.getTableName()));
+                }
+                for (ViewDefinition baseView : view.getBaseViews()) {
+                    refs.add(new ObjectRef(ObjectKind.VIEW, baseView.getViewName()));
+                }
+            }
+            case SearchHelp help -> {
+                if (help.getSelectionMethod() != null) {
+                    refs.add(new ObjectRef(ObjectKind.TABLE, help.getSelectionMethod().getTableName()));
+                }
+            }
+            case LockObject lock -> {
+                refs.add(new ObjectRef(ObjectKind.TABLE, lock.getPrimaryTable().getTableName()));
+                for (TableDefinition secondary : lock.getSecondaryTables()) {
+                    refs.add(new ObjectRef(ObjectKind.TABLE, secondary.getTableName()));
+                }
+            }
+            default -> {
+                // Domains reference nothing
+            }
         }
+        return refs;
+    }
+
+    private static void addFieldReferences(Set<ObjectRef> refs, List<FieldDefinition> fields) {
+        for (FieldDefinition field : fields) {
+            refs.add(new ObjectRef(ObjectKind.DATA_ELEMENT, field.getDataElement().getName()));
+        }
+    }
+
+    /**
+     * Return the objects referenced by the registered object {@code ref},
+     * including objects appended but not yet published and excluding
+     * objects retired by the change being published. Writer only.
+     */
+    private Set<ObjectRef> referencesOfRegistered(ObjectRef ref) {
+        Partition partition = partitionsByName.get(partitionOf(ref.name()));
+        Object value = partition == null ? null
+                : partition.log(ref.kind()).get(ref.name(), Integer.MAX_VALUE, Long.MAX_VALUE);
+        return value == null ? Set.of() : referencesOf(value);
+    }
+
+    /**
+     * Return the names of all objects of {@code dependentKind} that reference
+     * the named object, in registration order, as of this dictionary's
+     * version. Runs in time proportional to the number of references.
+     */
+    List<String> findReferencing(ObjectKind referencedKind, String name, ObjectKind dependentKind) {
+        return findReferencing(snapshot, referencedKind, name, dependentKind);
     }
 
-    private static void requireUnique(Map<String, ?> map, String key, String label) {
-        if (map.containsKey(key)) {
-            throw new IllegalArgumentException(label + " already registered: " + key);
+    /**
+     * See {@link #findReferencing(ObjectKind, String, ObjectKind)}. An
+     * overlay lists the base's dependents it does not override first.
+     */
+    private List<String> findReferencing(Snapshot current, ObjectKind referencedKind, String name,
+                                         ObjectKind dependentKind) {
+        // Each live dependent has one entry; a partition indexes them in slot order
+        Partition[] partitions = current.partitions();
+        ReferenceIndex.References[] found = new ReferenceIndex.References[partitions.length];
+        int indexed = 0;
+        for (int id = 0; id < partitions.length; id++) {
+            if (partitions[id] != null) {
+                found[id] = partitions[id].references().get(referencedKind, name);
+                indexed += found[id] != null ? 1 : 0;
+            }
+        }
+        Dependents dependents = new Dependents(current.version(), indexed > 1);
+        for (int id = 0; id < partitions.length; id++) {
+            if (found[id] != null) {
+                dependents.startPartition(partitions[id].log(dependentKind));
+                found[id].forEach(dependentKind, current.counts()[id], current.version(), dependents);
+            }
+        }
+        List<String> own = dependents.inRegistrationOrder();
+        DataDictionary inherited = inherited();
+        if (inherited == null) {
+            return own;
+        }
+        List<String> names = new ArrayList<>();
+        for (String dependent : inherited.findReferencing(referencedKind, name, dependentKind)) {
+            if (lookupOwn(current, dependentKind, dependent) == null) {
+                names.add(dependent);
+            }
+        }
+        names.addAll(own);
+        return names;
+    }
+
+    /**
+     * Collects the live dependents {@link #findReferencing} finds in the
+     * reverse-reference indexes, partition by partition. Within a partition
+     * slot order is registration order, so only dependents from more than
+     * one partition are keyed by position and sorted.
+     */
+    private static final class Dependents implements ReferenceIndex.SlotConsumer {
+
+        private final long version;
+        private final List<String> names = new ArrayList<>();
+        /** Per name, its position in the upper and its index in the lower half; {@code null} if not sorting. */
+        private long[] keys;
+        private ObjectLog<?> log;
+        private boolean checkLive;
+
+        Dependents(long version, boolean byPosition) {
+            this.version = version;
+            this.keys = byPosition ? new long[16] : null;
+        }
+
+        /** Take the slots accepted next from {@code log}. */
+        void startPartition(ObjectLog<?> log) {
+            this.log = log;
+            this.checkLive = log.hasRetirements();
+        }
+
+        @Override
+        public void accept(int slot) {
+            if (checkLive && !log.isLive(slot, version)) {
+                return;
+            }
+            if (keys != null) {
+                if (names.size() == keys.length) {
+                    keys = Arrays.copyOf(keys, keys.length * 2);
+                }
+                keys[names.size()] = (long) log.positionAt(slot) << 32 | names.size();
+            }
+            names.add(log.nameAt(slot));
+        }
+
+        List<String> inRegistrationOrder() {
+            if (keys == null) {
+                return names;
+            }
+            long[] sorted = Arrays.copyOf(keys, names.size());
+            Arrays.sort(sorted);
+            List<String> result = new ArrayList<>(sorted.length);
+            for (long key : sorted) {
+                result.add(names.get((int) key));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Return the names of all objects that directly or indirectly depend on
+     * the named object, grouped by kind, as of this dictionary's version.
+     * Each dependent is listed once, in registration order; kinds without
+     * dependents are omitted.
+     */
+    Map<ObjectKind, List<String>> findImpact(ObjectKind kind, String name) {
+        Snapshot current = snapshot;
+        if (inherited() != null) {
+            return layeredImpact(current, new ObjectRef(kind, name));
+        }
+        DependencyGraph.Impact impact = dependencies.impactOf(new ObjectRef(kind, name),
+                current.version(), current.partitions(), current.counts());
+        Map<ObjectKind, List<String>> result = new EnumMap<>(ObjectKind.class);
+        for (ObjectKind dependentKind : KINDS) {
+            int[] positions = impact.positions(dependentKind);
+            if (positions.length > 0) {
+                result.put(dependentKind, names(current, dependentKind, positions));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Transitive impact in an overlay: a breadth-first walk over the direct
+     * dependents merged from both layers, sorted into the merged
+     * registration order. Not memoized; the cost is proportional to the
+     * number of dependents.
+     */
+    private Map<ObjectKind, List<String>> layeredImpact(Snapshot current, ObjectRef start) {
+        Set<ObjectRef> seen = new HashSet<>();
+        seen.add(start);
+        ArrayDeque<ObjectRef> queue = new ArrayDeque<>();
+        queue.add(start);
+        Map<ObjectKind, List<String>> result = new EnumMap<>(ObjectKind.class);
+        while (!queue.isEmpty()) {
+            ObjectRef ref = queue.poll();
+            for (ObjectKind kind : KINDS) {
+                for (String name : findReferencing(current, ref.kind(), ref.name(), kind)) {
+                    ObjectRef dependent = new ObjectRef(kind, name);
+                    if (seen.add(dependent)) {
+                        queue.add(dependent);
+                        result.computeIfAbsent(kind, k -> new ArrayList<>()).add(name);
+                    }
+                }
+            }
+        }
+        result.forEach((kind, names) -> names.sort(
+                Comparator.comparingLong(name -> orderKey(current, kind, name))));
+        return result;
+    }
+
+    /**
+     * Return the position of a visible object in the merged registration
+     * order, where lower layers come first.
+     */
+    private long orderKey(Snapshot current, ObjectKind kind, String name) {
+        Partition partition = partitionsByName.get(partitionOf(name));
+        if (partition != null) {
+            ObjectLog<?> log = partition.log(kind);
+            int slot = log.visibleSlot(name, current.count(partition, kind), current.version());
+            if (slot >= 0) {
+                return ((long) depth << 32) | log.positionAt(slot);
+            }
+        }
+        return base == null ? Long.MAX_VALUE : base.orderKey(base.snapshot, kind, name);
+    }
+
+    private List<String> names(Snapshot current, ObjectKind kind, int[] positions) {
+        RegistrationOrder order = orders[kind.ordinal()];
+        List<String> names = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            names.add(order.nameAt(position, current.partitions(), kind));
+        }
+        return names;
+    }
+
+    /** Return the writer lock of the named partition, or {@code null} if there is none; for tests. */
+    ReentrantLock partitionLock(String partition) {
+        Partition named = partitionsByName.get(partition);
+        return named == null ? null : named.lock();
+    }
+
+    /** Return the dependency graph; for tests. */
+    DependencyGraph dependencies() {
+        return dependencies;
+    }
+
+    private void requireWritable() {
+        if (isReadOnly()) {
+            throw new IllegalStateException("Dictionary view pinned to version "
+                    + snapshot.version() + " is read-only");
+        }
+        if (isSealed()) {
+            throw new IllegalStateException("Dictionary is sealed at version " + snapshot.version());
+        }
+    }
+
+    private static void requireNonNull(Object obj, String label) {
+        if (obj == null) {
+            throw new IllegalArgumentException(label + " must not be null");
         }
     }
 }
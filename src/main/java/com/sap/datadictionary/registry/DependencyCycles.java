@@ -0,0 +1,169 @@
+package com.sap.datadictionary.registry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The dependency cycles of one version of a {@link DataDictionary}.
+ * <p>
+ * References between kinds only point down the layers (see
+ * {@link DictionaryQuery#canReference}), so a cycle can only form among
+ * objects of a kind that references its own kind: Views selecting from
+ * Views and Structures including Structures. The cycles are the strongly
+ * connected components of that part of the graph with more than one
+ * member, or with one member that references itself.
+ * </p>
+ * <p>
+ * The components are found with Tarjan's algorithm in O(V + E). Its
+ * recursion is replaced by an explicit stack, and nodes and edges are
+ * held in plain {@code int} arrays (edges in compressed sparse row form),
+ * so that long reference chains cannot overflow the thread's stack and
+ * hundreds of thousands of objects cost a few arrays rather than an
+ * object per edge. References are resolved by name to the registered
+ * objects; references to unregistered objects are not edges.
+ * </p>
+ */
+final class DependencyCycles {
+
+    private final List<List<ObjectRef>> cycles;
+    private final Map<ObjectRef, List<ObjectRef>> byMember;
+
+    private DependencyCycles(List<List<ObjectRef>> cycles) {
+        this.cycles = cycles;
+        this.byMember = new HashMap<>();
+        for (List<ObjectRef> cycle : cycles) {
+            for (ObjectRef member : cycle) {
+                byMember.put(member, cycle);
+            }
+        }
+    }
+
+    /** Find the cycles among the objects visible in {@code dictionary}. */
+    static DependencyCycles of(DataDictionary dictionary) {
+        List<ObjectRef> nodes = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        Map<ObjectRef, Integer> ids = new HashMap<>();
+        for (ObjectKind kind : ObjectKind.values()) {
+            if (!DictionaryQuery.canReference(kind, kind)) {
+                continue;
+            }
+            dictionary.objects(kind).forEach((name, value) -> {
+                ObjectRef ref = new ObjectRef(kind, name);
+                ids.put(ref, nodes.size());
+                nodes.add(ref);
+                values.add(value);
+            });
+        }
+        int n = nodes.size();
+
+        // Edges in compressed sparse row form: the targets of node i are
+        // targets[offsets[i]] .. targets[offsets[i + 1] - 1].
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[Math.max(16, n)];
+        int edges = 0;
+        for (int i = 0; i < n; i++) {
+            offsets[i] = edges;
+            for (ObjectRef ref : DataDictionary.referencesOf(values.get(i))) {
+                Integer target = ids.get(ref);
+                if (target != null) {
+                    if (edges == targets.length) {
+                        targets = Arrays.copyOf(targets, edges * 2);
+                    }
+                    targets[edges++] = target;
+                }
+            }
+        }
+        offsets[n] = edges;
+
+        List<List<ObjectRef>> cycles = new ArrayList<>();
+        int[] index = new int[n];
+        int[] low = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callNode = new int[n];
+        int[] callEdge = new int[n];
+        Arrays.fill(index, -1);
+        int next = 0;
+        int top = 0;
+        for (int start = 0; start < n; start++) {
+            if (index[start] >= 0) {
+                continue;
+            }
+            int depth = 0;
+            callNode[0] = start;
+            callEdge[0] = offsets[start];
+            index[start] = low[start] = next++;
+            stack[top++] = start;
+            onStack[start] = true;
+            while (depth >= 0) {
+                int v = callNode[depth];
+                if (callEdge[depth] < offsets[v + 1]) {
+                    int w = targets[callEdge[depth]++];
+                    if (index[w] < 0) {
+                        index[w] = low[w] = next++;
+                        stack[top++] = w;
+                        onStack[w] = true;
+                        depth++;
+                        callNode[depth] = w;
+                        callEdge[depth] = offsets[w];
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+                if (low[v] == index[v]) {
+                    int size = 0;
+                    while (stack[top - 1 - size] != v) {
+                        size++;
+                    }
+                    size++;
+                    if (size > 1 || referencesItself(v, offsets, targets)) {
+                        int[] members = Arrays.copyOfRange(stack, top - size, top);
+                        Arrays.sort(members);
+                        List<ObjectRef> cycle = new ArrayList<>(size);
+                        for (int member : members) {
+                            cycle.add(nodes.get(member));
+                        }
+                        cycles.add(Collections.unmodifiableList(cycle));
+                    }
+                    for (int i = top - size; i < top; i++) {
+                        onStack[stack[i]] = false;
+                    }
+                    top -= size;
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+            }
+        }
+        // Members are numbered in kind and registration order; list the
+        // cycles by their first member.
+        cycles.sort((a, b) -> Integer.compare(ids.get(a.get(0)), ids.get(b.get(0))));
+        return new DependencyCycles(List.copyOf(cycles));
+    }
+
+    private static boolean referencesItself(int v, int[] offsets, int[] targets) {
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+            if (targets[e] == v) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns every cycle, each with its members in registration order. */
+    List<List<ObjectRef>> cycles() {
+        return cycles;
+    }
+
+    /** Returns the cycle {@code ref} is a member of, or {@code null}. */
+    List<ObjectRef> cycleOf(ObjectRef ref) {
+        return byMember.get(ref);
+    }
+}
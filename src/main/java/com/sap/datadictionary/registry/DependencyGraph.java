@@ -0,0 +1,221 @@
+package com.sap.datadictionary.registry;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Transitive impact analysis over the dependency graph of a
+ * {@link DataDictionary}.
+ * <p>
+ * The graph's edges are the reverse references held by each partition's
+ * {@link ReferenceIndex} (Domain → Data Element → Table/Structure →
+ * View/Search Help/Lock Object, plus Structure → including Structure and
+ * View → View selecting from it), stored there as compact per-object
+ * arrays. {@link #impactOf} runs a breadth-first search over them and
+ * returns every object that directly or indirectly depends on the start
+ * object, each exactly once and never the start object itself, even if
+ * it is part of a dependency cycle. Dependents are identified by their
+ * position in the dictionary-wide {@link RegistrationOrder} of their kind;
+ * a small hash set of positions per kind deduplicates them, sized by the
+ * dependents found rather than by the dictionary, and sorting the
+ * positions yields them in registration order.
+ * </p>
+ * <p>
+ * Results are memoized per start object and tagged with the version they
+ * were computed at. A registration invalidates only the memos of the
+ * objects it references and of everything those objects depend on in
+ * turn, i.e. exactly the start objects whose impact it can change; all
+ * other memos stay valid. Updates and removals invalidate the same way,
+ * starting from the changed objects and from everything their previous
+ * versions referenced. Dependents that were retired at the traversal's
+ * version are skipped. Readers pinned to a version older than a memo
+ * simply recompute without caching.
+ * </p>
+ */
+final class DependencyGraph {
+
+    private static final ObjectKind[] KINDS = ObjectKind.values();
+
+    private final Map<ObjectRef, Impact> memo = new ConcurrentHashMap<>();
+
+    /** Version of the most recent change to the graph's edges. */
+    private final AtomicLong lastInvalidation = new AtomicLong();
+
+    /**
+     * The objects that transitively depend on one start object, as
+     * registration-order positions per kind, in ascending order.
+     */
+    static final class Impact {
+
+        private final long version;
+        private final int[][] positions;
+
+        private Impact(long version, int[][] positions) {
+            this.version = version;
+            this.positions = positions;
+        }
+
+        /** Returns the positions of the dependents of the given kind. */
+        int[] positions(ObjectKind kind) {
+            return positions[kind.ordinal()];
+        }
+    }
+
+    /**
+     * Return everything that depends on {@code root} as of {@code version},
+     * at which the given partitions are visible with {@code counts[id][kind]}
+     * objects each.
+     */
+    Impact impactOf(ObjectRef root, long version, Partition[] partitions, int[][] counts) {
+        Impact cached = memo.get(root);
+        if (cached != null && cached.version <= version) {
+            return cached;
+        }
+        Impact fresh = traverse(root, version, partitions, counts);
+        // A registration may have invalidated root while we were traversing;
+        // if any did, drop our entry rather than risk caching a stale answer.
+        if (memo.putIfAbsent(root, fresh) == null && lastInvalidation.get() > version) {
+            memo.remove(root, fresh);
+        }
+        return fresh;
+    }
+
+    private Impact traverse(ObjectRef root, long version, Partition[] partitions, int[][] counts) {
+        PositionSet[] visited = new PositionSet[KINDS.length];
+        for (int k = 0; k < KINDS.length; k++) {
+            visited[k] = new PositionSet();
+        }
+
+        ArrayDeque<ObjectRef> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            ObjectRef node = queue.poll();
+            for (Partition partition : partitions) {
+                if (partition == null) {
+                    continue;
+                }
+                ReferenceIndex.References refs = partition.references().get(node.kind(), node.name());
+                if (refs == null) {
+                    continue;
+                }
+                refs.forEach(counts[partition.id()], version, (kind, slot) -> {
+                    ObjectLog<?> log = partition.log(kind);
+                    if (!log.isLive(slot, version)) {
+                        return;
+                    }
+                    if (kind == root.kind() && log.nameAt(slot).equals(root.name())) {
+                        return;
+                    }
+                    int position = log.positionAt(slot);
+                    if (visited[kind.ordinal()].add(position)) {
+                        queue.add(new ObjectRef(kind, log.nameAt(slot)));
+                    }
+                });
+            }
+        }
+
+        int[][] positions = new int[KINDS.length][];
+        for (int k = 0; k < KINDS.length; k++) {
+            positions[k] = visited[k].toSortedArray();
+        }
+        return new Impact(version, positions);
+    }
+
+    /**
+     * Invalidate the memos a change can affect. Must be called by the
+     * writer before the change's version is published.
+     *
+     * @param touched      the objects the change adds, replaces or removes
+     *                     edges to or from
+     * @param version      the version of the new registration
+     * @param referencesOf returns the objects a registered object references,
+     *                     used to walk from the touched objects to
+     *                     everything whose impact includes them
+     */
+    void invalidate(Collection<ObjectRef> touched, long version,
+                    Function<ObjectRef, Collection<ObjectRef>> referencesOf) {
+        if (touched.isEmpty()) {
+            return;
+        }
+        lastInvalidation.set(version);
+        if (memo.isEmpty()) {
+            return;
+        }
+        Set<ObjectRef> seen = new HashSet<>(touched);
+        ArrayDeque<ObjectRef> queue = new ArrayDeque<>(touched);
+        while (!queue.isEmpty()) {
+            ObjectRef node = queue.poll();
+            memo.remove(node);
+            for (ObjectRef upstream : referencesOf.apply(node)) {
+                if (seen.add(upstream)) {
+                    queue.add(upstream);
+                }
+            }
+        }
+    }
+
+    /** Return the number of memoized start objects; for tests. */
+    int memoSize() {
+        return memo.size();
+    }
+
+    /**
+     * Set of non-negative positions: open addressing with linear probing,
+     * holding position + 1 ({@code 0} is empty), at most half full.
+     */
+    private static final class PositionSet {
+
+        private int[] table = new int[8];
+        private int size;
+
+        /** Add a position; returns {@code false} if it was already present. */
+        boolean add(int position) {
+            if ((size + 1) * 2 > table.length) {
+                int[] old = table;
+                table = new int[old.length * 2];
+                for (int entry : old) {
+                    if (entry != 0) {
+                        table[probe(entry - 1)] = entry;
+                    }
+                }
+            }
+            int i = probe(position);
+            if (table[i] != 0) {
+                return false;
+            }
+            table[i] = position + 1;
+            size++;
+            return true;
+        }
+
+        /** Return the slot holding {@code position}, or the empty slot where it belongs. */
+        private int probe(int position) {
+            int mask = table.length - 1;
+            int hash = position * 0x9E3779B9;
+            int i = (hash ^ (hash >>> 16)) & mask;
+            while (table[i] != 0 && table[i] != position + 1) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        int[] toSortedArray() {
+            int[] positions = new int[size];
+            int n = 0;
+            for (int entry : table) {
+                if (entry != 0) {
+                    positions[n++] = entry - 1;
+                }
+            }
+            Arrays.sort(positions);
+            return positions;
+        }
+    }
+}
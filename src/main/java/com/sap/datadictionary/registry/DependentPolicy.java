@@ -0,0 +1,21 @@
+package com.sap.datadictionary.registry;
+
+/**
+ * What an update or removal in a {@link DataDictionary} does about the
+ * objects that reference the changed object.
+ */
+public enum DependentPolicy {
+
+    /**
+     * Refuse the change, listing the direct dependents, while any other
+     * object references the changed object.
+     */
+    RESTRICT,
+
+    /**
+     * Change every direct and indirect dependent along with the object, in
+     * the same version: a removal removes them, and an update replaces them
+     * with copies that reference the new objects.
+     */
+    CASCADE
+}
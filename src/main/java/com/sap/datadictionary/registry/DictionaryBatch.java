@@ -0,0 +1,146 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.Structure;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.external.LockObject;
+import com.sap.datadictionary.external.SearchHelp;
+import com.sap.datadictionary.external.ViewDefinition;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.Domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of objects staged for registration in a {@link DataDictionary}
+ * as one transaction.
+ * <p>
+ * Objects are only collected by the {@code add*} methods; nothing is
+ * checked or indexed until {@link #commit()}. The commit locks the
+ * partitions the staged names fall into, plus those of the objects they
+ * reference, always in ascending partition order so that concurrent
+ * writers cannot deadlock. Holding those locks it then, in one pass:
+ * </p>
+ * <ul>
+ *   <li>checks that every staged name is new and staged only once,</li>
+ *   <li>checks that every reference (Domain of a Data Element, Data
+ *       Elements of fields, base tables and views, includes, lock tables,
+ *       selection-method table) resolves to an object that is either
+ *       registered or staged in the same batch, or, if the dictionary
+ *       {@linkplain DataDictionary#setIntegrityEnforced enforces
+ *       integrity}, runs the full {@link IntegrityCheck},</li>
+ *   <li>grows the dictionary's storage once for the whole batch, and</li>
+ *   <li>publishes all objects in a single new version; only this last
+ *       step is serialized with writers of other partitions.</li>
+ * </ul>
+ * <p>
+ * If any check fails, the commit throws an {@link IllegalArgumentException}
+ * listing every problem and the dictionary is left untouched. Objects may
+ * be staged in any order; references between staged objects are resolved
+ * by name. A batch can be committed once and is not thread-safe.
+ * </p>
+ */
+public final class DictionaryBatch {
+
+    private final DataDictionary dictionary;
+    private final List<DataDictionary.Staged> staged = new ArrayList<>();
+    private boolean committed;
+
+    DictionaryBatch(DataDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public DictionaryBatch addDomain(Domain domain) {
+        requireNonNull(domain, "Domain");
+        return stage(ObjectKind.DOMAIN, domain.getName(), domain);
+    }
+
+    public DictionaryBatch addDataElement(DataElement element) {
+        requireNonNull(element, "Data element");
+        return stage(ObjectKind.DATA_ELEMENT, element.getName(), element);
+    }
+
+    public DictionaryBatch addTable(TableDefinition table) {
+        requireNonNull(table, "Table");
+        return stage(ObjectKind.TABLE, table.getTableName(), table);
+    }
+
+    public DictionaryBatch addStructure(Structure structure) {
+        requireNonNull(structure, "Structure");
+        return stage(ObjectKind.STRUCTURE, structure.getStructureName(), structure);
+    }
+
+    public DictionaryBatch addView(ViewDefinition view) {
+        requireNonNull(view, "View");
+        return stage(ObjectKind.VIEW, view.getViewName(), view);
+    }
+
+    public DictionaryBatch addSearchHelp(SearchHelp searchHelp) {
+        requireNonNull(searchHelp, "Search help");
+        return stage(ObjectKind.SEARCH_HELP, searchHelp.getName(), searchHelp);
+    }
+
+    public DictionaryBatch addLockObject(LockObject lockObject) {
+        requireNonNull(lockObject, "Lock object");
+        return stage(ObjectKind.LOCK_OBJECT, lockObject.getName(), lockObject);
+    }
+
+    /** Return the number of staged objects. */
+    public int size() {
+        return staged.size();
+    }
+
+    /**
+     * Register all staged objects atomically.
+     *
+     * @return the dictionary version that contains the staged objects; for
+     *         an empty batch, the current version
+     * @throws IllegalArgumentException if a name is taken or a reference
+     *                                  does not resolve; nothing is registered
+     * @throws IllegalStateException    if the batch was already committed
+     */
+    public long commit() {
+        requireOpen();
+        long version = dictionary.commit(staged, dictionary.isIntegrityEnforced()
+                ? DataDictionary.ReferenceCheck.INTEGRITY : DataDictionary.ReferenceCheck.RESOLVABLE);
+        committed = true;
+        return version;
+    }
+
+    /**
+     * Register all staged objects atomically without checking their
+     * references, even if the dictionary
+     * {@linkplain DataDictionary#setIntegrityEnforced enforces integrity}.
+     * Meant for trusted bulk loads; validate the dictionary afterwards with
+     * a {@link ConsistencyValidator}.
+     *
+     * @return the dictionary version that contains the staged objects; for
+     *         an empty batch, the current version
+     * @throws IllegalArgumentException if a name is taken; nothing is registered
+     * @throws IllegalStateException    if the batch was already committed
+     */
+    public long commitUnchecked() {
+        requireOpen();
+        long version = dictionary.commit(staged, DataDictionary.ReferenceCheck.NONE);
+        committed = true;
+        return version;
+    }
+
+    private DictionaryBatch stage(ObjectKind kind, String name, Object value) {
+        requireOpen();
+        staged.add(new DataDictionary.Staged(kind, name, value));
+        return this;
+    }
+
+    private void requireOpen() {
+        if (committed) {
+            throw new IllegalStateException("Batch has already been committed");
+        }
+    }
+
+    private static void requireNonNull(Object obj, String label) {
+        if (obj == null) {
+            throw new IllegalArgumentException(label + " must not be null");
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.Structure;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.external.LockObject;
+import com.sap.datadictionary.external.SearchHelp;
+import com.sap.datadictionary.external.ViewDefinition;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.Domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Selects DDIC objects of one kind by any combination of name, attribute,
+ * field and reference criteria, for {@link DataDictionary#query}.
+ * <p>
+ * Queries are built from a kind and refined with criteria that must all
+ * hold:
+ * </p>
+ * <pre>{@code
+ * DictionaryQuery.tables()
+ *         .withField(FieldCondition.keyField().dataType(DataType.CHAR).length(10))
+ *         .usedBy(ObjectKind.LOCK_OBJECT);
+ * DictionaryQuery.dataElements().referencing(ObjectKind.DOMAIN, "MANDT");
+ * DictionaryQuery.domains().named(NameQuery.prefix("ZFI_")).where(AttributeFilter.dataType(DataType.NUMC));
+ * }</pre>
+ * <p>
+ * or parsed from text (see {@link #parse(String)}):
+ * </p>
+ * <pre>
+ * tables where has key field (type = CHAR(10)) and used-by lock-object
+ * data-elements where references domain MANDT limit 50
+ * domains where name like ZFI_* and type = NUMC
+ * </pre>
+ * <p>
+ * Which index answers a query is decided by its {@link QueryPlan}, not by
+ * the order of the criteria. Queries are immutable.
+ * </p>
+ *
+ * @param <T> the type of object selected
+ */
+public final class DictionaryQuery<T> {
+
+    private final ObjectKind kind;
+    private final NameQuery names;
+    private final AttributeFilter<T> attributes;
+    private final List<FieldCondition> fields;
+    private final List<ObjectRef> references;
+    private final Set<ObjectKind> usedBy;
+    private final int limit;
+
+    private DictionaryQuery(ObjectKind kind, NameQuery names, AttributeFilter<T> attributes,
+                            List<FieldCondition> fields, List<ObjectRef> references,
+                            Set<ObjectKind> usedBy, int limit) {
+        this.kind = kind;
+        this.names = names;
+        this.attributes = attributes;
+        this.fields = fields;
+        this.references = references;
+        this.usedBy = usedBy;
+        this.limit = limit;
+    }
+
+    private DictionaryQuery(ObjectKind kind) {
+        this(kind, null, null, List.of(), List.of(),
+                Collections.unmodifiableSet(EnumSet.noneOf(ObjectKind.class)), Integer.MAX_VALUE);
+    }
+
+    public static DictionaryQuery<Domain> domains() {
+        return new DictionaryQuery<>(ObjectKind.DOMAIN);
+    }
+
+    public static DictionaryQuery<DataElement> dataElements() {
+        return new DictionaryQuery<>(ObjectKind.DATA_ELEMENT);
+    }
+
+    public static DictionaryQuery<TableDefinition> tables() {
+        return new DictionaryQuery<>(ObjectKind.TABLE);
+    }
+
+    public static DictionaryQuery<Structure> structures() {
+        return new DictionaryQuery<>(ObjectKind.STRUCTURE);
+    }
+
+    public static DictionaryQuery<ViewDefinition> views() {
+        return new DictionaryQuery<>(ObjectKind.VIEW);
+    }
+
+    public static DictionaryQuery<SearchHelp> searchHelps() {
+        return new DictionaryQuery<>(ObjectKind.SEARCH_HELP);
+    }
+
+    public static DictionaryQuery<LockObject> lockObjects() {
+        return new DictionaryQuery<>(ObjectKind.LOCK_OBJECT);
+    }
+
+    /** Select all objects of the given kind. */
+    public static DictionaryQuery<?> of(ObjectKind kind) {
+        if (kind == null) {
+            throw new IllegalArgumentException("Object kind must not be null");
+        }
+        return new DictionaryQuery<>(kind);
+    }
+
+    /**
+     * Parse a query from text. The grammar, with keywords in any case and
+     * object names as registered:
+     * <pre>
+     * query     = kinds [ "where" condition { "and" condition } ] [ "limit" number ]
+     * kinds     = "domains" | "data-elements" | "tables" | "structures"
+     *           | "views" | "search-helps" | "lock-objects"
+     * condition = "name" "=" NAME | "name" "like" PATTERN
+     *           | "type" "=" TYPE [ "(" length ")" ] | "length" "=" number
+     *           | "delivery-class" "=" CLASS | "buffered" "=" ( "true" | "false" )
+     *           | "view-type" "=" TYPE | "lock-mode" "=" MODE
+     *           | "references" kind NAME | "used-by" kind
+     *           | "has" [ "key" ] "field" [ "(" field { "and" field } ")" ]
+     * field     = "name" "=" NAME | "data-element" "=" NAME | "domain" "=" NAME
+     *           | "type" "=" TYPE [ "(" length ")" ] | "length" "=" number
+     * kind      = "domain" | "data-element" | "table" | "structure"
+     *           | "view" | "search-help" | "lock-object"
+     * </pre>
+     * A {@code PATTERN} uses the wildcards of {@link NameQuery#matching}.
+     *
+     * @throws IllegalArgumentException if the text is not a valid query
+     */
+    public static DictionaryQuery<?> parse(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Query must not be null");
+        }
+        return new QueryParser(text).parse();
+    }
+
+    /**
+     * Return a copy that only selects names matched by {@code query}. The
+     * name query's range, pattern and cursor apply; its limit does not
+     * (see {@link #limit(int)}).
+     *
+     * @throws IllegalArgumentException if a name criterion is already set
+     */
+    public DictionaryQuery<T> named(NameQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Name query must not be null");
+        }
+        if (names != null) {
+            throw new IllegalArgumentException("Query already has a name criterion");
+        }
+        return new DictionaryQuery<>(kind, query, attributes, fields, references, usedBy, limit);
+    }
+
+    /**
+     * Return a copy that also requires the attribute values selected by
+     * {@code filter}.
+     *
+     * @throws IllegalArgumentException if the filter is for another kind
+     */
+    public DictionaryQuery<T> where(AttributeFilter<T> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Attribute filter must not be null");
+        }
+        if (filter.kind() != kind) {
+            throw new IllegalArgumentException(filter.kind().label() + " attributes cannot select "
+                    + kind.label() + "s");
+        }
+        AttributeFilter<T> combined = attributes == null ? filter : attributes.and(filter);
+        return new DictionaryQuery<>(kind, names, combined, fields, references, usedBy, limit);
+    }
+
+    /**
+     * Return a copy that also requires a field satisfying {@code condition}.
+     *
+     * @throws IllegalArgumentException if objects of this kind have no fields
+     */
+    public DictionaryQuery<T> withField(FieldCondition condition) {
+        if (condition == null) {
+            throw new IllegalArgumentException("Field condition must not be null");
+        }
+        if (kind != ObjectKind.TABLE && kind != ObjectKind.STRUCTURE) {
+            throw new IllegalArgumentException(kind.label() + "s have no fields");
+        }
+        return new DictionaryQuery<>(kind, names, attributes, append(fields, condition), references,
+                usedBy, limit);
+    }
+
+    /**
+     * Return a copy that also requires a reference to the named object,
+     * e.g. the Data Elements of a Domain or the Views over a Table.
+     *
+     * @throws IllegalArgumentException if objects of this kind cannot reference that kind
+     */
+    public DictionaryQuery<T> referencing(ObjectKind referencedKind, String name) {
+        if (referencedKind == null || name == null) {
+            throw new IllegalArgumentException("Referenced kind and name must not be null");
+        }
+        if (!canReference(kind, referencedKind)) {
+            throw new IllegalArgumentException(kind.label() + "s cannot reference "
+                    + referencedKind.label().toLowerCase() + "s");
+        }
+        return new DictionaryQuery<>(kind, names, attributes, fields,
+                append(references, new ObjectRef(referencedKind, name)), usedBy, limit);
+    }
+
+    /**
+     * Return a copy that also requires at least one object of
+     * {@code dependentKind} to reference the selected object.
+     *
+     * @throws IllegalArgumentException if that kind cannot reference objects of this kind
+     */
+    public DictionaryQuery<T> usedBy(ObjectKind dependentKind) {
+        if (dependentKind == null) {
+            throw new IllegalArgumentException("Dependent kind must not be null");
+        }
+        if (!canReference(dependentKind, kind)) {
+            throw new IllegalArgumentException(dependentKind.label() + "s cannot reference "
+                    + kind.label().toLowerCase() + "s");
+        }
+        Set<ObjectKind> combined = EnumSet.of(dependentKind);
+        combined.addAll(usedBy);
+        return new DictionaryQuery<>(kind, names, attributes, fields, references,
+                Collections.unmodifiableSet(combined), limit);
+    }
+
+    /**
+     * Return a copy that selects at most {@code limit} objects.
+     *
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    public DictionaryQuery<T> limit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        return new DictionaryQuery<>(kind, names, attributes, fields, references, usedBy, limit);
+    }
+
+    /** Return the kind of object selected. */
+    public ObjectKind kind() {
+        return kind;
+    }
+
+    /** Return the maximum number of objects selected. */
+    public int limit() {
+        return limit;
+    }
+
+    NameQuery names() {
+        return names;
+    }
+
+    AttributeFilter<T> attributes() {
+        return attributes;
+    }
+
+    List<FieldCondition> fields() {
+        return fields;
+    }
+
+    List<ObjectRef> references() {
+        return references;
+    }
+
+    Set<ObjectKind> usedBy() {
+        return usedBy;
+    }
+
+    /**
+     * Returns {@code true} if objects of {@code dependent} kind can
+     * reference objects of {@code referenced} kind, following the layers:
+     * Data Elements reference Domains, Tables and Structures reference Data
+     * Elements, and Views, Search Helps and Lock Objects reference Tables.
+     * Within a layer, Structures include Structures and Views select from
+     * Views.
+     */
+    static boolean canReference(ObjectKind dependent, ObjectKind referenced) {
+        return switch (dependent) {
+            case DOMAIN -> false;
+            case DATA_ELEMENT -> referenced == ObjectKind.DOMAIN;
+            case TABLE -> referenced == ObjectKind.DATA_ELEMENT;
+            case STRUCTURE -> referenced == ObjectKind.DATA_ELEMENT || referenced == ObjectKind.STRUCTURE;
+            case VIEW -> referenced == ObjectKind.TABLE || referenced == ObjectKind.VIEW;
+            case SEARCH_HELP, LOCK_OBJECT -> referenced == ObjectKind.TABLE;
+        };
+    }
+
+    private static <E> List<E> append(List<E> list, E element) {
+        List<E> copy = new ArrayList<>(list.size() + 1);
+        copy.addAll(list);
+        copy.add(element);
+        return Collections.unmodifiableList(copy);
+    }
+}
@@ -0,0 +1,144 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.FieldDefinition;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.DataType;
+import com.sap.datadictionary.internal.Domain;
+
+/**
+ * Describes a field that a Table or Structure must have to be selected
+ * by a {@link DictionaryQuery}, e.g. a key field whose Domain is CHAR(10):
+ * <pre>{@code
+ * FieldCondition.keyField().dataType(DataType.CHAR).length(10)
+ * FieldCondition.anyField().dataElement("MANDT")
+ * }</pre>
+ * <p>
+ * All terms must hold for the same field. Conditions on the Data Element
+ * or its Domain let the query planner find the candidate objects through
+ * the reverse-reference index instead of scanning. Conditions are
+ * immutable.
+ * </p>
+ */
+public final class FieldCondition {
+
+    private static final FieldCondition ANY = new FieldCondition(false, null, null, null, null, -1);
+    private static final FieldCondition KEY = new FieldCondition(true, null, null, null, null, -1);
+
+    private final boolean key;
+    private final String fieldName;
+    private final String dataElement;
+    private final String domain;
+    private final DataType dataType;
+    private final int length;
+
+    private FieldCondition(boolean key, String fieldName, String dataElement, String domain,
+                           DataType dataType, int length) {
+        this.key = key;
+        this.fieldName = fieldName;
+        this.dataElement = dataElement;
+        this.domain = domain;
+        this.dataType = dataType;
+        this.length = length;
+    }
+
+    /** Match any field. */
+    public static FieldCondition anyField() {
+        return ANY;
+    }
+
+    /** Match key fields only. */
+    public static FieldCondition keyField() {
+        return KEY;
+    }
+
+    /** Return a copy that also requires the field name. */
+    public FieldCondition named(String fieldName) {
+        requireNonNull(fieldName, "Field name");
+        return new FieldCondition(key, fieldName, dataElement, domain, dataType, length);
+    }
+
+    /** Return a copy that also requires the field's Data Element. */
+    public FieldCondition dataElement(String name) {
+        requireNonNull(name, "Data element name");
+        return new FieldCondition(key, fieldName, name, domain, dataType, length);
+    }
+
+    /** Return a copy that also requires the Domain of the field's Data Element. */
+    public FieldCondition domain(String name) {
+        requireNonNull(name, "Domain name");
+        return new FieldCondition(key, fieldName, dataElement, name, dataType, length);
+    }
+
+    /** Return a copy that also requires the data type of the field's Domain. */
+    public FieldCondition dataType(DataType dataType) {
+        requireNonNull(dataType, "Data type");
+        return new FieldCondition(key, fieldName, dataElement, domain, dataType, length);
+    }
+
+    /** Return a copy that also requires the length of the field's Domain. */
+    public FieldCondition length(int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Length must be positive: " + length);
+        }
+        return new FieldCondition(key, fieldName, dataElement, domain, dataType, length);
+    }
+
+    boolean keyOnly() {
+        return key;
+    }
+
+    String dataElementName() {
+        return dataElement;
+    }
+
+    String domainName() {
+        return domain;
+    }
+
+    /**
+     * Return the filter selecting the Domains this condition allows by
+     * data type and length, or {@code null} if it does not restrict them.
+     */
+    AttributeFilter<Domain> domainFilter() {
+        AttributeFilter<Domain> filter = dataType == null ? null : AttributeFilter.dataType(dataType);
+        if (length > 0) {
+            filter = filter == null ? AttributeFilter.length(length) : filter.and(AttributeFilter.length(length));
+        }
+        return filter;
+    }
+
+    /** Returns {@code true} if {@code field} satisfies every term. */
+    boolean matches(FieldDefinition field) {
+        if ((key && !field.isKeyField()) || (fieldName != null && !fieldName.equals(field.getFieldName()))) {
+            return false;
+        }
+        DataElement element = field.getDataElement();
+        Domain fieldDomain = element.getDomain();
+        return (dataElement == null || dataElement.equals(element.getName()))
+                && (domain == null || domain.equals(fieldDomain.getName()))
+                && (dataType == null || dataType == fieldDomain.getDataType())
+                && (length <= 0 || length == fieldDomain.getLength());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(key ? "key field" : "field");
+        String separator = " (";
+        for (String[] term : new String[][] {
+                {"name", fieldName}, {"data-element", dataElement}, {"domain", domain},
+                {"type", dataType == null ? null : dataType.name()},
+                {"length", length > 0 ? String.valueOf(length) : null}}) {
+            if (term[1] != null) {
+                text.append(separator).append(term[0]).append(" = ").append(term[1]);
+                separator = " and ";
+            }
+        }
+        return separator.equals(" and ") ? text.append(')').toString() : text.toString();
+    }
+
+    private static void requireNonNull(Object value, String what) {
+        if (value == null) {
+            throw new IllegalArgumentException(what + " must not be null");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.sap.datadictionary.registry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Receives the findings of a streamed validation run (see
+ * {@link ConsistencyValidator#validate(java.util.Collection, int, FindingSink)})
+ * one at a time, as they are found, so no more than one is held in memory.
+ */
+@FunctionalInterface
+public interface FindingSink {
+
+    /** Handle the next finding. */
+    void accept(ValidationResult.Finding finding);
+
+    /**
+     * Return a sink that writes one line per finding to {@code out}, as
+     * {@code SEVERITY CODE: message}. Write errors are rethrown as
+     * {@link UncheckedIOException}, which ends the run.
+     */
+    static FindingSink writingTo(Writer out) {
+        if (out == null) {
+            throw new IllegalArgumentException("Writer must not be null");
+        }
+        return finding -> {
+            try {
+                out.write(finding.severity() + " " + finding.code() + ": " + finding.message() + "\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,281 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.FieldDefinition;
+import com.sap.datadictionary.conceptual.Structure;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.external.LockObject;
+import com.sap.datadictionary.external.SearchHelp;
+import com.sap.datadictionary.external.ViewDefinition;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.Domain;
+import com.sap.datadictionary.internal.ValueRange;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Computes the content fingerprints of the objects of a {@link DataDictionary}.
+ * <p>
+ * A fingerprint is a 64-bit hash of an object's canonical form: its kind
+ * and every attribute, with enums by name and sets in sorted order, followed
+ * by the fingerprints of the objects it references, in the order it
+ * references them. It therefore covers everything reachable from the
+ * object, does not depend on identity, memory layout or the order things
+ * were registered in, and is the same in every run. The hash feeds each
+ * value through the round and avalanche steps of xxHash64; it is never
+ * {@code 0}, which stands for "no object".
+ * </p>
+ * <p>
+ * Because a fingerprint includes those of the referenced objects, the
+ * fingerprint of a registered object is memoized in its slot and reused
+ * by every object that references it, so each costs O(k) for k attributes
+ * and references once its references are known. Objects in a dependency
+ * cycle are the exception: a reference back to an object that is still
+ * being hashed contributes its distance up the path instead, and nothing
+ * whose hash used such a back reference is memoized, so the result does not
+ * depend on where the walk started.
+ * </p>
+ * <p>
+ * An instance keeps the fingerprints of unregistered objects it has
+ * hashed and is meant for one thread and one task.
+ * </p>
+ */
+final class Fingerprints {
+
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    /** Receives the objects another object references, in canonical order. */
+    private interface Reference {
+        void accept(ObjectKind kind, String name, Object instance);
+    }
+
+    private final DataDictionary dictionary;
+    /** Depth of each object currently being hashed, by identity. */
+    private final Map<Object, Integer> path = new IdentityHashMap<>();
+    /** Fingerprints of unregistered objects hashed by this instance. */
+    private final Map<Object, Long> hashed = new IdentityHashMap<>();
+    /** Number of back references hashed so far. */
+    private int backReferences;
+
+    Fingerprints(DataDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /** Return the fingerprint of {@code value}, an object of the given kind and name. */
+    long of(ObjectKind kind, String name, Object value) {
+        long memoized = dictionary.memoizedFingerprint(kind, name, value);
+        if (memoized != 0) {
+            return memoized;
+        }
+        Long known = hashed.get(value);
+        if (known != null) {
+            return known;
+        }
+        Integer depth = path.get(value);
+        if (depth != null) {
+            backReferences++;
+            return new Hasher(PRIME3).add(path.size() - depth).finish();
+        }
+        path.put(value, path.size());
+        int backReferencesBefore = backReferences;
+        Hasher hasher = new Hasher(kind.ordinal()).add(name);
+        addAttributes(hasher, value);
+        forEachReference(value, (refKind, refName, instance) -> hasher.add(of(refKind, refName, instance)));
+        path.remove(value);
+        long fingerprint = hasher.finish();
+        if (backReferences == backReferencesBefore) {
+            dictionary.memoizeFingerprint(kind, name, value, fingerprint);
+            hashed.put(value, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Return the key a {@link ValidationCache} files the findings for
+     * {@code value} under: its fingerprint, combined with what a rule can
+     * see of each object it references directly, namely whether one is
+     * registered under that name and whether it is the very instance
+     * referenced or another one, and which.
+     */
+    long validationKey(ObjectKind kind, String name, Object value) {
+        Hasher hasher = new Hasher(of(kind, name, value));
+        forEachReference(value, (refKind, refName, instance) -> {
+            Object registered = dictionary.get(refKind, refName);
+            hasher.add(registered == null ? 0 : registered == instance ? 1 : of(refKind, refName, registered));
+        });
+        return hasher.finish();
+    }
+
+    /** Add the attributes of {@code value}, without its references, to {@code hasher}. */
+    private static void addAttributes(Hasher hasher, Object value) {
+        switch (value) {
+            case Domain domain -> {
+                hasher.add(domain.getDataType() == null ? null : domain.getDataType().name())
+                        .add(domain.getLength()).add(domain.getDecimals()).add(domain.getDescription());
+                ValueRange range = domain.getValueRange();
+                if (range == null) {
+                    hasher.add(-1);
+                } else {
+                    addAll(hasher, List.copyOf(new TreeSet<>(range.getFixedValues())));
+                    if (!range.getIntervals().isEmpty()) {
+                        // Only ranges with intervals add them, so other fingerprints stay as they were
+                        List<String> bounds = new ArrayList<>();
+                        range.getIntervals().stream()
+                                .sorted(Comparator.comparing(ValueRange.Interval::low, ValueRange::compareValues)
+                                        .thenComparing(ValueRange.Interval::high, ValueRange::compareValues))
+                                .forEach(interval -> {
+                                    bounds.add(interval.low());
+                                    bounds.add(interval.high());
+                                });
+                        addAll(hasher, bounds);
+                    }
+                }
+            }
+            case DataElement element -> hasher.add(element.getShortLabel()).add(element.getMediumLabel())
+                    .add(element.getLongLabel()).add(element.getDocumentation());
+            case TableDefinition table -> {
+                hasher.add(table.getDescription())
+                        .add(table.getDeliveryClass() == null ? null : table.getDeliveryClass().name())
+                        .add(table.isBuffered() ? 1 : 0);
+                addFields(hasher, table.getFields());
+            }
+            case Structure structure -> {
+                hasher.add(structure.getDescription());
+                addFields(hasher, structure.getFields());
+                hasher.add(structure.getIncludes().size());
+            }
+            case ViewDefinition view -> {
+                hasher.add(view.getViewType() == null ? null : view.getViewType().name())
+                        .add(view.getDescription());
+                addAll(hasher, view.getSelectedFields());
+                hasher.add(view.getBaseTables().size()).add(view.getBaseViews().size());
+            }
+            case SearchHelp help -> {
+                hasher.add(help.getDescription());
+                addAll(hasher, help.getDisplayFields());
+                addAll(hasher, help.getExportFields());
+                hasher.add(help.getSelectionMethod() == null ? 0 : 1);
+            }
+            case LockObject lock -> hasher
+                    .add(lock.getLockMode() == null ? null : lock.getLockMode().name())
+                    .add(lock.getDescription())
+                    .add(lock.getSecondaryTables().size());
+            default -> throw new IllegalArgumentException(
+                    "Not a dictionary object: " + value.getClass().getName());
+        }
+    }
+
+    private static void addFields(Hasher hasher, List<FieldDefinition> fields) {
+        hasher.add(fields.size());
+        for (FieldDefinition field : fields) {
+            hasher.add(field.getFieldName()).add(field.isKeyField() ? 1 : 0).add(field.isNullable() ? 1 : 0);
+        }
+    }
+
+    private static void addAll(Hasher hasher, List<String> values) {
+        hasher.add(values.size());
+        for (String value : values) {
+            hasher.add(value);
+        }
+    }
+
+    /**
+     * Pass the objects {@code value} references to {@code reference}, in the
+     * same order as {@link DataDictionary#referencesOf}, duplicates included.
+     */
+    private static void forEachReference(Object value, Reference reference) {
+        switch (value) {
+            case DataElement element -> reference.accept(ObjectKind.DOMAIN,
+                    element.getDomain().getName(), element.getDomain());
+            case TableDefinition table -> forEachField(table.getFields(), reference);
+            case Structure structure -> {
+                forEachField(structure.getFields(), reference);
+                for (Structure include : structure.getIncludes()) {
+                    reference.accept(ObjectKind.STRUCTURE, include.getStructureName(), include);
+                }
+            }
+            case ViewDefinition view -> {
+                for (TableDefinition baseTable : view.getBaseTables()) {
+                    reference.accept(ObjectKind.TABLE, baseTable.getTableName(), baseTable);
+                }
+                for (ViewDefinition baseView : view.getBaseViews()) {
+                    reference.accept(ObjectKind.VIEW, baseView.getViewName(), baseView);
+                }
+            }
+            case SearchHelp help -> {
+                TableDefinition table = help.getSelectionMethod();
+                if (table != null) {
+                    reference.accept(ObjectKind.TABLE, table.getTableName(), table);
+                }
+            }
+            case LockObject lock -> {
+                reference.accept(ObjectKind.TABLE, lock.getPrimaryTable().getTableName(), lock.getPrimaryTable());
+                for (TableDefinition secondary : lock.getSecondaryTables()) {
+                    reference.accept(ObjectKind.TABLE, secondary.getTableName(), secondary);
+                }
+            }
+            default -> {
+                // Domains reference nothing
+            }
+        }
+    }
+
+    private static void forEachField(List<FieldDefinition> fields, Reference reference) {
+        for (FieldDefinition field : fields) {
+            DataElement element = field.getDataElement();
+            reference.accept(ObjectKind.DATA_ELEMENT, element.getName(), element);
+        }
+    }
+
+    /** Hashes a sequence of 64-bit values with the xxHash64 round and avalanche. */
+    private static final class Hasher {
+        private long state;
+        private long count;
+
+        Hasher(long seed) {
+            state = seed + PRIME5;
+        }
+
+        Hasher add(long value) {
+            long lane = value * PRIME2;
+            lane = Long.rotateLeft(lane, 31) * PRIME1;
+            state = Long.rotateLeft(state ^ lane, 27) * PRIME1 + PRIME4;
+            count++;
+            return this;
+        }
+
+        /** Add a string, or a marker for {@code null}, as its length and then four chars per value. */
+        Hasher add(String value) {
+            if (value == null) {
+                return add(-1L);
+            }
+            add(value.length());
+            for (int i = 0; i < value.length(); i += 4) {
+                long chunk = 0;
+                for (int j = i; j < Math.min(i + 4, value.length()); j++) {
+                    chunk = chunk << 16 | value.charAt(j);
+                }
+                add(chunk);
+            }
+            return this;
+        }
+
+        long finish() {
+            long h = state + count * 8;
+            h ^= h >>> 33;
+            h *= PRIME2;
+            h ^= h >>> 29;
+            h *= PRIME3;
+            h ^= h >>> 32;
+            return h == 0 ? 1 : h;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.FieldDefinition;
+import com.sap.datadictionary.conceptual.Structure;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.external.LockObject;
+import com.sap.datadictionary.external.SearchHelp;
+import com.sap.datadictionary.external.ViewDefinition;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.Domain;
+import com.sap.datadictionary.internal.ValueChecker;
+import com.sap.datadictionary.internal.ValueRange;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Write-time integrity check of a {@link DataDictionary} that
+ * {@linkplain DataDictionary#setIntegrityEnforced enforces integrity}.
+ * <p>
+ * Each object about to be written is checked against the errors the
+ * {@link ConsistencyValidator} would report for it: every referenced
+ * object must be the very instance that is registered, or staged in the
+ * same change, under its name, Views, Search Helps and their base
+ * objects must agree on field names, and the fixed values and interval
+ * bounds of a Domain must have its format. Each reference costs one hash
+ * probe, each field name one lookup and each fixed value or bound one
+ * pass over its characters, so checking an object with k of them costs
+ * O(k), independent of the size of the dictionary.
+ * </p>
+ */
+final class IntegrityCheck {
+
+    private final Map<ObjectRef, Object> staged = new HashMap<>();
+    private final BiFunction<ObjectKind, String, Object> registered;
+    private final List<String> problems = new ArrayList<>();
+
+    /**
+     * @param registered returns the registered object of a kind and name
+     *                   at the version being changed, or {@code null}
+     */
+    IntegrityCheck(BiFunction<ObjectKind, String, Object> registered) {
+        this.registered = registered;
+    }
+
+    /** Make an object written in the same change resolvable; it wins over the registered one. */
+    void stage(ObjectKind kind, String name, Object value) {
+        staged.put(new ObjectRef(kind, name), value);
+    }
+
+    /** Check one staged object and record its problems. */
+    void check(ObjectKind kind, String name, Object value) {
+        String owner = kind.label() + " '" + name + "'";
+        switch (value) {
+            case DataElement element -> resolve(owner, ObjectKind.DOMAIN,
+                    element.getDomain().getName(), element.getDomain());
+            case TableDefinition table -> checkFields(owner, table.getFields());
+            case Structure structure -> {
+                checkFields(owner, structure.getFields());
+                for (Structure include : structure.getIncludes()) {
+                    resolve(owner, ObjectKind.STRUCTURE, include.getStructureName(), include);
+                }
+            }
+            case ViewDefinition view -> checkView(owner, view);
+            case SearchHelp help -> checkSearchHelp(owner, help);
+            case LockObject lock -> {
+                TableDefinition primary = lock.getPrimaryTable();
+                resolve(owner, ObjectKind.TABLE, primary.getTableName(), primary);
+                for (TableDefinition secondary : lock.getSecondaryTables()) {
+                    resolve(owner, ObjectKind.TABLE, secondary.getTableName(), secondary);
+                }
+            }
+            case Domain domain -> checkFixedValues(owner, domain);
+            default -> {
+                // Nothing else to check
+            }
+        }
+    }
+
+    /** Returns every problem recorded so far. */
+    List<String> problems() {
+        return problems;
+    }
+
+    private void checkFields(String owner, List<FieldDefinition> fields) {
+        for (FieldDefinition field : fields) {
+            DataElement element = field.getDataElement();
+            resolve(owner + ", field '" + field.getFieldName() + "',", ObjectKind.DATA_ELEMENT,
+                    element.getName(), element);
+        }
+    }
+
+    private void checkView(String owner, ViewDefinition view) {
+        for (TableDefinition baseTable : view.getBaseTables()) {
+            resolve(owner, ObjectKind.TABLE, baseTable.getTableName(), baseTable);
+        }
+        for (ViewDefinition baseView : view.getBaseViews()) {
+            resolve(owner, ObjectKind.VIEW, baseView.getViewName(), baseView);
+        }
+        Set<String> viewFields = view.getBaseViews().isEmpty() ? null : ConsistencyRules.baseFields(view);
+        for (String selected : view.getSelectedFields()) {
+            boolean found = viewFields != null
+                    ? viewFields.contains(selected)
+                    : view.getBaseTables().stream().anyMatch(table -> table.getField(selected) != null);
+            if (!found) {
+                problems.add(owner + " selects field '" + selected
+                        + "' which does not exist in any of its base tables or base views");
+            }
+        }
+    }
+
+    private void checkFixedValues(String owner, Domain domain) {
+        if (domain.getValueRange() == null) {
+            return;
+        }
+        ValueChecker format = ValueChecker.compileFormat(domain);
+        for (String value : domain.getValueRange().getFixedValues()) {
+            if (!format.accepts(value)) {
+                problems.add(owner + " has fixed value '" + value + "' which is not a valid " + format + " value");
+            }
+        }
+        for (ValueRange.Interval interval : domain.getValueRange().getIntervals()) {
+            for (String bound : List.of(interval.low(), interval.high())) {
+                if (!format.accepts(bound)) {
+                    problems.add(owner + " has interval bound '" + bound + "' which is not a valid " + format + " value");
+                }
+            }
+        }
+    }
+
+    private void checkSearchHelp(String owner, SearchHelp help) {
+        TableDefinition table = help.getSelectionMethod();
+        if (table == null) {
+            return;
+        }
+        resolve(owner, ObjectKind.TABLE, table.getTableName(), table);
+        for (String field : help.getDisplayFields()) {
+            if (table.getField(field) == null) {
+                problems.add(owner + " display field '" + field
+                        + "' does not exist in selection-method table '" + table.getTableName() + "'");
+            }
+        }
+        for (String field : help.getExportFields()) {
+            if (table.getField(field) == null) {
+                problems.add(owner + " export field '" + field
+                        + "' does not exist in selection-method table '" + table.getTableName() + "'");
+            }
+        }
+    }
+
+    /** Check that {@code instance} is the object staged or registered as {@code name}. */
+    private void resolve(String owner, ObjectKind kind, String name, Object instance) {
+        Object found = staged.get(new ObjectRef(kind, name));
+        if (found == null) {
+            found = registered.apply(kind, name);
+        }
+        if (found == null) {
+            problems.add(owner + " references " + kind.label() + " '" + name
+                    + "' which is neither registered nor staged");
+        } else if (found != instance) {
+            problems.add(owner + " references a " + kind.label() + " instance '" + name
+                    + "' that differs from the registered one");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.sap.datadictionary.registry;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only map that merges the listing of an overlay {@link DataDictionary}
+ * with the listing of its base.
+ * <p>
+ * Iteration lists the base entries that the overlay does not override, in
+ * base order, followed by the overlay's own entries in overlay order, so
+ * an override appears where an update would move it: at the end. Lookups
+ * try the overlay first. Both listings are fixed at a version, so the merged
+ * map is too; its size is computed once, in time proportional to the
+ * overlay's entries.
+ * </p>
+ */
+final class LayeredMap<V> extends AbstractMap<String, V> {
+
+    private final Map<String, V> base;
+    private final Map<String, V> own;
+    private int size = -1;
+
+    LayeredMap(Map<String, V> base, Map<String, V> own) {
+        this.base = base;
+        this.own = own;
+    }
+
+    @Override
+    public V get(Object key) {
+        V value = own.get(key);
+        return value != null ? value : base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        int n = size;
+        if (n < 0) {
+            n = base.size();
+            for (String name : own.keySet()) {
+                if (!base.containsKey(name)) {
+                    n++;
+                }
+            }
+            size = n;
+        }
+        return n;
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                return new Iterator<>() {
+                    private final Iterator<Entry<String, V>> baseEntries = base.entrySet().iterator();
+                    private final Iterator<Entry<String, V>> ownEntries = own.entrySet().iterator();
+                    private Entry<String, V> next = advance();
+
+                    @Override
+                    public boolean hasNext() {
+                        return next != null;
+                    }
+
+                    @Override
+                    public Entry<String, V> next() {
+                        if (next == null) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, V> entry = next;
+                        next = advance();
+                        return entry;
+                    }
+
+                    /** Return the next base entry that is not overridden, then the own entries. */
+                    private Entry<String, V> advance() {
+                        while (baseEntries.hasNext()) {
+                            Entry<String, V> entry = baseEntries.next();
+                            if (!own.containsKey(entry.getKey())) {
+                                return entry;
+                            }
+                        }
+                        return ownEntries.hasNext() ? ownEntries.next() : null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return LayeredMap.this.size();
+            }
+        };
+    }
+}
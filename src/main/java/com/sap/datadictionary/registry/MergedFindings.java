@@ -0,0 +1,329 @@
+package com.sap.datadictionary.registry;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The findings of an incremental validation run, merged into result order:
+ * by rule, then by {@link ObjectKind}, then by registration order.
+ * <p>
+ * Each object with findings is one node of a treap ordered by that key and
+ * balanced by a priority derived from it. Instances are immutable:
+ * {@link #put} and {@link #remove} copy only the path to the changed node
+ * and share every other node with the instance they were called on, so a
+ * change costs O(log n) however many findings there are, and a result
+ * handed out earlier keeps its findings. Every node also counts the
+ * findings and errors below it, so the totals and
+ * {@link #findings()}{@code .get(i)} cost O(log n) as well. A
+ * {@link Builder} creates the tree for a full run in one pass instead of
+ * one insertion per object.
+ * </p>
+ */
+final class MergedFindings {
+
+    static final MergedFindings EMPTY = new MergedFindings(null);
+
+    private final Node root;
+
+    private MergedFindings(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * The findings of one object for one rule, and the counts of the
+     * subtree it roots.
+     */
+    private static final class Node {
+        final int rule;
+        final int kind;
+        final long order;
+        final int priority;
+        final List<ValidationResult.Finding> findings;
+        final Node left;
+        final Node right;
+        final int size;
+        final long errors;
+
+        Node(int rule, int kind, long order, int priority, List<ValidationResult.Finding> findings,
+             Node left, Node right) {
+            this.rule = rule;
+            this.kind = kind;
+            this.order = order;
+            this.priority = priority;
+            this.findings = findings;
+            this.left = left;
+            this.right = right;
+            long own = 0;
+            for (ValidationResult.Finding finding : findings) {
+                if (finding.severity() == ValidationResult.Severity.ERROR) {
+                    own++;
+                }
+            }
+            this.size = countOf(left) + findings.size() + countOf(right);
+            this.errors = errors(left) + own + errors(right);
+        }
+
+        Node with(Node newLeft, Node newRight) {
+            return new Node(rule, kind, order, priority, findings, newLeft, newRight);
+        }
+
+        int compareTo(int otherRule, int otherKind, long otherOrder) {
+            if (rule != otherRule) {
+                return Integer.compare(rule, otherRule);
+            }
+            if (kind != otherKind) {
+                return Integer.compare(kind, otherKind);
+            }
+            return Long.compare(order, otherOrder);
+        }
+    }
+
+    private static int countOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static long errors(Node node) {
+        return node == null ? 0 : node.errors;
+    }
+
+    /** Return the number of findings. */
+    int size() {
+        return countOf(root);
+    }
+
+    /** Return the number of ERROR findings. */
+    long errorCount() {
+        return errors(root);
+    }
+
+    /** Return the number of WARNING findings. */
+    long warningCount() {
+        return countOf(root) - errors(root);
+    }
+
+    /** Return the findings stored for an object, or {@code null}. */
+    List<ValidationResult.Finding> get(int rule, ObjectKind kind, long order) {
+        Node node = root;
+        while (node != null) {
+            int c = node.compareTo(rule, kind.ordinal(), order);
+            if (c == 0) {
+                return node.findings;
+            }
+            node = c > 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Return a copy holding {@code findings} for the object of the given
+     * kind and registration order, for the rule at index {@code rule}.
+     */
+    MergedFindings put(int rule, ObjectKind kind, long order, List<ValidationResult.Finding> findings) {
+        if (findings.isEmpty()) {
+            return remove(rule, kind, order);
+        }
+        return new MergedFindings(put(root, rule, kind.ordinal(), order, List.copyOf(findings)));
+    }
+
+    /** Return a copy without the findings of the given object, or this if it has none. */
+    MergedFindings remove(int rule, ObjectKind kind, long order) {
+        Node removed = remove(root, rule, kind.ordinal(), order);
+        return removed == root ? this : new MergedFindings(removed);
+    }
+
+    private static Node put(Node node, int rule, int kind, long order, List<ValidationResult.Finding> findings) {
+        if (node == null) {
+            return new Node(rule, kind, order, priority(rule, kind, order), findings, null, null);
+        }
+        int c = node.compareTo(rule, kind, order);
+        if (c == 0) {
+            return new Node(rule, kind, order, node.priority, findings, node.left, node.right);
+        }
+        if (c > 0) {
+            Node left = put(node.left, rule, kind, order, findings);
+            // Rotate right if the new child outranks its parent
+            return left.priority > node.priority ? left.with(left.left, node.with(left.right, node.right))
+                    : node.with(left, node.right);
+        }
+        Node right = put(node.right, rule, kind, order, findings);
+        return right.priority > node.priority ? right.with(node.with(node.left, right.left), right.right)
+                : node.with(node.left, right);
+    }
+
+    private static Node remove(Node node, int rule, int kind, long order) {
+        if (node == null) {
+            return null;
+        }
+        int c = node.compareTo(rule, kind, order);
+        if (c == 0) {
+            return join(node.left, node.right);
+        }
+        if (c > 0) {
+            Node left = remove(node.left, rule, kind, order);
+            return left == node.left ? node : node.with(left, node.right);
+        }
+        Node right = remove(node.right, rule, kind, order);
+        return right == node.right ? node : node.with(node.left, right);
+    }
+
+    /** Join two treaps whose keys are all smaller in {@code left} than in {@code right}. */
+    private static Node join(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return left.with(left.left, join(left.right, right));
+        }
+        return right.with(join(left, right.left), right.right);
+    }
+
+    /** Derive a well-spread priority from the key, so equal contents give equal shapes. */
+    private static int priority(int rule, int kind, long order) {
+        long h = (order * 31 + kind) * 31 + rule;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return (int) (h ^ (h >>> 33));
+    }
+
+    /** Collects the findings of many objects, in any order, and builds their tree at once. */
+    static final class Builder {
+
+        private record Entry(int rule, int kind, long order, List<ValidationResult.Finding> findings) {}
+
+        private final List<Entry> entries = new ArrayList<>();
+
+        /** Add the findings of an object that has not been added before; see {@link #put}. */
+        void add(int rule, ObjectKind kind, long order, List<ValidationResult.Finding> findings) {
+            if (!findings.isEmpty()) {
+                entries.add(new Entry(rule, kind.ordinal(), order, List.copyOf(findings)));
+            }
+        }
+
+        MergedFindings build() {
+            entries.sort(Comparator.comparingInt(Entry::rule).thenComparingInt(Entry::kind)
+                    .thenComparingLong(Entry::order));
+            int n = entries.size();
+            if (n == 0) {
+                return EMPTY;
+            }
+            // Build the treap of the sorted keys as a Cartesian tree of their priorities
+            int[] priorities = new int[n];
+            int[] left = new int[n];
+            int[] right = new int[n];
+            Arrays.fill(left, -1);
+            Arrays.fill(right, -1);
+            int[] stack = new int[n];
+            int top = -1;
+            for (int i = 0; i < n; i++) {
+                Entry entry = entries.get(i);
+                priorities[i] = priority(entry.rule(), entry.kind(), entry.order());
+                int last = -1;
+                while (top >= 0 && priorities[stack[top]] < priorities[i]) {
+                    last = stack[top--];
+                }
+                left[i] = last;
+                if (top >= 0) {
+                    right[stack[top]] = i;
+                }
+                stack[++top] = i;
+            }
+            return new MergedFindings(node(stack[0], priorities, left, right));
+        }
+
+        private Node node(int i, int[] priorities, int[] left, int[] right) {
+            if (i < 0) {
+                return null;
+            }
+            Entry entry = entries.get(i);
+            return new Node(entry.rule(), entry.kind(), entry.order(), priorities[i], entry.findings(),
+                    node(left[i], priorities, left, right), node(right[i], priorities, left, right));
+        }
+    }
+
+    /** Return a read-only list of all findings in result order, sharing the nodes of this instance. */
+    List<ValidationResult.Finding> findings() {
+        return new Findings(root);
+    }
+
+    private static final class Findings extends AbstractList<ValidationResult.Finding> {
+
+        private final Node root;
+
+        Findings(Node root) {
+            this.root = root;
+        }
+
+        @Override
+        public ValidationResult.Finding get(int index) {
+            if (index < 0 || index >= countOf(root)) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + countOf(root));
+            }
+            Node node = root;
+            while (true) {
+                int left = countOf(node.left);
+                if (index < left) {
+                    node = node.left;
+                } else if (index < left + node.findings.size()) {
+                    return node.findings.get(index - left);
+                } else {
+                    index -= left + node.findings.size();
+                    node = node.right;
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return countOf(root);
+        }
+
+        @Override
+        public Iterator<ValidationResult.Finding> iterator() {
+            return new Iterator<>() {
+                private final ArrayDeque<Node> path = new ArrayDeque<>();
+                private Node current;
+                private int next;
+
+                {
+                    descend(root);
+                }
+
+                private void descend(Node node) {
+                    for (; node != null; node = node.left) {
+                        path.push(node);
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    while (current == null || next == current.findings.size()) {
+                        if (path.isEmpty()) {
+                            return false;
+                        }
+                        current = path.pop();
+                        next = 0;
+                        descend(current.right);
+                    }
+                    return true;
+                }
+
+                @Override
+                public ValidationResult.Finding next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return current.findings.get(next++);
+                }
+            };
+        }
+    }
+}
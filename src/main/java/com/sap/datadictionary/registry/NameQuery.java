@@ -0,0 +1,188 @@
+package com.sap.datadictionary.registry;
+
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.regex.Pattern;
+
+/**
+ * Selects DDIC objects by name for the {@code getXs(NameQuery)} methods of
+ * {@link DataDictionary}.
+ * <p>
+ * A query combines a name range, an optional wildcard pattern, a cursor and
+ * a page size:
+ * </p>
+ * <pre>{@code
+ * NameQuery.prefix("ZFI_").limit(100)          // tables starting with ZFI_
+ * NameQuery.prefix("/ABC/")                    // everything in namespace /ABC/
+ * NameQuery.range("ZA", "ZC")                  // ZA <= name < ZC
+ * NameQuery.matching("Z*_CUST+")               // '*' any sequence, '+' one character
+ * NameQuery.prefix("ZFI_").after(lastName)     // the page after lastName
+ * }</pre>
+ * <p>
+ * Matching names are returned in ascending name order. To continue a
+ * paged listing, pass the last name of the previous page to
+ * {@link #after(String)}. Queries are answered from a sorted name index in
+ * O(log n + k) time for k returned names; a wildcard pattern additionally
+ * scans the names that share its literal prefix. Queries are immutable.
+ * </p>
+ */
+public final class NameQuery {
+
+    private static final NameQuery ALL = new NameQuery(null, null, null, null, Integer.MAX_VALUE);
+
+    private final String from;
+    private final String to;
+    private final Pattern pattern;
+    private final String after;
+    private final int limit;
+
+    private NameQuery(String from, String to, Pattern pattern, String after, int limit) {
+        this.from = from;
+        this.to = to;
+        this.pattern = pattern;
+        this.after = after;
+        this.limit = limit;
+    }
+
+    /** Select all names. */
+    public static NameQuery all() {
+        return ALL;
+    }
+
+    /** Select the names that start with {@code prefix}. */
+    public static NameQuery prefix(String prefix) {
+        requireNonNull(prefix, "Prefix");
+        return new NameQuery(prefix, prefixEnd(prefix), null, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Select the names from {@code from} (inclusive) to {@code to}
+     * (exclusive). A {@code null} bound leaves that end open.
+     */
+    public static NameQuery range(String from, String to) {
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new IllegalArgumentException("Name range is reversed: " + from + " > " + to);
+        }
+        return new NameQuery(from, to, null, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Select the names matching a wildcard pattern, in which {@code *}
+     * stands for any sequence of characters and {@code +} for exactly one.
+     */
+    public static NameQuery matching(String wildcard) {
+        requireNonNull(wildcard, "Pattern");
+        int literal = 0;
+        while (literal < wildcard.length() && wildcard.charAt(literal) != '*' && wildcard.charAt(literal) != '+') {
+            literal++;
+        }
+        if (literal == wildcard.length()) {
+            return new NameQuery(wildcard, wildcard + '\0', null, null, Integer.MAX_VALUE);
+        }
+        String prefix = wildcard.substring(0, literal);
+        return new NameQuery(prefix.isEmpty() ? null : prefix, prefixEnd(prefix),
+                toRegex(wildcard), null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Return a copy of this query that only selects names after
+     * {@code name}, the last name of the previous page. {@code null}
+     * leaves the query unchanged.
+     */
+    public NameQuery after(String name) {
+        return name == null ? this : new NameQuery(from, to, pattern, name, limit);
+    }
+
+    /**
+     * Return a copy of this query that selects at most {@code limit} names.
+     *
+     * @throws IllegalArgumentException if {@code limit} is not positive
+     */
+    public NameQuery limit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        return new NameQuery(from, to, pattern, after, limit);
+    }
+
+    /** Return the maximum number of names selected. */
+    public int limit() {
+        return limit;
+    }
+
+    /** Returns {@code true} if {@code name} satisfies this query's range, pattern and cursor. */
+    public boolean matches(String name) {
+        return (from == null || name.compareTo(from) >= 0)
+                && (to == null || name.compareTo(to) < 0)
+                && (after == null || name.compareTo(after) > 0)
+                && (pattern == null || pattern.matcher(name).matches());
+    }
+
+    /**
+     * Returns {@code true} if the query restricts names to a range of the
+     * name index, rather than testing a pattern against every name.
+     */
+    boolean isBounded() {
+        return from != null || to != null || after != null;
+    }
+
+    /**
+     * Return the part of a sorted name set that can contain matches, i.e.
+     * the range narrowed by the cursor. Names in it may still fail the
+     * pattern.
+     */
+    NavigableSet<String> candidates(NavigableSet<String> names) {
+        String lower = from;
+        boolean lowerInclusive = true;
+        if (after != null && (lower == null || after.compareTo(lower) >= 0)) {
+            lower = after;
+            lowerInclusive = false;
+        }
+        if (to != null && lower != null && lower.compareTo(to) >= 0) {
+            return Collections.emptyNavigableSet();
+        }
+        if (lower == null) {
+            return to == null ? names : names.headSet(to, false);
+        }
+        return to == null ? names.tailSet(lower, lowerInclusive) : names.subSet(lower, lowerInclusive, to, false);
+    }
+
+    /**
+     * Return the smallest string greater than every string starting with
+     * {@code prefix}, or {@code null} if there is none.
+     */
+    private static String prefixEnd(String prefix) {
+        for (int i = prefix.length() - 1; i >= 0; i--) {
+            char c = prefix.charAt(i);
+            if (c != Character.MAX_VALUE) {
+                return prefix.substring(0, i) + (char) (c + 1);
+            }
+        }
+        return null;
+    }
+
+    private static Pattern toRegex(String wildcard) {
+        StringBuilder regex = new StringBuilder();
+        int literalStart = 0;
+        for (int i = 0; i < wildcard.length(); i++) {
+            char c = wildcard.charAt(i);
+            if (c == '*' || c == '+') {
+                if (i > literalStart) {
+                    regex.append(Pattern.quote(wildcard.substring(literalStart, i)));
+                }
+                regex.append(c == '*' ? ".*" : ".");
+                literalStart = i + 1;
+            }
+        }
+        if (literalStart < wildcard.length()) {
+            regex.append(Pattern.quote(wildcard.substring(literalStart)));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private static void requireNonNull(Object value, String what) {
+        if (value == null) {
+            throw new IllegalArgumentException(what + " must not be null");
+        }
+    }
+}
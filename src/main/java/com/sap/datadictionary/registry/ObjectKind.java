@@ -0,0 +1,26 @@
+package com.sap.datadictionary.registry;
+
+/**
+ * The kinds of DDIC objects held by a {@link DataDictionary}, one per
+ * registry map.
+ */
+public enum ObjectKind {
+    DOMAIN("Domain"),
+    DATA_ELEMENT("Data element"),
+    TABLE("Table"),
+    STRUCTURE("Structure"),
+    VIEW("View"),
+    SEARCH_HELP("Search help"),
+    LOCK_OBJECT("Lock object");
+
+    private final String label;
+
+    ObjectKind(String label) {
+        this.label = label;
+    }
+
+    /** Return the name used for this kind in error messages, e.g. "Data element". */
+    String label() {
+        return label;
+    }
+}
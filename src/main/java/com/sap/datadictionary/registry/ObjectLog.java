@@ -0,0 +1,438 @@
+package com.sap.datadictionary.registry;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Append-only, insertion-ordered storage for the objects of one
+ * {@link ObjectKind} within one {@link Partition}.
+ * <p>
+ * Objects are stored in slots numbered in registration order, each tagged
+ * with the dictionary version that registered it. Slots are never
+ * rewritten, so a reader that knows how many slots were published (see
+ * {@link DataDictionary}'s snapshot) can read that prefix without locking
+ * while a writer keeps appending behind it. Because versions increase with
+ * the slot number, the prefix belonging to any older version can be found
+ * again by binary search, which is what makes
+ * {@link DataDictionary#at(long)} cheap: every version shares all of its
+ * slots with every later one.
+ * </p>
+ * <p>
+ * Updates and removals do not rewrite slots either. A slot is
+ * {@linkplain #retire retired} by recording the version that removed or
+ * replaced it, and a replacement is appended as a new slot that links back
+ * to the slot it supersedes. A slot is therefore live at a version if it
+ * was published at or before it and not retired at or before it, and
+ * readers of older versions keep seeing the objects of their version.
+ * </p>
+ * <p>
+ * Names are interned in the partition's {@link SymbolTable}, and the
+ * name → slot index is a plain {@code int} array indexed by symbol id, so a
+ * lookup costs one symbol probe plus one array read and allocates nothing.
+ * Each slot keeps a reference to its interned name, so listing names, as
+ * where-used queries do, reads one array instead of going through the
+ * symbol table.
+ * </p>
+ * <p>
+ * {@link #append}, {@link #stamp} and {@link #retire} must only be called
+ * by one writer at a time (the holder of the partition's lock); all read
+ * methods are safe to call concurrently with them.
+ * </p>
+ *
+ * @param <V> the object type stored in this log
+ */
+final class ObjectLog<V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final VarHandle FINGERPRINTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle SLOT_INDEX = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final SymbolTable symbols;
+
+    /**
+     * Slot + 1 by symbol id, {@code 0} for names without an object of this
+     * kind. Symbol ids are dense, so a plain array beats hashing. Entries
+     * are written with release and read with acquire semantics, so a reader
+     * that finds a new slot also sees its {@code previous} link.
+     */
+    private volatile int[] slotsBySymbol = new int[INITIAL_CAPACITY];
+
+    /**
+     * Slot arrays; replaced when grown, and never mutated below
+     * {@code size} except to memoize fingerprints.
+     */
+    private volatile Slots slots = new Slots(new String[INITIAL_CAPACITY],
+            new Object[INITIAL_CAPACITY], new long[INITIAL_CAPACITY], new int[INITIAL_CAPACITY],
+            new long[INITIAL_CAPACITY], new int[INITIAL_CAPACITY], new long[INITIAL_CAPACITY]);
+
+    /** Number of appended slots; only accessed by the writer. */
+    private int size;
+
+    /** Versions at which slots were retired, in ascending order. */
+    private volatile long[] retirements = new long[0];
+    private volatile int retirementCount;
+
+    /**
+     * Per slot: the name (the symbol table's instance, so it costs a
+     * reference rather than a copy), the object, the version that
+     * published it, its position in the dictionary-wide registration order
+     * of its kind, the version that retired it ({@code 0} while live) and
+     * the slot + 1 of the earlier slot with the same name ({@code 0} if
+     * none), and the object's memoized {@linkplain Fingerprints fingerprint}
+     * ({@code 0} until first computed).
+     */
+    private record Slots(String[] names, Object[] values, long[] versions, int[] positions,
+                         long[] retired, int[] previous, long[] fingerprints) {}
+
+    ObjectLog(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * Returns {@code true} if an object with the given name has been
+     * appended and not retired. Writer only.
+     */
+    boolean contains(String name) {
+        return liveSlot(name) >= 0;
+    }
+
+    /**
+     * Return the slot of the named object if it has been appended and not
+     * retired, else {@code -1}. Writer only.
+     */
+    int liveSlot(String name) {
+        int slot = slotOf(name);
+        return slot >= 0 && slots.retired()[slot] == 0 ? slot : -1;
+    }
+
+    /** Return the slot of the named object, or {@code -1}. */
+    private int slotOf(String name) {
+        int symbol = symbols.lookup(name);
+        int[] bySymbol = slotsBySymbol;
+        if (symbol < 0 || symbol >= bySymbol.length) {
+            return -1;
+        }
+        return (int) SLOT_INDEX.getAcquire(bySymbol, symbol) - 1;
+    }
+
+    /**
+     * Append an object under the given name. The slot stays invisible to
+     * readers until it has been {@linkplain #stamp stamped} and published.
+     *
+     * @return the slot the object was stored in
+     */
+    int append(String name, V value) {
+        Slots current = slots;
+        if (size == current.values().length) {
+            current = grow(current, current.values().length * 2);
+            slots = current;
+        }
+        int symbol = symbols.intern(name);
+        current.names()[size] = symbols.name(symbol);
+        current.values()[size] = value;
+        int[] bySymbol = slotsBySymbol;
+        if (symbol >= bySymbol.length) {
+            bySymbol = Arrays.copyOf(bySymbol, Math.max(symbol + 1, bySymbol.length * 2));
+        }
+        // Link the slot to its predecessor before readers can reach it through the index
+        current.previous()[size] = bySymbol[symbol];
+        SLOT_INDEX.setRelease(bySymbol, symbol, size + 1);
+        slotsBySymbol = bySymbol;
+        return size++;
+    }
+
+    /**
+     * Make room for {@code additional} more objects, so that a bulk append
+     * grows the slot arrays at most once. Must only be called by the writer.
+     */
+    void reserve(int additional) {
+        Slots current = slots;
+        int needed = size + additional;
+        if (additional > 0 && needed > current.values().length) {
+            slots = grow(current, Math.max(needed, current.values().length * 2));
+        }
+    }
+
+    /**
+     * Record the version and registration-order position of an appended
+     * slot. Must be called by the writer before the slot is published.
+     *
+     * @param version  the version that publishes the slot; must be at least
+     *                 the version of every earlier slot
+     * @param position the slot's index in the dictionary-wide registration
+     *                 order of its kind
+     */
+    void stamp(int slot, long version, int position) {
+        Slots current = slots;
+        current.versions()[slot] = version;
+        current.positions()[slot] = position;
+    }
+
+    /**
+     * Record that a published slot was removed or replaced at
+     * {@code version}. Must be called by the writer before that version is
+     * published, in version order.
+     */
+    void retire(int slot, long version) {
+        slots.retired()[slot] = version;
+        long[] current = retirements;
+        int n = retirementCount;
+        if (n == current.length) {
+            current = Arrays.copyOf(current, Math.max(4, n * 2));
+            retirements = current;
+        }
+        current[n] = version;
+        retirementCount = n + 1;
+    }
+
+    private static Slots grow(Slots current, int capacity) {
+        return new Slots(Arrays.copyOf(current.names(), capacity),
+                Arrays.copyOf(current.values(), capacity),
+                Arrays.copyOf(current.versions(), capacity),
+                Arrays.copyOf(current.positions(), capacity),
+                Arrays.copyOf(current.retired(), capacity),
+                Arrays.copyOf(current.previous(), capacity),
+                Arrays.copyOf(current.fingerprints(), capacity));
+    }
+
+    /**
+     * Return how many of the first {@code published} slots were registered
+     * at or before the given version.
+     */
+    int countAt(long version, int published) {
+        long[] versions = slots.versions();
+        int low = 0;
+        int high = published;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (versions[mid] <= version) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Return how many slots were retired at or before the given version.
+     */
+    private int retiredAt(long version) {
+        int n = retirementCount;
+        long[] current = retirements;
+        int low = 0;
+        int high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (current[mid] <= version) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Return how many of the first {@code count} slots are live at
+     * {@code version}, where {@code count} is the number published at it.
+     */
+    int liveCount(int count, long version) {
+        return count - retiredAt(version);
+    }
+
+    /**
+     * Return the last version at or before {@code version} that appended
+     * to or retired from the first {@code count} slots, or 0.
+     */
+    long lastChangeAt(int count, long version) {
+        long last = count > 0 ? versionAt(count - 1) : 0;
+        int retired = retiredAt(version);
+        return retired > 0 ? Math.max(last, retirements[retired - 1]) : last;
+    }
+
+    /**
+     * Returns {@code true} if any slot has been retired, at any version.
+     * While it returns {@code false}, every published slot is live.
+     */
+    boolean hasRetirements() {
+        return retirementCount > 0;
+    }
+
+    /**
+     * Returns {@code true} if a slot within the published prefix of a
+     * reader at {@code version} has not been retired at that version.
+     */
+    boolean isLive(int slot, long version) {
+        long retired = slots.retired()[slot];
+        return retired == 0 || retired > version;
+    }
+
+    /**
+     * Return the object with the given name that is live at
+     * {@code version}, when the first {@code count} slots are published at
+     * it, or {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    V get(String name, int count, long version) {
+        int slot = visibleSlot(name, count, version);
+        return slot < 0 ? null : (V) slots.values()[slot];
+    }
+
+    /**
+     * Return the slot of the object with the given name that is live at
+     * {@code version}, when the first {@code count} slots are published at
+     * it, or {@code -1}. Slots beyond {@code count} are skipped by following
+     * the chain of earlier slots with the same name.
+     */
+    int visibleSlot(String name, int count, long version) {
+        int slot = slotOf(name);
+        if (slot < 0) {
+            return -1;
+        }
+        Slots current = slots;
+        while (slot >= count) {
+            slot = current.previous()[slot] - 1;
+            if (slot < 0) {
+                return -1;
+            }
+        }
+        long retired = current.retired()[slot];
+        return retired == 0 || retired > version ? slot : -1;
+    }
+
+    /** Return the name stored in a published slot. */
+    String nameAt(int slot) {
+        return slots.names()[slot];
+    }
+
+    /** Return the object stored in a published slot. */
+    @SuppressWarnings("unchecked")
+    V valueAt(int slot) {
+        return (V) slots.values()[slot];
+    }
+
+    /** Return the version that published a slot. */
+    long versionAt(int slot) {
+        return slots.versions()[slot];
+    }
+
+    /** Return the registration-order position of a published slot. */
+    int positionAt(int slot) {
+        return slots.positions()[slot];
+    }
+
+    /**
+     * Return the memoized fingerprint of the object in a published slot,
+     * or {@code 0} if none has been memoized yet.
+     */
+    long fingerprintAt(int slot) {
+        return (long) FINGERPRINTS.getOpaque(slots.fingerprints(), slot);
+    }
+
+    /**
+     * Memoize the fingerprint of the object in a published slot. Safe to
+     * call from any reader: the fingerprint only depends on the object, so
+     * racing readers store the same value, and one stored into arrays the
+     * writer has just replaced is merely computed again.
+     */
+    void memoizeFingerprint(int slot, long fingerprint) {
+        FINGERPRINTS.setOpaque(slots.fingerprints(), slot, fingerprint);
+    }
+
+    /**
+     * Return an unmodifiable, insertion-ordered map over the objects of the
+     * first {@code count} slots that are live at {@code version}.
+     */
+    Map<String, V> view(int count, long version) {
+        return new SnapshotMap<>(this, slots, count, version, liveCount(count, version));
+    }
+
+    /**
+     * Read-only map over a fixed prefix of the log. Iteration never fails
+     * with {@link java.util.ConcurrentModificationException} because the
+     * prefix it walks is never modified, and slots retired after the map's
+     * version are still listed.
+     */
+    private static final class SnapshotMap<V> extends AbstractMap<String, V> {
+
+        private final ObjectLog<V> log;
+        private final Slots slots;
+        private final int count;
+        private final long version;
+        private final int size;
+
+        SnapshotMap(ObjectLog<V> log, Slots slots, int count, long version, int size) {
+            this.log = log;
+            this.slots = slots;
+            this.count = count;
+            this.version = version;
+            this.size = size;
+        }
+
+        @Override
+        public V get(Object key) {
+            return key instanceof String name ? log.get(name, count, version) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<String, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, V>> iterator() {
+                    return new Iterator<>() {
+                        private int next = skipRetired(0);
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < count;
+                        }
+
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        public Entry<String, V> next() {
+                            if (next >= count) {
+                                throw new NoSuchElementException();
+                            }
+                            int slot = next;
+                            next = skipRetired(slot + 1);
+                            return new SimpleImmutableEntry<>(slots.names()[slot],
+                                    (V) slots.values()[slot]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+        /** Return the first slot at or after {@code slot} that is live at this map's version. */
+        private int skipRetired(int slot) {
+            while (slot < count && !log.isLive(slot, version)) {
+                slot++;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.sap.datadictionary.registry;
+
+/**
+ * Names one DDIC object by kind and name, whether or not an object with
+ * that name is registered.
+ *
+ * @param kind the object kind
+ * @param name the object name
+ */
+record ObjectRef(ObjectKind kind, String name) {}
@@ -0,0 +1,65 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.Structure;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.external.LockObject;
+import com.sap.datadictionary.external.SearchHelp;
+import com.sap.datadictionary.external.ViewDefinition;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.Domain;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The objects of one namespace partition of a {@link DataDictionary}.
+ * <p>
+ * Each partition owns its storage (symbol table, one {@link ObjectLog} per
+ * kind, and the {@link ReferenceIndex} of the references its objects hold)
+ * and its own writer lock, so registrations in different partitions only
+ * meet for the brief, ordered publish step.
+ * </p>
+ */
+final class Partition {
+
+    private final String name;
+    private final int id;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final SymbolTable symbols = new SymbolTable();
+    private final ObjectLog<?>[] logs = new ObjectLog<?>[ObjectKind.values().length];
+    private final ReferenceIndex references = new ReferenceIndex(symbols);
+
+    Partition(String name, int id) {
+        this.name = name;
+        this.id = id;
+        logs[ObjectKind.DOMAIN.ordinal()] = new ObjectLog<Domain>(symbols);
+        logs[ObjectKind.DATA_ELEMENT.ordinal()] = new ObjectLog<DataElement>(symbols);
+        logs[ObjectKind.TABLE.ordinal()] = new ObjectLog<TableDefinition>(symbols);
+        logs[ObjectKind.STRUCTURE.ordinal()] = new ObjectLog<Structure>(symbols);
+        logs[ObjectKind.VIEW.ordinal()] = new ObjectLog<ViewDefinition>(symbols);
+        logs[ObjectKind.SEARCH_HELP.ordinal()] = new ObjectLog<SearchHelp>(symbols);
+        logs[ObjectKind.LOCK_OBJECT.ordinal()] = new ObjectLog<LockObject>(symbols);
+    }
+
+    String name() {
+        return name;
+    }
+
+    /** Dense id, assigned in order of creation; indexes snapshot arrays. */
+    int id() {
+        return id;
+    }
+
+    ReentrantLock lock() {
+        return lock;
+    }
+
+    @SuppressWarnings("unchecked")
+    <V> ObjectLog<V> log(ObjectKind kind) {
+        return (ObjectLog<V>) logs[kind.ordinal()];
+    }
+
+    ReferenceIndex references() {
+        return references;
+    }
+}
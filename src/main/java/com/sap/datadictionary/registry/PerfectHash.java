@@ -0,0 +1,151 @@
+package com.sap.datadictionary.registry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Minimal perfect hash over a fixed set of names, used by
+ * {@link SealedCatalog}.
+ * <p>
+ * Built with the hash-and-displace (CHD) scheme: names are first hashed
+ * into buckets of about three, then, largest bucket first, each bucket is
+ * given the smallest seed that sends all its names to still-free slots.
+ * {@link #indexOf} therefore maps each of the {@code n} names to a distinct
+ * index in {@code [0, n)} with one seed lookup and two integer mixes over
+ * the cached {@link String#hashCode()}. Names outside the set map to an
+ * arbitrary index, so callers must compare the name stored there.
+ * </p>
+ * <p>
+ * Names with equal {@code hashCode()}s cannot be separated by any seed on
+ * that hash; a bucket containing such names is marked (negative seed) and
+ * hashes the characters instead.
+ * </p>
+ */
+final class PerfectHash {
+
+    private static final int MAX_SEED = 1 << 24;
+
+    private final int size;
+    private final int[] seeds;
+
+    private PerfectHash(int size, int[] seeds) {
+        this.size = size;
+        this.seeds = seeds;
+    }
+
+    /**
+     * Build a minimal perfect hash for distinct names; {@code indexOf(names[i])}
+     * is not necessarily {@code i}.
+     */
+    static PerfectHash build(String[] names) {
+        int n = names.length;
+        int bucketCount = Math.max(1, (n + 2) / 3);
+        List<List<String>> buckets = new ArrayList<>(bucketCount);
+        for (int b = 0; b < bucketCount; b++) {
+            buckets.add(new ArrayList<>(4));
+        }
+        for (String name : names) {
+            buckets.get(bucket(name.hashCode(), bucketCount)).add(name);
+        }
+        Integer[] order = new Integer[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            order[b] = b;
+        }
+        Arrays.sort(order, Comparator.comparingInt((Integer b) -> buckets.get(b).size()).reversed());
+
+        int[] seeds = new int[bucketCount];
+        boolean[] taken = new boolean[n];
+        int[] slots = new int[16];
+        for (int b : order) {
+            List<String> bucket = buckets.get(b);
+            if (bucket.isEmpty()) {
+                break;
+            }
+            boolean slow = hasEqualHashCodes(bucket);
+            if (slots.length < bucket.size()) {
+                slots = new int[bucket.size()];
+            }
+            int seed = 0;
+            while (!place(bucket, slow, seed, n, taken, slots)) {
+                if (++seed == MAX_SEED) {
+                    throw new IllegalStateException("No perfect hash seed found for " + bucket);
+                }
+            }
+            seeds[b] = slow ? ~seed : seed;
+        }
+        return new PerfectHash(n, seeds);
+    }
+
+    /** Return the index of {@code name} if it is in the set, else an arbitrary index or -1. */
+    int indexOf(String name) {
+        if (size == 0) {
+            return -1;
+        }
+        int h = name.hashCode();
+        int seed = seeds[bucket(h, seeds.length)];
+        return seed >= 0 ? slot(h, seed, size) : slot(charHash(name), ~seed, size);
+    }
+
+    /** Try to place all names of a bucket with one seed; claim their slots on success. */
+    private static boolean place(List<String> bucket, boolean slow, int seed, int n,
+                                 boolean[] taken, int[] slots) {
+        for (int i = 0; i < bucket.size(); i++) {
+            String name = bucket.get(i);
+            int slot = slot(slow ? charHash(name) : name.hashCode(), seed, n);
+            if (taken[slot]) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (slots[j] == slot) {
+                    return false;
+                }
+            }
+            slots[i] = slot;
+        }
+        for (int i = 0; i < bucket.size(); i++) {
+            taken[slots[i]] = true;
+        }
+        return true;
+    }
+
+    private static boolean hasEqualHashCodes(List<String> bucket) {
+        Set<Integer> hashes = new HashSet<>();
+        for (String name : bucket) {
+            if (!hashes.add(name.hashCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int bucket(int hash, int bucketCount) {
+        return Integer.remainderUnsigned(mix(hash), bucketCount);
+    }
+
+    private static int slot(int hash, int seed, int n) {
+        return Integer.remainderUnsigned(mix(hash ^ mix(seed + 0x9E3779B9)), n);
+    }
+
+    /** A second string hash, independent of {@link String#hashCode()}. */
+    private static int charHash(String name) {
+        int h = 0x811C9DC5;
+        for (int i = 0; i < name.length(); i++) {
+            h = (h ^ name.charAt(i)) * 0x01000193;
+        }
+        return mix(h);
+    }
+
+    /** The MurmurHash3 finalizer. */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,180 @@
+package com.sap.datadictionary.registry;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Append-only compressed bitmap over the registration-order positions of
+ * one {@link ObjectKind}, used by {@link AttributeIndex}.
+ * <p>
+ * Positions are split into chunks of 2<sup>16</sup>, as in Roaring bitmaps.
+ * A chunk holding few positions stores them as a sorted {@code char[]};
+ * once it holds more than {@value #ARRAY_MAX} it switches to a plain
+ * 1024-word bitmap. Rare attribute values therefore cost two bytes per
+ * object and common ones one bit per position.
+ * </p>
+ * <p>
+ * Positions are added in ascending order by the dictionary's publishing
+ * writer only. Readers never lock: they pass the number of positions
+ * visible at their version and ignore everything at or beyond it.
+ * </p>
+ */
+final class PositionBitmap {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int LOW_MASK = (1 << CHUNK_BITS) - 1;
+    private static final int ARRAY_MAX = 4096;
+
+    private static final VarHandle CHUNKS = MethodHandles.arrayElementVarHandle(Container[].class);
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /** Containers by chunk number; {@code null} for chunks without positions. */
+    private volatile Container[] chunks = new Container[0];
+
+    /** Number of positions added; written by the writer only. */
+    private volatile int cardinality;
+
+    /**
+     * Add a position, which must be greater than every position added
+     * before. Must only be called by the writer.
+     */
+    void add(int position) {
+        int chunk = position >>> CHUNK_BITS;
+        char low = (char) (position & LOW_MASK);
+        Container[] current = chunks;
+        if (chunk >= current.length) {
+            current = Arrays.copyOf(current, Math.max(chunk + 1, current.length * 2));
+            chunks = current;
+        }
+        Container container = (Container) CHUNKS.getAcquire(current, chunk);
+        if (container == null) {
+            container = new ArrayContainer();
+            CHUNKS.setRelease(current, chunk, container);
+        } else if (container instanceof ArrayContainer array && array.size == ARRAY_MAX) {
+            container = array.toBitmap();
+            CHUNKS.setRelease(current, chunk, container);
+        }
+        container.add(low);
+        cardinality++;
+    }
+
+    /**
+     * Return the number of positions added, including any that a reader
+     * may not see yet; used to order intersections.
+     */
+    int cardinality() {
+        return cardinality;
+    }
+
+    /** Returns {@code true} if {@code position} has been added. */
+    boolean contains(int position) {
+        Container[] current = chunks;
+        int chunk = position >>> CHUNK_BITS;
+        if (chunk >= current.length) {
+            return false;
+        }
+        Container container = (Container) CHUNKS.getAcquire(current, chunk);
+        return container != null && container.contains((char) (position & LOW_MASK));
+    }
+
+    /** Feed all positions below {@code count} to the consumer, in ascending order. */
+    void forEach(int count, IntConsumer consumer) {
+        Container[] current = chunks;
+        int lastChunk = Math.min(current.length, ((count - 1) >>> CHUNK_BITS) + 1);
+        for (int chunk = 0; count > 0 && chunk < lastChunk; chunk++) {
+            Container container = (Container) CHUNKS.getAcquire(current, chunk);
+            if (container != null) {
+                int base = chunk << CHUNK_BITS;
+                int limit = Math.min(count - base, 1 << CHUNK_BITS);
+                container.forEach(base, limit, consumer);
+            }
+        }
+    }
+
+    private abstract static sealed class Container permits ArrayContainer, BitmapContainer {
+
+        abstract void add(char low);
+
+        abstract boolean contains(char low);
+
+        /** Feed {@code base + low} for every {@code low < limit} to the consumer. */
+        abstract void forEach(int base, int limit, IntConsumer consumer);
+    }
+
+    /** Sorted array of the low 16 bits of a chunk's positions. */
+    private static final class ArrayContainer extends Container {
+
+        private volatile char[] values = new char[4];
+        private volatile int size;
+
+        @Override
+        void add(char low) {
+            char[] current = values;
+            int n = size;
+            if (n == current.length) {
+                current = Arrays.copyOf(current, Math.min(n * 2, ARRAY_MAX));
+                values = current;
+            }
+            current[n] = low;
+            size = n + 1;
+        }
+
+        @Override
+        boolean contains(char low) {
+            int n = size;
+            return Arrays.binarySearch(values, 0, n, low) >= 0;
+        }
+
+        @Override
+        void forEach(int base, int limit, IntConsumer consumer) {
+            int n = size;
+            char[] current = values;
+            for (int i = 0; i < n && current[i] < limit; i++) {
+                consumer.accept(base + current[i]);
+            }
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            char[] current = values;
+            for (int i = 0; i < size; i++) {
+                bitmap.add(current[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    /** One bit per position of a chunk. */
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words = new long[(1 << CHUNK_BITS) / Long.SIZE];
+
+        @Override
+        void add(char low) {
+            int word = low >>> 6;
+            WORDS.setRelease(words, word, (long) WORDS.getAcquire(words, word) | 1L << low);
+        }
+
+        @Override
+        boolean contains(char low) {
+            return ((long) WORDS.getAcquire(words, low >>> 6) & 1L << low) != 0;
+        }
+
+        @Override
+        void forEach(int base, int limit, IntConsumer consumer) {
+            int lastWord = (limit - 1) >>> 6;
+            for (int w = 0; w <= lastWord; w++) {
+                long bits = (long) WORDS.getAcquire(words, w);
+                if (w == lastWord && (limit & 63) != 0) {
+                    bits &= (1L << (limit & 63)) - 1;
+                }
+                while (bits != 0) {
+                    consumer.accept(base + (w << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.external.LockObject;
+import com.sap.datadictionary.external.ViewDefinition;
+import com.sap.datadictionary.internal.DataType;
+import com.sap.datadictionary.internal.Domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Recursive-descent parser for the text form of a {@link DictionaryQuery};
+ * see {@link DictionaryQuery#parse(String)} for the grammar.
+ * <p>
+ * The text is split into the symbols {@code (}, {@code )} and {@code =}
+ * and words, which are runs of any other non-blank characters, so object
+ * names need no quoting. Errors report the position of the offending word.
+ * </p>
+ */
+final class QueryParser {
+
+    /** Kind words in {@link ObjectKind} order. */
+    private static final String[] KIND_WORDS = {
+            "domain", "data-element", "table", "structure", "view", "search-help", "lock-object"};
+
+    private static final Set<String> ATTRIBUTE_WORDS = Set.of(
+            "type", "length", "delivery-class", "buffered", "view-type", "lock-mode");
+
+    private static final Set<String> FIELD_WORDS = Set.of("name", "data-element", "domain", "type", "length");
+
+    private record Token(String text, int position) {}
+
+    private final String text;
+    private final List<Token> tokens = new ArrayList<>();
+    private int next;
+
+    QueryParser(String text) {
+        this.text = text;
+        tokenize();
+    }
+
+    DictionaryQuery<?> parse() {
+        DictionaryQuery<?> query = DictionaryQuery.of(kind("s"));
+        if (accept("where")) {
+            do {
+                query = condition(query);
+            } while (accept("and"));
+        }
+        if (accept("limit")) {
+            query = query.limit(number());
+        }
+        if (next < tokens.size()) {
+            throw error("'where', 'and', 'limit' or the end of the query");
+        }
+        return query;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> DictionaryQuery<T> condition(DictionaryQuery<T> query) {
+        Token start = peek();
+        String word = keyword("a condition");
+        return switch (word) {
+            case "name" -> {
+                if (accept("like")) {
+                    yield query.named(NameQuery.matching(word("a name pattern")));
+                }
+                expect("=");
+                String name = word("a name");
+                yield query.named(NameQuery.range(name, name + '\0'));
+            }
+            case "references" -> {
+                ObjectKind kind = kind("");
+                yield query.referencing(kind, word("a name"));
+            }
+            case "used-by" -> query.usedBy(kind(""));
+            case "has" -> query.withField(field());
+            default -> query.where((AttributeFilter<T>) attribute(start, word));
+        };
+    }
+
+    private AttributeFilter<?> attribute(Token start, String attribute) {
+        if (!ATTRIBUTE_WORDS.contains(attribute)) {
+            throw error(start, "a condition");
+        }
+        expect("=");
+        return switch (attribute) {
+            case "type" -> {
+                AttributeFilter<Domain> filter = AttributeFilter.dataType(constant(DataType.class));
+                yield accept("(") ? filter.and(AttributeFilter.length(closeLength())) : filter;
+            }
+            case "length" -> AttributeFilter.length(number());
+            case "delivery-class" -> AttributeFilter.deliveryClass(constant(TableDefinition.DeliveryClass.class));
+            case "buffered" -> AttributeFilter.buffered(bool());
+            case "view-type" -> AttributeFilter.viewType(constant(ViewDefinition.ViewType.class));
+            default -> AttributeFilter.lockMode(constant(LockObject.LockMode.class));
+        };
+    }
+
+    private FieldCondition field() {
+        FieldCondition condition = accept("key") ? FieldCondition.keyField() : FieldCondition.anyField();
+        expect("field");
+        if (!accept("(")) {
+            return condition;
+        }
+        do {
+            Token start = peek();
+            String word = keyword("a field condition");
+            if (!FIELD_WORDS.contains(word)) {
+                throw error(start, "a field condition");
+            }
+            expect("=");
+            condition = switch (word) {
+                case "name" -> condition.named(word("a field name"));
+                case "data-element" -> condition.dataElement(word("a data element name"));
+                case "domain" -> condition.domain(word("a domain name"));
+                case "type" -> {
+                    FieldCondition typed = condition.dataType(constant(DataType.class));
+                    yield accept("(") ? typed.length(closeLength()) : typed;
+                }
+                default -> condition.length(number());
+            };
+        } while (accept("and"));
+        expect(")");
+        return condition;
+    }
+
+    /** Parse the rest of {@code "(" length ")"} after the opening parenthesis. */
+    private int closeLength() {
+        int length = number();
+        expect(")");
+        return length;
+    }
+
+    /** Parse a kind word, with {@code suffix} ("s" for the plural) appended. */
+    private ObjectKind kind(String suffix) {
+        String expected = "an object kind such as '" + KIND_WORDS[2] + suffix + "'";
+        Token start = peek();
+        String word = keyword(expected);
+        for (int i = 0; i < KIND_WORDS.length; i++) {
+            if (word.equals(KIND_WORDS[i] + suffix)) {
+                return ObjectKind.values()[i];
+            }
+        }
+        throw error(start, expected);
+    }
+
+    private <E extends Enum<E>> E constant(Class<E> type) {
+        Token start = peek();
+        String word = word("a " + type.getSimpleName() + " value");
+        try {
+            return Enum.valueOf(type, word.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw error(start, "a " + type.getSimpleName() + " value");
+        }
+    }
+
+    private boolean bool() {
+        Token start = peek();
+        String word = keyword("'true' or 'false'");
+        if (!word.equals("true") && !word.equals("false")) {
+            throw error(start, "'true' or 'false'");
+        }
+        return word.equals("true");
+    }
+
+    private int number() {
+        Token start = peek();
+        String word = word("a number");
+        try {
+            return Integer.parseInt(word);
+        } catch (NumberFormatException e) {
+            throw error(start, "a number");
+        }
+    }
+
+    /** Consume the next token if it is the given keyword or symbol. */
+    private boolean accept(String keyword) {
+        if (next < tokens.size() && tokens.get(next).text().equalsIgnoreCase(keyword)) {
+            next++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String keyword) {
+        if (!accept(keyword)) {
+            throw error("'" + keyword + "'");
+        }
+    }
+
+    private String keyword(String expected) {
+        return word(expected).toLowerCase(Locale.ROOT);
+    }
+
+    private String word(String expected) {
+        Token token = peek();
+        if (token == null || isSymbol(token.text())) {
+            throw error(expected);
+        }
+        next++;
+        return token.text();
+    }
+
+    private Token peek() {
+        return next < tokens.size() ? tokens.get(next) : null;
+    }
+
+    private IllegalArgumentException error(String expected) {
+        return error(peek(), expected);
+    }
+
+    private IllegalArgumentException error(Token token, String expected) {
+        String found = token == null ? "the end of the query" : "'" + token.text() + "'";
+        int position = token == null ? text.length() : token.position();
+        return new IllegalArgumentException("Invalid query at position " + position + ": expected "
+                + expected + " but found " + found);
+    }
+
+    private void tokenize() {
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (isSymbol(String.valueOf(c))) {
+                tokens.add(new Token(String.valueOf(c), i++));
+            } else {
+                int start = i;
+                while (i < text.length() && !Character.isWhitespace(text.charAt(i))
+                        && !isSymbol(String.valueOf(text.charAt(i)))) {
+                    i++;
+                }
+                tokens.add(new Token(text.substring(start, i), start));
+            }
+        }
+    }
+
+    private static boolean isSymbol(String token) {
+        return token.equals("(") || token.equals(")") || token.equals("=");
+    }
+}
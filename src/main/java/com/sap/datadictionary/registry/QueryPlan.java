@@ -0,0 +1,278 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.FieldDefinition;
+import com.sap.datadictionary.conceptual.Structure;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.internal.Domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * How a {@link DictionaryQuery} is answered on a pinned dictionary view:
+ * the {@link AccessPath} that produces candidate objects, and the criteria
+ * then checked on each candidate.
+ * <p>
+ * Every criterion that an index can answer offers an access path with an
+ * estimated number of candidates, and the planner drives the query from
+ * the cheapest one:
+ * </p>
+ * <ul>
+ *   <li>a reference criterion reads the objects referencing the named
+ *       object from the reverse-reference index; the estimate is exact,
+ *       because the lookup costs no more than its answer;</li>
+ *   <li>an attribute criterion intersects the attribute bitmaps, estimated
+ *       by the frequency of the rarest value;</li>
+ *   <li>a field criterion on the Data Element, Domain, data type or length
+ *       finds the matching Domains and Data Elements and joins them to
+ *       their Tables or Structures through the reverse-reference index;</li>
+ *   <li>a name range seeks in the sorted name index, assumed to select a
+ *       tenth of the names;</li>
+ *   <li>a used-by criterion reads the references of every object of the
+ *       using kind, estimated by their number;</li>
+ *   <li>otherwise all objects of the kind are scanned.</li>
+ * </ul>
+ * <p>
+ * Criteria the driving path answers exactly are not checked again; all
+ * others are checked on every candidate. Candidates, and therefore
+ * results, are in registration order. Large candidate sets are checked in
+ * parallel.
+ * </p>
+ */
+public final class QueryPlan {
+
+    /** The ways of finding candidates, preferred in this order between equal estimates. */
+    public enum AccessPath {
+        /** Objects that reference a named object, from the reverse-reference index. */
+        REFERENCE_INDEX,
+        /** Objects with given attribute values, from the attribute bitmaps. */
+        ATTRIBUTE_INDEX,
+        /** Tables or Structures with fields of given Data Elements or Domains, through the reverse-reference index. */
+        FIELD_INDEX,
+        /** Objects in a name range, from the sorted name index. */
+        NAME_INDEX,
+        /** Objects referenced by any object of a using kind, read from those objects. */
+        USING_OBJECTS,
+        /** All objects of the kind. */
+        SCAN
+    }
+
+    /** Candidate counts from which candidates are checked in parallel. */
+    static final int PARALLEL_THRESHOLD = 4096;
+
+    /** Assumed share of names, 1 in this many, selected by a name range. */
+    private static final int RANGE_SELECTIVITY = 10;
+
+    private record Criterion(String description, BiPredicate<String, Object> test) {}
+
+    private record Option(AccessPath path, String description, long estimate,
+                          Supplier<List<String>> candidates, Criterion answered) {}
+
+    private final DataDictionary view;
+    private final DictionaryQuery<?> query;
+    private final Option driver;
+    private final List<Criterion> residual;
+
+    private QueryPlan(DataDictionary view, DictionaryQuery<?> query, Option driver, List<Criterion> residual) {
+        this.view = view;
+        this.query = query;
+        this.driver = driver;
+        this.residual = residual;
+    }
+
+    /** Plan {@code query} against a pinned, read-only {@code view}. */
+    static QueryPlan plan(DataDictionary view, DictionaryQuery<?> query) {
+        ObjectKind kind = query.kind();
+        List<Criterion> criteria = new ArrayList<>();
+        List<Option> options = new ArrayList<>();
+
+        for (ObjectRef ref : query.references()) {
+            Criterion criterion = new Criterion("references " + ref.kind().label().toLowerCase() + " " + ref.name(),
+                    (name, value) -> DataDictionary.referencesOf(value).contains(ref));
+            criteria.add(criterion);
+            List<String> names = view.findReferencing(ref.kind(), ref.name(), kind);
+            options.add(new Option(AccessPath.REFERENCE_INDEX, criterion.description(), names.size(),
+                    () -> names, criterion));
+        }
+
+        AttributeFilter<?> filter = query.attributes();
+        if (filter != null) {
+            Map<AttributeIndex.Attribute, Object> terms = filter.terms();
+            Criterion criterion = new Criterion(filter.toString(), (name, value) -> terms != null
+                    && terms.entrySet().stream()
+                            .allMatch(term -> term.getValue().equals(term.getKey().valueOf(value))));
+            criteria.add(criterion);
+            options.add(new Option(AccessPath.ATTRIBUTE_INDEX, criterion.description(), view.estimate(filter),
+                    () -> new ArrayList<>(view.find(filter).keySet()), criterion));
+        }
+
+        for (FieldCondition field : query.fields()) {
+            Criterion criterion = new Criterion("has " + field,
+                    (name, value) -> fieldsOf(value, field.keyOnly()).stream().anyMatch(field::matches));
+            criteria.add(criterion);
+            List<String> names = fieldCandidates(view, kind, field);
+            if (names != null) {
+                options.add(new Option(AccessPath.FIELD_INDEX, criterion.description(), names.size(),
+                        () -> names, null));
+            }
+        }
+
+        NameQuery names = query.names();
+        if (names != null) {
+            Criterion criterion = new Criterion(names.isBounded() ? "name range" : "name pattern",
+                    (name, value) -> names.matches(name));
+            criteria.add(criterion);
+            if (names.isBounded()) {
+                options.add(new Option(AccessPath.NAME_INDEX, criterion.description(),
+                        view.objects(kind).size() / RANGE_SELECTIVITY + 1,
+                        () -> nameCandidates(view, kind, names), criterion));
+            }
+        }
+
+        for (ObjectKind dependent : query.usedBy()) {
+            Criterion criterion = new Criterion("used by a " + dependent.label().toLowerCase(),
+                    (name, value) -> !view.findReferencing(kind, name, dependent).isEmpty());
+            criteria.add(criterion);
+            options.add(new Option(AccessPath.USING_OBJECTS, criterion.description(),
+                    view.objects(dependent).size(), () -> usedCandidates(view, kind, dependent), criterion));
+        }
+
+        Option driver = new Option(AccessPath.SCAN, "all " + kind.label().toLowerCase() + "s",
+                view.objects(kind).size(), null, null);
+        for (Option option : options) {
+            if (option.estimate() <= driver.estimate()
+                    && (driver.path() == AccessPath.SCAN || option.estimate() < driver.estimate())) {
+                driver = option;
+            }
+        }
+        criteria.remove(driver.answered());
+        return new QueryPlan(view, query, driver, List.copyOf(criteria));
+    }
+
+    /** Return the access path that produces the candidates. */
+    public AccessPath accessPath() {
+        return driver.path();
+    }
+
+    /** Return the criterion the access path is driven by, or what a scan reads. */
+    public String driver() {
+        return driver.description();
+    }
+
+    /** Return the estimated number of candidates, or of objects read for {@link AccessPath#USING_OBJECTS}. */
+    public long estimate() {
+        return driver.estimate();
+    }
+
+    /** Return the criteria checked on each candidate. */
+    public List<String> residual() {
+        return residual.stream().map(Criterion::description).toList();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner checks = new StringJoiner(" and ", ", then check ", "").setEmptyValue("");
+        residual.forEach(criterion -> checks.add(criterion.description()));
+        return driver.path() + " (" + driver.description() + ", ~" + driver.estimate() + ")" + checks;
+    }
+
+    /** Produce the candidates and lazily check the residual criteria and limit. */
+    @SuppressWarnings("unchecked")
+    <T> Stream<T> execute() {
+        ObjectKind kind = query.kind();
+        Stream<Map.Entry<String, Object>> rows;
+        if (driver.candidates() == null) {
+            rows = stream(new ArrayList<>(view.<Object>objects(kind).entrySet()));
+        } else {
+            rows = stream(driver.candidates().get()).map(name -> {
+                Object value = view.get(kind, name);
+                return value == null ? null : Map.entry(name, value);
+            }).filter(Objects::nonNull);
+        }
+        return (Stream<T>) rows.filter(row -> matches(row.getKey(), row.getValue()))
+                .limit(query.limit())
+                .map(Map.Entry::getValue);
+    }
+
+    private boolean matches(String name, Object value) {
+        for (Criterion criterion : residual) {
+            if (!criterion.test().test(name, value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <E> Stream<E> stream(List<E> list) {
+        return list.size() >= PARALLEL_THRESHOLD ? list.parallelStream() : list.stream();
+    }
+
+    private static List<FieldDefinition> fieldsOf(Object value, boolean keysOnly) {
+        if (value instanceof TableDefinition table) {
+            return keysOnly ? table.getKeyFields() : table.getFields();
+        }
+        return ((Structure) value).getFields();
+    }
+
+    /**
+     * Return the Tables or Structures that use a Data Element the field
+     * condition allows, or {@code null} if it does not restrict them.
+     */
+    private static List<String> fieldCandidates(DataDictionary view, ObjectKind kind, FieldCondition field) {
+        Collection<String> elements;
+        if (field.dataElementName() != null) {
+            elements = List.of(field.dataElementName());
+        } else {
+            AttributeFilter<Domain> filter = field.domainFilter();
+            Collection<String> domains;
+            if (field.domainName() != null) {
+                domains = List.of(field.domainName());
+            } else if (filter != null) {
+                domains = view.find(filter).keySet();
+            } else {
+                return null;
+            }
+            elements = new LinkedHashSet<>();
+            for (String domain : domains) {
+                elements.addAll(view.findReferencing(ObjectKind.DOMAIN, domain, ObjectKind.DATA_ELEMENT));
+            }
+        }
+        Set<String> names = new HashSet<>();
+        for (String element : elements) {
+            names.addAll(view.findReferencing(ObjectKind.DATA_ELEMENT, element, kind));
+        }
+        return view.inRegistrationOrder(kind, names);
+    }
+
+    private static List<String> nameCandidates(DataDictionary view, ObjectKind kind, NameQuery query) {
+        List<String> names = new ArrayList<>();
+        for (String name : view.candidates(kind, query)) {
+            if (query.matches(name) && view.get(kind, name) != null) {
+                names.add(name);
+            }
+        }
+        return view.inRegistrationOrder(kind, names);
+    }
+
+    private static List<String> usedCandidates(DataDictionary view, ObjectKind kind, ObjectKind dependent) {
+        Set<String> names = new HashSet<>();
+        for (Object user : view.objects(dependent).values()) {
+            for (ObjectRef ref : DataDictionary.referencesOf(user)) {
+                if (ref.kind() == kind && view.get(kind, ref.name()) != null) {
+                    names.add(ref.name());
+                }
+            }
+        }
+        return view.inRegistrationOrder(kind, names);
+    }
+}
@@ -0,0 +1,168 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.FieldDefinition;
+import com.sap.datadictionary.conceptual.Structure;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.external.LockObject;
+import com.sap.datadictionary.external.SearchHelp;
+import com.sap.datadictionary.external.ViewDefinition;
+import com.sap.datadictionary.internal.DataElement;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the copies a cascading update in a {@link DataDictionary} replaces
+ * dependents with.
+ * <p>
+ * Objects reference each other directly, so when an object is replaced
+ * every object that references it, directly or through other dependents,
+ * still points at the previous version. The dictionary rebinds them by
+ * copying: each copy has the same name and attributes as the original but
+ * references the replacements registered with {@link #replace}. Copying
+ * instead of editing in place leaves the originals, and with them every
+ * older version of the dictionary, untouched.
+ * </p>
+ * <p>
+ * Dependents must be rebound after everything they reference. Across kinds
+ * that is {@link ObjectKind} order; within a kind, where Views select from
+ * Views and Structures include Structures, the dependents to be rebound
+ * are announced with {@link #defer} first, and a dependent that references
+ * a deferred one rebinds it on the spot. In a dependency cycle, the member
+ * reached again keeps referencing the previous version.
+ * </p>
+ */
+final class Rebinder {
+
+    private final Map<ObjectRef, Object> replacements = new HashMap<>();
+    private final Map<ObjectRef, Object> deferred = new HashMap<>();
+
+    /** Record that {@code ref} is replaced by {@code value}. */
+    void replace(ObjectRef ref, Object value) {
+        replacements.put(ref, value);
+    }
+
+    /** Record that {@code ref}, currently {@code value}, will be rebound. */
+    void defer(ObjectRef ref, Object value) {
+        deferred.put(ref, value);
+    }
+
+    /**
+     * Return a copy of {@code value} whose references point at their
+     * replacements, and record it as the replacement of {@code value}. If
+     * the object was already rebound for a dependent, return that copy.
+     */
+    Object rebind(ObjectKind kind, String name, Object value) {
+        ObjectRef ref = new ObjectRef(kind, name);
+        if (deferred.remove(ref) == null && replacements.containsKey(ref)) {
+            return replacements.get(ref);
+        }
+        Object copy = switch (value) {
+            case DataElement element -> copy(element);
+            case TableDefinition table -> copy(table);
+            case Structure structure -> copy(structure);
+            case ViewDefinition view -> copy(view);
+            case SearchHelp help -> copy(help);
+            case LockObject lock -> copy(lock);
+            default -> value;
+        };
+        replace(ref, copy);
+        return copy;
+    }
+
+    private DataElement copy(DataElement element) {
+        DataElement copy = new DataElement(element.getName(),
+                resolve(ObjectKind.DOMAIN, element.getDomain().getName(), element.getDomain()));
+        copy.setShortLabel(element.getShortLabel());
+        copy.setMediumLabel(element.getMediumLabel());
+        copy.setLongLabel(element.getLongLabel());
+        copy.setDocumentation(element.getDocumentation());
+        return copy;
+    }
+
+    private TableDefinition copy(TableDefinition table) {
+        TableDefinition copy = new TableDefinition(table.getTableName());
+        copy.setDescription(table.getDescription());
+        copy.setDeliveryClass(table.getDeliveryClass());
+        copy.setBuffered(table.isBuffered());
+        for (FieldDefinition field : table.getFields()) {
+            copy.addField(copy(field));
+        }
+        copy.trimToSize();
+        return copy;
+    }
+
+    private Structure copy(Structure structure) {
+        Structure copy = new Structure(structure.getStructureName());
+        copy.setDescription(structure.getDescription());
+        for (FieldDefinition field : structure.getFields()) {
+            copy.addField(copy(field));
+        }
+        for (Structure include : structure.getIncludes()) {
+            copy.addInclude(resolve(ObjectKind.STRUCTURE, include.getStructureName(), include));
+        }
+        copy.trimToSize();
+        return copy;
+    }
+
+    private FieldDefinition copy(FieldDefinition field) {
+        DataElement element = field.getDataElement();
+        return new FieldDefinition(field.getFieldName(),
+                resolve(ObjectKind.DATA_ELEMENT, element.getName(), element),
+                field.isKeyField(), field.isNullable());
+    }
+
+    private ViewDefinition copy(ViewDefinition view) {
+        ViewDefinition copy = new ViewDefinition(view.getViewName(), view.getViewType());
+        copy.setDescription(view.getDescription());
+        for (TableDefinition table : view.getBaseTables()) {
+            copy.addBaseTable(resolve(ObjectKind.TABLE, table.getTableName(), table));
+        }
+        for (ViewDefinition baseView : view.getBaseViews()) {
+            copy.addBaseView(resolve(ObjectKind.VIEW, baseView.getViewName(), baseView));
+        }
+        for (String field : view.getSelectedFields()) {
+            copy.addSelectedField(field);
+        }
+        return copy;
+    }
+
+    private SearchHelp copy(SearchHelp help) {
+        SearchHelp copy = new SearchHelp(help.getName());
+        copy.setDescription(help.getDescription());
+        TableDefinition table = help.getSelectionMethod();
+        if (table != null) {
+            copy.setSelectionMethod(resolve(ObjectKind.TABLE, table.getTableName(), table));
+        }
+        for (String field : help.getDisplayFields()) {
+            copy.addDisplayField(field);
+        }
+        for (String field : help.getExportFields()) {
+            copy.addExportField(field);
+        }
+        return copy;
+    }
+
+    private LockObject copy(LockObject lock) {
+        TableDefinition primary = lock.getPrimaryTable();
+        LockObject copy = new LockObject(lock.getName(),
+                resolve(ObjectKind.TABLE, primary.getTableName(), primary));
+        copy.setDescription(lock.getDescription());
+        copy.setLockMode(lock.getLockMode());
+        for (TableDefinition table : lock.getSecondaryTables()) {
+            copy.addSecondaryTable(resolve(ObjectKind.TABLE, table.getTableName(), table));
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> V resolve(ObjectKind kind, String name, V current) {
+        ObjectRef ref = new ObjectRef(kind, name);
+        Object pending = deferred.remove(ref);
+        if (pending != null) {
+            return (V) rebind(kind, name, pending);
+        }
+        Object replacement = replacements.get(ref);
+        return replacement != null ? (V) replacement : current;
+    }
+}
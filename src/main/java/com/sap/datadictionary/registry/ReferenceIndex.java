@@ -0,0 +1,287 @@
+package com.sap.datadictionary.registry;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Reverse-reference index of a {@link DataDictionary}: for every referenced
+ * object it records which objects refer to it.
+ * <p>
+ * The index covers the references that where-used analysis follows:
+ * </p>
+ * <ul>
+ *   <li>Domain → Data Elements</li>
+ *   <li>Data Element → Tables and Structures (through their fields)</li>
+ *   <li>Table → Views, Search Helps and Lock Objects</li>
+ *   <li>Structure → Structures that include it</li>
+ *   <li>View → Views that select from it</li>
+ * </ul>
+ * <p>
+ * References are keyed by name, exactly as the former full scans compared
+ * them. Names are interned in the dictionary's {@link SymbolTable}, and
+ * because symbol ids are dense the lists are kept in plain arrays indexed
+ * by id, one per referenced kind, rather than in hash maps. Each dependent
+ * is stored as one packed {@code int} holding its {@link ObjectKind} and
+ * slot. Entries are appended in registration order by the dictionary's
+ * single writer, so a reader pinned to an older version simply stops at
+ * the first entry it cannot see yet. Lookups are therefore O(result size)
+ * and need no locking.
+ * </p>
+ * <p>
+ * Entries are never removed from a list's history. When a dependent is
+ * updated or removed its slot is retired in its {@link ObjectLog}, callers
+ * skip entries whose slot is not live at their version, and a replacement
+ * records its own references under its new slot. So that objects updated
+ * over and over do not leave readers of the current version scanning their
+ * whole history, the dictionary reports each {@linkplain #retire
+ * retirement}, and once half of the entries a list hands to such readers
+ * are retired it compacts them into a new run of live entries. Readers
+ * pinned to a version before that compaction keep scanning the history.
+ * </p>
+ */
+final class ReferenceIndex {
+
+    private static final ObjectKind[] KINDS = ObjectKind.values();
+
+    private static final VarHandle LISTS = MethodHandles.arrayElementVarHandle(References[].class);
+
+    private final SymbolTable symbols;
+
+    /**
+     * Reference lists by referenced kind, then by symbol id of the
+     * referenced name. Search Helps and Lock Objects are never
+     * referenced; their arrays stay empty. Grown by copying and
+     * republishing the outer array.
+     */
+    private volatile References[][] bySymbol = new References[KINDS.length][0];
+
+    ReferenceIndex(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * Record that the object in {@code dependentSlot} of {@code dependentKind}
+     * references the named object. Must only be called by the writer.
+     */
+    void add(ObjectKind referencedKind, String referencedName,
+             ObjectKind dependentKind, int dependentSlot) {
+        int symbol = symbols.intern(referencedName);
+        References[] lists = bySymbol[referencedKind.ordinal()];
+        if (symbol >= lists.length) {
+            lists = Arrays.copyOf(lists, Math.max(symbol + 1, lists.length * 2));
+            References[][] grown = bySymbol.clone();
+            grown[referencedKind.ordinal()] = lists;
+            bySymbol = grown;
+        }
+        References refs = lists[symbol];
+        if (refs == null) {
+            refs = new References();
+            LISTS.setRelease(lists, symbol, refs);
+        }
+        refs.append(dependentKind, dependentSlot);
+    }
+
+    /**
+     * Record that the dependent that referenced the named object was
+     * retired at {@code version}; {@code live} tells which dependents are
+     * live at that version. Must only be called by the writer, before
+     * {@code version} is published.
+     */
+    void retire(ObjectKind referencedKind, String referencedName, long version, DependentFilter live) {
+        References refs = get(referencedKind, symbols.lookup(referencedName));
+        if (refs != null) {
+            refs.retire(version, live);
+        }
+    }
+
+    /**
+     * Return the references to the named object, or {@code null} if it has
+     * never been referenced.
+     */
+    References get(ObjectKind referencedKind, String referencedName) {
+        return get(referencedKind, symbols.lookup(referencedName));
+    }
+
+    /**
+     * Return the references to the object whose name has the given symbol
+     * id, or {@code null} if it has never been referenced.
+     */
+    References get(ObjectKind referencedKind, int symbol) {
+        References[] lists = bySymbol[referencedKind.ordinal()];
+        if (symbol < 0 || symbol >= lists.length) {
+            return null;
+        }
+        return (References) LISTS.getAcquire(lists, symbol);
+    }
+
+    /**
+     * Append-only list of the objects referring to one object, in
+     * registration order.
+     * <p>
+     * Each dependent is packed into a single {@code int}: its kind in the
+     * top {@value #KIND_BITS} bits and its slot below. No version is
+     * stored: slots and versions grow together, so a dependent is visible
+     * to a reader exactly when its slot is below the reader's count for its
+     * kind, and since the list is in registration order the first invisible
+     * entry ends the scan.
+     * </p>
+     * <p>
+     * Besides the full history, a list that has seen enough retirements
+     * holds a compacted {@link Run} of the entries that were still live at
+     * the version it was built for, in the same order, and appends new
+     * entries to both. A reader at that version or later scans the run.
+     * </p>
+     */
+    static final class References {
+
+        static final int KIND_BITS = 3;
+        private static final int SLOT_BITS = Integer.SIZE - KIND_BITS;
+        private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+        /** Retired entries tolerated in the scanned entries before compacting. */
+        private static final int MIN_RETIRED = 4;
+
+        private volatile int[] entries = new int[2];
+        private volatile int size;
+
+        /** The compacted live entries, or {@code null} while none were retired. */
+        private volatile Run live;
+
+        /** Number of retired entries in the run, or the history if none; writer only. */
+        private int retired;
+
+        private void append(ObjectKind kind, int slot) {
+            if (slot > SLOT_MASK) {
+                throw new IllegalStateException("Too many objects of kind " + kind);
+            }
+            int entry = kind.ordinal() << SLOT_BITS | slot;
+            int[] current = entries;
+            int n = size;
+            if (n == current.length) {
+                current = Arrays.copyOf(current, n * 2);
+                entries = current;
+            }
+            current[n] = entry;
+            size = n + 1;
+            Run run = live;
+            if (run != null) {
+                run.append(entry);
+            }
+        }
+
+        private void retire(long version, DependentFilter filter) {
+            Run run = live;
+            int n = run != null ? run.size : size;
+            retired++;
+            if (retired < MIN_RETIRED || retired * 2 < n) {
+                return;
+            }
+            int[] scanned = run != null ? run.entries : entries;
+            int[] kept = new int[Math.max(2, n - retired)];
+            int k = 0;
+            for (int i = 0; i < n; i++) {
+                if (filter.test(KINDS[scanned[i] >>> SLOT_BITS], scanned[i] & SLOT_MASK)) {
+                    if (k == kept.length) {
+                        kept = Arrays.copyOf(kept, k * 2);
+                    }
+                    kept[k++] = scanned[i];
+                }
+            }
+            live = new Run(kept, k, version);
+            retired = 0;
+        }
+
+        /** Return the entries to scan at {@code version}: the run if it was built at or before it. */
+        private Run runAt(long version) {
+            Run run = live;
+            return run != null && run.since <= version ? run : null;
+        }
+
+        /**
+         * Feed all dependents visible to a reader at {@code version} with
+         * the given per-kind object counts to the consumer, in registration
+         * order. Dependents retired at that version may be included.
+         */
+        void forEach(int[] counts, long version, DependentConsumer consumer) {
+            Run run = runAt(version);
+            int n = run != null ? run.size : size;
+            int[] current = run != null ? run.entries : entries;
+            for (int i = 0; i < n; i++) {
+                int kind = current[i] >>> SLOT_BITS;
+                int slot = current[i] & SLOT_MASK;
+                if (slot >= counts[kind]) {
+                    return;
+                }
+                consumer.accept(KINDS[kind], slot);
+            }
+        }
+
+        /**
+         * Feed the slots of all dependents of the given kind that are
+         * visible to a reader at {@code version} with the given per-kind
+         * object counts to the consumer, in registration order; see
+         * {@link #forEach(int[], long, DependentConsumer)}.
+         */
+        void forEach(ObjectKind kind, int[] counts, long version, SlotConsumer consumer) {
+            Run run = runAt(version);
+            int n = run != null ? run.size : size;
+            int[] current = run != null ? run.entries : entries;
+            int wanted = kind.ordinal();
+            for (int i = 0; i < n; i++) {
+                int entryKind = current[i] >>> SLOT_BITS;
+                int slot = current[i] & SLOT_MASK;
+                if (slot >= counts[entryKind]) {
+                    return;
+                }
+                if (entryKind == wanted) {
+                    consumer.accept(slot);
+                }
+            }
+        }
+    }
+
+    /**
+     * The entries of a list that were live at version {@code since}, in
+     * registration order, followed by those appended since. Appended to
+     * like the history; replaced, never trimmed, by the next compaction.
+     */
+    private static final class Run {
+
+        private final long since;
+        private volatile int[] entries;
+        private volatile int size;
+
+        Run(int[] entries, int size, long since) {
+            this.entries = entries;
+            this.size = size;
+            this.since = since;
+        }
+
+        void append(int entry) {
+            int[] current = entries;
+            int n = size;
+            if (n == current.length) {
+                current = Arrays.copyOf(current, n * 2);
+                entries = current;
+            }
+            current[n] = entry;
+            size = n + 1;
+        }
+    }
+
+    @FunctionalInterface
+    interface SlotConsumer {
+        void accept(int slot);
+    }
+
+    @FunctionalInterface
+    interface DependentConsumer {
+        void accept(ObjectKind kind, int slot);
+    }
+
+    @FunctionalInterface
+    interface DependentFilter {
+        boolean test(ObjectKind kind, int slot);
+    }
+}
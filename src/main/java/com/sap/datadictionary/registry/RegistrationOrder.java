@@ -0,0 +1,168 @@
+package com.sap.datadictionary.registry;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Dictionary-wide registration order of the objects of one
+ * {@link ObjectKind}, across all partitions.
+ * <p>
+ * Each entry packs the partition id and slot of one object into a
+ * {@code long}. Entries are appended by the dictionary's publish step, one
+ * at a time and in version order, so the first {@code n} entries are
+ * exactly the objects published to a reader that sees {@code n} entries of
+ * this kind. An update appends the replacement as a new entry, so entries
+ * whose slot has been retired at the reader's version are skipped. Like
+ * {@link ObjectLog} the order has a single writer and lock-free readers.
+ * </p>
+ */
+final class RegistrationOrder {
+
+    private volatile long[] entries = new long[16];
+
+    /** Number of entries; only accessed by the writer. */
+    private int size;
+
+    /**
+     * Append an object and return its position. Must only be called by the
+     * writer, before the object is published.
+     */
+    int append(int partitionId, int slot) {
+        long[] current = entries;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+            entries = current;
+        }
+        current[size] = (long) partitionId << 32 | slot;
+        return size++;
+    }
+
+    /** Return the name of the object at a published position. */
+    String nameAt(int position, Partition[] partitions, ObjectKind kind) {
+        long entry = entries[position];
+        return partitions[(int) (entry >>> 32)].log(kind).nameAt((int) entry);
+    }
+
+    /** Returns {@code true} if the object at a published position is live at {@code version}. */
+    boolean isLive(int position, Partition[] partitions, ObjectKind kind, long version) {
+        long entry = entries[position];
+        return partitions[(int) (entry >>> 32)].log(kind).isLive((int) entry, version);
+    }
+
+    /** Return the id of the partition holding the object at a published position. */
+    int partitionAt(int position) {
+        return (int) (entries[position] >>> 32);
+    }
+
+    /** Return the slot of the object at a published position within its partition. */
+    int slotAt(int position) {
+        return (int) entries[position];
+    }
+
+    /**
+     * Return an unmodifiable, insertion-ordered map over the objects among
+     * the first {@code count} entries that are live at {@code version}.
+     *
+     * @param size       the number of those objects
+     * @param lookup     finds a visible object by name, or returns {@code null}
+     * @param partitions the partitions visible to the reader, by id
+     */
+    <V> Map<String, V> view(int count, long version, int size, Function<String, V> lookup,
+                            Partition[] partitions, ObjectKind kind) {
+        return new OrderedMap<>(entries, count, version, size, lookup, partitions, kind);
+    }
+
+    /**
+     * Read-only map over a fixed prefix of the order. Iteration never fails
+     * with {@link java.util.ConcurrentModificationException} because the
+     * prefix it walks is never modified.
+     */
+    private static final class OrderedMap<V> extends AbstractMap<String, V> {
+
+        private final long[] entries;
+        private final int count;
+        private final long version;
+        private final int size;
+        private final Function<String, V> lookup;
+        private final Partition[] partitions;
+        private final ObjectKind kind;
+
+        OrderedMap(long[] entries, int count, long version, int size, Function<String, V> lookup,
+                   Partition[] partitions, ObjectKind kind) {
+            this.entries = entries;
+            this.count = count;
+            this.version = version;
+            this.size = size;
+            this.lookup = lookup;
+            this.partitions = partitions;
+            this.kind = kind;
+        }
+
+        @Override
+        public V get(Object key) {
+            return key instanceof String name ? lookup.apply(name) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<String, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, V>> iterator() {
+                    return new Iterator<>() {
+                        private int next = skipRetired(0);
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < count;
+                        }
+
+                        @Override
+                        public Entry<String, V> next() {
+                            if (next >= count) {
+                                throw new NoSuchElementException();
+                            }
+                            long entry = entries[next];
+                            next = skipRetired(next + 1);
+                            ObjectLog<V> log = partitions[(int) (entry >>> 32)].log(kind);
+                            int slot = (int) entry;
+                            return new SimpleImmutableEntry<>(log.nameAt(slot), log.valueAt(slot));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+        /** Return the first position at or after {@code position} that is live at this map's version. */
+        private int skipRetired(int position) {
+            while (position < count) {
+                long entry = entries[position];
+                if (partitions[(int) (entry >>> 32)].log(kind).isLive((int) entry, version)) {
+                    break;
+                }
+                position++;
+            }
+            return position;
+        }
+    }
+}
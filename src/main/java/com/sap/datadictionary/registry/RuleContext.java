@@ -0,0 +1,64 @@
+package com.sap.datadictionary.registry;
+
+import java.util.List;
+
+/**
+ * What a {@link ValidationRule} sees while it checks an object: the pinned
+ * version of the dictionary being validated, and where findings go.
+ * <p>
+ * Findings are reported as a code, a message template with {@code {0}},
+ * {@code {1}}, ... placeholders, and the arguments for them; the message
+ * is only rendered when read.
+ * </p>
+ */
+public final class RuleContext {
+
+    private final DataDictionary dictionary;
+    private final String rule;
+    private final FindingSink findings;
+
+    RuleContext(DataDictionary dictionary, String rule, FindingSink findings) {
+        this.dictionary = dictionary;
+        this.rule = rule;
+        this.findings = findings;
+    }
+
+    /** Return the read-only version of the dictionary being validated. */
+    public DataDictionary dictionary() {
+        return dictionary;
+    }
+
+    /** Report a broken reference or other definite problem. */
+    public void error(String code, String template, Object... arguments) {
+        report(ValidationResult.Severity.ERROR, code, template, arguments);
+    }
+
+    /** Report a broken reference or other definite problem, coded by the rule's name. */
+    public void error(String message) {
+        report(ValidationResult.Severity.ERROR, rule, message);
+    }
+
+    /** Report a potential issue that may deserve attention. */
+    public void warning(String code, String template, Object... arguments) {
+        report(ValidationResult.Severity.WARNING, code, template, arguments);
+    }
+
+    /** Report a potential issue that may deserve attention, coded by the rule's name. */
+    public void warning(String message) {
+        report(ValidationResult.Severity.WARNING, rule, message);
+    }
+
+    private void report(ValidationResult.Severity severity, String code, String template, Object... arguments) {
+        if (code == null || template == null) {
+            throw new IllegalArgumentException("Finding code and template must not be null");
+        }
+        Object[] values = arguments;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null) {
+                values = values == arguments ? arguments.clone() : values;
+                values[i] = "null";
+            }
+        }
+        findings.accept(new ValidationResult.Finding(severity, code, template, List.of(values)));
+    }
+}
@@ -0,0 +1,219 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.Structure;
+import com.sap.datadictionary.conceptual.TableDefinition;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable, read-optimized copy of a {@link DataDictionary}, compiled by
+ * {@link DataDictionary#seal()}.
+ * <p>
+ * For every {@link ObjectKind} the catalog holds the names and objects in
+ * two flat arrays, in registration order, and a {@link PerfectHash} from
+ * name to array index. A lookup is one perfect-hash probe plus one string
+ * comparison and does not allocate, and the per-kind map returned to
+ * callers is built once, so {@code getTables()} and friends return the
+ * same instance every time. Compiling also builds the cached field and
+ * key-field lists of every Table and Structure, so the first call on a hot
+ * path does not pay for them either.
+ * </p>
+ */
+final class SealedCatalog {
+
+    private static final ObjectKind[] KINDS = ObjectKind.values();
+
+    private final Section<?>[] sections;
+
+    private SealedCatalog(Section<?>[] sections) {
+        this.sections = sections;
+    }
+
+    /** Compile the objects listed by {@code source}, kind by kind. */
+    static SealedCatalog compile(Function<ObjectKind, Map<String, ?>> source) {
+        Section<?>[] sections = new Section<?>[KINDS.length];
+        for (ObjectKind kind : KINDS) {
+            Map<String, ?> objects = source.apply(kind);
+            String[] names = new String[objects.size()];
+            Object[] values = new Object[objects.size()];
+            int i = 0;
+            for (Map.Entry<String, ?> entry : objects.entrySet()) {
+                names[i] = entry.getKey();
+                values[i] = entry.getValue();
+                switch (values[i]) {
+                    case TableDefinition table -> {
+                        table.getFields();
+                        table.getKeyFields();
+                    }
+                    case Structure structure -> structure.getFields();
+                    default -> { }
+                }
+                i++;
+            }
+            sections[kind.ordinal()] = new Section<>(names, values);
+        }
+        return new SealedCatalog(sections);
+    }
+
+    /** Return the object of the given kind and name, or {@code null}. */
+    <V> V get(ObjectKind kind, String name) {
+        return this.<V>view(kind).get(name);
+    }
+
+    /** Return the unmodifiable, registration-ordered map of all objects of a kind. */
+    @SuppressWarnings("unchecked")
+    <V> Map<String, V> view(ObjectKind kind) {
+        return (Map<String, V>) sections[kind.ordinal()];
+    }
+
+    /**
+     * The objects of one kind. Slot {@code i} of {@code names} and
+     * {@code values} is the {@code i}-th object in registration order;
+     * {@code index} maps the perfect-hash index of a name to that slot.
+     */
+    private static final class Section<V> extends AbstractMap<String, V> {
+
+        private final String[] names;
+        private final Object[] values;
+        private final PerfectHash hash;
+        private final int[] index;
+
+        Section(String[] names, Object[] values) {
+            this.names = names;
+            this.values = values;
+            this.hash = PerfectHash.build(names);
+            this.index = new int[names.length];
+            for (int slot = 0; slot < names.length; slot++) {
+                index[hash.indexOf(names[slot])] = slot;
+            }
+        }
+
+        private int slotOf(Object key) {
+            if (!(key instanceof String name)) {
+                return -1;
+            }
+            int i = hash.indexOf(name);
+            if (i < 0) {
+                return -1;
+            }
+            int slot = index[i];
+            return names[slot].equals(name) ? slot : -1;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            int slot = slotOf(key);
+            return slot < 0 ? null : (V) values[slot];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return slotOf(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return names.length;
+        }
+
+        @Override
+        public Collection<V> values() {
+            return new AbstractCollection<>() {
+                @Override
+                public Iterator<V> iterator() {
+                    return new ArrayIterator<>(values);
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            };
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<String> iterator() {
+                    return new ArrayIterator<>(names);
+                }
+
+                @Override
+                public boolean contains(Object key) {
+                    return containsKey(key);
+                }
+
+                @Override
+                public int size() {
+                    return names.length;
+                }
+            };
+        }
+
+        @Override
+        public Set<Entry<String, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, V>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < names.length;
+                        }
+
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        public Entry<String, V> next() {
+                            if (next >= names.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int slot = next++;
+                            return new SimpleImmutableEntry<>(names[slot], (V) values[slot]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return names.length;
+                }
+            };
+        }
+    }
+
+    private static final class ArrayIterator<T> implements Iterator<T> {
+
+        private final Object[] items;
+        private int next;
+
+        ArrayIterator(Object[] items) {
+            this.items = items;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < items.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (next >= items.length) {
+                throw new NoSuchElementException();
+            }
+            return (T) items[next++];
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.sap.datadictionary.registry;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Dictionary-wide table that interns object names to dense {@code int}
+ * ids, numbered from zero in the order the names were first seen.
+ * <p>
+ * The registry's internal structures ({@link ObjectLog}'s name index,
+ * {@link ReferenceIndex}) are keyed by these ids, so every name is hashed
+ * and stored once and the structures behind it can use primitive arrays
+ * instead of boxed, string-keyed maps.
+ * </p>
+ * <p>
+ * The name → id direction is an open-addressing hash table with linear
+ * probing. Like the rest of the registry it has a single writer (the
+ * dictionary's commit lock) and lock-free readers: a key is published with
+ * a release store after its id has been written, and the table is replaced
+ * wholesale when it grows.
+ * </p>
+ */
+final class SymbolTable {
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(String[].class);
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Hash table; its size is a power of two and at most half full. */
+    private volatile Table table = new Table(new String[INITIAL_CAPACITY], new int[INITIAL_CAPACITY]);
+
+    /** Names by id. */
+    private volatile String[] names = new String[INITIAL_CAPACITY];
+
+    /** Number of interned names; only accessed by the writer. */
+    private int size;
+
+    private record Table(String[] keys, int[] ids) {}
+
+    /** Return the id of {@code name}, or {@code -1} if it has never been interned. */
+    int lookup(String name) {
+        Table current = table;
+        String[] keys = current.keys();
+        int mask = keys.length - 1;
+        for (int i = hash(name) & mask; ; i = (i + 1) & mask) {
+            String key = (String) KEYS.getAcquire(keys, i);
+            if (key == null) {
+                return -1;
+            }
+            if (key.equals(name)) {
+                return current.ids()[i];
+            }
+        }
+    }
+
+    /**
+     * Return the id of {@code name}, assigning the next free id if it has
+     * not been interned yet. Must only be called by the writer.
+     */
+    int intern(String name) {
+        int id = lookup(name);
+        if (id >= 0) {
+            return id;
+        }
+        id = size++;
+        String[] byId = names;
+        if (id == byId.length) {
+            byId = Arrays.copyOf(byId, id * 2);
+        }
+        byId[id] = name;
+        names = byId;
+
+        Table current = table;
+        if (size * 2 > current.keys().length) {
+            current = rehash(current, current.keys().length * 2);
+            table = current;
+        }
+        insert(current, name, id, true);
+        return id;
+    }
+
+    /** Return the name with the given id. */
+    String name(int id) {
+        return names[id];
+    }
+
+    /** Return the number of interned names. */
+    int size() {
+        return size;
+    }
+
+    private static Table rehash(Table old, int capacity) {
+        Table grown = new Table(new String[capacity], new int[capacity]);
+        String[] keys = old.keys();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                insert(grown, keys[i], old.ids()[i], false);
+            }
+        }
+        return grown;
+    }
+
+    private static void insert(Table table, String name, int id, boolean publish) {
+        String[] keys = table.keys();
+        int mask = keys.length - 1;
+        int i = hash(name) & mask;
+        while (keys[i] != null) {
+            i = (i + 1) & mask;
+        }
+        table.ids()[i] = id;
+        if (publish) {
+            KEYS.setRelease(keys, i, name);
+        } else {
+            keys[i] = name;
+        }
+    }
+
+    /** Spread {@link String#hashCode()}, which is cached, over the low bits. */
+    private static int hash(String name) {
+        int h = name.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
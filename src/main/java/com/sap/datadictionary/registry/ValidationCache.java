@@ -0,0 +1,151 @@
+package com.sap.datadictionary.registry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The findings of {@link ValidationRule}s per object, kept across
+ * validation runs, validators and, saved by the
+ * {@code DictionaryRepository}, restarts.
+ * <p>
+ * Findings are filed under the rule's name and a key made of the object's
+ * {@linkplain DataDictionary#fingerprintOf fingerprint} and what the rule
+ * can see of the objects it references directly (see
+ * {@link ValidationRule}): whether each is registered, and whether as the
+ * very instance referenced. A {@link ConsistencyValidator} given a cache
+ * looks each object up before checking it and only runs the rules whose
+ * findings are not cached, so re-validating an unchanged dictionary costs
+ * one fingerprint lookup and one hash probe per reference per object.
+ * {@linkplain ValidationRule#isGlobal() Global} rules are not cached.
+ * </p>
+ * <p>
+ * Keys do not depend on where or when an object was registered, so an
+ * object removed and registered again, or the same definition in another
+ * dictionary, finds its findings too. A run that checked every object
+ * drops the entries of its rules that it did not use, so the cache does
+ * not grow with the history of the dictionary. Entries are keyed by rule
+ * name: {@link #clear()} the cache when a rule changes what it reports.
+ * </p>
+ * <p>
+ * A cache may be shared by any number of validators and runs at once.
+ * </p>
+ */
+public final class ValidationCache {
+
+    /**
+     * The findings one rule reported for an object with the given key.
+     *
+     * @param rule     the rule's name
+     * @param key      the key the findings are filed under
+     * @param findings the findings, empty if there were none
+     */
+    public record Entry(String rule, long key, List<ValidationResult.Finding> findings) {
+
+        public Entry {
+            findings = List.copyOf(findings);
+        }
+    }
+
+    /** Cached findings and the last run that used them. */
+    private static final class Cached {
+        final List<ValidationResult.Finding> findings;
+        volatile long run;
+
+        Cached(List<ValidationResult.Finding> findings, long run) {
+            this.findings = findings;
+            this.run = run;
+        }
+    }
+
+    private final Map<String, Map<Long, Cached>> byRule = new ConcurrentHashMap<>();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /** Create an empty cache. */
+    public ValidationCache() {
+    }
+
+    /** Create a cache holding {@code entries}, e.g. as saved by a previous process. */
+    public ValidationCache(Collection<Entry> entries) {
+        for (Entry entry : entries) {
+            put(entry.rule(), entry.key(), entry.findings(), 0);
+        }
+    }
+
+    /** Start a run and return its number, which stamps the entries it uses. */
+    long startRun() {
+        return runs.incrementAndGet();
+    }
+
+    /** Return the findings filed for a rule and key, or {@code null}, and stamp them with {@code run}. */
+    List<ValidationResult.Finding> get(String rule, long key, long run) {
+        Map<Long, Cached> entries = byRule.get(rule);
+        Cached cached = entries == null ? null : entries.get(key);
+        if (cached == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        cached.run = run;
+        return cached.findings;
+    }
+
+    /** File the findings a rule reported for an object with the given key. */
+    void put(String rule, long key, List<ValidationResult.Finding> findings, long run) {
+        byRule.computeIfAbsent(rule, name -> new ConcurrentHashMap<>())
+                .put(key, new Cached(List.copyOf(findings), run));
+    }
+
+    /**
+     * Drop the entries of the given rules that {@code run}, which checked
+     * every object, did not use.
+     */
+    void retainUsed(Collection<String> rules, long run) {
+        for (String rule : rules) {
+            Map<Long, Cached> entries = byRule.get(rule);
+            if (entries != null) {
+                entries.values().removeIf(cached -> cached.run < run);
+            }
+        }
+    }
+
+    /** Return all entries, by rule name and then key, e.g. to save them. */
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>();
+        byRule.forEach((rule, cached) -> cached.forEach((key, value) ->
+                entries.add(new Entry(rule, key, value.findings))));
+        entries.sort(Comparator.comparing(Entry::rule).thenComparingLong(Entry::key));
+        return entries;
+    }
+
+    /** Return the number of entries. */
+    public int size() {
+        return byRule.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /** Return how many lookups found cached findings. */
+    public long hits() {
+        return hits.get();
+    }
+
+    /** Return how many lookups found none, so that the rule ran. */
+    public long misses() {
+        return misses.get();
+    }
+
+    /** Drop every entry. */
+    public void clear() {
+        byRule.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationCache{entries=" + size() + ", hits=" + hits() + ", misses=" + misses() + "}";
+    }
+}
@@ -1,5 +1,6 @@
 package com.sap.datadictionary.registry;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -12,6 +13,14 @@ import java.util.List;
  * (a potential issue that may deserve attention).
  * </p>
  * <p>
+ * Errors and warnings are counted as they are added, so the counts and
+ * {@link #isValid()}, {@link #hasErrors()} and {@link #hasWarnings()} cost
+ * constant time. A result may keep only the first findings of a run (see
+ * {@link ConsistencyValidator#validate(java.util.Collection, int)}), or
+ * none when they were streamed to a {@link FindingSink}; the counts then
+ * still cover every finding reported before the run stopped.
+ * </p>
+ * <p>
  * Findings are added by {@link ConsistencyValidator}; the mutation methods
  * are intentionally package-private to keep this class read-only for
  * external consumers.
@@ -23,60 +32,191 @@ public class ValidationResult {
     public enum Severity { ERROR, WARNING }
 
     /**
-     * A single validation finding.
+     * A single validation finding. Its message is only rendered when asked
+     * for, so collecting findings builds no strings.
      *
-     * @param severity  ERROR or WARNING
-     * @param message   human-readable description of the problem
+     * @param severity   ERROR or WARNING
+     * @param code       identifies the kind of problem, e.g. {@code DOMAIN_NOT_REGISTERED}
+     * @param template   message text in which {@code {0}}, {@code {1}}, ... stand for the arguments
+     * @param arguments  the values inserted into the template
+     */
+    public record Finding(Severity severity, String code, String template, List<Object> arguments) {
+
+        public Finding {
+            arguments = List.copyOf(arguments);
+        }
+
+        /** Returns the human-readable description of the problem. */
+        public String message() {
+            if (arguments.isEmpty()) {
+                return template;
+            }
+            StringBuilder message = new StringBuilder(template.length() + 16 * arguments.size());
+            int i = 0;
+            while (i < template.length()) {
+                char c = template.charAt(i);
+                if (c == '{') {
+                    int close = template.indexOf('}', i);
+                    int index = close > i + 1 ? argumentIndex(template, i + 1, close) : -1;
+                    if (index >= 0 && index < arguments.size()) {
+                        message.append(arguments.get(index));
+                        i = close + 1;
+                        continue;
+                    }
+                }
+                message.append(c);
+                i++;
+            }
+            return message.toString();
+        }
+
+        private static int argumentIndex(String template, int from, int to) {
+            int index = 0;
+            for (int i = from; i < to; i++) {
+                char c = template.charAt(i);
+                if (c < '0' || c > '9' || index > 1000) {
+                    return -1;
+                }
+                index = index * 10 + (c - '0');
+            }
+            return index;
+        }
+    }
+
+    /**
+     * What one {@link ValidationRule} did during a run.
+     *
+     * @param rule      the rule's name
+     * @param objects   number of objects it checked
+     * @param findings  number of findings it reported
+     * @param time      time spent in the rule, summed over all threads
+     */
+    public record RuleStatistics(String rule, long objects, long findings, Duration time) {}
+
+    private final List<Finding> findings;
+    private final List<RuleStatistics> statistics = new ArrayList<>();
+    private final int maxFindings;
+    private long errors;
+    private long warnings;
+    private boolean truncated;
+
+    public ValidationResult() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /** Create a result that keeps at most {@code maxFindings} findings. */
+    ValidationResult(int maxFindings) {
+        this.findings = new ArrayList<>();
+        this.maxFindings = maxFindings;
+    }
+
+    /**
+     * Create a complete result over {@code findings}, which must not change
+     * and hold {@code errors} ERRORs and {@code warnings} WARNINGs. Nothing
+     * can be added to it.
      */
-    public record Finding(Severity severity, String message) {}
+    ValidationResult(List<Finding> findings, long errors, long warnings) {
+        this.findings = findings;
+        this.maxFindings = 0;
+        this.errors = errors;
+        this.warnings = warnings;
+    }
 
-    private final List<Finding> findings = new ArrayList<>();
+    /** Count a finding and keep it if there is room; returns whether it was kept. */
+    boolean add(Finding finding) {
+        count(finding);
+        if (findings.size() < maxFindings) {
+            findings.add(finding);
+            return true;
+        }
+        truncated = true;
+        return false;
+    }
+
+    /** Count a finding without keeping it. */
+    void count(Finding finding) {
+        if (finding.severity() == Severity.ERROR) {
+            errors++;
+        } else {
+            warnings++;
+        }
+    }
 
-    void addError(String message) {
-        findings.add(new Finding(Severity.ERROR, message));
+    void addAll(List<Finding> more) {
+        for (Finding finding : more) {
+            add(finding);
+        }
     }
 
-    void addWarning(String message) {
-        findings.add(new Finding(Severity.WARNING, message));
+    void addStatistics(RuleStatistics rule) {
+        statistics.add(rule);
+    }
+
+    /** Mark the result as not covering every object, because the run stopped early. */
+    void truncate() {
+        truncated = true;
     }
 
     /** Returns {@code true} when no ERRORs or WARNINGs were recorded. */
     public boolean isValid() {
-        return findings.isEmpty();
+        return errors == 0 && warnings == 0;
     }
 
     /** Returns {@code true} when at least one ERROR was recorded. */
     public boolean hasErrors() {
-        return findings.stream().anyMatch(f -> f.severity() == Severity.ERROR);
+        return errors > 0;
     }
 
     /** Returns {@code true} when at least one WARNING was recorded. */
     public boolean hasWarnings() {
-        return findings.stream().anyMatch(f -> f.severity() == Severity.WARNING);
+        return warnings > 0;
+    }
+
+    /** Returns the number of ERRORs recorded, kept or not. */
+    public long getErrorCount() {
+        return errors;
     }
 
-    /** Returns an unmodifiable list of all findings. */
+    /** Returns the number of WARNINGs recorded, kept or not. */
+    public long getWarningCount() {
+        return warnings;
+    }
+
+    /**
+     * Returns {@code true} when the run stopped at its finding limit, so
+     * some objects were not checked or some findings were not kept.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /** Returns an unmodifiable list of the findings kept. */
     public List<Finding> getFindings() {
         return Collections.unmodifiableList(findings);
     }
 
-    /** Returns only the ERROR findings. */
+    /** Returns only the ERROR findings kept. */
     public List<Finding> getErrors() {
         return findings.stream()
                 .filter(f -> f.severity() == Severity.ERROR)
                 .toList();
     }
 
-    /** Returns only the WARNING findings. */
+    /** Returns only the WARNING findings kept. */
     public List<Finding> getWarnings() {
         return findings.stream()
                 .filter(f -> f.severity() == Severity.WARNING)
                 .toList();
     }
 
+    /** Returns what each rule that ran did, in the order the rules ran. */
+    public List<RuleStatistics> getRuleStatistics() {
+        return Collections.unmodifiableList(statistics);
+    }
+
     @Override
     public String toString() {
-        return "ValidationResult{errors=" + getErrors().size()
-                + ", warnings=" + getWarnings().size() + '}';
+        return "ValidationResult{errors=" + errors
+                + ", warnings=" + warnings + (truncated ? ", truncated" : "") + '}';
     }
 }
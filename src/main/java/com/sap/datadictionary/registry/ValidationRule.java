@@ -0,0 +1,76 @@
+package com.sap.datadictionary.registry;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A consistency check that a {@link ConsistencyValidator} applies to every
+ * registered object of the kinds it visits, e.g. a naming convention for
+ * Tables or a limit on key length.
+ * <p>
+ * A rule is called concurrently by parallel runs and must keep no state
+ * between calls. Besides the checked object, it may look up the objects
+ * that object references, such as the Domain of a Data Element, in
+ * {@link RuleContext#dictionary()}: incremental runs re-check an object
+ * when it or one of those changes, and miss other lookups. A rule whose
+ * findings depend on objects it does not reference, such as the members
+ * of a dependency cycle, declares itself {@link #isGlobal() global}.
+ * </p>
+ */
+public interface ValidationRule {
+
+    /** Return the name that identifies the rule when runs select rules. */
+    String name();
+
+    /** Return the kinds of object the rule checks. */
+    Set<ObjectKind> kinds();
+
+    /** Check one object of a visited kind and report findings to {@code context}. */
+    void check(Object object, RuleContext context);
+
+    /**
+     * Return {@code true} if a change to any object of the visited kinds
+     * can change the findings of every other, so that incremental runs
+     * re-check all of them. Defaults to {@code false}.
+     */
+    default boolean isGlobal() {
+        return false;
+    }
+
+    /**
+     * Create a rule for the objects of one kind.
+     *
+     * @param <T> the class of the objects of {@code kind}, e.g. {@code TableDefinition} for Tables
+     * @throws IllegalArgumentException if an argument is {@code null}
+     */
+    static <T> ValidationRule of(String name, ObjectKind kind, BiConsumer<? super T, RuleContext> check) {
+        if (name == null || kind == null || check == null) {
+            throw new IllegalArgumentException("Rule name, kind and check must not be null");
+        }
+        Set<ObjectKind> kinds = Collections.unmodifiableSet(EnumSet.of(kind));
+        return new ValidationRule() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Set<ObjectKind> kinds() {
+                return kinds;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void check(Object object, RuleContext context) {
+                check.accept((T) object, context);
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+}
@@ -1,15 +1,5 @@
 package com.sap.datadictionary.registry;
 
-import com.sap.datadictionary.conceptual.FieldDefinition;
-import com.sap.datadictionary.conceptual.Structure;
-import com.sap.datadictionary.conceptual.TableDefinition;
-import com.sap.datadictionary.external.LockObject;
-import com.sap.datadictionary.external.SearchHelp;
-import com.sap.datadictionary.external.ViewDefinition;
-import com.sap.datadictionary.internal.DataElement;
-import com.sap.datadictionary.internal.Domain;
-
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +9,24 @@ import java.util.Map;
  * <p>
  * Given a DDIC object, finds all other objects that reference it.
  * This enables impact analysis when changing or deleting an object.
+ * Each analysis runs against a {@linkplain DataDictionary#snapshot() pinned
+ * version} of the dictionary so that concurrent registrations cannot mix
+ * two versions into one answer.
+ * </p>
+ * <p>
+ * Lookups are served from the dictionary's reverse-reference index
+ * ({@link ReferenceIndex}), which is maintained at registration time, so
+ * each query costs time proportional to the number of usages found rather
+ * than to the size of the dictionary. Results list the referencing objects
+ * in registration order.
+ * </p>
+ * <p>
+ * The full analyses ({@link #findAllUsagesOfDomain},
+ * {@link #findAllUsagesOfDataElement}) follow references transitively up to
+ * the external layer and list every affected object once, in breadth-first
+ * order. Their results are memoized by the dictionary's
+ * {@link DependencyGraph} until a registration touches the analysed object's
+ * dependency chain.
  * </p>
  */
 public class WhereUsedAnalyzer {
@@ -36,47 +44,20 @@ public class WhereUsedAnalyzer {
      * Find all Data Elements that reference the given Domain.
      */
     public List<String> findDataElementsUsingDomain(String domainName) {
-        List<String> result = new ArrayList<>();
-        for (DataElement element : dictionary.getDataElements().values()) {
-            if (element.getDomain().getName().equals(domainName)) {
-                result.add(element.getName());
-            }
-        }
-        return result;
+        return dictionary.snapshot()
+                .findReferencing(ObjectKind.DOMAIN, domainName, ObjectKind.DATA_ELEMENT);
     }
 
     /**
      * Find all Tables and Structures that have fields using the given Data Element.
      */
     public Map<String, List<String>> findTablesUsingDataElement(String dataElementName) {
+        DataDictionary view = dictionary.snapshot();
         Map<String, List<String>> result = new LinkedHashMap<>();
-
-        List<String> tables = new ArrayList<>();
-        for (TableDefinition table : dictionary.getTables().values()) {
-            for (FieldDefinition field : table.getFields()) {
-                if (field.getDataElement().getName().equals(dataElementName)) {
-                    tables.add(table.getTableName());
-                    break;
-                }
-            }
-        }
-        if (!tables.isEmpty()) {
-            result.put("tables", tables);
-        }
-
-        List<String> structures = new ArrayList<>();
-        for (Structure structure : dictionary.getStructures().values()) {
-            for (FieldDefinition field : structure.getFields()) {
-                if (field.getDataElement().getName().equals(dataElementName)) {
-                    structures.add(structure.getStructureName());
-                    break;
-                }
-            }
-        }
-        if (!structures.isEmpty()) {
-            result.put("structures", structures);
-        }
-
+        putIfNotEmpty(result, "tables", view.findReferencing(
+                ObjectKind.DATA_ELEMENT, dataElementName, ObjectKind.TABLE));
+        putIfNotEmpty(result, "structures", view.findReferencing(
+                ObjectKind.DATA_ELEMENT, dataElementName, ObjectKind.STRUCTURE));
         return result;
     }
 
@@ -84,49 +65,14 @@ public class WhereUsedAnalyzer {
      * Find all objects that reference the given Table: Views, Search Helps, Lock Objects.
      */
     public Map<String, List<String>> findUsagesOfTable(String tableName) {
+        DataDictionary view = dictionary.snapshot();
         Map<String, List<String>> result = new LinkedHashMap<>();
-
-        List<String> views = new ArrayList<>();
-        for (ViewDefinition view : dictionary.getViews().values()) {
-            for (TableDefinition baseTable : view.getBaseTables()) {
-                if (baseTable.getTableName().equals(tableName)) {
-                    views.add(view.getViewName());
-                    break;
-                }
-            }
-        }
-        if (!views.isEmpty()) {
-            result.put("views", views);
-        }
-
-        List<String> searchHelps = new ArrayList<>();
-        for (SearchHelp help : dictionary.getSearchHelps().values()) {
-            if (help.getSelectionMethod() != null
-                    && help.getSelectionMethod().getTableName().equals(tableName)) {
-                searchHelps.add(help.getName());
-            }
-        }
-        if (!searchHelps.isEmpty()) {
-            result.put("searchHelps", searchHelps);
-        }
-
-        List<String> lockObjects = new ArrayList<>();
-        for (LockObject lock : dictionary.getLockObjects().values()) {
-            if (lock.getPrimaryTable().getTableName().equals(tableName)) {
-                lockObjects.add(lock.getName());
-            } else {
-                for (TableDefinition sec : lock.getSecondaryTables()) {
-                    if (sec.getTableName().equals(tableName)) {
-                        lockObjects.add(lock.getName());
-                        break;
-                    }
-                }
-            }
-        }
-        if (!lockObjects.isEmpty()) {
-            result.put("lockObjects", lockObjects);
-        }
-
+        putIfNotEmpty(result, "views", view.findReferencing(
+                ObjectKind.TABLE, tableName, ObjectKind.VIEW));
+        putIfNotEmpty(result, "searchHelps", view.findReferencing(
+                ObjectKind.TABLE, tableName, ObjectKind.SEARCH_HELP));
+        putIfNotEmpty(result, "lockObjects", view.findReferencing(
+                ObjectKind.TABLE, tableName, ObjectKind.LOCK_OBJECT));
         return result;
     }
 
@@ -135,40 +81,38 @@ public class WhereUsedAnalyzer {
      * Returns a map with keys: dataElements, tables, structures, views, searchHelps, lockObjects.
      */
     public Map<String, List<String>> findAllUsagesOfDomain(String domainName) {
+        return toResult(dictionary.snapshot().findImpact(ObjectKind.DOMAIN, domainName));
+    }
+
+    /**
+     * Perform a full where-used analysis for a Data Element across all layers.
+     * Returns a map with keys: tables, structures, views, searchHelps, lockObjects.
+     */
+    public Map<String, List<String>> findAllUsagesOfDataElement(String dataElementName) {
+        return toResult(dictionary.snapshot().findImpact(ObjectKind.DATA_ELEMENT, dataElementName));
+    }
+
+    private static Map<String, List<String>> toResult(Map<ObjectKind, List<String>> impact) {
         Map<String, List<String>> result = new LinkedHashMap<>();
+        impact.forEach((kind, names) -> result.put(resultKey(kind), names));
+        return result;
+    }
 
-        List<String> dataElements = findDataElementsUsingDomain(domainName);
-        if (!dataElements.isEmpty()) {
-            result.put("dataElements", dataElements);
-        }
+    private static String resultKey(ObjectKind kind) {
+        return switch (kind) {
+            case DOMAIN -> "domains";
+            case DATA_ELEMENT -> "dataElements";
+            case TABLE -> "tables";
+            case STRUCTURE -> "structures";
+            case VIEW -> "views";
+            case SEARCH_HELP -> "searchHelps";
+            case LOCK_OBJECT -> "lockObjects";
+        };
+    }
 
-        // Find tables/structures that use those data elements
-        List<String> tables = new ArrayList<>();
-        List<String> structures = new ArrayList<>();
-        for (String deName : dataElements) {
-            Map<String, List<String>> deUsages = findTablesUsingDataElement(deName);
-            if (deUsages.containsKey("tables")) {
-                for (String t : deUsages.get("tables")) {
-                    if (!tables.contains(t)) {
-                        tables.add(t);
-                    }
-                }
-            }
-            if (deUsages.containsKey("structures")) {
-                for (String s : deUsages.get("structures")) {
-                    if (!structures.contains(s)) {
-                        structures.add(s);
-                    }
-                }
-            }
+    private static void putIfNotEmpty(Map<String, List<String>> result, String key, List<String> names) {
+        if (!names.isEmpty()) {
+            result.put(key, names);
         }
-        if (!tables.isEmpty()) {
-            result.put("tables", tables);
-        }
-        if (!structures.isEmpty()) {
-            result.put("structures", structures);
-        }
-
-        return result;
     }
 }
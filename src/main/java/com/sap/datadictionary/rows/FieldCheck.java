@@ -0,0 +1,344 @@
+package com.sap.datadictionary.rows;
+
+import com.sap.datadictionary.conceptual.FieldDefinition;
+import com.sap.datadictionary.internal.DataType;
+import com.sap.datadictionary.internal.Domain;
+import com.sap.datadictionary.internal.ValueChecker;
+import com.sap.datadictionary.internal.ValueRange;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The compiled checks of one field of a {@link RowValidator}.
+ * <p>
+ * Text values are checked by the Domain's {@link ValueChecker}s. Typed
+ * values are checked against the Domain's length and decimals directly:
+ * numbers for {@code INTEGER}, {@code NUMC} and {@code DECIMAL},
+ * {@link LocalDate}, {@link LocalTime} and {@link LocalDateTime} for
+ * {@code DATE}, {@code TIME} and {@code TIMESTAMP}, and {@code byte[]}
+ * for {@code RAW}. For them the fixed values and intervals are compiled
+ * into sorted arrays of the same representation: {@code long}s such as
+ * {@code 20240131} for a date, or {@link BigDecimal}s, so a typed value
+ * is looked up by binary search without being formatted. A
+ * {@code DECIMAL} domain with a value range wraps {@code long} values into
+ * a {@link BigDecimal} to look them up, and a {@code RAW} domain with
+ * intervals formats the bytes as hexadecimal digits.
+ * </p>
+ */
+final class FieldCheck {
+
+    final String name;
+    final boolean key;
+    final boolean nullable;
+    final Domain domain;
+    private final DataType type;
+    private final int length;
+    private final int decimals;
+    private final ValueChecker format;
+    /** Checks text against the value range, or {@code null} if the Domain has none. */
+    private final ValueChecker range;
+    /** Sorted typed fixed values of integer, NUMC, date and time Domains, or {@code null}. */
+    private final long[] fixedNumbers;
+    /** Sorted, disjoint typed intervals of integer, NUMC, date and time Domains, or {@code null}. */
+    private final long[] numberLows;
+    private final long[] numberHighs;
+    /** Sorted fixed values of a decimal Domain, or {@code null}. */
+    private final BigDecimal[] fixedDecimals;
+    /** Sorted, disjoint intervals of a decimal Domain, or {@code null}. */
+    private final BigDecimal[] decimalLows;
+    private final BigDecimal[] decimalHighs;
+    /** Upper-case fixed values of a raw Domain, or {@code null}. */
+    private final String[] fixedRaw;
+    /** The intervals of a raw Domain, or {@code null} if it has none. */
+    private final ValueRange rawIntervals;
+
+    FieldCheck(FieldDefinition field) {
+        this.name = field.getFieldName();
+        this.key = field.isKeyField();
+        this.nullable = field.isNullable();
+        this.domain = field.getDataElement().getDomain();
+        this.type = domain.getDataType();
+        this.length = domain.getLength();
+        this.decimals = domain.getDecimals();
+        this.format = ValueChecker.compileFormat(domain);
+        ValueRange valueRange = domain.getValueRange();
+        boolean restricted = valueRange != null && !valueRange.isEmpty();
+        this.range = restricted ? ValueChecker.compile(domain) : null;
+        List<String> values = new ArrayList<>();
+        List<ValueRange.Interval> intervals = new ArrayList<>();
+        if (restricted) {
+            for (String value : valueRange.getFixedValues()) {
+                if (format.accepts(value)) {
+                    values.add(value);
+                }
+            }
+            intervals.addAll(valueRange.getIntervals());
+        }
+        boolean numbers = restricted && (type == DataType.INTEGER || type == DataType.NUMC
+                || type == DataType.DATE || type == DataType.TIME || type == DataType.TIMESTAMP);
+        this.fixedNumbers = numbers ? numbers(values) : null;
+        long[][] numberIntervals = numbers ? numberIntervals(intervals) : null;
+        this.numberLows = numbers ? numberIntervals[0] : null;
+        this.numberHighs = numbers ? numberIntervals[1] : null;
+        boolean decimal = restricted && type == DataType.DECIMAL;
+        this.fixedDecimals = decimal ? values.stream().map(BigDecimal::new).sorted().toArray(BigDecimal[]::new) : null;
+        BigDecimal[][] decimalIntervals = decimal ? decimalIntervals(intervals) : null;
+        this.decimalLows = decimal ? decimalIntervals[0] : null;
+        this.decimalHighs = decimal ? decimalIntervals[1] : null;
+        boolean raw = restricted && type == DataType.RAW;
+        this.fixedRaw = raw ? values.stream().map(value -> value.toUpperCase(Locale.ROOT)).toArray(String[]::new) : null;
+        if (raw && !intervals.isEmpty()) {
+            this.rawIntervals = new ValueRange();
+            intervals.forEach(interval -> rawIntervals.addInterval(interval.low(), interval.high()));
+        } else {
+            this.rawIntervals = null;
+        }
+    }
+
+    /** Return the fixed values that are numbers, sorted. */
+    private static long[] numbers(List<String> values) {
+        long[] numbers = new long[values.size()];
+        int n = 0;
+        for (String value : values) {
+            try {
+                numbers[n] = Long.parseLong(value);
+                n++;
+            } catch (NumberFormatException e) {
+                // NUMC longer than a long: only text values can match it
+            }
+        }
+        numbers = Arrays.copyOf(numbers, n);
+        Arrays.sort(numbers);
+        return numbers;
+    }
+
+    /**
+     * Return the low and high bounds of the intervals as numbers, sorted and
+     * merged. A high bound beyond the range of a {@code long} is clamped;
+     * intervals that do not start within it are left out.
+     */
+    private static long[][] numberIntervals(List<ValueRange.Interval> intervals) {
+        List<long[]> bounds = new ArrayList<>();
+        for (ValueRange.Interval interval : intervals) {
+            try {
+                long low = Long.parseLong(interval.low());
+                long high;
+                try {
+                    high = Long.parseLong(interval.high());
+                } catch (NumberFormatException e) {
+                    high = Long.MAX_VALUE;
+                }
+                bounds.add(new long[] {low, high});
+            } catch (NumberFormatException e) {
+                // Not a number, or beyond a long: only text values can fall within it
+            }
+        }
+        bounds.sort((a, b) -> Long.compare(a[0], b[0]));
+        long[] lows = new long[bounds.size()];
+        long[] highs = new long[bounds.size()];
+        int n = 0;
+        for (long[] interval : bounds) {
+            if (n > 0 && interval[0] <= highs[n - 1]) {
+                highs[n - 1] = Math.max(highs[n - 1], interval[1]);
+            } else {
+                lows[n] = interval[0];
+                highs[n] = interval[1];
+                n++;
+            }
+        }
+        return new long[][] {Arrays.copyOf(lows, n), Arrays.copyOf(highs, n)};
+    }
+
+    /** Return the low and high bounds of the intervals as decimals, sorted and merged. */
+    private static BigDecimal[][] decimalIntervals(List<ValueRange.Interval> intervals) {
+        List<BigDecimal[]> bounds = new ArrayList<>();
+        for (ValueRange.Interval interval : intervals) {
+            try {
+                bounds.add(new BigDecimal[] {new BigDecimal(interval.low()), new BigDecimal(interval.high())});
+            } catch (NumberFormatException e) {
+                // Not a number: only text values can fall within it
+            }
+        }
+        bounds.sort((a, b) -> a[0].compareTo(b[0]));
+        List<BigDecimal> lows = new ArrayList<>();
+        List<BigDecimal> highs = new ArrayList<>();
+        for (BigDecimal[] interval : bounds) {
+            int last = highs.size() - 1;
+            if (last >= 0 && interval[0].compareTo(highs.get(last)) <= 0) {
+                highs.set(last, highs.get(last).max(interval[1]));
+            } else {
+                lows.add(interval[0]);
+                highs.add(interval[1]);
+            }
+        }
+        return new BigDecimal[][] {lows.toArray(BigDecimal[]::new), highs.toArray(BigDecimal[]::new)};
+    }
+
+    /** Return what is wrong with {@code value}, or {@code null} if it is valid. */
+    RowViolation check(Object value) {
+        if (value == null) {
+            return key ? RowViolation.MISSING_KEY : nullable ? null : RowViolation.NULL_NOT_ALLOWED;
+        }
+        if (value instanceof CharSequence text) {
+            if (key && text.isEmpty()) {
+                return RowViolation.MISSING_KEY;
+            }
+            if (!format.accepts(text)) {
+                return RowViolation.INVALID_FORMAT;
+            }
+            return range == null || range.accepts(text) ? null : RowViolation.NOT_A_FIXED_VALUE;
+        }
+        return switch (type) {
+            case INTEGER -> checkInteger(value);
+            case NUMC -> checkNumc(value);
+            case DECIMAL -> checkDecimal(value);
+            case DATE -> value instanceof LocalDate date
+                    ? checkNumber(date.getYear() > 0 && date.getYear() <= 9999, dateKey(date)) : RowViolation.WRONG_TYPE;
+            case TIME -> value instanceof LocalTime time
+                    ? checkNumber(time.getNano() == 0, timeKey(time)) : RowViolation.WRONG_TYPE;
+            case TIMESTAMP -> value instanceof LocalDateTime timestamp
+                    ? checkNumber(timestamp.getYear() > 0 && timestamp.getYear() <= 9999 && timestamp.getNano() == 0,
+                    dateKey(timestamp.toLocalDate()) * 1_000_000 + timeKey(timestamp.toLocalTime()))
+                    : RowViolation.WRONG_TYPE;
+            case RAW -> value instanceof byte[] bytes ? checkRaw(bytes) : RowViolation.WRONG_TYPE;
+            case CHAR, STRING -> RowViolation.WRONG_TYPE;
+        };
+    }
+
+    private RowViolation checkInteger(Object value) {
+        if (!isIntegral(value)) {
+            return RowViolation.WRONG_TYPE;
+        }
+        long number = ((Number) value).longValue();
+        return checkNumber(number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE, number);
+    }
+
+    private RowViolation checkNumc(Object value) {
+        if (!isIntegral(value)) {
+            return RowViolation.WRONG_TYPE;
+        }
+        long number = ((Number) value).longValue();
+        return checkNumber(number >= 0 && digits(number) <= length, number);
+    }
+
+    private RowViolation checkDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            int scale = decimal.scale();
+            if (scale > decimals) {
+                // Trailing zeros beyond the Domain's decimals do not change the value
+                decimal = decimal.stripTrailingZeros();
+                scale = Math.max(0, decimal.scale());
+            }
+            int integerDigits = Math.max(0, decimal.precision() - decimal.scale());
+            if (scale > decimals || integerDigits > length - decimals) {
+                return RowViolation.INVALID_FORMAT;
+            }
+            return fixedDecimals == null || allowed(decimal) ? null : RowViolation.NOT_A_FIXED_VALUE;
+        }
+        if (!isIntegral(value)) {
+            return RowViolation.WRONG_TYPE;
+        }
+        long number = ((Number) value).longValue();
+        if (digits(Math.abs(number)) > length - decimals) {
+            return RowViolation.INVALID_FORMAT;
+        }
+        return fixedDecimals == null || allowed(BigDecimal.valueOf(number)) ? null : RowViolation.NOT_A_FIXED_VALUE;
+    }
+
+    private RowViolation checkRaw(byte[] bytes) {
+        if (bytes.length > length) {
+            return RowViolation.INVALID_FORMAT;
+        }
+        if (fixedRaw == null) {
+            return null;
+        }
+        for (String candidate : fixedRaw) {
+            if (sameBytes(candidate, bytes)) {
+                return null;
+            }
+        }
+        if (rawIntervals != null && rawIntervals.isValid(HexFormat.of().withUpperCase().formatHex(bytes))) {
+            return null;
+        }
+        return RowViolation.NOT_A_FIXED_VALUE;
+    }
+
+    /** Check a typed value that has the format if {@code valid}, and whose fixed-value key is {@code number}. */
+    private RowViolation checkNumber(boolean valid, long number) {
+        if (!valid) {
+            return RowViolation.INVALID_FORMAT;
+        }
+        if (fixedNumbers == null || Arrays.binarySearch(fixedNumbers, number) >= 0) {
+            return null;
+        }
+        int interval = Arrays.binarySearch(numberLows, number);
+        if (interval < 0) {
+            interval = -interval - 2; // the last interval starting below the number
+        }
+        return interval >= 0 && number <= numberHighs[interval] ? null : RowViolation.NOT_A_FIXED_VALUE;
+    }
+
+    /** Returns {@code true} if {@code decimal} is a fixed value or within an interval. */
+    private boolean allowed(BigDecimal decimal) {
+        if (Arrays.binarySearch(fixedDecimals, decimal) >= 0) {
+            return true;
+        }
+        int interval = Arrays.binarySearch(decimalLows, decimal);
+        if (interval < 0) {
+            interval = -interval - 2;
+        }
+        return interval >= 0 && decimal.compareTo(decimalHighs[interval]) <= 0;
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    /** Return the number of decimal digits of a non-negative number ({@code 0} has one). */
+    private static int digits(long number) {
+        int digits = 1;
+        while (number >= 10) {
+            number /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static long dateKey(LocalDate date) {
+        return date.getYear() * 10_000L + date.getMonthValue() * 100L + date.getDayOfMonth();
+    }
+
+    private static long timeKey(LocalTime time) {
+        return time.getHour() * 10_000L + time.getMinute() * 100L + time.getSecond();
+    }
+
+    private static boolean sameBytes(String hex, byte[] bytes) {
+        if (hex.length() != bytes.length * 2) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (Character.digit(hex.charAt(2 * i), 16) != ((bytes[i] >> 4) & 0xF)
+                    || Character.digit(hex.charAt(2 * i + 1), 16) != (bytes[i] & 0xF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Return the detail for a violation's message: the field, and the type or Domain. */
+    String detail(RowViolation violation) {
+        return switch (violation) {
+            case INVALID_FORMAT -> format.toString();
+            case NOT_A_FIXED_VALUE -> domain.getName();
+            default -> "";
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package com.sap.datadictionary.rows;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds the outcome of validating a batch of rows with a {@link RowValidator}.
+ * <p>
+ * Every violation is counted, and the invalid rows are kept in a
+ * {@link BitSet}, but only the first violations are kept with their
+ * details (see {@link RowValidator#DEFAULT_MAX_VIOLATIONS}), so a batch of
+ * a million bad rows does not build a million messages.
+ * </p>
+ * <p>
+ * Violations are added by {@link RowValidator}; the mutation methods are
+ * package-private to keep this class read-only for external consumers.
+ * </p>
+ */
+public class RowValidationResult {
+
+    /**
+     * One violation of a row.
+     *
+     * @param row       the row's index in the batch
+     * @param field     the field's name, or {@code null} for {@link RowViolation#WRONG_FIELD_COUNT}
+     * @param violation what is wrong
+     * @param arguments the values inserted into the violation's template
+     */
+    public record Violation(int row, String field, RowViolation violation, List<Object> arguments) {
+
+        public Violation {
+            arguments = List.copyOf(arguments);
+        }
+
+        /** Returns the human-readable description of the violation. */
+        public String message() {
+            String message = violation.template();
+            for (int i = 0; i < arguments.size(); i++) {
+                message = message.replace("{" + i + "}", String.valueOf(arguments.get(i)));
+            }
+            return "Row " + row + ": " + message;
+        }
+    }
+
+    private final FieldCheck[] fields;
+    private final int maxViolations;
+    private final List<Violation> violations = new ArrayList<>();
+    private final long[] counts = new long[RowViolation.values().length];
+    private final BitSet invalidRows = new BitSet();
+    private int rowsChecked;
+
+    RowValidationResult(FieldCheck[] fields, int maxViolations) {
+        this.fields = fields;
+        this.maxViolations = maxViolations;
+    }
+
+    /**
+     * Count one violation, keeping it if fewer than the maximum are kept.
+     * {@code valueCount} is the number of values of the row, only used for
+     * {@link RowViolation#WRONG_FIELD_COUNT}.
+     */
+    void add(int row, int field, RowViolation violation, int valueCount) {
+        counts[violation.ordinal()]++;
+        invalidRows.set(row);
+        if (violations.size() < maxViolations) {
+            if (field < 0) {
+                violations.add(new Violation(row, null, violation, List.of(valueCount, fields.length)));
+            } else {
+                FieldCheck check = fields[field];
+                String detail = check.detail(violation);
+                violations.add(new Violation(row, check.name, violation,
+                        detail.isEmpty() ? List.of(check.name) : List.of(check.name, detail)));
+            }
+        }
+    }
+
+    void addRowsChecked(int rows) {
+        rowsChecked += rows;
+    }
+
+    /** Add the violations of {@code other}, whose rows follow the rows of this result. */
+    void merge(RowValidationResult other) {
+        rowsChecked += other.rowsChecked;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        invalidRows.or(other.invalidRows);
+        for (Violation violation : other.violations) {
+            if (violations.size() >= maxViolations) {
+                break;
+            }
+            violations.add(violation);
+        }
+    }
+
+    /** Returns the number of rows validated. */
+    public int getRowsChecked() {
+        return rowsChecked;
+    }
+
+    /** Returns the number of rows with at least one violation. */
+    public int getInvalidRowCount() {
+        return invalidRows.cardinality();
+    }
+
+    /** Returns {@code true} if row {@code row} has at least one violation. */
+    public boolean isInvalid(int row) {
+        return invalidRows.get(row);
+    }
+
+    /** Returns the indexes of the invalid rows, as a copy. */
+    public BitSet getInvalidRows() {
+        return (BitSet) invalidRows.clone();
+    }
+
+    /** Returns {@code true} if no row has a violation. */
+    public boolean isValid() {
+        return invalidRows.isEmpty();
+    }
+
+    /** Returns the number of violations of the given kind, including those not kept. */
+    public long count(RowViolation violation) {
+        return counts[violation.ordinal()];
+    }
+
+    /** Returns the number of violations of all kinds, including those not kept. */
+    public long getViolationCount() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /** Returns the kept violations, in the order they were found. */
+    public List<Violation> getViolations() {
+        return Collections.unmodifiableList(violations);
+    }
+
+    /** Returns {@code true} if more violations were found than were kept. */
+    public boolean isTruncated() {
+        return getViolationCount() > violations.size();
+    }
+
+    @Override
+    public String toString() {
+        return "RowValidationResult{rows=" + rowsChecked + ", invalid=" + getInvalidRowCount()
+                + ", violations=" + getViolationCount() + '}';
+    }
+}
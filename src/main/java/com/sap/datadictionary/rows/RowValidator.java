@@ -0,0 +1,290 @@
+package com.sap.datadictionary.rows;
+
+import com.sap.datadictionary.conceptual.FieldDefinition;
+import com.sap.datadictionary.conceptual.TableDefinition;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Validates rows of a table against its {@link TableDefinition} before they
+ * are written, as compiled by {@link #compile(TableDefinition)}.
+ * <p>
+ * A row is an array with one value per field, in the order of the table's
+ * fields. Each value is checked against its field:
+ * </p>
+ * <ul>
+ *   <li>a key field must have a value that is neither {@code null} nor
+ *       empty;</li>
+ *   <li>a field that is not nullable must not be {@code null};</li>
+ *   <li>text ({@link CharSequence}) must have the format of the field's
+ *       Domain, as checked by {@link com.sap.datadictionary.internal.ValueChecker},
+ *       and typed values must be of a Java type the Domain's data type can
+ *       hold, within its length and decimals;</li>
+ *   <li>if the Domain has fixed values, the value must be one of them.</li>
+ * </ul>
+ * <p>
+ * Compiling resolves every field's Domain once into a plan of per-field
+ * checks, so validating a row walks an array and allocates nothing;
+ * violations are reported to a {@link RowViolationSink} as plain
+ * arguments. Rows can also be validated column by column, from one
+ * {@link CharSequence} array per field, as a columnar reader delivers
+ * them, and large batches in parallel on a {@link ForkJoinPool}.
+ * </p>
+ * <p>
+ * A validator does not see later changes to the table or its Domains;
+ * compile it again. Validators are immutable and may be used by any number
+ * of threads.
+ * </p>
+ */
+public final class RowValidator {
+
+    /** Violations kept with their details by a {@link RowValidationResult} unless told otherwise. */
+    public static final int DEFAULT_MAX_VIOLATIONS = 1000;
+
+    /** Rows validated by one task of {@link #validateParallel(Object[][], ForkJoinPool)}. */
+    static final int PARALLEL_BATCH = 4096;
+
+    private final String tableName;
+    private final FieldCheck[] fields;
+
+    private RowValidator(String tableName, FieldCheck[] fields) {
+        this.tableName = tableName;
+        this.fields = fields;
+    }
+
+    /**
+     * Compile a validator for the rows of {@code table}.
+     *
+     * @throws IllegalArgumentException if {@code table} is {@code null}
+     */
+    public static RowValidator compile(TableDefinition table) {
+        if (table == null) {
+            throw new IllegalArgumentException("Table must not be null");
+        }
+        List<FieldDefinition> definitions = table.getFields();
+        FieldCheck[] fields = new FieldCheck[definitions.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = new FieldCheck(definitions.get(i));
+        }
+        return new RowValidator(table.getTableName(), fields);
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /** Returns the number of values of a row. */
+    public int getFieldCount() {
+        return fields.length;
+    }
+
+    /** Returns the field names, in the order of the values of a row. */
+    public List<String> getFieldNames() {
+        List<String> names = new ArrayList<>(fields.length);
+        for (FieldCheck field : fields) {
+            names.add(field.name);
+        }
+        return names;
+    }
+
+    /**
+     * Check one value of field {@code field}.
+     *
+     * @return what is wrong with the value, or {@code null} if it is valid
+     * @throws IndexOutOfBoundsException if there is no such field
+     */
+    public RowViolation check(int field, Object value) {
+        return fields[field].check(value);
+    }
+
+    /**
+     * Validate one row, reporting each violation to {@code sink} with
+     * {@code rowNumber} as the row.
+     *
+     * @return {@code true} if the row is valid
+     */
+    public boolean validateRow(Object[] row, int rowNumber, RowViolationSink sink) {
+        if (row == null || row.length != fields.length) {
+            sink.violation(rowNumber, -1, RowViolation.WRONG_FIELD_COUNT);
+            return false;
+        }
+        boolean valid = true;
+        for (int i = 0; i < fields.length; i++) {
+            RowViolation violation = fields[i].check(row[i]);
+            if (violation != null) {
+                sink.violation(rowNumber, i, violation);
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Validate rows {@code from} (inclusive) to {@code to} (exclusive) of
+     * {@code rows}, reporting each violation to {@code sink}.
+     *
+     * @return the number of invalid rows
+     * @throws IndexOutOfBoundsException if the range is not within {@code rows}
+     */
+    public int validate(Object[][] rows, int from, int to, RowViolationSink sink) {
+        Objects.checkFromToIndex(from, to, rows.length);
+        int invalid = 0;
+        for (int r = from; r < to; r++) {
+            if (!validateRow(rows[r], r, sink)) {
+                invalid++;
+            }
+        }
+        return invalid;
+    }
+
+    /** Validate all {@code rows}, keeping the first {@link #DEFAULT_MAX_VIOLATIONS} violations. */
+    public RowValidationResult validate(Object[][] rows) {
+        return validate(rows, DEFAULT_MAX_VIOLATIONS);
+    }
+
+    /**
+     * Validate all {@code rows}, keeping the first {@code maxViolations}
+     * violations with their details; all are counted.
+     *
+     * @throws IllegalArgumentException if {@code maxViolations} is negative
+     */
+    public RowValidationResult validate(Object[][] rows, int maxViolations) {
+        checkMaxViolations(maxViolations);
+        return validateInto(rows, 0, rows.length, new RowValidationResult(fields, maxViolations));
+    }
+
+    private RowValidationResult validateInto(Object[][] rows, int from, int to, RowValidationResult result) {
+        validate(rows, from, to, (row, field, violation) ->
+                result.add(row, field, violation, rows[row] == null ? 0 : rows[row].length));
+        result.addRowsChecked(to - from);
+        return result;
+    }
+
+    /**
+     * Validate {@code rowCount} rows given column by column: value
+     * {@code columns[f][r]} is the value of field {@code f} in row
+     * {@code r}. Each column is checked in one pass, so the checks of a
+     * field stay hot while its values are streamed. Violations are
+     * reported column by column.
+     *
+     * @return the number of invalid rows
+     * @throws IllegalArgumentException if there is not one column per field,
+     *                                  or a column has fewer than {@code rowCount} values
+     */
+    public int validateColumns(CharSequence[][] columns, int rowCount, RowViolationSink sink) {
+        checkColumns(columns, rowCount);
+        BitSet invalid = new BitSet(rowCount);
+        for (int f = 0; f < fields.length; f++) {
+            FieldCheck field = fields[f];
+            CharSequence[] column = columns[f];
+            for (int r = 0; r < rowCount; r++) {
+                RowViolation violation = field.check(column[r]);
+                if (violation != null) {
+                    sink.violation(r, f, violation);
+                    invalid.set(r);
+                }
+            }
+        }
+        return invalid.cardinality();
+    }
+
+    /**
+     * Validate {@code rowCount} rows given column by column, keeping the
+     * first {@link #DEFAULT_MAX_VIOLATIONS} violations.
+     *
+     * @see #validateColumns(CharSequence[][], int, RowViolationSink)
+     */
+    public RowValidationResult validateColumns(CharSequence[][] columns, int rowCount) {
+        RowValidationResult result = new RowValidationResult(fields, DEFAULT_MAX_VIOLATIONS);
+        validateColumns(columns, rowCount, (row, field, violation) -> result.add(row, field, violation, fields.length));
+        result.addRowsChecked(rowCount);
+        return result;
+    }
+
+    private void checkColumns(CharSequence[][] columns, int rowCount) {
+        if (columns == null || columns.length != fields.length) {
+            throw new IllegalArgumentException("Table " + tableName + " has " + fields.length + " fields but "
+                    + (columns == null ? 0 : columns.length) + " columns were given");
+        }
+        for (int f = 0; f < columns.length; f++) {
+            if (rowCount < 0 || columns[f] == null || columns[f].length < rowCount) {
+                throw new IllegalArgumentException("Column " + fields[f].name + " has fewer than "
+                        + rowCount + " values");
+            }
+        }
+    }
+
+    /** Run {@link #validateParallel(Object[][], ForkJoinPool)} on the common pool. */
+    public RowValidationResult validateParallel(Object[][] rows) {
+        return validateParallel(rows, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Return the same result as {@link #validate(Object[][])}, validating
+     * on {@code pool}.
+     * <p>
+     * The rows are split into chunks of {@link #PARALLEL_BATCH}, and each
+     * chunk collects its violations in a result of its own. The results are
+     * then joined in chunk order, so the kept violations do not depend on
+     * scheduling.
+     * </p>
+     *
+     * @throws IllegalArgumentException if {@code pool} is {@code null}
+     */
+    public RowValidationResult validateParallel(Object[][] rows, ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+        int chunks = (rows.length + PARALLEL_BATCH - 1) / PARALLEL_BATCH;
+        RowValidationResult[] results = new RowValidationResult[chunks];
+        pool.invoke(new ChunkTask(rows, results, 0, chunks));
+        RowValidationResult result = new RowValidationResult(fields, DEFAULT_MAX_VIOLATIONS);
+        for (RowValidationResult chunk : results) {
+            result.merge(chunk);
+        }
+        return result;
+    }
+
+    /** Validates a range of chunks, halving it until one chunk is left. */
+    private final class ChunkTask extends RecursiveAction {
+        private final Object[][] rows;
+        private final RowValidationResult[] results;
+        private final int from;
+        private final int to;
+
+        ChunkTask(Object[][] rows, RowValidationResult[] results, int from, int to) {
+            this.rows = rows;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(rows, results, from, middle), new ChunkTask(rows, results, middle, to));
+            } else if (from < to) {
+                int first = from * PARALLEL_BATCH;
+                results[from] = validateInto(rows, first, Math.min(rows.length, first + PARALLEL_BATCH),
+                        new RowValidationResult(fields, DEFAULT_MAX_VIOLATIONS));
+            }
+        }
+    }
+
+    private static void checkMaxViolations(int maxViolations) {
+        if (maxViolations < 0) {
+            throw new IllegalArgumentException("Maximum number of violations must not be negative");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RowValidator{table='" + tableName + "', fields=" + fields.length + '}';
+    }
+}
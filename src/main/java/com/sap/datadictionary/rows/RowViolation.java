@@ -0,0 +1,31 @@
+package com.sap.datadictionary.rows;
+
+/**
+ * Why a {@link RowValidator} rejected a row or one of its values.
+ */
+public enum RowViolation {
+
+    /** The row has more or fewer values than the table has fields. */
+    WRONG_FIELD_COUNT("row has {0} values but the table has {1} fields"),
+    /** A key field is {@code null} or empty. */
+    MISSING_KEY("key field {0} has no value"),
+    /** A field that is not nullable is {@code null}. */
+    NULL_NOT_ALLOWED("field {0} must not be null"),
+    /** The value is of a Java type the field's data type cannot hold. */
+    WRONG_TYPE("field {0} cannot hold a value of this type"),
+    /** The value does not have the format, length or decimals of the field's Domain. */
+    INVALID_FORMAT("field {0} is not a valid {1} value"),
+    /** The value has the Domain's format but is neither one of its fixed values nor within one of its intervals. */
+    NOT_A_FIXED_VALUE("field {0} is not within the value range of Domain {1}");
+
+    private final String template;
+
+    RowViolation(String template) {
+        this.template = template;
+    }
+
+    /** Return the message template, with {@code {0}} and {@code {1}} for the details. */
+    public String template() {
+        return template;
+    }
+}
@@ -0,0 +1,22 @@
+package com.sap.datadictionary.rows;
+
+/**
+ * Receives the violations a {@link RowValidator} finds, as they are found.
+ * Violations are plain arguments, so reporting one allocates nothing.
+ */
+@FunctionalInterface
+public interface RowViolationSink {
+
+    /** A sink that ignores every violation, e.g. to only count invalid rows. */
+    RowViolationSink IGNORE = (row, field, violation) -> { };
+
+    /**
+     * Accept one violation.
+     *
+     * @param row       the row's index in the batch
+     * @param field     the field's index in the table, or {@code -1} for
+     *                  {@link RowViolation#WRONG_FIELD_COUNT}
+     * @param violation what is wrong
+     */
+    void violation(int row, int field, RowViolation violation);
+}
@@ -2,6 +2,7 @@ package com.sap.datadictionary.api;
 
 import com.sap.datadictionary.conceptual.FieldDefinition;
 import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.external.LockObject;
 import com.sap.datadictionary.external.SearchHelp;
 import com.sap.datadictionary.external.ViewDefinition;
 import com.sap.datadictionary.internal.DataElement;
@@ -15,8 +16,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -71,6 +76,85 @@ class RestApiIntegrationTest {
                 .andExpect(jsonPath("$.fixedValues", hasSize(2)));
     }
 
+    @Test
+    void listDomainsByPrefixWithPaging() throws Exception {
+        for (String name : List.of("ZFI_B", "ZSD_A", "ZFI_A", "ZFI_C")) {
+            dictionary.registerDomain(new Domain(name, DataType.CHAR, 10));
+        }
+
+        mockMvc.perform(get("/api/domains").param("prefix", "ZFI_").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name").value("ZFI_A"))
+                .andExpect(jsonPath("$[1].name").value("ZFI_B"));
+
+        mockMvc.perform(get("/api/domains").param("prefix", "ZFI_").param("after", "ZFI_B"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("ZFI_C"));
+    }
+
+    @Test
+    void listWithInvalidLimitReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tables").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    void changeFeedListsRegistrationsAfterCursor() throws Exception {
+        dictionary.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+        dictionary.registerDomain(new Domain("ZCHAR20", DataType.CHAR, 20));
+
+        mockMvc.perform(get("/api/changes").param("after", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events", hasSize(1)))
+                .andExpect(jsonPath("$.events[0].name").value("ZCHAR20"))
+                .andExpect(jsonPath("$.events[0].type").value("REGISTERED"))
+                .andExpect(jsonPath("$.events[0].kind").value("DOMAIN"))
+                .andExpect(jsonPath("$.next").value(2))
+                .andExpect(jsonPath("$.missed").value(0));
+    }
+
+    @Test
+    void updateDomainWithDependentsNeedsCascade() throws Exception {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        dictionary.registerDomain(domain);
+        dictionary.registerDataElement(new DataElement("ZNAME", domain));
+        String json = """
+            {"dataType":"CHAR","length":20}
+            """;
+
+        mockMvc.perform(put("/api/domains/ZCHAR10")
+                        .contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", containsString("Data element 'ZNAME'")));
+        mockMvc.perform(put("/api/domains/ZCHAR10").param("cascade", "true")
+                        .contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length").value(20));
+
+        assertEquals(20, dictionary.getDataElement("ZNAME").getDomain().getLength());
+    }
+
+    @Test
+    void deleteDomainCascadesToDependents() throws Exception {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        dictionary.registerDomain(domain);
+        dictionary.registerDataElement(new DataElement("ZNAME", domain));
+
+        mockMvc.perform(delete("/api/domains/ZCHAR10"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(delete("/api/domains/ZCHAR10").param("cascade", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.removed").value("ZCHAR10"))
+                .andExpect(jsonPath("$.cascaded.dataElements[0]").value("ZNAME"));
+        mockMvc.perform(get("/api/data-elements/ZNAME"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/domains/ZCHAR10"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getDomainNotFound() throws Exception {
         mockMvc.perform(get("/api/domains/UNKNOWN"))
@@ -253,6 +337,42 @@ class RestApiIntegrationTest {
                 .andExpect(jsonPath("$.lockMode").value("EXCLUSIVE"));
     }
 
+    // ---- Batch endpoint ----
+
+    @Test
+    void batchCreatesAllObjectsInOneVersion() throws Exception {
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"domains":{"ZCHAR10":{"name":"ZCHAR10","dataType":"CHAR","length":10}},
+                             "dataElements":{"ZNAME":{"name":"ZNAME","domainName":"ZCHAR10"}},
+                             "tables":{"ZCUSTOMER":{"tableName":"ZCUSTOMER","deliveryClass":"A",
+                               "fields":[{"fieldName":"NAME","dataElementName":"ZNAME"}]}}}
+                            """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.version").value(1))
+                .andExpect(jsonPath("$.tables").value(1));
+
+        mockMvc.perform(get("/api/tables/ZCUSTOMER"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fields", hasSize(1)));
+    }
+
+    @Test
+    void batchWithUnknownReferenceCreatesNothing() throws Exception {
+        mockMvc.perform(post("/api/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"domains":{"ZCHAR10":{"name":"ZCHAR10","dataType":"CHAR","length":10}},
+                             "dataElements":{"ZNAME":{"name":"ZNAME","domainName":"MISSING"}}}
+                            """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Domain not found: MISSING"));
+
+        mockMvc.perform(get("/api/domains/ZCHAR10"))
+                .andExpect(status().isNotFound());
+    }
+
     // ---- Where-Used endpoints ----
 
     @Test
@@ -291,6 +411,80 @@ class RestApiIntegrationTest {
                 .andExpect(jsonPath("$.searchHelps", hasItem("ZSH_CUST")));
     }
 
+    // ---- Query endpoints ----
+
+    @Test
+    void queryStreamsMatchingObjectsAsNdjson() throws Exception {
+        registerLockedAndUnlockedTables();
+
+        MvcResult result = mockMvc.perform(get("/api/query")
+                        .param("q", "tables where has key field (type = CHAR(10)) and used-by lock-object"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"tableName\":\"ZLOCKED\"")))
+                .andExpect(content().string(not(containsString("ZFREE"))));
+    }
+
+    @Test
+    void queryPlanNamesTheAccessPath() throws Exception {
+        registerLockedAndUnlockedTables();
+
+        mockMvc.perform(get("/api/query/plan").param("q", "data-elements where references domain ZCHAR10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessPath").value("REFERENCE_INDEX"))
+                .andExpect(jsonPath("$.estimate").value(1))
+                .andExpect(jsonPath("$.residual", hasSize(0)));
+    }
+
+    @Test
+    void invalidQueryReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/query").param("q", "tables where colour = red"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("position 13")));
+    }
+
+    // ---- Validation endpoint ----
+
+    @Test
+    void validationStreamsFindingsAsNdjson() throws Exception {
+        dictionary.registerDataElement(new DataElement("ZORPHAN", new Domain("ZGONE", DataType.CHAR, 1)));
+        dictionary.registerTable(new TableDefinition("ZEMPTY"));
+
+        MvcResult result = mockMvc.perform(get("/api/validation").param("rule", "data-element-domain"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"code\":\"DOMAIN_NOT_REGISTERED\"")))
+                .andExpect(content().string(not(containsString("ZEMPTY"))));
+    }
+
+    @Test
+    void validationWithUnknownRuleReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/validation").param("rule", "no-such-rule"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", containsString("no-such-rule")));
+    }
+
+    private void registerLockedAndUnlockedTables() {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        DataElement element = new DataElement("ZKEY", domain);
+        dictionary.registerDomain(domain);
+        dictionary.registerDataElement(element);
+        for (String name : List.of("ZLOCKED", "ZFREE")) {
+            TableDefinition table = new TableDefinition(name);
+            table.addField(new FieldDefinition("KEY", element, true, false));
+            dictionary.registerTable(table);
+        }
+        dictionary.registerLockObject(new LockObject("EZLOCKED", dictionary.getTable("ZLOCKED")));
+    }
+
     // ---- DDL endpoints ----
 
     @Test
@@ -6,6 +6,8 @@ import com.sap.datadictionary.internal.Domain;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TableDefinitionTest {
@@ -42,6 +44,21 @@ class TableDefinitionTest {
         assertNull(table.getField("NONEXISTENT"));
     }
 
+    @Test
+    void fieldsAreTheInstancesThatWereAdded() {
+        TableDefinition table = new TableDefinition("ZCUSTOMER");
+        FieldDefinition client = new FieldDefinition("MANDT", clientElement, true, false);
+        FieldDefinition name = new FieldDefinition("NAME", nameElement, false, true);
+        table.addField(client);
+        table.addField(name);
+        table.trimToSize();
+
+        assertSame(client, table.getField("MANDT"));
+        assertSame(table.getField("NAME"), table.getField("NAME"));
+        assertSame(name, table.getFields().get(1));
+        assertSame(client, table.getKeyFields().get(0));
+    }
+
     @Test
     void duplicateFieldIsRejected() {
         TableDefinition table = new TableDefinition("ZCUSTOMER");
@@ -67,6 +84,43 @@ class TableDefinitionTest {
                         new FieldDefinition("X", nameElement, false, true)));
     }
 
+    @Test
+    void fieldListsAreSharedUntilNextAddField() {
+        TableDefinition table = new TableDefinition("ZCUSTOMER");
+        table.addField(new FieldDefinition("MANDT", clientElement, true, false));
+
+        assertSame(table.getFields(), table.getFields());
+        assertSame(table.getKeyFields(), table.getKeyFields());
+
+        List<FieldDefinition> before = table.getFields();
+        table.addField(new FieldDefinition("NAME", nameElement, false, true));
+
+        assertEquals(1, before.size());
+        assertEquals(2, table.getFields().size());
+        assertEquals(1, table.getKeyFields().size());
+    }
+
+    @Test
+    void wideTableKeepsFieldOrderFlagsAndLookups() {
+        TableDefinition table = new TableDefinition("ZWIDE");
+        for (int i = 0; i < 100; i++) {
+            table.addField(new FieldDefinition("F" + i, i % 2 == 0 ? clientElement : nameElement,
+                    i % 10 == 0, i % 3 == 0));
+        }
+
+        assertEquals(100, table.getFields().size());
+        assertEquals("F57", table.getFields().get(57).getFieldName());
+        assertEquals(List.of("F0", "F10", "F20", "F30", "F40", "F50", "F60", "F70", "F80", "F90"),
+                table.getKeyFields().stream().map(FieldDefinition::getFieldName).toList());
+        FieldDefinition field = table.getField("F63");
+        assertSame(nameElement, field.getDataElement());
+        assertFalse(field.isKeyField());
+        assertTrue(field.isNullable());
+        assertNull(table.getField("F100"));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.addField(new FieldDefinition("F99", nameElement, false, true)));
+    }
+
     @Test
     void blankTableNameIsRejected() {
         assertThrows(IllegalArgumentException.class,
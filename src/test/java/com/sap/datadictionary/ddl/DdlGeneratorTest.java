@@ -335,6 +335,23 @@ class DdlGeneratorTest {
         assertTrue(ddl.contains("FROM ZTABLE1, ZTABLE2"));
     }
 
+    @Test
+    void createViewOverBaseView() {
+        TableDefinition table = new TableDefinition("ZTABLE1");
+        table.addField(field("COL_A", element("DE1", domain("ZCHAR20", DataType.CHAR, 20)), false, true));
+        ViewDefinition base = new ViewDefinition("ZBASE_V", ViewDefinition.ViewType.DATABASE);
+        base.addBaseTable(table);
+
+        ViewDefinition view = new ViewDefinition("ZSTACKED_V", ViewDefinition.ViewType.PROJECTION);
+        view.addBaseTable(table);
+        view.addBaseView(base);
+        view.addSelectedField("COL_A");
+
+        String ddl = generator.generateCreateView(view, SqlDialect.POSTGRESQL);
+
+        assertTrue(ddl.endsWith("FROM ZTABLE1, ZBASE_V"));
+    }
+
     // ---- generateCreateView – dialect does not affect view syntax ----
 
     @Test
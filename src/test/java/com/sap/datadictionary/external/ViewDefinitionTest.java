@@ -47,6 +47,18 @@ class ViewDefinitionTest {
                 () -> new ViewDefinition("TEST", null));
     }
 
+    @Test
+    void viewCanSelectFromOtherViewsButNotFromItself() {
+        ViewDefinition base = new ViewDefinition("ZCUST_V", ViewDefinition.ViewType.DATABASE);
+        ViewDefinition view = new ViewDefinition("ZCUST_NAMES", ViewDefinition.ViewType.PROJECTION);
+        view.addBaseView(base);
+
+        assertEquals(1, view.getBaseViews().size());
+        assertThrows(IllegalArgumentException.class, () -> view.addBaseView(view));
+        assertThrows(IllegalArgumentException.class, () -> view.addBaseView(null));
+        assertThrows(UnsupportedOperationException.class, () -> view.getBaseViews().add(base));
+    }
+
     @Test
     void baseTablesListIsUnmodifiable() {
         ViewDefinition view = new ViewDefinition("ZCUST_V", ViewDefinition.ViewType.DATABASE);
@@ -0,0 +1,148 @@
+package com.sap.datadictionary.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueCheckerTest {
+
+    @Test
+    void charAndStringLimitTheLength() {
+        ValueChecker checker = ValueChecker.compile(new Domain("ZCHAR3", DataType.CHAR, 3));
+
+        assertTrue(checker.accepts("ABC"));
+        assertTrue(checker.accepts(""));
+        assertFalse(checker.accepts("ABCD"));
+        assertFalse(checker.accepts(null));
+        assertEquals("CHAR(3)", checker.toString());
+        assertTrue(ValueChecker.compile(new Domain("ZSTRING", DataType.STRING, 5)).accepts("hello"));
+    }
+
+    @Test
+    void numcAcceptsDigitsOnly() {
+        ValueChecker checker = ValueChecker.compile(new Domain("ZNUMC3", DataType.NUMC, 3));
+
+        assertTrue(checker.accepts("007"));
+        assertTrue(checker.accepts("7"));
+        assertFalse(checker.accepts("0070"));
+        assertFalse(checker.accepts("7A"));
+        assertFalse(checker.accepts("-7"));
+        assertFalse(checker.accepts(""));
+    }
+
+    @Test
+    void integerStaysWithinFourBytes() {
+        ValueChecker checker = ValueChecker.compile(new Domain("ZINT4", DataType.INTEGER, 10));
+
+        assertTrue(checker.accepts("2147483647"));
+        assertTrue(checker.accepts("-2147483648"));
+        assertTrue(checker.accepts("+42"));
+        assertFalse(checker.accepts("2147483648"));
+        assertFalse(checker.accepts("-2147483649"));
+        assertFalse(checker.accepts("12345678901"));
+        assertFalse(checker.accepts("-"));
+        assertFalse(checker.accepts("4.2"));
+    }
+
+    @Test
+    void decimalChecksPrecisionAndScale() {
+        ValueChecker checker = ValueChecker.compile(new Domain("ZAMOUNT", DataType.DECIMAL, 5, 2));
+
+        assertTrue(checker.accepts("123.45"));
+        assertTrue(checker.accepts("-123.4"));
+        assertTrue(checker.accepts("0"));
+        assertFalse(checker.accepts("1234.5"));
+        assertFalse(checker.accepts("1.234"));
+        assertFalse(checker.accepts("1."));
+        assertFalse(checker.accepts(".5"));
+        assertFalse(checker.accepts("1,5"));
+        assertEquals("DEC(5,2)", checker.toString());
+        assertFalse(ValueChecker.compile(new Domain("ZCOUNT", DataType.DECIMAL, 3)).accepts("1.0"));
+    }
+
+    @Test
+    void datesTimesAndTimestampsAreCalendarChecked() {
+        ValueChecker date = ValueChecker.compile(new Domain("ZDATE", DataType.DATE, 8));
+        ValueChecker time = ValueChecker.compile(new Domain("ZTIME", DataType.TIME, 6));
+        ValueChecker timestamp = ValueChecker.compile(new Domain("ZTSTMP", DataType.TIMESTAMP, 14));
+
+        assertTrue(date.accepts("20240229"));
+        assertTrue(date.accepts("00000000"));
+        assertFalse(date.accepts("20230229"));
+        assertFalse(date.accepts("19000229"));
+        assertTrue(date.accepts("20000229"));
+        assertFalse(date.accepts("20241301"));
+        assertFalse(date.accepts("2024-01-01"));
+        assertTrue(time.accepts("235959"));
+        assertFalse(time.accepts("240000"));
+        assertFalse(time.accepts("12:00"));
+        assertTrue(timestamp.accepts("20240101235959"));
+        assertFalse(timestamp.accepts("20240101236000"));
+    }
+
+    @Test
+    void rawAcceptsHexadecimalBytes() {
+        ValueChecker checker = ValueChecker.compile(new Domain("ZRAW2", DataType.RAW, 2));
+
+        assertTrue(checker.accepts("0aFF"));
+        assertFalse(checker.accepts("0aF"));
+        assertFalse(checker.accepts("0aFF00"));
+        assertFalse(checker.accepts("0G"));
+    }
+
+    @Test
+    void fixedValuesMustAlsoHaveTheDomainFormat() {
+        Domain domain = new Domain("ZCURRENCY", DataType.CHAR, 3);
+        ValueRange range = new ValueRange();
+        range.addFixedValue("EUR");
+        range.addFixedValue("USD");
+        range.addFixedValue("EURO");
+        domain.setValueRange(range);
+
+        ValueChecker checker = ValueChecker.compile(domain);
+
+        assertTrue(checker.accepts("EUR"));
+        assertTrue(checker.accepts(new StringBuilder("USD")));
+        assertFalse(checker.accepts("GBP"));
+        assertFalse(checker.accepts("EURO"));
+        assertFalse(checker.accepts(null));
+        assertTrue(ValueChecker.compileFormat(domain).accepts("GBP"));
+    }
+
+    @Test
+    void intervalsRestrictValuesOfTheDomainFormat() {
+        Domain domain = new Domain("ZPLANT", DataType.NUMC, 4);
+        ValueRange range = new ValueRange();
+        range.addInterval("0001", "8999");
+        domain.setValueRange(range);
+
+        ValueChecker checker = ValueChecker.compile(domain);
+
+        assertTrue(checker.accepts("0001"));
+        assertTrue(checker.accepts(new StringBuilder("4711")));
+        assertFalse(checker.accepts("9000"));
+        assertFalse(checker.accepts("0000"));
+        assertFalse(checker.accepts("12345"));
+    }
+
+    @Test
+    void manyFixedValuesAreAllFound() {
+        Domain domain = new Domain("ZCODE", DataType.NUMC, 4);
+        ValueRange range = new ValueRange();
+        for (int i = 0; i < 1000; i += 3) {
+            range.addFixedValue(String.format("%04d", i));
+        }
+        domain.setValueRange(range);
+
+        ValueChecker checker = ValueChecker.compile(domain);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 3 == 0, checker.accepts(String.format("%04d", i)));
+        }
+    }
+
+    @Test
+    void nullDomainIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ValueChecker.compile(null));
+    }
+}
@@ -41,4 +41,90 @@ class ValueRangeTest {
         assertThrows(IllegalArgumentException.class,
                 () -> range.addFixedValue(null));
     }
+
+    @Test
+    void intervalsAllowTheValuesBetweenTheirBounds() {
+        ValueRange range = new ValueRange();
+        range.addInterval("0001", "8999");
+        range.addFixedValue("9999");
+
+        assertTrue(range.isValid("0001"));
+        assertTrue(range.isValid("4711"));
+        assertTrue(range.isValid("8999"));
+        assertTrue(range.isValid("9999"));
+        assertFalse(range.isValid("0000"));
+        assertFalse(range.isValid("9000"));
+        assertFalse(range.isValid("ABC"));
+        assertFalse(range.isEmpty());
+    }
+
+    @Test
+    void numbersAreOrderedByValue() {
+        ValueRange range = new ValueRange();
+        range.addInterval("-10", "+5.5");
+
+        assertTrue(range.isValid("-10"));
+        assertTrue(range.isValid("-0"));
+        assertTrue(range.isValid("5.50"));
+        assertTrue(range.isValid("005"));
+        assertFalse(range.isValid("5.51"));
+        assertFalse(range.isValid("-10.1"));
+        assertTrue(ValueRange.compareValues("9", "10") < 0);
+        assertTrue(ValueRange.compareValues("B", "AB") > 0);
+        assertTrue(ValueRange.compareValues("99", "A") < 0);
+        assertEquals(0, ValueRange.compareValues("1.0", "001"));
+    }
+
+    @Test
+    void overlappingIntervalsAreMerged() {
+        ValueRange range = new ValueRange();
+        range.addInterval("50", "60");
+        range.addInterval("10", "20");
+        range.addInterval("15", "30");
+        range.addInterval("55", "56");
+
+        ValueSet set = range.lookup();
+
+        assertEquals(2, set.intervalCount());
+        assertTrue(range.isValid("25"));
+        assertTrue(range.isValid("58"));
+        assertFalse(range.isValid("40"));
+        assertEquals(4, range.getIntervals().size());
+    }
+
+    @Test
+    void largeFixedValueSetsAreHashed() {
+        ValueRange range = new ValueRange();
+        for (int i = 0; i < 20_000; i += 2) {
+            range.addFixedValue(String.format("%05d", i));
+        }
+
+        assertTrue(range.lookup().isHashed());
+        for (int i = 0; i < 20_000; i++) {
+            assertEquals(i % 2 == 0, range.isValid(String.format("%05d", i)));
+        }
+        assertTrue(range.lookup().contains(new StringBuilder("00042")));
+    }
+
+    @Test
+    void lookupIsRecompiledAfterAChange() {
+        ValueRange range = new ValueRange();
+        range.addFixedValue("A");
+        assertFalse(range.isValid("B"));
+        assertFalse(range.lookup().isHashed());
+
+        range.addInterval("B", "C");
+
+        assertTrue(range.isValid("B"));
+    }
+
+    @Test
+    void invalidIntervalsAreRejected() {
+        ValueRange range = new ValueRange();
+
+        assertThrows(IllegalArgumentException.class, () -> range.addInterval(null, "1"));
+        assertThrows(IllegalArgumentException.class, () -> range.addInterval("10", "9"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> range.getIntervals().add(new ValueRange.Interval("1", "2")));
+    }
 }
@@ -1,12 +1,22 @@
 package com.sap.datadictionary.persistence;
 
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.internal.DataType;
+import com.sap.datadictionary.internal.Domain;
+import com.sap.datadictionary.registry.ConsistencyValidator;
 import com.sap.datadictionary.registry.DataDictionary;
+import com.sap.datadictionary.registry.DependentPolicy;
+import com.sap.datadictionary.registry.ValidationCache;
+import com.sap.datadictionary.registry.ValidationResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -95,12 +105,207 @@ class DictionaryRepositoryTest {
 
     @Test
     void savedJsonFileIsReadable() throws Exception {
-        DataDictionary original = DictionarySerializerTest.buildFullDictionary();
-        repository.save(original);
-
+        // A dictionary saved before partitioning, as a single file at the storage path
+        try (InputStream saved = getClass().getResourceAsStream("single-file-dictionary.json")) {
+            Files.copy(saved, repository.getStoragePath());
+        }
         String content = Files.readString(repository.getStoragePath());
         assertTrue(content.contains("ZCUSTOMER"));
         assertTrue(content.contains("MANDT"));
+
+        DataDictionary loaded = repository.load();
+
+        assertEquals(List.of("MANDT", "ZCHAR40", "WAERS"), List.copyOf(loaded.getDomains().keySet()));
+        assertEquals(1, loaded.getTables().size());
+        assertSame(loaded.getDataElement("MANDT"),
+                loaded.getTable("ZCUSTOMER").getFields().get(0).getDataElement());
+        assertTrue(repository.isDirty(loaded, "Z"));
+    }
+
+    @Test
+    void savedJsonFilesAreReadable() throws Exception {
+        DataDictionary original = DictionarySerializerTest.buildFullDictionary();
+        repository.save(original);
+
+        String manifest = Files.readString(repository.getStoragePath());
+        assertTrue(manifest.contains("Z.json"));
+        assertTrue(manifest.contains("SAP.json"));
+        String customer = Files.readString(repository.partitionDirectory().resolve("Z.json"));
+        assertTrue(customer.contains("ZCUSTOMER"));
+        assertFalse(customer.contains("\"WAERS\""));
+        String sap = Files.readString(repository.partitionDirectory().resolve("SAP.json"));
+        assertTrue(sap.contains("MANDT"));
+    }
+
+    @Test
+    void loadKeepsRegistrationOrderAcrossPartitions() {
+        DataDictionary original = DictionarySerializerTest.buildFullDictionary();
+        repository.save(original);
+
+        DataDictionary loaded = repository.load();
+
+        assertEquals(List.copyOf(original.getDomains().keySet()), List.copyOf(loaded.getDomains().keySet()));
+        assertEquals(List.copyOf(original.getDataElements().keySet()),
+                List.copyOf(loaded.getDataElements().keySet()));
+        assertFalse(repository.isDirty(loaded, "SAP"));
+    }
+
+    @Test
+    void loadKeepsRegistrationOrderAfterRemovals() {
+        DataDictionary dictionary = DictionarySerializerTest.buildFullDictionary();
+        dictionary.registerDomain(new Domain("ZCHAR80", DataType.CHAR, 80));
+        dictionary.registerDomain(new Domain("BUKRS", DataType.CHAR, 4));
+        dictionary.removeDomain("ZCHAR80", DependentPolicy.CASCADE);
+        repository.save(dictionary);
+
+        DataDictionary loaded = repository.load();
+        loaded.registerDomain(new Domain("ZCHAR20", DataType.CHAR, 20));
+        repository.save(loaded);
+
+        // The loaded dictionary numbers its objects without the gap, so the save rewrote SAP.json as well
+        List<String> expected = new ArrayList<>(dictionary.getDomains().keySet());
+        expected.add("ZCHAR20");
+        assertEquals(expected, List.copyOf(repository.load().getDomains().keySet()));
+    }
+
+    @Test
+    void saveRewritesOnlyChangedPartitions() throws Exception {
+        DataDictionary dictionary = DictionarySerializerTest.buildFullDictionary();
+        repository.save(dictionary);
+        Path sapFile = repository.partitionDirectory().resolve("SAP.json");
+        Path customerFile = repository.partitionDirectory().resolve("Z.json");
+        Files.writeString(sapFile, Files.readString(sapFile) + "\n");
+        String sapBefore = Files.readString(sapFile);
+        String customerBefore = Files.readString(customerFile);
+
+        dictionary.registerDomain(new Domain("ZCHAR80", DataType.CHAR, 80));
+        repository.save(dictionary);
+
+        assertEquals(sapBefore, Files.readString(sapFile));
+        assertNotEquals(customerBefore, Files.readString(customerFile));
+        assertFalse(repository.isDirty(dictionary, "Z"));
+    }
+
+    @Test
+    void dirtyPartitionsAreTrackedPerRepository() {
+        DataDictionary dictionary = DictionarySerializerTest.buildFullDictionary();
+        DictionaryRepository other = new DictionaryRepository(tempDir.resolve("other/dictionary.json"));
+        repository.save(dictionary);
+
+        assertFalse(repository.isDirty(dictionary, "Z"));
+        assertTrue(other.isDirty(dictionary, "Z"));
+        assertFalse(repository.isDirty(dictionary, "/NONE/"));
+
+        dictionary.registerDomain(new Domain("ZCHAR80", DataType.CHAR, 80));
+
+        assertTrue(repository.isDirty(dictionary, "Z"));
+        assertFalse(repository.isDirty(dictionary, "SAP"));
+    }
+
+    @Test
+    void savingALoadedDictionaryElsewhereWritesEveryPartition() {
+        DataDictionary original = DictionarySerializerTest.buildFullDictionary();
+        repository.save(original);
+        DictionaryRepository other = new DictionaryRepository(tempDir.resolve("other/dictionary.json"));
+        DataDictionary older = new DataDictionary();
+        older.registerDomain(new Domain("ZOLD", DataType.CHAR, 4));
+        older.registerDomain(new Domain("/ACME/OLD", DataType.CHAR, 4));
+        other.save(older);
+
+        DataDictionary loaded = repository.load();
+        other.save(loaded);
+
+        DataDictionary reloaded = other.load();
+        assertEquals(original.getDomains().keySet(), reloaded.getDomains().keySet());
+        assertEquals(original.getTables().keySet(), reloaded.getTables().keySet());
+        assertNull(reloaded.getDomain("ZOLD"));
+        assertFalse(Files.exists(other.partitionDirectory().resolve("ns-ACME.json")));
+    }
+
+    @Test
+    void saveRewritesPartitionsAfterAnotherWriter() throws Exception {
+        DataDictionary dictionary = DictionarySerializerTest.buildFullDictionary();
+        repository.save(dictionary);
+        DataDictionary replacement = new DataDictionary();
+        replacement.registerDomain(new Domain("ZOTHER", DataType.CHAR, 4));
+        new DictionaryRepository(repository.getStoragePath()).save(replacement);
+
+        repository.save(dictionary);
+
+        assertEquals(dictionary.getDomains().keySet(), repository.load().getDomains().keySet());
+    }
+
+    @Test
+    void removalsAreSavedAcrossPartitions() {
+        DataDictionary dictionary = DictionarySerializerTest.buildFullDictionary();
+        repository.save(dictionary);
+
+        dictionary.removeDomain("ZCHAR40", DependentPolicy.CASCADE);
+        assertTrue(repository.isDirty(dictionary, "SAP"));
+        assertTrue(repository.isDirty(dictionary, "Z"));
+        repository.save(dictionary);
+
+        DataDictionary loaded = repository.load();
+        assertNull(loaded.getDomain("ZCHAR40"));
+        assertNull(loaded.getDataElement("CUSTOMER_NAME"));
+        assertNull(loaded.getTable("ZCUSTOMER"));
+        assertNotNull(loaded.getDataElement("MANDT"));
+        assertEquals(dictionary.getDomains().keySet(), loaded.getDomains().keySet());
+    }
+
+    @Test
+    void overlaySavesOnlyItsOwnObjectsAndLoadsOverItsBase() throws Exception {
+        DataDictionary base = DictionarySerializerTest.buildFullDictionary();
+        DataDictionary tenant = base.overlay();
+        tenant.registerDomain(new Domain("ZTENANT", DataType.CHAR, 8));
+        tenant.updateDomain(new Domain("ZCHAR40", DataType.CHAR, 60), DependentPolicy.CASCADE);
+        repository.save(tenant);
+
+        // The cascade copied CUSTOMER_NAME into the overlay; untouched base objects stay out
+        String sap = Files.readString(repository.partitionDirectory().resolve("SAP.json"));
+        assertTrue(sap.contains("CUSTOMER_NAME"));
+        assertFalse(sap.contains("WAERS"));
+        DataDictionary loaded = repository.load(base);
+
+        assertSame(base.getDomain("MANDT"), loaded.getDomain("MANDT"));
+        assertEquals(8, loaded.getDomain("ZTENANT").getLength());
+        assertEquals(60, loaded.getTable("ZCUSTOMER").getField("NAME").getDataElement().getDomain().getLength());
+        assertEquals(40, base.getDomain("ZCHAR40").getLength());
+        assertEquals(tenant.getDomains().keySet(), loaded.getDomains().keySet());
+        assertFalse(repository.isDirty(loaded, "Z"));
+    }
+
+    @Test
+    void saveUsesNamespaceFileNames() {
+        DataDictionary dictionary = new DataDictionary();
+        dictionary.registerDomain(new Domain("/ACME/CHAR10", DataType.CHAR, 10));
+        repository.save(dictionary);
+
+        assertTrue(Files.exists(repository.partitionDirectory().resolve("ns-ACME.json")));
+        assertNotNull(repository.load().getDomain("/ACME/CHAR10"));
+    }
+
+    @Test
+    void loadedPartitionsResolveReferencesAcrossPartitions() {
+        DataDictionary original = DictionarySerializerTest.buildFullDictionary();
+        repository.save(original);
+
+        DataDictionary loaded = repository.load();
+
+        assertSame(loaded.getDataElement("MANDT"),
+                loaded.getTable("ZCUSTOMER").getFields().get(0).getDataElement());
+        assertFalse(repository.isDirty(loaded, "Z"));
+        assertFalse(repository.isDirty(loaded, "SAP"));
+    }
+
+    @Test
+    void loadAcceptsSingleFileDictionary() {
+        repository.exportTo(DictionarySerializerTest.buildFullDictionary(), repository.getStoragePath());
+
+        DataDictionary loaded = repository.load();
+
+        assertEquals(3, loaded.getDomains().size());
+        assertEquals(1, loaded.getTables().size());
     }
 
     @Test
@@ -114,4 +319,35 @@ class DictionaryRepositoryTest {
         DataDictionary loaded = repository.load();
         assertEquals(3, loaded.getDomains().size());
     }
+
+    @Test
+    void validationCacheSurvivesARestart() {
+        DataDictionary original = DictionarySerializerTest.buildFullDictionary();
+        original.registerTable(new TableDefinition("ZEMPTY"));
+        ValidationCache cache = new ValidationCache();
+        new ConsistencyValidator(original, cache).validate();
+        repository.save(original);
+        repository.saveValidationCache(cache);
+
+        DataDictionary loaded = repository.load();
+        ValidationCache warm = repository.loadValidationCache();
+        ValidationResult result = new ConsistencyValidator(loaded, warm).validate();
+
+        assertTrue(Files.exists(repository.validationCachePath()));
+        assertEquals(cache.entries(), warm.entries());
+        assertEquals(0, warm.misses());
+        assertEquals(new ConsistencyValidator(loaded).validate().getFindings().stream()
+                        .map(ValidationResult.Finding::message).toList(),
+                result.getFindings().stream().map(ValidationResult.Finding::message).toList());
+        assertTrue(result.hasWarnings());
+    }
+
+    @Test
+    void validationCacheOfAnotherFormatIsIgnored() throws Exception {
+        assertEquals(0, repository.loadValidationCache().size());
+
+        Files.writeString(repository.validationCachePath(), "{\"format\":0,\"entries\":[]}");
+
+        assertEquals(0, repository.loadValidationCache().size());
+    }
 }
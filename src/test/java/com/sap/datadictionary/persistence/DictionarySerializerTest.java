@@ -14,6 +14,8 @@ import com.sap.datadictionary.registry.DataDictionary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -80,6 +82,37 @@ class DictionarySerializerTest {
         assertFalse(d.getValueRange().isValid("GBP"));
     }
 
+    @Test
+    void domainWithIntervalsRoundTrip() {
+        DataDictionary original = new DataDictionary();
+        Domain domain = new Domain("ZPLANT", DataType.NUMC, 4);
+        ValueRange vr = new ValueRange();
+        vr.addInterval("0001", "8999");
+        vr.addFixedValue("9999");
+        domain.setValueRange(vr);
+        original.registerDomain(domain);
+
+        DataDictionary restored = serializer.fromJson(serializer.toJson(original));
+
+        ValueRange range = restored.getDomain("ZPLANT").getValueRange();
+        assertEquals(List.of(new ValueRange.Interval("0001", "8999")), range.getIntervals());
+        assertTrue(range.isValid("4711"));
+        assertTrue(range.isValid("9999"));
+        assertFalse(range.isValid("9000"));
+    }
+
+    @Test
+    void domainWithoutIntervalsReadsOldFiles() {
+        String json = """
+                {"domains":{"WAERS":{"name":"WAERS","dataType":"CHAR","length":5,"decimals":0,
+                "description":null,"fixedValues":["EUR"]}}}""";
+
+        DataDictionary restored = serializer.fromJson(json);
+
+        assertTrue(restored.getDomain("WAERS").getValueRange().getIntervals().isEmpty());
+        assertTrue(restored.getDomain("WAERS").getValueRange().isValid("EUR"));
+    }
+
     @Test
     void domainWithDecimalsRoundTrip() {
         DataDictionary original = new DataDictionary();
@@ -173,6 +206,30 @@ class DictionarySerializerTest {
         assertEquals(2, view.getSelectedFields().size());
     }
 
+    @Test
+    void includesAndBaseViewsRoundTripInAnyOrder() {
+        DataDictionary original = buildFullDictionary();
+        Structure header = new Structure("ZHEADER");
+        Structure document = new Structure("ZDOCUMENT");
+        document.addInclude(header);
+        ViewDefinition names = new ViewDefinition("ZCUST_NAMES", ViewDefinition.ViewType.PROJECTION);
+        names.addBaseView(original.getView("ZCUST_V"));
+        ViewDefinition stacked = new ViewDefinition("ZCUST_STACKED", ViewDefinition.ViewType.PROJECTION);
+        stacked.addBaseView(names);
+        // Dependents first, so the import must wire them after creating everything
+        original.registerStructure(document);
+        original.registerStructure(header);
+        original.registerView(stacked);
+        original.registerView(names);
+
+        DataDictionary restored = serializer.fromJson(serializer.toJson(original));
+
+        assertSame(restored.getStructure("ZHEADER"), restored.getStructure("ZDOCUMENT").getIncludes().get(0));
+        assertSame(restored.getView("ZCUST_NAMES"), restored.getView("ZCUST_STACKED").getBaseViews().get(0));
+        assertSame(restored.getView("ZCUST_V"), restored.getView("ZCUST_NAMES").getBaseViews().get(0));
+        assertTrue(restored.getView("ZCUST_V").getBaseViews().isEmpty());
+    }
+
     @Test
     void searchHelpRoundTrip() {
         DataDictionary original = buildFullDictionary();
@@ -221,6 +278,55 @@ class DictionarySerializerTest {
         assertSame(nameElem, nameField.getDataElement());
     }
 
+    @Test
+    void pinnedVersionCanBeExported() {
+        DataDictionary original = buildFullDictionary();
+        long version = original.version();
+        original.registerDomain(new Domain("ZLATER", DataType.CHAR, 1));
+
+        DataDictionary restored = serializer.fromJson(serializer.toJson(original.at(version)));
+
+        assertEquals(3, restored.getDomains().size());
+        assertNull(restored.getDomain("ZLATER"));
+        assertNotNull(restored.getLockObject("EZCUSTOMER"));
+    }
+
+    @Test
+    void restoredDictionaryIsASingleVersion() {
+        DataDictionary restored = serializer.fromJson(serializer.toJson(buildFullDictionary()));
+        assertEquals(1, restored.version());
+    }
+
+    @Test
+    void importIntoResolvesAgainstExistingObjects() {
+        DataDictionary target = new DataDictionary();
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        target.registerDomain(domain);
+
+        DictionarySnapshot snapshot = new DictionarySnapshot();
+        snapshot.dataElements().put("ZNAME", new DictionarySnapshot.DataElementDto(
+                "ZNAME", "ZCHAR10", null, null, null, null));
+
+        assertEquals(2, serializer.importInto(target, snapshot));
+        assertSame(domain, target.getDataElement("ZNAME").getDomain());
+    }
+
+    @Test
+    void failedImportRegistersNothing() {
+        DataDictionary target = new DataDictionary();
+        target.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+
+        DictionarySnapshot snapshot = new DictionarySnapshot();
+        snapshot.domains().put("ZNUMC3", new DictionarySnapshot.DomainDto(
+                "ZNUMC3", "NUMC", 3, 0, null, null));
+        snapshot.domains().put("ZCHAR10", new DictionarySnapshot.DomainDto(
+                "ZCHAR10", "CHAR", 10, 0, null, null));
+
+        assertThrows(IllegalArgumentException.class, () -> serializer.importInto(target, snapshot));
+        assertEquals(1, target.version());
+        assertNull(target.getDomain("ZNUMC3"));
+    }
+
     @Test
     void invalidJsonThrowsException() {
         assertThrows(DictionarySerializationException.class,
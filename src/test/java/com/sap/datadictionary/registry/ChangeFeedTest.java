@@ -0,0 +1,129 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.DataType;
+import com.sap.datadictionary.internal.Domain;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ChangeFeed}.
+ */
+class ChangeFeedTest {
+
+    @Test
+    void registrationsPublishEventsInOrder() {
+        DataDictionary dd = new DataDictionary();
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        dd.registerDomain(domain);
+        dd.batch()
+                .addDataElement(new DataElement("ZNAME", domain))
+                .addTable(new TableDefinition("ZCUSTOMER"))
+                .commit();
+
+        ChangeFeed.Batch batch = dd.changes().read(0, 10);
+
+        assertEquals(3, batch.events().size());
+        assertEquals(new ChangeEvent(1, ChangeEvent.Type.REGISTERED, ObjectKind.DOMAIN, "ZCHAR10", 1),
+                batch.events().get(0));
+        assertEquals(new ChangeEvent(3, ChangeEvent.Type.REGISTERED, ObjectKind.TABLE, "ZCUSTOMER", 2),
+                batch.events().get(2));
+        assertEquals(3, batch.next());
+        assertEquals(0, batch.missed());
+        assertTrue(dd.changes().read(3, 10).events().isEmpty());
+    }
+
+    @Test
+    void failedRegistrationPublishesNothing() {
+        DataDictionary dd = new DataDictionary();
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10)));
+
+        assertEquals(1, dd.changes().lastSequence());
+    }
+
+    @Test
+    void readingRespectsBatchSize() {
+        DataDictionary dd = new DataDictionary();
+        for (int i = 0; i < 5; i++) {
+            dd.registerTable(new TableDefinition("ZT" + i));
+        }
+
+        ChangeFeed.Batch first = dd.changes().read(0, 2);
+        ChangeFeed.Batch second = dd.changes().read(first.next(), 10);
+
+        assertEquals(List.of("ZT0", "ZT1"), first.events().stream().map(ChangeEvent::name).toList());
+        assertEquals(List.of("ZT2", "ZT3", "ZT4"), second.events().stream().map(ChangeEvent::name).toList());
+        assertThrows(IllegalArgumentException.class, () -> dd.changes().read(0, 0));
+    }
+
+    @Test
+    void slowReaderSkipsOverwrittenEventsAndCountsThem() {
+        ChangeFeed feed = new ChangeFeed(4);
+        for (int i = 1; i <= 10; i++) {
+            feed.publish(ChangeEvent.Type.REGISTERED, ObjectKind.TABLE, "ZT" + i, i);
+        }
+
+        ChangeFeed.Batch batch = feed.read(0, 100);
+
+        assertEquals(6, batch.missed());
+        assertEquals(List.of(7L, 8L, 9L, 10L), batch.events().stream().map(ChangeEvent::sequence).toList());
+        assertEquals(10, batch.next());
+    }
+
+    @Test
+    void subscriptionTracksItsOwnPosition() {
+        DataDictionary dd = new DataDictionary();
+        dd.registerTable(new TableDefinition("ZBEFORE"));
+        ChangeFeed.Subscription subscription = dd.changes().subscribe();
+
+        dd.registerTable(new TableDefinition("ZAFTER1"));
+        dd.registerTable(new TableDefinition("ZAFTER2"));
+
+        assertEquals(List.of("ZAFTER1", "ZAFTER2"),
+                subscription.poll(10).stream().map(ChangeEvent::name).toList());
+        assertTrue(subscription.poll(10).isEmpty());
+        assertEquals(3, subscription.position());
+    }
+
+    @Test
+    void listenerReceivesSubscribedKindsInBatches() throws Exception {
+        DataDictionary dd = new DataDictionary();
+        List<ChangeEvent> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+        try (ChangeFeed.Subscription subscription = dd.changes().subscribe(Set.of(ObjectKind.TABLE), events -> {
+            received.addAll(events);
+            if (received.size() == 50) {
+                done.countDown();
+            }
+        })) {
+            for (int i = 0; i < 50; i++) {
+                dd.registerDomain(new Domain("ZD" + i, DataType.CHAR, 10));
+                dd.registerTable(new TableDefinition("ZT" + i));
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(0, subscription.missed());
+        }
+
+        assertEquals(50, received.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals("ZT" + i, received.get(i).name());
+        }
+    }
+
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new ChangeFeed(1000));
+    }
+}
@@ -8,9 +8,14 @@ import com.sap.datadictionary.external.ViewDefinition;
 import com.sap.datadictionary.internal.DataElement;
 import com.sap.datadictionary.internal.DataType;
 import com.sap.datadictionary.internal.Domain;
+import com.sap.datadictionary.internal.ValueRange;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -455,6 +460,469 @@ class ConsistencyValidatorTest {
                 "Expected at least 3 errors but got: " + result.getErrors().size());
     }
 
+    // ---- Domain fixed values ----
+
+    @Test
+    void fixedValuesWithoutTheDomainFormatAreErrors() {
+        Domain domain = new Domain("ZDATE", DataType.DATE, 8);
+        ValueRange range = new ValueRange();
+        range.addFixedValue("20240229");
+        range.addFixedValue("20230229");
+        domain.setValueRange(range);
+        dd.registerDomain(domain);
+
+        ValidationResult result = new ConsistencyValidator(dd).validate(List.of("domain-fixed-values"));
+
+        assertEquals(1, result.getErrors().size());
+        assertEquals("FIXED_VALUE_INVALID", result.getErrors().get(0).code());
+        assertEquals("Domain 'ZDATE' has fixed value '20230229' which is not a valid DATS value",
+                result.getErrors().get(0).message());
+    }
+
+    @Test
+    void intervalBoundsWithoutTheDomainFormatAreErrors() {
+        Domain domain = new Domain("ZPLANT", DataType.NUMC, 4);
+        ValueRange range = new ValueRange();
+        range.addInterval("0001", "8999");
+        range.addInterval("9000", "99999");
+        domain.setValueRange(range);
+        dd.registerDomain(domain);
+
+        ValidationResult result = new ConsistencyValidator(dd).validate(List.of("domain-fixed-values"));
+
+        assertEquals(1, result.getErrors().size());
+        assertEquals("INTERVAL_BOUND_INVALID", result.getErrors().get(0).code());
+        assertEquals("Domain 'ZPLANT' has interval bound '99999' which is not a valid NUMC(4) value",
+                result.getErrors().get(0).message());
+    }
+
+    // ---- Views over views, structure includes and dependency cycles ----
+
+    @Test
+    void viewCanSelectFieldsOfItsBaseView() {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        DataElement element = new DataElement("ZNAME", domain);
+        dd.registerDomain(domain);
+        dd.registerDataElement(element);
+        TableDefinition table = new TableDefinition("ZCUSTOMER");
+        table.addField(new FieldDefinition("NAME", element, false, false));
+        table.addField(new FieldDefinition("CITY", element, false, false));
+        dd.registerTable(table);
+
+        ViewDefinition all = new ViewDefinition("ZCUST_ALL", ViewDefinition.ViewType.DATABASE);
+        all.addBaseTable(table);
+        dd.registerView(all);
+        ViewDefinition names = new ViewDefinition("ZCUST_NAMES", ViewDefinition.ViewType.PROJECTION);
+        names.addBaseView(all);
+        names.addSelectedField("NAME");
+        dd.registerView(names);
+        ViewDefinition stacked = new ViewDefinition("ZCUST_STACKED", ViewDefinition.ViewType.PROJECTION);
+        stacked.addBaseView(names);
+        stacked.addSelectedField("NAME");
+        stacked.addSelectedField("CITY");
+        dd.registerView(stacked);
+
+        ValidationResult result = new ConsistencyValidator(dd).validate();
+
+        // ZCUST_NAMES offers only NAME; ZCUST_ALL selects nothing and offers its table's fields
+        assertEquals(1, result.getErrors().size());
+        assertEquals("View 'ZCUST_STACKED' selects field 'CITY' which does not exist in any of its"
+                + " base tables or base views", result.getErrors().get(0).message());
+        assertEquals(List.of("VIEW_WITHOUT_FIELDS"),
+                result.getWarnings().stream().map(ValidationResult.Finding::code).toList());
+    }
+
+    @Test
+    void unregisteredBaseViewAndIncludeAreErrors() {
+        ViewDefinition view = new ViewDefinition("ZV", ViewDefinition.ViewType.PROJECTION);
+        view.addBaseView(new ViewDefinition("ZV_GONE", ViewDefinition.ViewType.PROJECTION));
+        dd.registerView(view);
+        Structure structure = new Structure("ZS");
+        structure.addInclude(new Structure("ZS_GONE"));
+        dd.registerStructure(structure);
+
+        ValidationResult result = new ConsistencyValidator(dd).validate();
+
+        assertEquals(List.of("STRUCTURE_NOT_REGISTERED", "BASE_VIEW_NOT_REGISTERED"),
+                result.getErrors().stream().map(ValidationResult.Finding::code).toList());
+        assertEquals("Structure 'ZS' includes Structure 'ZS_GONE' which is not registered in the dictionary",
+                result.getErrors().get(0).message());
+        assertEquals(List.of("VIEW_WITHOUT_FIELDS"),
+                result.getWarnings().stream().map(ValidationResult.Finding::code).toList());
+    }
+
+    @Test
+    void dependencyCyclesAreReportedOnceWithTheirMembers() {
+        ViewDefinition a = new ViewDefinition("ZV_A", ViewDefinition.ViewType.PROJECTION);
+        ViewDefinition b = new ViewDefinition("ZV_B", ViewDefinition.ViewType.PROJECTION);
+        ViewDefinition c = new ViewDefinition("ZV_C", ViewDefinition.ViewType.PROJECTION);
+        ViewDefinition outside = new ViewDefinition("ZV_OUTSIDE", ViewDefinition.ViewType.PROJECTION);
+        a.addBaseView(b);
+        b.addBaseView(c);
+        c.addBaseView(a);
+        outside.addBaseView(a);
+        Structure first = new Structure("ZS_FIRST");
+        Structure second = new Structure("ZS_SECOND");
+        first.addInclude(second);
+        second.addInclude(first);
+        dd.registerView(outside);
+        dd.registerView(b);
+        dd.registerView(a);
+        dd.registerView(c);
+        dd.registerStructure(second);
+        dd.registerStructure(first);
+
+        List<ValidationResult.Finding> cycles = new ConsistencyValidator(dd)
+                .validate(List.of("dependency-cycles")).getErrors();
+
+        assertEquals(2, cycles.size());
+        assertEquals("Dependency cycle between Structure 'ZS_SECOND', Structure 'ZS_FIRST'",
+                cycles.get(0).message());
+        assertEquals("Dependency cycle between View 'ZV_B', View 'ZV_A', View 'ZV_C'",
+                cycles.get(1).message());
+        assertEquals("DEPENDENCY_CYCLE", cycles.get(1).code());
+    }
+
+    @Test
+    void longDependencyChainClosedIntoACycleIsDetected() {
+        int length = 50_000;
+        ViewDefinition[] views = new ViewDefinition[length];
+        for (int i = 0; i < length; i++) {
+            views[i] = new ViewDefinition("ZV" + i, ViewDefinition.ViewType.PROJECTION);
+        }
+        DictionaryBatch batch = dd.batch();
+        for (int i = 0; i < length; i++) {
+            views[i].addBaseView(views[(i + 1) % length]);
+            batch.addView(views[i]);
+        }
+        batch.commit();
+
+        DependencyCycles found = dd.snapshot().dependencyCycles();
+
+        assertEquals(1, found.cycles().size());
+        assertEquals(length, found.cycles().get(0).size());
+        assertEquals(new ObjectRef(ObjectKind.VIEW, "ZV0"), found.cycles().get(0).get(0));
+        assertNull(found.cycleOf(new ObjectRef(ObjectKind.VIEW, "ZV_NONE")));
+    }
+
+    @Test
+    void incrementalRunFindsACycleClosedByAnUpdate() {
+        ViewDefinition a = new ViewDefinition("ZV_A", ViewDefinition.ViewType.PROJECTION);
+        ViewDefinition b = new ViewDefinition("ZV_B", ViewDefinition.ViewType.PROJECTION);
+        ViewDefinition c = new ViewDefinition("ZV_C", ViewDefinition.ViewType.PROJECTION);
+        b.addBaseView(a);
+        c.addBaseView(b);
+        dd.registerView(a);
+        dd.registerView(b);
+        dd.registerView(c);
+        ConsistencyValidator validator = new ConsistencyValidator(dd);
+        assertFalse(validator.validateIncremental().hasErrors());
+
+        ViewDefinition closing = new ViewDefinition("ZV_A", ViewDefinition.ViewType.PROJECTION);
+        closing.addBaseView(c);
+        dd.updateView(closing, DependentPolicy.CASCADE);
+        ValidationResult result = validator.validateIncremental();
+
+        assertEquals(validator.validate().getFindings(), result.getFindings());
+        assertEquals(1, result.getErrors().size());
+        assertEquals("DEPENDENCY_CYCLE", result.getErrors().get(0).code());
+    }
+
+    // ---- Rules ----
+
+    /** Tables must be in the customer namespace. */
+    private static final ValidationRule CUSTOMER_NAMESPACE = ValidationRule.<TableDefinition>of(
+            "customer-namespace", ObjectKind.TABLE, (table, context) -> {
+                if (!table.getTableName().startsWith("Z")) {
+                    context.error("Table '" + table.getTableName() + "' is not in the customer namespace");
+                }
+            });
+
+    @Test
+    void addedRuleRunsAfterTheBuiltInRules() {
+        dd.registerTable(new TableDefinition("MARA"));
+        dd.registerTable(new TableDefinition("ZMARA"));
+        ConsistencyValidator validator = new ConsistencyValidator(dd);
+        validator.addRule(CUSTOMER_NAMESPACE);
+
+        ValidationResult result = validator.validate();
+
+        assertEquals("customer-namespace", validator.getRuleNames().getLast());
+        assertEquals(3, result.getFindings().size());
+        assertEquals("Table 'MARA' is not in the customer namespace", result.getFindings().getLast().message());
+        ValidationResult.RuleStatistics statistics = result.getRuleStatistics().getLast();
+        assertEquals("customer-namespace", statistics.rule());
+        assertEquals(2, statistics.objects());
+        assertEquals(1, statistics.findings());
+        assertEquals(validator.getRuleNames().size(), result.getRuleStatistics().size());
+    }
+
+    @Test
+    void runCanSelectRules() {
+        dd.registerTable(new TableDefinition("MARA"));
+        dd.registerDataElement(new DataElement("ZORPHAN", new Domain("ZGONE", DataType.CHAR, 1)));
+        ConsistencyValidator validator = new ConsistencyValidator(dd);
+        validator.addRule(CUSTOMER_NAMESPACE);
+
+        ValidationResult result = validator.validate(List.of("customer-namespace", "data-element-domain"));
+
+        // Findings follow the rule order, not the order of the names
+        assertEquals(2, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).message().startsWith("DataElement 'ZORPHAN'"));
+        assertFalse(result.hasWarnings());
+        assertEquals(List.of("data-element-domain", "customer-namespace"),
+                result.getRuleStatistics().stream().map(ValidationResult.RuleStatistics::rule).toList());
+        assertThrows(IllegalArgumentException.class, () -> validator.validate(List.of("no-such-rule")));
+    }
+
+    @Test
+    void ruleNamesMustBeUnique() {
+        ConsistencyValidator validator = new ConsistencyValidator(dd);
+        validator.addRule(CUSTOMER_NAMESPACE);
+
+        assertThrows(IllegalArgumentException.class, () -> validator.addRule(CUSTOMER_NAMESPACE));
+        assertThrows(IllegalArgumentException.class, () -> validator.addRule(
+                ValidationRule.of("table-fields", ObjectKind.TABLE, (table, context) -> { })));
+        assertThrows(IllegalArgumentException.class, () -> validator.addRule(null));
+    }
+
+    @Test
+    void addedRuleTakesPartInIncrementalRuns() {
+        ConsistencyValidator validator = new ConsistencyValidator(dd);
+        assertTrue(validator.validateIncremental().isValid());
+
+        validator.addRule(CUSTOMER_NAMESPACE);
+        TableDefinition table = new TableDefinition("MARA");
+        table.addField(new FieldDefinition("MATNR", new DataElement("MATNR", new Domain("CHAR18", DataType.CHAR, 18)),
+                true, false));
+        dd.registerTable(table);
+        ValidationResult result = validator.validateIncremental();
+
+        assertEquals(validator.validate().getFindings(), result.getFindings());
+        assertEquals(2, result.getErrors().size());
+    }
+
+    // ---- Parallel validation ----
+
+    @Test
+    void parallelResultMatchesSequentialRun() {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        dd.registerDomain(domain);
+        DataElement registered = new DataElement("ZNAME", domain);
+        dd.registerDataElement(registered);
+        int count = 3 * ConsistencyValidator.PARALLEL_BATCH + 7;
+        for (int i = 0; i < count; i++) {
+            TableDefinition table = new TableDefinition(String.format("ZT%05d", count - i));
+            if (i % 5 != 0) {
+                // odd tables use a Data Element that is not registered, every fifth has no fields
+                DataElement element = i % 2 == 0 ? registered : new DataElement("ZMISSING" + i, domain);
+                table.addField(new FieldDefinition("NAME", element, false, false));
+            }
+            dd.registerTable(table);
+        }
+        dd.registerDataElement(new DataElement("ZORPHAN", new Domain("ZGONE", DataType.CHAR, 1)));
+
+        ValidationResult sequential = new ConsistencyValidator(dd).validate();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ValidationResult parallel;
+        try {
+            parallel = new ConsistencyValidator(dd).validateParallel(pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertTrue(sequential.hasErrors() && sequential.hasWarnings());
+        assertEquals(sequential.getFindings(), parallel.getFindings());
+        // Every rule checks each object once, however its ranges were split
+        assertEquals(ruleCounts(sequential), ruleCounts(parallel));
+    }
+
+    private static List<String> ruleCounts(ValidationResult result) {
+        return result.getRuleStatistics().stream()
+                .map(statistics -> statistics.rule() + ":" + statistics.objects() + ":" + statistics.findings())
+                .toList();
+    }
+
+    // ---- Incremental validation ----
+
+    @Test
+    void incrementalResultMatchesFullRunAfterChanges() {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        DataElement element = new DataElement("ZNAME", domain);
+        dd.registerDomain(domain);
+        dd.registerDataElement(element);
+        TableDefinition table = new TableDefinition("ZCUSTOMER");
+        table.addField(new FieldDefinition("NAME", element, false, true));
+        ViewDefinition view = new ViewDefinition("ZV_CUSTOMER", ViewDefinition.ViewType.PROJECTION);
+        view.addBaseTable(table);
+        view.addSelectedField("NAME");
+        dd.registerView(view);
+        dd.registerTable(new TableDefinition("ZEMPTY"));
+        dd.registerDataElement(new DataElement("ZORPHAN", new Domain("ZGONE", DataType.CHAR, 1)));
+
+        ConsistencyValidator validator = new ConsistencyValidator(dd);
+        ValidationResult result = validator.validateIncremental();
+
+        assertEquals(validator.validate().getFindings(), result.getFindings());
+        assertEquals(2, result.getErrors().size());
+
+        // Registering the missing objects fixes the View over the Table too
+        dd.registerTable(table);
+        dd.registerDomain(new Domain("ZGONE", DataType.CHAR, 1));
+        dd.removeDataElement("ZORPHAN", DependentPolicy.RESTRICT);
+        result = validator.validateIncremental();
+
+        assertEquals(validator.validate().getFindings(), result.getFindings());
+        assertFalse(result.hasErrors());
+        assertEquals(1, result.getWarnings().size());
+    }
+
+    @Test
+    void incrementalRunRechecksDependentsOfAChangedObject() {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        dd.registerDomain(domain);
+        Structure structure = new Structure("ZADDRESS");
+        structure.addField(new FieldDefinition("NAME", new DataElement("ZNAME", domain), false, false));
+        dd.registerStructure(structure);
+
+        ConsistencyValidator validator = new ConsistencyValidator(dd);
+        assertTrue(validator.validateIncremental().getErrors().get(0).message().contains("not registered"));
+
+        // Another instance with the same name changes the Structure's error
+        dd.registerDataElement(new DataElement("ZNAME", domain));
+        ValidationResult result = validator.validateIncremental();
+
+        assertEquals(validator.validate().getFindings(), result.getFindings());
+        assertTrue(result.getErrors().get(0).message().contains("differs"));
+    }
+
+    @Test
+    void unchangedDictionaryReturnsThePreviousResult() {
+        dd.registerTable(new TableDefinition("ZEMPTY"));
+        ConsistencyValidator validator = new ConsistencyValidator(dd);
+
+        ValidationResult first = validator.validateIncremental();
+
+        assertSame(first, validator.validateIncremental());
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+        assertSame(first, validator.validateIncremental());
+    }
+
+    @Test
+    void laterChangesLeaveEarlierResultsUntouched() {
+        dd.registerTable(new TableDefinition("ZEMPTY"));
+        ConsistencyValidator validator = new ConsistencyValidator(dd);
+        ValidationResult first = validator.validateIncremental();
+
+        dd.registerTable(new TableDefinition("ZEMPTY2"));
+        ValidationResult second = validator.validateIncremental();
+
+        assertEquals(1, first.getFindings().size());
+        assertEquals(1, first.getWarningCount());
+        assertEquals(2, second.getWarningCount());
+        assertEquals(validator.validate().getFindings(), second.getFindings());
+    }
+
+    // ---- Validation cache ----
+
+    @Test
+    void cachedFindingsAreReusedByLaterRuns() {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        dd.registerDomain(domain);
+        for (int i = 0; i < 5; i++) {
+            TableDefinition table = new TableDefinition("ZT" + i);
+            table.addField(new FieldDefinition("NAME", new DataElement("ZMISSING" + i, domain), false, false));
+            dd.registerTable(table);
+        }
+        dd.registerTable(new TableDefinition("ZEMPTY"));
+        ValidationCache cache = new ValidationCache();
+
+        ValidationResult first = new ConsistencyValidator(dd, cache).validate();
+        long misses = cache.misses();
+        ValidationResult second = new ConsistencyValidator(dd, cache).validate();
+
+        assertEquals(new ConsistencyValidator(dd).validate().getFindings(), first.getFindings());
+        assertEquals(first.getFindings(), second.getFindings());
+        assertEquals(misses, cache.misses());
+        assertEquals(misses, cache.hits());
+        assertEquals(6, second.getErrorCount() + second.getWarningCount());
+    }
+
+    @Test
+    void cachedFindingsFollowChangesOfReferencedObjects() {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        dd.registerDomain(domain);
+        Structure structure = new Structure("ZADDRESS");
+        structure.addField(new FieldDefinition("NAME", new DataElement("ZNAME", domain), false, false));
+        dd.registerStructure(structure);
+        ValidationCache cache = new ValidationCache();
+        ConsistencyValidator validator = new ConsistencyValidator(dd, cache);
+        assertTrue(validator.validate().getErrors().get(0).message().contains("not registered"));
+
+        // The Structure is unchanged, but what its rule sees of the Data Element is not
+        dd.registerDataElement(new DataElement("ZNAME", domain));
+        ValidationResult result = validator.validate();
+
+        assertEquals(new ConsistencyValidator(dd).validate().getFindings(), result.getFindings());
+        assertTrue(result.getErrors().get(0).message().contains("differs"));
+        assertEquals(validator.validateIncremental().getFindings(), result.getFindings());
+    }
+
+    @Test
+    void completeRunDropsEntriesItDidNotUse() {
+        dd.registerTable(new TableDefinition("ZEMPTY"));
+        dd.registerTable(new TableDefinition("ZGONE"));
+        dd.registerTable(new TableDefinition("ZLAST"));
+        ValidationCache cache = new ValidationCache();
+        ConsistencyValidator validator = new ConsistencyValidator(dd, cache);
+        validator.validate();
+        int entries = cache.size();
+
+        // A run that stops early keeps everything
+        dd.removeTable("ZGONE", DependentPolicy.RESTRICT);
+        assertTrue(validator.validate(validator.getRuleNames(), 1).isTruncated());
+        assertEquals(entries, cache.size());
+        validator.validate();
+
+        // One entry less per rule that visits Tables
+        assertEquals(entries - 2, cache.size());
+        assertEquals(2, validator.validate().getWarningCount());
+    }
+
+    @Test
+    void dependencyCyclesAreNotCached() {
+        ViewDefinition first = new ViewDefinition("ZV_A", ViewDefinition.ViewType.PROJECTION);
+        ViewDefinition second = new ViewDefinition("ZV_B", ViewDefinition.ViewType.PROJECTION);
+        first.addBaseView(second);
+        second.addBaseView(first);
+        dd.registerView(first);
+        dd.registerView(second);
+        ValidationCache cache = new ValidationCache();
+
+        new ConsistencyValidator(dd, cache).validate(List.of("dependency-cycles"));
+
+        assertEquals(0, cache.size());
+        assertEquals(1, new ConsistencyValidator(dd, cache).validate(List.of("dependency-cycles")).getErrorCount());
+    }
+
+    // ---- Versions ----
+
+    @Test
+    void olderVersionCanBeValidated() {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        DataElement element = new DataElement("ZNAME", domain);
+        dd.registerDomain(domain);
+        dd.registerDataElement(element);
+        long consistent = dd.version();
+
+        // A later registration breaks consistency ...
+        dd.registerDataElement(new DataElement("ZORPHAN", new Domain("ZGONE", DataType.CHAR, 1)));
+
+        // ... but the earlier version still validates cleanly
+        assertTrue(new ConsistencyValidator(dd.at(consistent)).validate().isValid());
+        assertTrue(new ConsistencyValidator(dd).validate().hasErrors());
+    }
+
     // ---- ValidationResult ----
 
     @Test
@@ -465,4 +933,51 @@ class ConsistencyValidatorTest {
         assertEquals(0, result.getWarnings().size());
         assertEquals(0, result.getFindings().size());
     }
+
+    @Test
+    void findingLimitStopsTheRunEarly() {
+        for (int i = 0; i < 10; i++) {
+            dd.registerDataElement(new DataElement("ZORPHAN" + i, new Domain("ZGONE", DataType.CHAR, 1)));
+        }
+        ConsistencyValidator validator = new ConsistencyValidator(dd);
+
+        ValidationResult result = validator.validate(validator.getRuleNames(), 3);
+
+        assertTrue(result.isTruncated());
+        assertEquals(3, result.getFindings().size());
+        assertEquals(3, result.getErrorCount());
+        assertEquals(3, result.getRuleStatistics().get(0).objects());
+        assertEquals("DataElement 'ZORPHAN0' references Domain 'ZGONE' which is not registered in the dictionary",
+                result.getFindings().get(0).message());
+        assertFalse(validator.validate(validator.getRuleNames(), 10).isTruncated());
+        assertThrows(IllegalArgumentException.class, () -> validator.validate(validator.getRuleNames(), 0));
+    }
+
+    @Test
+    void findingsCanBeStreamedToAWriter() {
+        dd.registerDataElement(new DataElement("ZORPHAN", new Domain("ZGONE", DataType.CHAR, 1)));
+        dd.registerTable(new TableDefinition("ZEMPTY"));
+        ConsistencyValidator validator = new ConsistencyValidator(dd);
+        StringWriter out = new StringWriter();
+
+        ValidationResult result = validator.validate(validator.getRuleNames(), Integer.MAX_VALUE,
+                FindingSink.writingTo(out));
+
+        assertEquals("ERROR DOMAIN_NOT_REGISTERED: DataElement 'ZORPHAN' references Domain 'ZGONE'"
+                + " which is not registered in the dictionary\n"
+                + "WARNING TABLE_WITHOUT_FIELDS: Table 'ZEMPTY' has no fields defined\n", out.toString());
+        assertTrue(result.getFindings().isEmpty());
+        assertEquals(1, result.getErrorCount());
+        assertEquals(1, result.getWarningCount());
+        assertFalse(result.isValid());
+    }
+
+    @Test
+    void findingMessagesAreRenderedFromTheirArguments() {
+        ValidationResult.Finding finding = new ValidationResult.Finding(ValidationResult.Severity.ERROR,
+                "KEY_TOO_LONG", "Table '{0}' has a key of {1} characters, more than {2} or {x}", List.of("ZT", 130));
+
+        assertEquals("Table 'ZT' has a key of 130 characters, more than {2} or {x}", finding.message());
+        assertEquals(List.of("ZT", 130), finding.arguments());
+    }
 }
@@ -13,6 +13,17 @@ import com.sap.datadictionary.internal.ValueRange;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -173,4 +184,1108 @@ class DataDictionaryTest {
         assertTrue(currencyDomain.getValueRange().isValid("EUR"));
         assertFalse(currencyDomain.getValueRange().isValid("GBP"));
     }
+
+    // ---- Versions ----
+
+    @Test
+    void everyRegistrationCreatesANewVersion() {
+        assertEquals(0, dd.version());
+
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+        dd.registerTable(new TableDefinition("ZCUSTOMER"));
+
+        assertEquals(2, dd.version());
+    }
+
+    @Test
+    void failedRegistrationDoesNotCreateAVersion() {
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 20)));
+        assertEquals(1, dd.version());
+    }
+
+    @Test
+    void olderVersionsCanBeRead() {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        dd.registerDomain(domain);
+        dd.registerTable(new TableDefinition("ZFIRST"));
+        long v2 = dd.version();
+        dd.registerTable(new TableDefinition("ZSECOND"));
+        dd.registerDomain(new Domain("ZNUMC3", DataType.NUMC, 3));
+
+        DataDictionary atV2 = dd.at(v2);
+        assertEquals(v2, atV2.version());
+        assertEquals(1, atV2.getDomains().size());
+        assertSame(domain, atV2.getDomain("ZCHAR10"));
+        assertNull(atV2.getDomain("ZNUMC3"));
+        assertEquals(List.of("ZFIRST"), new ArrayList<>(atV2.getTables().keySet()));
+        assertNull(atV2.getTable("ZSECOND"));
+
+        DataDictionary empty = dd.at(0);
+        assertTrue(empty.getDomains().isEmpty());
+        assertTrue(empty.getTables().isEmpty());
+    }
+
+    @Test
+    void snapshotIsPinnedWhileWritesContinue() {
+        dd.registerTable(new TableDefinition("ZFIRST"));
+        DataDictionary pinned = dd.snapshot();
+
+        dd.registerTable(new TableDefinition("ZSECOND"));
+
+        assertEquals(1, pinned.getTables().size());
+        assertNull(pinned.getTable("ZSECOND"));
+        assertEquals(2, dd.getTables().size());
+    }
+
+    @Test
+    void pinnedViewsAreReadOnly() {
+        DataDictionary pinned = dd.snapshot();
+
+        assertTrue(pinned.isReadOnly());
+        assertFalse(dd.isReadOnly());
+        assertSame(pinned, pinned.snapshot());
+        assertThrows(IllegalStateException.class,
+                () -> pinned.registerTable(new TableDefinition("ZCUSTOMER")));
+    }
+
+    @Test
+    void unknownVersionIsRejected() {
+        dd.registerTable(new TableDefinition("ZCUSTOMER"));
+
+        assertThrows(IllegalArgumentException.class, () -> dd.at(2));
+        assertThrows(IllegalArgumentException.class, () -> dd.at(-1));
+    }
+
+    // ---- Batches ----
+
+    @Test
+    void batchPublishesAllObjectsInOneVersion() {
+        dd.registerDomain(new Domain("ZNUMC3", DataType.NUMC, 3));
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        DataElement element = new DataElement("ZNAME", domain);
+        TableDefinition table = new TableDefinition("ZCUSTOMER");
+        table.addField(new FieldDefinition("NAME", element, false, false));
+
+        long version = dd.batch()
+                .addTable(table)
+                .addDataElement(element)
+                .addDomain(domain)
+                .commit();
+
+        assertEquals(2, version);
+        assertEquals(2, dd.version());
+        assertSame(table, dd.getTable("ZCUSTOMER"));
+        assertSame(element, dd.getDataElement("ZNAME"));
+        assertNull(dd.at(1).getTable("ZCUSTOMER"));
+        assertEquals(List.of("ZCUSTOMER"),
+                new WhereUsedAnalyzer(dd).findAllUsagesOfDomain("ZCHAR10").get("tables"));
+    }
+
+    @Test
+    void batchMayReferenceRegisteredObjects() {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        dd.registerDomain(domain);
+
+        dd.batch().addDataElement(new DataElement("ZNAME", domain)).commit();
+
+        assertNotNull(dd.getDataElement("ZNAME"));
+    }
+
+    @Test
+    void batchWithDuplicateRegistersNothing() {
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+        DictionaryBatch batch = dd.batch()
+                .addDomain(new Domain("ZNUMC3", DataType.NUMC, 3))
+                .addDomain(new Domain("ZCHAR10", DataType.CHAR, 20));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, batch::commit);
+        assertEquals("Domain already registered: ZCHAR10", e.getMessage());
+        assertEquals(1, dd.version());
+        assertNull(dd.getDomain("ZNUMC3"));
+    }
+
+    @Test
+    void batchReportsEveryProblem() {
+        Domain missing = new Domain("ZMISSING", DataType.CHAR, 1);
+        DictionaryBatch batch = dd.batch()
+                .addTable(new TableDefinition("ZCUSTOMER"))
+                .addTable(new TableDefinition("ZCUSTOMER"))
+                .addDataElement(new DataElement("ZNAME", missing));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, batch::commit);
+        assertTrue(e.getMessage().startsWith("2 problems"));
+        assertTrue(e.getMessage().contains("Table staged twice: ZCUSTOMER"));
+        assertTrue(e.getMessage().contains("Data element 'ZNAME' references Domain 'ZMISSING'"));
+        assertEquals(0, dd.version());
+        assertTrue(dd.getTables().isEmpty());
+    }
+
+    @Test
+    void batchCanOnlyBeCommittedOnce() {
+        DictionaryBatch batch = dd.batch().addTable(new TableDefinition("ZCUSTOMER"));
+        batch.commit();
+
+        assertThrows(IllegalStateException.class, batch::commit);
+        assertThrows(IllegalStateException.class,
+                () -> batch.addTable(new TableDefinition("ZORDER")));
+    }
+
+    @Test
+    void emptyBatchDoesNotCreateAVersion() {
+        assertEquals(0, dd.batch().commit());
+        assertEquals(0, dd.version());
+    }
+
+    @Test
+    void batchOnPinnedViewIsRejected() {
+        assertThrows(IllegalStateException.class, () -> dd.snapshot().batch());
+    }
+
+    // ---- Enforced integrity ----
+
+    @Test
+    void enforcedIntegrityRejectsMalformedFixedValues() {
+        dd.setIntegrityEnforced(true);
+        Domain domain = new Domain("ZNUMC3", DataType.NUMC, 3);
+        ValueRange range = new ValueRange();
+        range.addFixedValue("001");
+        range.addFixedValue("1A");
+        domain.setValueRange(range);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> dd.registerDomain(domain));
+
+        assertEquals("Domain 'ZNUMC3' has fixed value '1A' which is not a valid NUMC(3) value", e.getMessage());
+        assertNull(dd.getDomain("ZNUMC3"));
+    }
+
+    @Test
+    void enforcedIntegrityRejectsDanglingReferences() {
+        dd.setIntegrityEnforced(true);
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> dd.registerDataElement(new DataElement("ZNAME", domain)));
+        assertEquals("Data element 'ZNAME' references Domain 'ZCHAR10' which is neither registered nor staged",
+                e.getMessage());
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+        e = assertThrows(IllegalArgumentException.class,
+                () -> dd.registerDataElement(new DataElement("ZNAME", domain)));
+        assertTrue(e.getMessage().contains("instance 'ZCHAR10' that differs"));
+
+        DataElement element = new DataElement("ZNAME", dd.getDomain("ZCHAR10"));
+        dd.registerDataElement(element);
+        TableDefinition table = new TableDefinition("ZCUSTOMER");
+        table.addField(new FieldDefinition("NAME", element, true, false));
+        dd.registerTable(table);
+        ViewDefinition view = new ViewDefinition("ZCUST_V", ViewDefinition.ViewType.PROJECTION);
+        view.addBaseTable(table);
+        view.addSelectedField("NAME");
+        view.addSelectedField("CITY");
+        e = assertThrows(IllegalArgumentException.class, () -> dd.registerView(view));
+        assertEquals("View 'ZCUST_V' selects field 'CITY' which does not exist in any of its base tables"
+                + " or base views", e.getMessage());
+
+        assertEquals(3, dd.version());
+        assertTrue(new ConsistencyValidator(dd).validate().isValid());
+    }
+
+    @Test
+    void enforcedIntegrityChecksBatchesUnlessUnchecked() {
+        dd.setIntegrityEnforced(true);
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        dd.batch()
+                .addDataElement(new DataElement("ZNAME", domain))
+                .addDomain(domain)
+                .commit();
+
+        SearchHelp help = new SearchHelp("ZSH_GONE");
+        help.setSelectionMethod(new TableDefinition("ZGONE"));
+        DictionaryBatch rejected = dd.batch().addSearchHelp(help);
+        assertThrows(IllegalArgumentException.class, rejected::commit);
+
+        dd.batch().addSearchHelp(help).commitUnchecked();
+        assertSame(help, dd.getSearchHelp("ZSH_GONE"));
+        assertEquals(1, new ConsistencyValidator(dd).validate().getErrorCount());
+    }
+
+    @Test
+    void enforcedIntegrityRejectsUpdatesThatBreakDependentsOrCloseACycle() {
+        TableDefinition table = registerChain();
+        dd.setIntegrityEnforced(true);
+        ViewDefinition stacked = new ViewDefinition("ZVIEW_STACKED", ViewDefinition.ViewType.PROJECTION);
+        stacked.addBaseView(dd.getView("ZVIEW"));
+        stacked.addSelectedField("KEY");
+        dd.registerView(stacked);
+        long before = dd.version();
+
+        // ZVIEW selects KEY, which the replacement no longer has
+        assertThrows(IllegalArgumentException.class,
+                () -> dd.updateTable(new TableDefinition("ZTAB"), DependentPolicy.CASCADE));
+
+        ViewDefinition closing = new ViewDefinition("ZVIEW", ViewDefinition.ViewType.DATABASE);
+        closing.addBaseTable(table);
+        closing.addBaseView(stacked);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> dd.updateView(closing, DependentPolicy.CASCADE));
+        assertEquals("View 'ZVIEW' would depend on itself through View 'ZVIEW_STACKED'", e.getMessage());
+
+        assertEquals(before, dd.version());
+        assertSame(table, dd.getTable("ZTAB"));
+    }
+
+    @Test
+    void integrityCanOnlyBeEnforcedOnWritableDictionaries() {
+        dd.setIntegrityEnforced(true);
+
+        assertTrue(dd.overlay().isIntegrityEnforced());
+        assertThrows(IllegalStateException.class, () -> dd.snapshot().setIntegrityEnforced(false));
+    }
+
+    // ---- Name queries ----
+
+    private void registerTables(String... names) {
+        for (String name : names) {
+            dd.registerTable(new TableDefinition(name));
+        }
+    }
+
+    @Test
+    void prefixQueryListsMatchingNamesInNameOrder() {
+        registerTables("ZFI_B", "ZSD_A", "ZFI_A", "ZFIX", "/ABC/T1", "MARA");
+
+        assertEquals(List.of("ZFI_A", "ZFI_B"),
+                new ArrayList<>(dd.getTables(NameQuery.prefix("ZFI_")).keySet()));
+        assertEquals(List.of("/ABC/T1"),
+                new ArrayList<>(dd.getTables(NameQuery.prefix("/ABC/")).keySet()));
+        assertTrue(dd.getTables(NameQuery.prefix("ZMM_")).isEmpty());
+    }
+
+    @Test
+    void rangeQueryIsHalfOpen() {
+        registerTables("ZA", "ZB", "ZC", "ZD");
+
+        assertEquals(List.of("ZB", "ZC"), new ArrayList<>(dd.getTables(NameQuery.range("ZB", "ZD")).keySet()));
+        assertEquals(List.of("ZA", "ZB"), new ArrayList<>(dd.getTables(NameQuery.range(null, "ZC")).keySet()));
+        assertThrows(IllegalArgumentException.class, () -> NameQuery.range("ZD", "ZA"));
+    }
+
+    @Test
+    void wildcardQueryMatchesStarAndPlus() {
+        registerTables("ZFI_CUST1", "ZFI_CUST22", "ZSD_CUST1", "ZFI_VEND1");
+
+        assertEquals(List.of("ZFI_CUST1", "ZSD_CUST1"),
+                new ArrayList<>(dd.getTables(NameQuery.matching("Z*_CUST+")).keySet()));
+        assertEquals(List.of("ZFI_CUST1", "ZFI_CUST22", "ZFI_VEND1"),
+                new ArrayList<>(dd.getTables(NameQuery.matching("ZFI*")).keySet()));
+        assertEquals(List.of("ZSD_CUST1"),
+                new ArrayList<>(dd.getTables(NameQuery.matching("ZSD_CUST1")).keySet()));
+    }
+
+    @Test
+    void pagesContinueAfterCursor() {
+        registerTables("ZT5", "ZT1", "ZT4", "ZT2", "ZT3", "ZU1");
+        NameQuery query = NameQuery.prefix("ZT").limit(2);
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            Map<String, TableDefinition> page = dd.getTables(query.after(cursor));
+            seen.addAll(page.keySet());
+            cursor = page.isEmpty() ? null : List.copyOf(page.keySet()).get(page.size() - 1);
+        } while (cursor != null);
+
+        assertEquals(List.of("ZT1", "ZT2", "ZT3", "ZT4", "ZT5"), seen);
+        assertThrows(IllegalArgumentException.class, () -> query.limit(0));
+    }
+
+    @Test
+    void nameQueryOnPinnedViewIgnoresLaterObjects() {
+        registerTables("ZFI_A");
+        DataDictionary pinned = dd.snapshot();
+        registerTables("ZFI_B");
+
+        assertEquals(List.of("ZFI_A"), new ArrayList<>(pinned.getTables(NameQuery.prefix("ZFI_")).keySet()));
+        assertEquals(2, dd.getTables(NameQuery.prefix("ZFI_")).size());
+    }
+
+    // ---- Attribute queries ----
+
+    @Test
+    void findDomainsIntersectsDataTypeAndLength() {
+        dd.registerDomain(new Domain("ZNUMC10", DataType.NUMC, 10));
+        dd.registerDomain(new Domain("ZNUMC3", DataType.NUMC, 3));
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+        dd.registerDomain(new Domain("ZNUMC10B", DataType.NUMC, 10));
+
+        assertEquals(List.of("ZNUMC10", "ZNUMC10B"), new ArrayList<>(dd.findDomains(
+                AttributeFilter.dataType(DataType.NUMC).and(AttributeFilter.length(10))).keySet()));
+        assertEquals(3, dd.findDomains(AttributeFilter.dataType(DataType.NUMC)).size());
+        assertTrue(dd.findDomains(AttributeFilter.dataType(DataType.DATE)).isEmpty());
+    }
+
+    @Test
+    void findTablesByDeliveryClassAndBuffering() {
+        TableDefinition customizing = new TableDefinition("ZCUST_CFG");
+        customizing.setDeliveryClass(TableDefinition.DeliveryClass.C);
+        customizing.setBuffered(true);
+        TableDefinition unbuffered = new TableDefinition("ZCUST_LOG");
+        unbuffered.setDeliveryClass(TableDefinition.DeliveryClass.C);
+        dd.registerTable(customizing);
+        dd.registerTable(unbuffered);
+        dd.registerTable(new TableDefinition("ZCUSTOMER"));
+
+        assertEquals(List.of("ZCUST_CFG"), new ArrayList<>(dd.findTables(
+                AttributeFilter.deliveryClass(TableDefinition.DeliveryClass.C)
+                        .and(AttributeFilter.buffered(true))).keySet()));
+        assertEquals(2, dd.findTables(AttributeFilter.buffered(false)).size());
+    }
+
+    @Test
+    void findViewsAndLockObjects() {
+        TableDefinition table = new TableDefinition("ZCUSTOMER");
+        dd.registerTable(table);
+        dd.registerView(new ViewDefinition("ZV_DB", ViewDefinition.ViewType.DATABASE));
+        dd.registerView(new ViewDefinition("ZV_PROJ", ViewDefinition.ViewType.PROJECTION));
+        LockObject lock = new LockObject("EZCUSTOMER", table);
+        lock.setLockMode(LockObject.LockMode.SHARED);
+        dd.registerLockObject(lock);
+
+        assertEquals(List.of("ZV_PROJ"), new ArrayList<>(dd.findViews(
+                AttributeFilter.viewType(ViewDefinition.ViewType.PROJECTION)).keySet()));
+        assertEquals(List.of("EZCUSTOMER"), new ArrayList<>(dd.findLockObjects(
+                AttributeFilter.lockMode(LockObject.LockMode.SHARED)).keySet()));
+    }
+
+    @Test
+    void contradictoryFilterMatchesNothing() {
+        dd.registerDomain(new Domain("ZNUMC10", DataType.NUMC, 10));
+
+        assertTrue(dd.findDomains(AttributeFilter.length(10).and(AttributeFilter.length(3))).isEmpty());
+        assertEquals(1, dd.findDomains(AttributeFilter.length(10).and(AttributeFilter.length(10))).size());
+    }
+
+    @Test
+    void attributeQueryRespectsPinnedVersionAndPartitionView() {
+        dd.registerDomain(new Domain("ZNUMC10", DataType.NUMC, 10));
+        DataDictionary pinned = dd.snapshot();
+        dd.registerDomain(new Domain("NUMC10", DataType.NUMC, 10));
+
+        AttributeFilter<Domain> numc = AttributeFilter.dataType(DataType.NUMC);
+        assertEquals(List.of("ZNUMC10"), new ArrayList<>(pinned.findDomains(numc).keySet()));
+        assertEquals(List.of("ZNUMC10", "NUMC10"), new ArrayList<>(dd.findDomains(numc).keySet()));
+        assertEquals(List.of("NUMC10"), new ArrayList<>(dd.partition("SAP").findDomains(numc).keySet()));
+    }
+
+    // ---- Sealing ----
+
+    @Test
+    void sealedDictionaryServesLookupsAndListings() {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        dd.registerDomain(domain);
+        DataElement element = new DataElement("ZNAME", domain);
+        dd.registerDataElement(element);
+        TableDefinition table = new TableDefinition("ZCUSTOMER");
+        table.addField(new FieldDefinition("NAME", element, true, false));
+        dd.registerTable(table);
+        dd.registerTable(new TableDefinition("/ACME/ORDER"));
+
+        dd.seal();
+
+        assertTrue(dd.isSealed());
+        assertSame(table, dd.getTable("ZCUSTOMER"));
+        assertNotNull(dd.getTable("/ACME/ORDER"));
+        assertNull(dd.getTable("ZUNKNOWN"));
+        assertNull(dd.getTable("ZNAME"));
+        assertSame(dd.getTables(), dd.getTables());
+        assertEquals(List.of("ZCUSTOMER", "/ACME/ORDER"), new ArrayList<>(dd.getTables().keySet()));
+        assertTrue(dd.getTables().containsKey("ZCUSTOMER"));
+        assertEquals(List.of("ZNAME"), new ArrayList<>(dd.getDataElements().keySet()));
+    }
+
+    @Test
+    void sealedDictionaryRejectsRegistrations() {
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+        dd.seal();
+
+        assertThrows(IllegalStateException.class,
+                () -> dd.registerDomain(new Domain("ZCHAR20", DataType.CHAR, 20)));
+        assertThrows(IllegalStateException.class, () -> dd.batch());
+        assertEquals(1, dd.version());
+    }
+
+    @Test
+    void sealedDictionaryKeepsOtherQueries() {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        dd.registerDomain(domain);
+        dd.registerDataElement(new DataElement("ZNAME", domain));
+        dd.seal();
+
+        assertSame(dd.getDomains(), dd.snapshot().getDomains());
+        assertEquals(List.of("ZNAME"), new WhereUsedAnalyzer(dd).findDataElementsUsingDomain("ZCHAR10"));
+        assertEquals(1, dd.getDomains(NameQuery.prefix("Z")).size());
+        assertTrue(dd.at(0).getDomains().isEmpty());
+    }
+
+    @Test
+    void pinnedViewCanBeSealedWithoutAffectingTheDictionary() {
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+        DataDictionary pinned = dd.snapshot();
+        pinned.seal();
+
+        dd.registerDomain(new Domain("ZCHAR20", DataType.CHAR, 20));
+
+        assertFalse(dd.isSealed());
+        assertEquals(1, pinned.getDomains().size());
+        assertEquals(2, dd.getDomains().size());
+    }
+
+    // ---- Concurrency ----
+
+    @Test
+    void registrationOrderIsPreserved() {
+        dd.registerTable(new TableDefinition("ZB"));
+        dd.registerTable(new TableDefinition("ZA"));
+        dd.registerTable(new TableDefinition("ZC"));
+
+        assertEquals(List.of("ZB", "ZA", "ZC"), new ArrayList<>(dd.getTables().keySet()));
+    }
+
+    @Test
+    void returnedMapsAreUnmodifiable() {
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> dd.getDomains().put("X", new Domain("X", DataType.CHAR, 1)));
+        assertThrows(UnsupportedOperationException.class,
+                () -> dd.getDomains().clear());
+    }
+
+    @Test
+    void returnedMapIsAStableSnapshot() {
+        dd.registerTable(new TableDefinition("ZFIRST"));
+        Map<String, TableDefinition> before = dd.getTables();
+
+        dd.registerTable(new TableDefinition("ZSECOND"));
+
+        assertEquals(1, before.size());
+        assertNull(before.get("ZSECOND"));
+        assertEquals(2, dd.getTables().size());
+    }
+
+    @Test
+    void concurrentRegistrationAndIterationDoNotInterfere() throws Exception {
+        int writers = 4;
+        int perWriter = 2_000;
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perWriter; i++) {
+                        dd.registerTable(new TableDefinition("Z" + writer + "_" + i));
+                    }
+                    return null;
+                }));
+            }
+            for (int r = 0; r < 2; r++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    while (dd.getTables().size() < writers * perWriter) {
+                        Map<String, TableDefinition> tables = dd.getTables();
+                        int seen = 0;
+                        for (TableDefinition table : tables.values()) {
+                            assertNotNull(table);
+                            seen++;
+                        }
+                        assertEquals(tables.size(), seen);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(writers * perWriter, dd.getTables().size());
+        // Each writer's tables appear in the order that writer registered them
+        for (int w = 0; w < writers; w++) {
+            String prefix = "Z" + w + "_";
+            List<String> names = dd.getTables().keySet().stream()
+                    .filter(n -> n.startsWith(prefix))
+                    .toList();
+            for (int i = 0; i < perWriter; i++) {
+                assertEquals(prefix + i, names.get(i));
+            }
+        }
+    }
+
+    @Test
+    void nameIndexOnlyListsPublishedObjects() throws Exception {
+        int count = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?> writer = pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < count; i++) {
+                    dd.registerTable(new TableDefinition("ZT" + i));
+                }
+                return null;
+            });
+            Future<?> reader = pool.submit(() -> {
+                start.await();
+                while (!writer.isDone()) {
+                    for (String name : dd.candidates(ObjectKind.TABLE, NameQuery.prefix("ZT"))) {
+                        assertNotNull(dd.getTable(name), name);
+                    }
+                }
+                return null;
+            });
+            start.countDown();
+            writer.get(30, TimeUnit.SECONDS);
+            reader.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(count, dd.getTables(NameQuery.prefix("ZT").limit(count)).size());
+    }
+
+    // ---- Partitions ----
+
+    @Test
+    void partitionOfFollowsNamespace() {
+        assertEquals("/ACME/", DataDictionary.partitionOf("/ACME/CUSTOMER"));
+        assertEquals("Z", DataDictionary.partitionOf("ZCUSTOMER"));
+        assertEquals("Y", DataDictionary.partitionOf("YTEMP"));
+        assertEquals("SAP", DataDictionary.partitionOf("MARA"));
+        assertEquals("SAP", DataDictionary.partitionOf("EZCUSTOMER"));
+        assertEquals("SAP", DataDictionary.partitionOf("/BROKEN"));
+    }
+
+    @Test
+    void registrationOrderIsPreservedAcrossPartitions() {
+        dd.registerTable(new TableDefinition("ZB"));
+        dd.registerTable(new TableDefinition("/ACME/A"));
+        dd.registerTable(new TableDefinition("MARA"));
+        dd.registerTable(new TableDefinition("ZA"));
+
+        assertEquals(List.of("ZB", "/ACME/A", "MARA", "ZA"), new ArrayList<>(dd.getTables().keySet()));
+        assertEquals(List.of("Z", "/ACME/", "SAP"), dd.partitions());
+    }
+
+    @Test
+    void partitionViewListsOnlyItsOwnObjects() {
+        Domain domain = new Domain("CHAR10", DataType.CHAR, 10);
+        dd.registerDomain(domain);
+        dd.registerDataElement(new DataElement("ZNAME", domain));
+        dd.registerDataElement(new DataElement("MATNR", domain));
+
+        DataDictionary customer = dd.partition("Z");
+        assertTrue(customer.isReadOnly());
+        assertEquals(List.of("ZNAME"), new ArrayList<>(customer.getDataElements().keySet()));
+        assertTrue(customer.getDomains().isEmpty());
+        assertNull(customer.getDataElement("MATNR"));
+        assertSame(domain, customer.getDataElement("ZNAME").getDomain());
+        assertTrue(dd.partition("/NONE/").getDataElements().isEmpty());
+    }
+
+    @Test
+    void onlyChangedPartitionsAdvanceTheirVersion() {
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+        dd.registerDomain(new Domain("CHAR10", DataType.CHAR, 10));
+        assertEquals(1, dd.partitionVersion("Z"));
+        assertEquals(2, dd.partitionVersion("SAP"));
+
+        dd.registerDomain(new Domain("ZCHAR20", DataType.CHAR, 20));
+
+        assertEquals(3, dd.partitionVersion("Z"));
+        assertEquals(2, dd.partitionVersion("SAP"));
+        assertEquals(0, dd.partitionVersion("/NONE/"));
+    }
+
+    @Test
+    void pinnedViewSeesPartitionsAsOfItsVersion() {
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+        dd.registerDomain(new Domain("/ACME/CHAR10", DataType.CHAR, 10));
+
+        DataDictionary first = dd.at(1);
+        assertEquals(List.of("Z"), first.partitions());
+        assertEquals(0, first.partitionVersion("/ACME/"));
+        assertNull(first.getDomain("/ACME/CHAR10"));
+    }
+
+    @Test
+    void writersInDifferentPartitionsDoNotConflict() throws Exception {
+        String[] prefixes = {"Z", "Y", "/ACME/", "/BETA/"};
+        int perWriter = 1_000;
+        ExecutorService pool = Executors.newFixedThreadPool(prefixes.length);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String prefix : prefixes) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perWriter; i++) {
+                        Domain domain = new Domain(prefix + "D" + i, DataType.CHAR, 10);
+                        dd.registerDomain(domain);
+                        dd.registerDataElement(new DataElement(prefix + "E" + i, domain));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(2L * prefixes.length * perWriter, dd.version());
+        assertEquals(prefixes.length * perWriter, dd.getDataElements().size());
+        for (String prefix : prefixes) {
+            assertEquals(perWriter, dd.partition(DataDictionary.partitionOf(prefix + "D0")).getDomains().size());
+            assertNotNull(dd.getDataElement(prefix + "E" + (perWriter - 1)));
+        }
+    }
+
+    @Test
+    void updatesDoNotWaitForUnrelatedPartitions() throws Exception {
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+        dd.registerDataElement(new DataElement("ZNAME", dd.getDomain("ZCHAR10")));
+        dd.registerDomain(new Domain("/ACME/CHAR10", DataType.CHAR, 10));
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        ReentrantLock acme = dd.partitionLock("/ACME/");
+        acme.lock();
+        try {
+            Future<?> update = pool.submit(() ->
+                    dd.updateDomain(new Domain("ZCHAR10", DataType.CHAR, 20), DependentPolicy.CASCADE));
+            update.get(30, TimeUnit.SECONDS);
+        } finally {
+            acme.unlock();
+            pool.shutdownNow();
+        }
+
+        assertEquals(20, dd.getDataElement("ZNAME").getDomain().getLength());
+    }
+
+    @Test
+    void updatesWaitForThePartitionsOfTheirDependents() throws Exception {
+        dd.registerDomain(new Domain("ZCHAR10", DataType.CHAR, 10));
+        dd.registerDataElement(new DataElement("/ACME/NAME", dd.getDomain("ZCHAR10")));
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        ReentrantLock acme = dd.partitionLock("/ACME/");
+        Future<?> update;
+        acme.lock();
+        try {
+            update = pool.submit(() ->
+                    dd.updateDomain(new Domain("ZCHAR10", DataType.CHAR, 20), DependentPolicy.CASCADE));
+            assertThrows(TimeoutException.class, () -> update.get(200, TimeUnit.MILLISECONDS));
+            assertEquals(10, dd.getDataElement("/ACME/NAME").getDomain().getLength());
+        } finally {
+            acme.unlock();
+        }
+        try {
+            update.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(20, dd.getDataElement("/ACME/NAME").getDomain().getLength());
+        assertFalse(dd.partitionLock("Z").isLocked());
+    }
+
+    // ---- Updates and removals ----
+
+    /** Register ZDOM ← ZELEM ← ZTAB ← ZVIEW and return the Table. */
+    private TableDefinition registerChain() {
+        Domain domain = new Domain("ZDOM", DataType.CHAR, 10);
+        dd.registerDomain(domain);
+        DataElement element = new DataElement("ZELEM", domain);
+        element.setShortLabel("Elem");
+        dd.registerDataElement(element);
+        TableDefinition table = new TableDefinition("ZTAB");
+        table.addField(new FieldDefinition("KEY", element, true, false));
+        dd.registerTable(table);
+        ViewDefinition view = new ViewDefinition("ZVIEW", ViewDefinition.ViewType.DATABASE);
+        view.addBaseTable(table);
+        view.addSelectedField("KEY");
+        dd.registerView(view);
+        return table;
+    }
+
+    @Test
+    void updateReplacesObjectAndKeepsOlderVersions() {
+        dd.registerDomain(new Domain("ZDOM", DataType.CHAR, 10));
+        long before = dd.version();
+
+        Domain wider = new Domain("ZDOM", DataType.CHAR, 20);
+        assertTrue(dd.updateDomain(wider, DependentPolicy.RESTRICT).isEmpty());
+
+        assertSame(wider, dd.getDomain("ZDOM"));
+        assertEquals(1, dd.getDomains().size());
+        assertEquals(before + 1, dd.version());
+        assertEquals(10, dd.at(before).getDomain("ZDOM").getLength());
+        assertEquals(1, dd.at(before).getDomains().size());
+    }
+
+    @Test
+    void updateOrRemoveOfUnknownObjectIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> dd.updateDomain(new Domain("ZNONE", DataType.CHAR, 1), DependentPolicy.CASCADE));
+        assertThrows(IllegalArgumentException.class, () -> dd.removeTable("ZNONE", DependentPolicy.CASCADE));
+        assertThrows(IllegalArgumentException.class, () -> dd.removeTable(null, DependentPolicy.CASCADE));
+        dd.registerDomain(new Domain("ZDOM", DataType.CHAR, 10));
+        assertThrows(IllegalArgumentException.class, () -> dd.removeDomain("ZDOM", null));
+    }
+
+    @Test
+    void restrictRejectsChangesWithDependents() {
+        registerChain();
+        long before = dd.version();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> dd.removeDataElement("ZELEM", DependentPolicy.RESTRICT));
+        assertEquals("Data element 'ZELEM' is still used by Table 'ZTAB'", e.getMessage());
+        assertThrows(IllegalStateException.class,
+                () -> dd.updateDomain(new Domain("ZDOM", DataType.CHAR, 20), DependentPolicy.RESTRICT));
+
+        assertEquals(before, dd.version());
+        assertNotNull(dd.getDataElement("ZELEM"));
+        assertEquals(10, dd.getDomain("ZDOM").getLength());
+    }
+
+    @Test
+    void restrictAllowsReplacingAnObjectWithItself() {
+        TableDefinition table = registerChain();
+        table.setDescription("Changed in place");
+
+        assertTrue(dd.updateTable(table, DependentPolicy.RESTRICT).isEmpty());
+
+        assertSame(table, dd.getTable("ZTAB"));
+        assertSame(table, dd.getView("ZVIEW").getBaseTables().get(0));
+    }
+
+    @Test
+    void cascadingRemoveRemovesAllDependentsInOneVersion() {
+        registerChain();
+        dd.registerDomain(new Domain("ZOTHER", DataType.NUMC, 4));
+        long before = dd.version();
+
+        Map<ObjectKind, List<String>> removed = dd.removeDomain("ZDOM", DependentPolicy.CASCADE);
+
+        assertEquals(Map.of(ObjectKind.DATA_ELEMENT, List.of("ZELEM"), ObjectKind.TABLE, List.of("ZTAB"),
+                ObjectKind.VIEW, List.of("ZVIEW")), removed);
+        assertEquals(before + 1, dd.version());
+        assertNull(dd.getDomain("ZDOM"));
+        assertNull(dd.getView("ZVIEW"));
+        assertEquals(List.of("ZOTHER"), List.copyOf(dd.getDomains().keySet()));
+        assertTrue(dd.getTables().isEmpty());
+        assertEquals(0, dd.getViews().size());
+
+        DataDictionary old = dd.at(before);
+        assertNotNull(old.getView("ZVIEW"));
+        assertEquals(2, old.getDomains().size());
+    }
+
+    @Test
+    void cascadingUpdateRebindsDependentsToTheReplacement() {
+        TableDefinition table = registerChain();
+        long before = dd.version();
+
+        Domain wider = new Domain("ZDOM", DataType.CHAR, 20);
+        Map<ObjectKind, List<String>> rebound = dd.updateDomain(wider, DependentPolicy.CASCADE);
+
+        assertEquals(List.of("ZELEM"), rebound.get(ObjectKind.DATA_ELEMENT));
+        assertEquals(List.of("ZTAB"), rebound.get(ObjectKind.TABLE));
+        assertEquals(List.of("ZVIEW"), rebound.get(ObjectKind.VIEW));
+        DataElement element = dd.getDataElement("ZELEM");
+        assertSame(wider, element.getDomain());
+        assertEquals("Elem", element.getShortLabel());
+        TableDefinition newTable = dd.getTable("ZTAB");
+        assertNotSame(table, newTable);
+        assertSame(element, newTable.getField("KEY").getDataElement());
+        assertTrue(newTable.getField("KEY").isKeyField());
+        assertSame(newTable, dd.getView("ZVIEW").getBaseTables().get(0));
+        assertEquals(List.of("KEY"), dd.getView("ZVIEW").getSelectedFields());
+
+        // The previous version still sees the original objects
+        assertSame(table, dd.at(before).getTable("ZTAB"));
+        assertEquals(10, dd.at(before).getDataElement("ZELEM").getDomain().getLength());
+    }
+
+    @Test
+    void cascadingUpdateRebindsStackedViewsAfterTheirBaseViews() {
+        registerChain();
+        ViewDefinition middle = new ViewDefinition("ZVIEW_MIDDLE", ViewDefinition.ViewType.PROJECTION);
+        middle.addBaseView(dd.getView("ZVIEW"));
+        ViewDefinition top = new ViewDefinition("ZVIEW_TOP", ViewDefinition.ViewType.PROJECTION);
+        top.addBaseView(middle);
+        top.addBaseView(dd.getView("ZVIEW"));
+        // Registered before the view it selects from, so it is rebound first
+        dd.registerView(top);
+        dd.registerView(middle);
+
+        TableDefinition replacement = new TableDefinition("ZTAB");
+        replacement.addField(new FieldDefinition("KEY", dd.getDataElement("ZELEM"), true, false));
+        Map<ObjectKind, List<String>> rebound = dd.updateTable(replacement, DependentPolicy.CASCADE);
+
+        assertEquals(List.of("ZVIEW", "ZVIEW_TOP", "ZVIEW_MIDDLE"), rebound.get(ObjectKind.VIEW));
+        ViewDefinition view = dd.getView("ZVIEW");
+        assertSame(replacement, view.getBaseTables().get(0));
+        assertSame(view, dd.getView("ZVIEW_MIDDLE").getBaseViews().get(0));
+        assertSame(dd.getView("ZVIEW_MIDDLE"), dd.getView("ZVIEW_TOP").getBaseViews().get(0));
+        assertSame(view, dd.getView("ZVIEW_TOP").getBaseViews().get(1));
+        assertThrows(IllegalStateException.class, () -> dd.removeView("ZVIEW", DependentPolicy.RESTRICT));
+    }
+
+    @Test
+    void removedNameCanBeRegisteredAgain() {
+        dd.registerDomain(new Domain("ZDOM", DataType.CHAR, 10));
+        dd.removeDomain("ZDOM", DependentPolicy.RESTRICT);
+        assertThrows(IllegalArgumentException.class, () -> dd.removeDomain("ZDOM", DependentPolicy.RESTRICT));
+
+        dd.registerDomain(new Domain("ZDOM", DataType.NUMC, 5));
+
+        assertEquals(DataType.NUMC, dd.getDomain("ZDOM").getDataType());
+        assertEquals(1, dd.getDomains().size());
+        assertEquals(0, dd.at(2).getDomains().size());
+        assertEquals(DataType.CHAR, dd.at(1).getDomain("ZDOM").getDataType());
+    }
+
+    @Test
+    void indexesFollowUpdatesAndRemovals() {
+        registerChain();
+        dd.registerDomain(new Domain("ZDOM2", DataType.CHAR, 10));
+
+        dd.updateDomain(new Domain("ZDOM", DataType.NUMC, 8), DependentPolicy.CASCADE);
+
+        assertEquals(List.of("ZDOM2"),
+                List.copyOf(dd.findDomains(AttributeFilter.dataType(DataType.CHAR)).keySet()));
+        assertEquals(List.of("ZDOM"),
+                List.copyOf(dd.findDomains(AttributeFilter.length(8)).keySet()));
+        assertEquals(List.of("ZDOM", "ZDOM2"), List.copyOf(dd.getDomains(NameQuery.prefix("ZDOM")).keySet()));
+        // Updated objects move to the end of the registration order
+        assertEquals(List.of("ZDOM2", "ZDOM"), List.copyOf(dd.getDomains().keySet()));
+        assertEquals(List.of("ZTAB"), dd.findReferencing(ObjectKind.DATA_ELEMENT, "ZELEM", ObjectKind.TABLE));
+        assertEquals(List.of("ZVIEW"), dd.findImpact(ObjectKind.DOMAIN, "ZDOM").get(ObjectKind.VIEW));
+
+        dd.removeView("ZVIEW", DependentPolicy.RESTRICT);
+        dd.removeDomain("ZDOM2", DependentPolicy.RESTRICT);
+
+        assertTrue(dd.findDomains(AttributeFilter.dataType(DataType.CHAR)).isEmpty());
+        assertEquals(List.of("ZDOM"), List.copyOf(dd.getDomains(NameQuery.prefix("ZDOM")).keySet()));
+        assertNull(dd.findImpact(ObjectKind.DOMAIN, "ZDOM").get(ObjectKind.VIEW));
+        assertTrue(dd.findReferencing(ObjectKind.TABLE, "ZTAB", ObjectKind.VIEW).isEmpty());
+    }
+
+    @Test
+    void referencesStayExactAcrossRepeatedUpdates() {
+        Domain domain = new Domain("ZDOM", DataType.CHAR, 10);
+        dd.registerDomain(domain);
+        TableDefinition table = new TableDefinition("ZTAB");
+        for (int i = 1; i <= 3; i++) {
+            DataElement element = new DataElement("ZELEM" + i, domain);
+            dd.registerDataElement(element);
+            table.addField(new FieldDefinition("F" + i, element, i == 1, false));
+        }
+        dd.registerTable(table);
+        long registered = dd.version();
+
+        for (int length = 11; length <= 30; length++) {
+            dd.updateDomain(new Domain("ZDOM", DataType.CHAR, length), DependentPolicy.CASCADE);
+        }
+        long updated = dd.version();
+        dd.updateTable(new TableDefinition("ZTAB"), DependentPolicy.CASCADE);
+        dd.removeDataElement("ZELEM2", DependentPolicy.RESTRICT);
+
+        assertEquals(List.of("ZELEM1", "ZELEM3"),
+                dd.findReferencing(ObjectKind.DOMAIN, "ZDOM", ObjectKind.DATA_ELEMENT));
+        assertTrue(dd.findReferencing(ObjectKind.DATA_ELEMENT, "ZELEM1", ObjectKind.TABLE).isEmpty());
+        // Readers pinned before the changes still see every dependent of their version
+        assertEquals(List.of("ZELEM1", "ZELEM2", "ZELEM3"),
+                dd.at(registered).findReferencing(ObjectKind.DOMAIN, "ZDOM", ObjectKind.DATA_ELEMENT));
+        assertEquals(List.of("ZTAB"), dd.at(registered).findImpact(ObjectKind.DOMAIN, "ZDOM").get(ObjectKind.TABLE));
+        assertEquals(List.of("ZTAB"),
+                dd.at(updated).findReferencing(ObjectKind.DATA_ELEMENT, "ZELEM2", ObjectKind.TABLE));
+    }
+
+    @Test
+    void removalsAdvancePartitionVersionsAndEmitEvents() {
+        registerChain();
+        ChangeFeed.Subscription subscription = dd.changes().subscribe();
+        subscription.poll(100);
+        long before = dd.partitionVersion("Z");
+
+        dd.removeTable("ZTAB", DependentPolicy.CASCADE);
+
+        assertTrue(dd.partitionVersion("Z") > before);
+        assertEquals(dd.version(), dd.partitionVersion("Z"));
+        assertTrue(dd.partition("Z").getTables().isEmpty());
+        assertEquals(1, dd.partition("Z").getDataElements().size());
+        List<ChangeEvent> events = subscription.poll(100);
+        assertEquals(List.of("ZTAB", "ZVIEW"), events.stream().map(ChangeEvent::name).toList());
+        assertTrue(events.stream().allMatch(event -> event.type() == ChangeEvent.Type.REMOVED));
+
+        dd.updateDataElement(new DataElement("ZELEM", dd.getDomain("ZDOM")), DependentPolicy.RESTRICT);
+        assertEquals(ChangeEvent.Type.UPDATED, subscription.poll(100).get(0).type());
+    }
+
+    @Test
+    void sealedAndPinnedDictionariesRejectChanges() {
+        registerChain();
+        DataDictionary pinned = dd.snapshot();
+        assertThrows(IllegalStateException.class, () -> pinned.removeView("ZVIEW", DependentPolicy.CASCADE));
+
+        dd.seal();
+        assertThrows(IllegalStateException.class, () -> dd.removeView("ZVIEW", DependentPolicy.CASCADE));
+        assertNotNull(dd.getView("ZVIEW"));
+    }
+
+    // ---- Layers ----
+
+    @Test
+    void overlayReadsThroughToBaseAndListsItsOwnObjectsLast() {
+        registerChain();
+        DataDictionary tenant = dd.overlay();
+        dd.registerDomain(new Domain("ZLATER", DataType.CHAR, 1));
+        tenant.registerDomain(new Domain("ZOWN", DataType.CHAR, 5));
+
+        assertSame(dd.getTable("ZTAB"), tenant.getTable("ZTAB"));
+        assertNull(tenant.getDomain("ZLATER"));
+        assertEquals(List.of("ZDOM", "ZOWN"), List.copyOf(tenant.getDomains().keySet()));
+        assertEquals(2, tenant.getDomains().size());
+        assertEquals(List.of("ZDOM", "ZOWN"), List.copyOf(tenant.getDomains(NameQuery.prefix("Z")).keySet()));
+        assertEquals(List.of("ZDOM", "ZOWN"),
+                List.copyOf(tenant.findDomains(AttributeFilter.dataType(DataType.CHAR)).keySet()));
+        assertEquals(1, tenant.version());
+        assertEquals(List.of("Z"), tenant.partitions());
+        assertEquals(List.of("ZOWN"), List.copyOf(tenant.partition("Z").getDomains().keySet()));
+        assertThrows(IllegalArgumentException.class,
+                () -> tenant.registerDomain(new Domain("ZOWN", DataType.CHAR, 5)));
+    }
+
+    @Test
+    void overlayMergesReverseReferencesOfBothLayers() {
+        TableDefinition baseTable = registerChain();
+        DataDictionary tenant = dd.overlay();
+        LockObject lock = new LockObject("EZTAB", baseTable);
+        tenant.registerLockObject(lock);
+
+        assertEquals(List.of("EZTAB"), tenant.findReferencing(ObjectKind.TABLE, "ZTAB", ObjectKind.LOCK_OBJECT));
+        Map<ObjectKind, List<String>> impact = tenant.findImpact(ObjectKind.DOMAIN, "ZDOM");
+        assertEquals(List.of("ZVIEW"), impact.get(ObjectKind.VIEW));
+        assertEquals(List.of("EZTAB"), impact.get(ObjectKind.LOCK_OBJECT));
+        assertTrue(dd.findReferencing(ObjectKind.TABLE, "ZTAB", ObjectKind.LOCK_OBJECT).isEmpty());
+        assertTrue(new ConsistencyValidator(tenant).validate().isValid());
+    }
+
+    @Test
+    void overlayOverridesBaseObjectsWithoutTouchingTheBase() {
+        TableDefinition baseTable = registerChain();
+        DataDictionary tenant = dd.overlay();
+
+        assertThrows(IllegalStateException.class,
+                () -> tenant.updateDomain(new Domain("ZDOM", DataType.CHAR, 20), DependentPolicy.RESTRICT));
+        Map<ObjectKind, List<String>> rebound =
+                tenant.updateDomain(new Domain("ZDOM", DataType.CHAR, 20), DependentPolicy.CASCADE);
+
+        assertEquals(List.of("ZTAB"), rebound.get(ObjectKind.TABLE));
+        assertEquals(20, tenant.getTable("ZTAB").getField("KEY").getDataElement().getDomain().getLength());
+        assertSame(tenant.getTable("ZTAB"), tenant.getView("ZVIEW").getBaseTables().get(0));
+        assertSame(baseTable, dd.getTable("ZTAB"));
+        assertEquals(10, dd.getDomain("ZDOM").getLength());
+        assertEquals(1, tenant.getTables().size());
+        assertTrue(new ConsistencyValidator(tenant).validate().isValid());
+    }
+
+    @Test
+    void overlayCannotRemoveBaseObjects() {
+        registerChain();
+        DataDictionary tenant = dd.overlay();
+        tenant.registerDomain(new Domain("ZOWN", DataType.CHAR, 5));
+
+        assertThrows(IllegalStateException.class, () -> tenant.removeView("ZVIEW", DependentPolicy.RESTRICT));
+        tenant.updateView(dd.getView("ZVIEW"), DependentPolicy.RESTRICT);
+        assertThrows(IllegalStateException.class, () -> tenant.removeView("ZVIEW", DependentPolicy.RESTRICT));
+        assertThrows(IllegalStateException.class, () -> tenant.removeTable("ZTAB", DependentPolicy.CASCADE));
+
+        tenant.removeDomain("ZOWN", DependentPolicy.RESTRICT);
+        assertNull(tenant.getDomain("ZOWN"));
+        assertNotNull(tenant.getView("ZVIEW"));
+    }
+
+    // ---- Fingerprints ----
+
+    @Test
+    void equalDefinitionsHaveEqualFingerprints() {
+        DataDictionary other = new DataDictionary();
+        for (DataDictionary dictionary : List.of(dd, other)) {
+            Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+            DataElement element = new DataElement("ZNAME", domain);
+            TableDefinition table = new TableDefinition("ZCUSTOMER");
+            table.addField(new FieldDefinition("NAME", element, true, false));
+            dictionary.registerDomain(domain);
+            dictionary.registerDataElement(element);
+            dictionary.registerTable(table);
+        }
+
+        long fingerprint = dd.fingerprintOf(ObjectKind.TABLE, "ZCUSTOMER");
+
+        assertNotEquals(0, fingerprint);
+        assertEquals(fingerprint, other.fingerprintOf(ObjectKind.TABLE, "ZCUSTOMER"));
+        assertEquals(fingerprint, dd.fingerprintOf(ObjectKind.TABLE, "ZCUSTOMER"));
+        assertNotEquals(dd.fingerprintOf(ObjectKind.DOMAIN, "ZCHAR10"),
+                dd.fingerprintOf(ObjectKind.DATA_ELEMENT, "ZNAME"));
+        assertEquals(0, dd.fingerprintOf(ObjectKind.TABLE, "ZMISSING"));
+    }
+
+    @Test
+    void fingerprintCoversReferencedObjects() {
+        Domain domain = new Domain("ZCHAR10", DataType.CHAR, 10);
+        DataElement element = new DataElement("ZNAME", domain);
+        TableDefinition table = new TableDefinition("ZCUSTOMER");
+        table.addField(new FieldDefinition("NAME", element, true, false));
+        dd.registerDomain(domain);
+        dd.registerDataElement(element);
+        dd.registerTable(table);
+        long before = dd.fingerprintOf(ObjectKind.TABLE, "ZCUSTOMER");
+
+        dd.updateDomain(new Domain("ZCHAR10", DataType.CHAR, 20), DependentPolicy.CASCADE);
+
+        assertNotEquals(before, dd.fingerprintOf(ObjectKind.TABLE, "ZCUSTOMER"));
+        dd.updateDomain(new Domain("ZCHAR10", DataType.CHAR, 10), DependentPolicy.CASCADE);
+        assertEquals(before, dd.fingerprintOf(ObjectKind.TABLE, "ZCUSTOMER"));
+    }
+
+    @Test
+    void fingerprintsInACycleDoNotDependOnWhereTheWalkStarts() {
+        ViewDefinition first = new ViewDefinition("ZV_A", ViewDefinition.ViewType.PROJECTION);
+        ViewDefinition second = new ViewDefinition("ZV_B", ViewDefinition.ViewType.PROJECTION);
+        first.addBaseView(second);
+        second.addBaseView(first);
+        dd.registerView(first);
+        dd.registerView(second);
+        DataDictionary other = new DataDictionary();
+        other.registerView(second);
+        other.registerView(first);
+
+        long firstFingerprint = dd.fingerprintOf(ObjectKind.VIEW, "ZV_A");
+        long secondFingerprint = other.fingerprintOf(ObjectKind.VIEW, "ZV_B");
+
+        assertEquals(firstFingerprint, other.fingerprintOf(ObjectKind.VIEW, "ZV_A"));
+        assertEquals(secondFingerprint, dd.fingerprintOf(ObjectKind.VIEW, "ZV_B"));
+        assertNotEquals(firstFingerprint, secondFingerprint);
+    }
 }
@@ -0,0 +1,241 @@
+package com.sap.datadictionary.registry;
+
+import com.sap.datadictionary.conceptual.FieldDefinition;
+import com.sap.datadictionary.conceptual.Structure;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.external.LockObject;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.DataType;
+import com.sap.datadictionary.internal.Domain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DictionaryQuery}, its text form and its {@link QueryPlan}.
+ */
+class DictionaryQueryTest {
+
+    private DataDictionary dd;
+    private DataElement keyElement;
+
+    @BeforeEach
+    void setUp() {
+        dd = new DataDictionary();
+
+        Domain char10 = new Domain("ZCHAR10", DataType.CHAR, 10);
+        Domain char20 = new Domain("ZCHAR20", DataType.CHAR, 20);
+        Domain numc3 = new Domain("ZNUMC3", DataType.NUMC, 3);
+        dd.registerDomain(char10);
+        dd.registerDomain(char20);
+        dd.registerDomain(numc3);
+
+        keyElement = new DataElement("ZKEY", char10);
+        DataElement codeElement = new DataElement("ZCODE", char10);
+        DataElement textElement = new DataElement("ZTEXT", char20);
+        DataElement idElement = new DataElement("ZID", numc3);
+        dd.registerDataElement(keyElement);
+        dd.registerDataElement(codeElement);
+        dd.registerDataElement(textElement);
+        dd.registerDataElement(idElement);
+
+        TableDefinition customer = table("ZCUSTOMER",
+                new FieldDefinition("KEY", keyElement, true, false),
+                new FieldDefinition("NAME", textElement, false, true));
+        TableDefinition order = table("ZORDER",
+                new FieldDefinition("ID", idElement, true, false),
+                new FieldDefinition("CODE", codeElement, false, true));
+        table("ZMATERIAL", new FieldDefinition("KEY", keyElement, true, false));
+        TableDefinition plant = table("ZPLANT", new FieldDefinition("CODE", codeElement, true, false));
+
+        LockObject customerLock = new LockObject("EZCUSTOMER", customer);
+        customerLock.addSecondaryTable(order);
+        dd.registerLockObject(customerLock);
+        dd.registerLockObject(new LockObject("EZPLANT", plant));
+    }
+
+    private TableDefinition table(String name, FieldDefinition... fields) {
+        TableDefinition table = new TableDefinition(name);
+        for (FieldDefinition field : fields) {
+            table.addField(field);
+        }
+        dd.registerTable(table);
+        return table;
+    }
+
+    private static List<String> tableNames(Stream<TableDefinition> tables) {
+        return tables.map(TableDefinition::getTableName).toList();
+    }
+
+    /** Run a parsed query and return the names of the objects found. */
+    private List<String> names(String text) {
+        return dd.query(DictionaryQuery.parse(text)).map(value -> switch (value) {
+            case Domain domain -> domain.getName();
+            case DataElement element -> element.getName();
+            case TableDefinition table -> table.getTableName();
+            default -> throw new AssertionError(value);
+        }).toList();
+    }
+
+    // ---- Criteria ----
+
+    @Test
+    void keyFieldOfDomainTypeUsedByLockObject() {
+        DictionaryQuery<TableDefinition> query = DictionaryQuery.tables()
+                .withField(FieldCondition.keyField().dataType(DataType.CHAR).length(10))
+                .usedBy(ObjectKind.LOCK_OBJECT);
+
+        assertEquals(List.of("ZCUSTOMER", "ZPLANT"), tableNames(dd.query(query)));
+    }
+
+    @Test
+    void dataElementsReferencingDomain() {
+        List<String> names = dd.query(DictionaryQuery.dataElements().referencing(ObjectKind.DOMAIN, "ZCHAR10"))
+                .map(DataElement::getName).toList();
+
+        assertEquals(List.of("ZKEY", "ZCODE"), names);
+    }
+
+    @Test
+    void nameAndAttributeCriteriaCombine() {
+        DictionaryQuery<Domain> query = DictionaryQuery.domains()
+                .named(NameQuery.prefix("ZCHAR"))
+                .where(AttributeFilter.length(20));
+
+        assertEquals(List.of("ZCHAR20"), dd.query(query).map(Domain::getName).toList());
+    }
+
+    @Test
+    void limitStopsAfterThatManyResults() {
+        assertEquals(List.of("ZCUSTOMER", "ZORDER"), tableNames(dd.query(DictionaryQuery.tables().limit(2))));
+    }
+
+    @Test
+    void criteriaForOtherKindsAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> DictionaryQuery.views().withField(FieldCondition.anyField()));
+        assertThrows(IllegalArgumentException.class,
+                () -> DictionaryQuery.tables().referencing(ObjectKind.DOMAIN, "ZCHAR10"));
+        assertThrows(IllegalArgumentException.class,
+                () -> DictionaryQuery.dataElements().usedBy(ObjectKind.VIEW));
+        assertThrows(IllegalArgumentException.class,
+                () -> DictionaryQuery.domains().named(NameQuery.prefix("A")).named(NameQuery.prefix("B")));
+    }
+
+    // ---- Text form ----
+
+    @Test
+    void parsedQueryMatchesCriteriaQuery() {
+        DictionaryQuery<?> query = DictionaryQuery.parse(
+                "tables where has key field (type = CHAR(10)) and used-by lock-object");
+
+        assertEquals(ObjectKind.TABLE, query.kind());
+        assertEquals(List.of("ZCUSTOMER", "ZPLANT"),
+                names("tables where has key field (type = CHAR(10)) and used-by lock-object"));
+    }
+
+    @Test
+    void parsesNamesAttributesReferencesAndLimit() {
+        assertEquals(List.of("ZCHAR10", "ZCHAR20"), names("DOMAINS WHERE name like ZCHAR* and type = char"));
+        assertEquals(List.of("ZKEY"), names("data-elements where references domain ZCHAR10 limit 1"));
+        assertEquals(List.of("ZORDER"), names("tables where name = ZORDER and buffered = false"));
+        assertEquals(List.of("ZORDER", "ZPLANT"),
+                names("tables where has field (name = CODE and data-element = ZCODE)"));
+    }
+
+    @Test
+    void syntaxErrorsNameThePosition() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> DictionaryQuery.parse("tables where colour = red"));
+        assertTrue(e.getMessage().contains("position 13"), e.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> DictionaryQuery.parse("tablez"));
+        assertThrows(IllegalArgumentException.class, () -> DictionaryQuery.parse("domains where length = ten"));
+        assertThrows(IllegalArgumentException.class, () -> DictionaryQuery.parse("domains where type = CHAR(10"));
+        assertThrows(IllegalArgumentException.class, () -> DictionaryQuery.parse("views where has field"));
+        assertThrows(IllegalArgumentException.class, () -> DictionaryQuery.parse("tables limit 5 where"));
+    }
+
+    // ---- Planning ----
+
+    @Test
+    void plannerDrivesFromTheSmallestIndex() {
+        QueryPlan plan = dd.explain(DictionaryQuery.tables()
+                .withField(FieldCondition.keyField().dataType(DataType.CHAR).length(10))
+                .usedBy(ObjectKind.LOCK_OBJECT));
+
+        // two lock objects to read beat four tables with a CHAR(10) field
+        assertEquals(QueryPlan.AccessPath.USING_OBJECTS, plan.accessPath());
+        assertEquals(2, plan.estimate());
+        assertEquals(List.of("has key field (type = CHAR and length = 10)"), plan.residual());
+
+        plan = dd.explain(DictionaryQuery.dataElements().referencing(ObjectKind.DOMAIN, "ZNUMC3"));
+        assertEquals(QueryPlan.AccessPath.REFERENCE_INDEX, plan.accessPath());
+        assertEquals(1, plan.estimate());
+        assertTrue(plan.residual().isEmpty());
+
+        plan = dd.explain(DictionaryQuery.domains().where(AttributeFilter.dataType(DataType.NUMC)));
+        assertEquals(QueryPlan.AccessPath.ATTRIBUTE_INDEX, plan.accessPath());
+
+        plan = dd.explain(DictionaryQuery.tables().withField(FieldCondition.anyField().dataElement("ZTEXT")));
+        assertEquals(QueryPlan.AccessPath.FIELD_INDEX, plan.accessPath());
+        assertEquals(1, plan.estimate());
+    }
+
+    @Test
+    void criteriaWithoutIndexFallBackToScan() {
+        DictionaryQuery<TableDefinition> query = DictionaryQuery.tables()
+                .named(NameQuery.matching("*ER"))
+                .withField(FieldCondition.keyField());
+
+        QueryPlan plan = dd.explain(query);
+
+        assertEquals(QueryPlan.AccessPath.SCAN, plan.accessPath());
+        assertEquals(List.of("has key field", "name pattern"), plan.residual());
+        assertEquals(List.of("ZCUSTOMER", "ZORDER"), tableNames(dd.query(query)));
+    }
+
+    @Test
+    void largeScanKeepsRegistrationOrder() {
+        int count = QueryPlan.PARALLEL_THRESHOLD + 100;
+        for (int i = 0; i < count; i++) {
+            Structure structure = new Structure(String.format("ZS%05d", count - i));
+            structure.addField(new FieldDefinition(i % 3 == 0 ? "KEY" : "OTHER", keyElement, false, false));
+            dd.registerStructure(structure);
+        }
+
+        List<String> names = dd.query(DictionaryQuery.structures().withField(FieldCondition.anyField().named("KEY")))
+                .map(Structure::getStructureName).toList();
+
+        assertEquals((count + 2) / 3, names.size());
+        assertEquals(String.format("ZS%05d", count), names.get(0));
+        assertEquals(String.format("ZS%05d", count - 3), names.get(1));
+    }
+
+    @Test
+    void queryReadsTheVersionItWasStartedAt() {
+        Stream<TableDefinition> tables = dd.query(DictionaryQuery.tables());
+
+        table("ZLATE", new FieldDefinition("KEY", keyElement, true, false));
+
+        assertEquals(List.of("ZCUSTOMER", "ZORDER", "ZMATERIAL", "ZPLANT"), tableNames(tables));
+    }
+
+    @Test
+    void overlayQueryCoversBaseAndOverlay() {
+        DataDictionary tenant = dd.overlay();
+        TableDefinition own = new TableDefinition("ZTENANT");
+        own.addField(new FieldDefinition("KEY", keyElement, true, false));
+        tenant.registerTable(own);
+
+        DictionaryQuery<TableDefinition> query = DictionaryQuery.tables()
+                .withField(FieldCondition.keyField().domain("ZCHAR10"));
+
+        assertEquals(List.of("ZCUSTOMER", "ZMATERIAL", "ZPLANT", "ZTENANT"), tableNames(tenant.query(query)));
+        assertEquals(List.of("ZCUSTOMER", "ZMATERIAL", "ZPLANT"), tableNames(dd.query(query)));
+    }
+}
@@ -0,0 +1,110 @@
+package com.sap.datadictionary.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MergedFindings}.
+ */
+class MergedFindingsTest {
+
+    private static ValidationResult.Finding finding(ValidationResult.Severity severity, String code) {
+        return new ValidationResult.Finding(severity, code, code, List.of());
+    }
+
+    private static ValidationResult.Finding error(String code) {
+        return finding(ValidationResult.Severity.ERROR, code);
+    }
+
+    @Test
+    void findingsAreListedByRuleKindAndOrder() {
+        MergedFindings merged = MergedFindings.EMPTY
+                .put(1, ObjectKind.DOMAIN, 5, List.of(error("r1-d5")))
+                .put(0, ObjectKind.TABLE, 2,
+                        List.of(error("r0-t2a"), finding(ValidationResult.Severity.WARNING, "r0-t2b")))
+                .put(0, ObjectKind.DOMAIN, 9, List.of(error("r0-d9")))
+                .put(0, ObjectKind.DOMAIN, 3, List.of(error("r0-d3")));
+
+        assertEquals(List.of("r0-d3", "r0-d9", "r0-t2a", "r0-t2b", "r1-d5"),
+                merged.findings().stream().map(ValidationResult.Finding::code).toList());
+        assertEquals("r0-t2b", merged.findings().get(3).code());
+        assertEquals(5, merged.size());
+        assertEquals(4, merged.errorCount());
+        assertEquals(1, merged.warningCount());
+        assertEquals(List.of(error("r0-d9")), merged.get(0, ObjectKind.DOMAIN, 9));
+        assertNull(merged.get(0, ObjectKind.DOMAIN, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> merged.findings().get(5));
+    }
+
+    @Test
+    void changesLeaveEarlierInstancesUntouched() {
+        MergedFindings first = MergedFindings.EMPTY
+                .put(0, ObjectKind.DOMAIN, 1, List.of(error("a")))
+                .put(0, ObjectKind.DOMAIN, 2, List.of(error("b")));
+
+        MergedFindings second = first.remove(0, ObjectKind.DOMAIN, 1).put(0, ObjectKind.DOMAIN, 2, List.of(error("c")));
+
+        assertEquals(List.of("a", "b"), first.findings().stream().map(ValidationResult.Finding::code).toList());
+        assertEquals(List.of("c"), second.findings().stream().map(ValidationResult.Finding::code).toList());
+        assertSame(second, second.remove(0, ObjectKind.DOMAIN, 7));
+        assertEquals(0, second.put(0, ObjectKind.DOMAIN, 2, List.of()).size());
+    }
+
+    @Test
+    void randomChangesMatchASortedMap() {
+        Random random = new Random(42);
+        TreeMap<Long, List<ValidationResult.Finding>> expected = new TreeMap<>();
+        MergedFindings merged = MergedFindings.EMPTY;
+        for (int i = 0; i < 5_000; i++) {
+            long order = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                expected.remove(order);
+                merged = merged.remove(0, ObjectKind.TABLE, order);
+            } else {
+                List<ValidationResult.Finding> findings = new ArrayList<>();
+                for (int f = random.nextInt(3) + 1; f > 0; f--) {
+                    findings.add(finding(random.nextBoolean() ? ValidationResult.Severity.ERROR
+                            : ValidationResult.Severity.WARNING, order + "/" + f));
+                }
+                expected.put(order, findings);
+                merged = merged.put(0, ObjectKind.TABLE, order, findings);
+            }
+        }
+
+        List<ValidationResult.Finding> flattened = new ArrayList<>();
+        for (Map.Entry<Long, List<ValidationResult.Finding>> entry : expected.entrySet()) {
+            flattened.addAll(entry.getValue());
+        }
+        assertEquals(flattened, merged.findings());
+        assertEquals(flattened, new ArrayList<>(merged.findings()));
+        assertEquals(flattened.stream().filter(f -> f.severity() == ValidationResult.Severity.ERROR).count(),
+                merged.errorCount());
+    }
+
+    @Test
+    void builderGivesTheSameFindingsAsSingleChanges() {
+        MergedFindings.Builder builder = new MergedFindings.Builder();
+        MergedFindings merged = MergedFindings.EMPTY;
+        for (int order = 999; order >= 0; order--) {
+            List<ValidationResult.Finding> findings = order % 3 == 0 ? List.of() : List.of(error("t" + order));
+            builder.add(order % 2, ObjectKind.TABLE, order, findings);
+            merged = merged.put(order % 2, ObjectKind.TABLE, order, findings);
+        }
+
+        MergedFindings built = builder.build();
+
+        assertEquals(merged.findings(), built.findings());
+        assertEquals(merged.errorCount(), built.errorCount());
+        MergedFindings changed = built.remove(1, ObjectKind.TABLE, 1).put(1, ObjectKind.TABLE, 1, List.of(error("x")));
+        assertEquals(List.of(error("x")), changed.get(1, ObjectKind.TABLE, 1));
+        assertEquals(built.size(), changed.size());
+        assertSame(MergedFindings.EMPTY, new MergedFindings.Builder().build());
+    }
+}
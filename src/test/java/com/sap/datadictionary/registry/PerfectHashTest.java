@@ -0,0 +1,46 @@
+package com.sap.datadictionary.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PerfectHash}.
+ */
+class PerfectHashTest {
+
+    private static void assertMinimalPerfect(String[] names) {
+        PerfectHash hash = PerfectHash.build(names);
+        Set<Integer> indexes = new HashSet<>();
+        for (String name : names) {
+            int index = hash.indexOf(name);
+            assertTrue(index >= 0 && index < names.length, name + " -> " + index);
+            assertTrue(indexes.add(index), "collision for " + name);
+        }
+    }
+
+    @Test
+    void mapsNamesToDistinctIndexes() {
+        String[] names = new String[10_000];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "ZTABLE_" + i;
+        }
+        assertMinimalPerfect(names);
+    }
+
+    @Test
+    void separatesNamesWithEqualHashCodes() {
+        // "Aa" and "BB" have the same String.hashCode()
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertMinimalPerfect(new String[] {"Aa", "BB", "AaAa", "BBBB", "AaBB", "BBAa", "ZCUSTOMER"});
+    }
+
+    @Test
+    void smallAndEmptySets() {
+        assertMinimalPerfect(new String[] {"ZONLY"});
+        assertEquals(-1, PerfectHash.build(new String[0]).indexOf("ZONLY"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.sap.datadictionary.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PositionBitmap}.
+ */
+class PositionBitmapTest {
+
+    private static List<Integer> positions(PositionBitmap bitmap, int count) {
+        List<Integer> result = new ArrayList<>();
+        bitmap.forEach(count, result::add);
+        return result;
+    }
+
+    @Test
+    void sparsePositionsAreListedInOrder() {
+        PositionBitmap bitmap = new PositionBitmap();
+        bitmap.add(3);
+        bitmap.add(70_000);
+        bitmap.add(200_000);
+
+        assertEquals(List.of(3, 70_000, 200_000), positions(bitmap, Integer.MAX_VALUE));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(4));
+        assertFalse(bitmap.contains(10_000_000));
+        assertEquals(3, bitmap.cardinality());
+    }
+
+    @Test
+    void countHidesLaterPositions() {
+        PositionBitmap bitmap = new PositionBitmap();
+        bitmap.add(1);
+        bitmap.add(5);
+        bitmap.add(65_536);
+
+        assertEquals(List.of(1), positions(bitmap, 5));
+        assertEquals(List.of(1, 5), positions(bitmap, 65_536));
+        assertEquals(List.of(), positions(bitmap, 0));
+    }
+
+    @Test
+    void denseChunkSwitchesToBitmapWithoutLosingPositions() {
+        PositionBitmap bitmap = new PositionBitmap();
+        List<Integer> expected = new ArrayList<>();
+        for (int p = 0; p < 150_000; p += 3) {
+            bitmap.add(p);
+            expected.add(p);
+        }
+
+        assertEquals(expected, positions(bitmap, Integer.MAX_VALUE));
+        assertTrue(bitmap.contains(99_999));
+        assertFalse(bitmap.contains(100_000));
+        assertEquals(List.of(0, 3, 6), positions(bitmap, 9));
+        assertEquals(expected.subList(0, 33_334), positions(bitmap, 100_001));
+    }
+}
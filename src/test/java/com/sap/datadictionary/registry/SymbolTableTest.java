@@ -0,0 +1,46 @@
+package com.sap.datadictionary.registry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link SymbolTable}.
+ */
+class SymbolTableTest {
+
+    @Test
+    void idsAreDenseInFirstSeenOrder() {
+        SymbolTable symbols = new SymbolTable();
+        assertEquals(0, symbols.intern("ZCUSTOMER"));
+        assertEquals(1, symbols.intern("ZORDER"));
+        assertEquals(0, symbols.intern("ZCUSTOMER"));
+        assertEquals(2, symbols.size());
+    }
+
+    @Test
+    void lookupOfUnknownNameReturnsMinusOne() {
+        SymbolTable symbols = new SymbolTable();
+        symbols.intern("ZCUSTOMER");
+        assertEquals(-1, symbols.lookup("ZORDER"));
+    }
+
+    @Test
+    void lookupComparesByValue() {
+        SymbolTable symbols = new SymbolTable();
+        int id = symbols.intern("ZCUSTOMER");
+        assertEquals(id, symbols.lookup(new String("ZCUSTOMER")));
+    }
+
+    @Test
+    void namesAndIdsSurviveGrowth() {
+        SymbolTable symbols = new SymbolTable();
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, symbols.intern("Z" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, symbols.lookup("Z" + i));
+            assertEquals("Z" + i, symbols.name(i));
+        }
+    }
+}
@@ -133,6 +133,158 @@ class WhereUsedAnalyzerTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void tableUsingDataElementInSeveralFieldsIsListedOnce() {
+        TableDefinition table = new TableDefinition("ZPAIR");
+        table.addField(new FieldDefinition("FROM_ID", dd.getDataElement("ZID"), true, false));
+        table.addField(new FieldDefinition("TO_ID", dd.getDataElement("ZID"), true, false));
+        dd.registerTable(table);
+
+        Map<String, List<String>> result = analyzer.findTablesUsingDataElement("ZID");
+        assertEquals(List.of("ZCUSTOMER", "ZORDER", "ZPAIR"), result.get("tables"));
+    }
+
+    @Test
+    void lockObjectUsingTableTwiceIsListedOnce() {
+        TableDefinition orderTable = dd.getTable("ZORDER");
+        LockObject lock = new LockObject("EZORDER", orderTable);
+        lock.addSecondaryTable(orderTable);
+        dd.registerLockObject(lock);
+
+        Map<String, List<String>> result = analyzer.findUsagesOfTable("ZORDER");
+        assertEquals(List.of("EZCUSTOMER", "EZORDER"), result.get("lockObjects"));
+    }
+
+    @Test
+    void usagesRegisteredLaterAreFoundImmediately() {
+        ViewDefinition view = new ViewDefinition("ZORDER_V", ViewDefinition.ViewType.PROJECTION);
+        view.addBaseTable(dd.getTable("ZORDER"));
+        dd.registerView(view);
+
+        assertEquals(List.of("ZORDER_V"), analyzer.findUsagesOfTable("ZORDER").get("views"));
+    }
+
+    @Test
+    void usagesInSeveralPartitionsAreListedInRegistrationOrder() {
+        DataElement id = dd.getDataElement("ZID");
+        for (String name : List.of("MARA", "/ACME/ORDERS", "ZITEM")) {
+            TableDefinition table = new TableDefinition(name);
+            table.addField(new FieldDefinition("ID", id, true, false));
+            dd.registerTable(table);
+        }
+        assertEquals(List.of("ZCUSTOMER", "ZORDER", "MARA", "/ACME/ORDERS", "ZITEM"),
+                analyzer.findTablesUsingDataElement("ZID").get("tables"));
+
+        TableDefinition mara = new TableDefinition("MARA");
+        mara.addField(new FieldDefinition("ID", id, true, false));
+        dd.updateTable(mara, DependentPolicy.CASCADE);
+        dd.removeTable("ZORDER", DependentPolicy.CASCADE);
+
+        assertEquals(List.of("ZCUSTOMER", "/ACME/ORDERS", "ZITEM", "MARA"),
+                analyzer.findTablesUsingDataElement("ZID").get("tables"));
+    }
+
+    @Test
+    void analysisOfPinnedVersionIgnoresLaterUsages() {
+        DataDictionary pinned = dd.snapshot();
+        Domain domain = dd.getDomain("ZCHAR10");
+        dd.registerDataElement(new DataElement("ZLATER", domain));
+
+        assertEquals(2, new WhereUsedAnalyzer(pinned).findDataElementsUsingDomain("ZCHAR10").size());
+        assertEquals(3, analyzer.findDataElementsUsingDomain("ZCHAR10").size());
+    }
+
+    // ---- Transitive impact ----
+
+    @Test
+    void findAllUsagesOfDomainReachesExternalLayer() {
+        Map<String, List<String>> result = analyzer.findAllUsagesOfDomain("ZCHAR10");
+        assertEquals(List.of("ZCUST_V"), result.get("views"));
+        assertEquals(List.of("ZSH_CUST"), result.get("searchHelps"));
+        assertEquals(List.of("EZCUSTOMER"), result.get("lockObjects"));
+    }
+
+    @Test
+    void findAllUsagesOfDataElement() {
+        Map<String, List<String>> result = analyzer.findAllUsagesOfDataElement("ZCODE");
+        assertEquals(List.of("ZORDER"), result.get("tables"));
+        assertEquals(List.of("EZCUSTOMER"), result.get("lockObjects"));
+        assertNull(result.get("views"));
+        assertNull(result.get("dataElements"));
+    }
+
+    @Test
+    void objectsReachedThroughSeveralPathsAreListedOnce() {
+        Map<String, List<String>> result = analyzer.findAllUsagesOfDomain("ZCHAR10");
+        // EZCUSTOMER is reached through both ZCUSTOMER and ZORDER
+        assertEquals(List.of("EZCUSTOMER"), result.get("lockObjects"));
+        assertEquals(2, result.get("tables").size());
+    }
+
+    @Test
+    void repeatedAnalysisIsServedFromMemo() {
+        Map<String, List<String>> first = analyzer.findAllUsagesOfDomain("ZCHAR10");
+        assertEquals(1, dd.dependencies().memoSize());
+        assertEquals(first, analyzer.findAllUsagesOfDomain("ZCHAR10"));
+        assertEquals(1, dd.dependencies().memoSize());
+    }
+
+    @Test
+    void registrationDownstreamInvalidatesMemo() {
+        analyzer.findAllUsagesOfDomain("ZCHAR10");
+
+        ViewDefinition view = new ViewDefinition("ZORDER_V", ViewDefinition.ViewType.PROJECTION);
+        view.addBaseTable(dd.getTable("ZORDER"));
+        dd.registerView(view);
+
+        assertEquals(List.of("ZCUST_V", "ZORDER_V"),
+                analyzer.findAllUsagesOfDomain("ZCHAR10").get("views"));
+    }
+
+    @Test
+    void unrelatedRegistrationKeepsMemo() {
+        analyzer.findAllUsagesOfDomain("ZCHAR10");
+        analyzer.findAllUsagesOfDomain("ZNUMC3");
+        assertEquals(2, dd.dependencies().memoSize());
+
+        Domain date = new Domain("ZDATE", DataType.DATE, 8);
+        dd.registerDomain(date);
+        dd.registerDataElement(new DataElement("ZVALID_FROM", date));
+
+        assertEquals(2, dd.dependencies().memoSize());
+    }
+
+    @Test
+    void transitiveAnalysisOfPinnedVersionIgnoresLaterUsages() {
+        analyzer.findAllUsagesOfDomain("ZCHAR10");
+        DataDictionary pinned = dd.snapshot();
+
+        ViewDefinition view = new ViewDefinition("ZORDER_V", ViewDefinition.ViewType.PROJECTION);
+        view.addBaseTable(dd.getTable("ZORDER"));
+        dd.registerView(view);
+        analyzer.findAllUsagesOfDomain("ZCHAR10");
+
+        assertEquals(List.of("ZCUST_V"),
+                new WhereUsedAnalyzer(pinned).findAllUsagesOfDomain("ZCHAR10").get("views"));
+    }
+
+    @Test
+    void overlayAnalysisCoversBaseAndOverlayUsages() {
+        DataDictionary tenant = dd.overlay();
+        TableDefinition contract = new TableDefinition("ZCONTRACT");
+        contract.addField(new FieldDefinition("ID", dd.getDataElement("ZID"), true, false));
+        tenant.registerTable(contract);
+        ViewDefinition view = new ViewDefinition("ZCONTRACT_V", ViewDefinition.ViewType.DATABASE);
+        view.addBaseTable(contract);
+        tenant.registerView(view);
+
+        Map<String, List<String>> usages = new WhereUsedAnalyzer(tenant).findAllUsagesOfDomain("ZNUMC3");
+
+        assertEquals(List.of("ZCUSTOMER", "ZORDER", "ZCONTRACT"), usages.get("tables"));
+        assertEquals(List.of("ZCUST_V", "ZCONTRACT_V"), usages.get("views"));
+        assertEquals(List.of("ZCUST_V"), analyzer.findAllUsagesOfDomain("ZNUMC3").get("views"));
+    }
+
     @Test
     void constructorRejectsNullDictionary() {
         assertThrows(IllegalArgumentException.class, () -> new WhereUsedAnalyzer(null));
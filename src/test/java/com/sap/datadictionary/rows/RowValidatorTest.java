@@ -0,0 +1,256 @@
+package com.sap.datadictionary.rows;
+
+import com.sap.datadictionary.conceptual.FieldDefinition;
+import com.sap.datadictionary.conceptual.TableDefinition;
+import com.sap.datadictionary.internal.DataElement;
+import com.sap.datadictionary.internal.DataType;
+import com.sap.datadictionary.internal.Domain;
+import com.sap.datadictionary.internal.ValueRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowValidatorTest {
+
+    private RowValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        Domain currency = new Domain("ZCURRENCY", DataType.CHAR, 3);
+        ValueRange currencies = new ValueRange();
+        currencies.addFixedValue("EUR");
+        currencies.addFixedValue("USD");
+        currency.setValueRange(currencies);
+
+        TableDefinition table = new TableDefinition("ZORDERS");
+        table.addField(field("ORDER_ID", new Domain("ZORDER_ID", DataType.NUMC, 10), true, false));
+        table.addField(field("AMOUNT", new Domain("ZAMOUNT", DataType.DECIMAL, 7, 2), false, false));
+        table.addField(field("CURRENCY", currency, false, false));
+        table.addField(field("ORDER_DATE", new Domain("ZDATE", DataType.DATE, 8), false, true));
+        validator = RowValidator.compile(table);
+    }
+
+    private static FieldDefinition field(String name, Domain domain, boolean key, boolean nullable) {
+        return new FieldDefinition(name, new DataElement("Z" + name, domain), key, nullable);
+    }
+
+    @Test
+    void compileResolvesTheFields() {
+        assertEquals("ZORDERS", validator.getTableName());
+        assertEquals(4, validator.getFieldCount());
+        assertEquals(List.of("ORDER_ID", "AMOUNT", "CURRENCY", "ORDER_DATE"), validator.getFieldNames());
+        assertThrows(IllegalArgumentException.class, () -> RowValidator.compile(null));
+    }
+
+    @Test
+    void validTextRowPasses() {
+        RowValidationResult result = validator.validate(new Object[][] {
+                {"0000000042", "12345.67", "EUR", "20240131"},
+                {"7", "-1", "USD", null}});
+
+        assertTrue(result.isValid());
+        assertEquals(2, result.getRowsChecked());
+        assertEquals(0, result.getViolationCount());
+    }
+
+    @Test
+    void eachFieldCheckIsReported() {
+        assertEquals(RowViolation.MISSING_KEY, validator.check(0, null));
+        assertEquals(RowViolation.MISSING_KEY, validator.check(0, ""));
+        assertEquals(RowViolation.INVALID_FORMAT, validator.check(0, "12345678901"));
+        assertEquals(RowViolation.NULL_NOT_ALLOWED, validator.check(1, null));
+        assertEquals(RowViolation.INVALID_FORMAT, validator.check(1, "1.234"));
+        assertEquals(RowViolation.NOT_A_FIXED_VALUE, validator.check(2, "GBP"));
+        assertEquals(RowViolation.INVALID_FORMAT, validator.check(3, "20240230"));
+        assertNull(validator.check(3, null));
+    }
+
+    @Test
+    void typedValuesAreCheckedWithoutFormatting() {
+        assertNull(validator.check(0, 42L));
+        assertEquals(RowViolation.INVALID_FORMAT, validator.check(0, -1));
+        assertEquals(RowViolation.INVALID_FORMAT, validator.check(0, 12_345_678_901L));
+        assertNull(validator.check(1, new BigDecimal("12345.67")));
+        assertNull(validator.check(1, new BigDecimal("1.500")));
+        assertEquals(RowViolation.INVALID_FORMAT, validator.check(1, new BigDecimal("1.234")));
+        assertEquals(RowViolation.INVALID_FORMAT, validator.check(1, new BigDecimal("123456")));
+        assertNull(validator.check(3, LocalDate.of(2024, 1, 31)));
+        assertEquals(RowViolation.WRONG_TYPE, validator.check(3, LocalTime.NOON));
+        assertEquals(RowViolation.WRONG_TYPE, validator.check(2, 42));
+        assertEquals(RowViolation.WRONG_TYPE, validator.check(0, 4.2));
+    }
+
+    @Test
+    void typedFixedValuesAreLookedUp() {
+        Domain status = new Domain("ZSTATUS", DataType.INTEGER, 10);
+        ValueRange statuses = new ValueRange();
+        statuses.addFixedValue("1");
+        statuses.addFixedValue("+2");
+        statuses.addFixedValue("-3");
+        status.setValueRange(statuses);
+        Domain rate = new Domain("ZRATE", DataType.DECIMAL, 3, 1);
+        ValueRange rates = new ValueRange();
+        rates.addFixedValue("0.5");
+        rates.addFixedValue("10");
+        rate.setValueRange(rates);
+        Domain closing = new Domain("ZCLOSING", DataType.TIMESTAMP, 14);
+        ValueRange closings = new ValueRange();
+        closings.addFixedValue("20241231235959");
+        closing.setValueRange(closings);
+        TableDefinition table = new TableDefinition("ZRATES");
+        table.addField(field("STATUS", status, false, false));
+        table.addField(field("RATE", rate, false, false));
+        table.addField(field("CLOSING", closing, false, false));
+        RowValidator checker = RowValidator.compile(table);
+
+        assertNull(checker.check(0, 2));
+        assertNull(checker.check(0, -3L));
+        assertEquals(RowViolation.NOT_A_FIXED_VALUE, checker.check(0, 3));
+        assertNull(checker.check(1, new BigDecimal("0.50")));
+        assertNull(checker.check(1, 10));
+        assertEquals(RowViolation.NOT_A_FIXED_VALUE, checker.check(1, new BigDecimal("1.5")));
+        assertNull(checker.check(2, LocalDateTime.of(2024, 12, 31, 23, 59, 59)));
+        assertEquals(RowViolation.NOT_A_FIXED_VALUE, checker.check(2, LocalDateTime.of(2024, 12, 31, 0, 0)));
+        assertEquals(RowViolation.INVALID_FORMAT,
+                checker.check(2, LocalDateTime.of(2024, 12, 31, 23, 59, 59, 1)));
+    }
+
+    @Test
+    void typedValuesAreLookedUpInIntervals() {
+        Domain plant = new Domain("ZPLANT", DataType.NUMC, 4);
+        ValueRange plants = new ValueRange();
+        plants.addInterval("0001", "0999");
+        plants.addInterval("5000", "5999");
+        plants.addFixedValue("9999");
+        plant.setValueRange(plants);
+        Domain rate = new Domain("ZRATE", DataType.DECIMAL, 5, 2);
+        ValueRange rates = new ValueRange();
+        rates.addInterval("-1", "1.5");
+        rate.setValueRange(rates);
+        Domain year = new Domain("ZYEAR", DataType.DATE, 8);
+        ValueRange years = new ValueRange();
+        years.addInterval("20240101", "20241231");
+        year.setValueRange(years);
+        TableDefinition table = new TableDefinition("ZPLANTS");
+        table.addField(field("PLANT", plant, false, false));
+        table.addField(field("RATE", rate, false, false));
+        table.addField(field("DAY", year, false, false));
+        RowValidator checker = RowValidator.compile(table);
+
+        assertNull(checker.check(0, 1));
+        assertNull(checker.check(0, 5500L));
+        assertNull(checker.check(0, 9999));
+        assertNull(checker.check(0, "0500"));
+        assertEquals(RowViolation.NOT_A_FIXED_VALUE, checker.check(0, 1000));
+        assertEquals(RowViolation.NOT_A_FIXED_VALUE, checker.check(0, 0));
+        assertNull(checker.check(1, new BigDecimal("1.50")));
+        assertNull(checker.check(1, -1));
+        assertEquals(RowViolation.NOT_A_FIXED_VALUE, checker.check(1, new BigDecimal("1.51")));
+        assertNull(checker.check(2, LocalDate.of(2024, 6, 30)));
+        assertEquals(RowViolation.NOT_A_FIXED_VALUE, checker.check(2, LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    void rowsWithTheWrongFieldCountAreRejected() {
+        RowValidationResult result = validator.validate(new Object[][] {{"1", "1"}, null});
+
+        assertEquals(2, result.getInvalidRowCount());
+        assertEquals(2, result.count(RowViolation.WRONG_FIELD_COUNT));
+        RowValidationResult.Violation first = result.getViolations().get(0);
+        assertNull(first.field());
+        assertEquals("Row 0: row has 2 values but the table has 4 fields", first.message());
+    }
+
+    @Test
+    void sinkReceivesEveryViolation() {
+        List<String> seen = new ArrayList<>();
+        Object[][] rows = {
+                {"1", "1", "EUR", null},
+                {null, null, "GBP", "2024"},
+                {"2", "2", "USD", null}};
+
+        int invalid = validator.validate(rows, 0, rows.length,
+                (row, field, violation) -> seen.add(row + ":" + field + ":" + violation));
+
+        assertEquals(1, invalid);
+        assertEquals(List.of("1:0:MISSING_KEY", "1:1:NULL_NOT_ALLOWED", "1:2:NOT_A_FIXED_VALUE",
+                "1:3:INVALID_FORMAT"), seen);
+        assertTrue(validator.validateRow(rows[0], 0, RowViolationSink.IGNORE));
+    }
+
+    @Test
+    void violationMessagesNameFieldTypeAndDomain() {
+        RowValidationResult result = validator.validate(new Object[][] {{"1", "1.234", "GBP", null}});
+
+        List<String> messages = result.getViolations().stream().map(RowValidationResult.Violation::message).toList();
+        assertEquals(List.of("Row 0: field AMOUNT is not a valid DEC(7,2) value",
+                "Row 0: field CURRENCY is not within the value range of Domain ZCURRENCY"), messages);
+    }
+
+    @Test
+    void onlyTheFirstViolationsAreKept() {
+        Object[][] rows = new Object[10][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Object[] {null, "1", "EUR", null};
+        }
+
+        RowValidationResult result = validator.validate(rows, 3);
+
+        assertEquals(10, result.getInvalidRowCount());
+        assertEquals(10, result.getViolationCount());
+        assertEquals(3, result.getViolations().size());
+        assertTrue(result.isTruncated());
+        assertThrows(IllegalArgumentException.class, () -> validator.validate(rows, -1));
+    }
+
+    @Test
+    void columnsAreValidatedLikeRows() {
+        CharSequence[][] columns = {
+                {"1", "2", ""},
+                {"1.5", "1.555", "3"},
+                {"EUR", "USD", new StringBuilder("EUR")},
+                {null, "20240101", "0"}};
+
+        RowValidationResult result = validator.validateColumns(columns, 3);
+
+        assertEquals(3, result.getRowsChecked());
+        assertFalse(result.isInvalid(0));
+        assertTrue(result.isInvalid(1));
+        assertTrue(result.isInvalid(2));
+        assertEquals(1, result.count(RowViolation.MISSING_KEY));
+        assertEquals(2, result.count(RowViolation.INVALID_FORMAT));
+        assertEquals(2, validator.validateColumns(columns, 3, RowViolationSink.IGNORE));
+        assertThrows(IllegalArgumentException.class,
+                () -> validator.validateColumns(new CharSequence[][] {{"1"}}, 1));
+        assertThrows(IllegalArgumentException.class, () -> validator.validateColumns(columns, 4));
+    }
+
+    @Test
+    void parallelValidationMatchesSequential() {
+        int count = RowValidator.PARALLEL_BATCH * 3 + 17;
+        Object[][] rows = new Object[count][];
+        for (int i = 0; i < count; i++) {
+            rows[i] = i % 7 == 0
+                    ? new Object[] {String.valueOf(i), "1", "GBP", null}
+                    : new Object[] {String.valueOf(i), "1", "EUR", "20240101"};
+        }
+
+        RowValidationResult sequential = validator.validate(rows);
+        RowValidationResult parallel = validator.validateParallel(rows, new ForkJoinPool(4));
+
+        assertEquals(count, parallel.getRowsChecked());
+        assertEquals(sequential.getInvalidRows(), parallel.getInvalidRows());
+        assertEquals(sequential.getViolations(), parallel.getViolations());
+        assertEquals(sequential.count(RowViolation.NOT_A_FIXED_VALUE), parallel.count(RowViolation.NOT_A_FIXED_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> validator.validateParallel(rows, null));
+    }
+}